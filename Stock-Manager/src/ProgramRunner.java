@@ -4,8 +4,9 @@ import java.io.InputStreamReader;
 import controller.Controller;
 import controller.GUIStocksController;
 import controller.StocksController;
-import model.Calculations;
+import model.CachingCalculations;
 import model.StockCalculator;
+import model.StockDataStore;
 import view.GUIStocksView;
 import view.GUIView;
 import view.StocksView;
@@ -21,7 +22,9 @@ public class ProgramRunner {
    * @param args the arguments passed to the program.
    */
   public static void main(String[] args) {
-    Calculations model = new StockCalculator();
+    StockDataStore stockData = new StockDataStore();
+    CachingCalculations model = new CachingCalculations(new StockCalculator());
+    stockData.addRefreshListener(model::invalidate);
     Readable in = new InputStreamReader(System.in);
     Controller controller;
     View view;
@@ -30,10 +33,10 @@ public class ProgramRunner {
     try {
       if (args.length > 0 && args[0].equals("-text")) {
         view = new StocksView();
-        controller = new StocksController(model, view, in);
+        controller = new StocksController(model, view, in, stockData);
       } else {
         view2 = new GUIStocksView("Stocks");
-        controller = new GUIStocksController(model, view2);
+        controller = new GUIStocksController(model, view2, stockData);
       }
       controller.construct();
     } catch (Exception e) {
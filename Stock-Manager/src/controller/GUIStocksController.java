@@ -1,7 +1,10 @@
 package controller;
 
 import model.Calculations;
+import model.CovarianceCalculator;
+import model.CovarianceMatrix;
 import model.Portfolio;
+import model.StockDataStore;
 import model.StockInformation;
 import model.Stocks;
 import model.APIReader;
@@ -14,8 +17,11 @@ import java.awt.event.ActionListener;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.swing.JOptionPane;
 
@@ -35,6 +41,8 @@ import static model.Portfolio.loadPortfolio;
 public class GUIStocksController implements Controller, ActionListener {
   private static final String API_KEY = "GVOWNVFAUMGZOUBF";
   private final GUIView view;
+  private final StockDataStore stockData;
+  private final Set<String> updatedSymbols;
 
   /**
    * Constructs a new GUIStocksController with the specified model and view.
@@ -44,7 +52,20 @@ public class GUIStocksController implements Controller, ActionListener {
    * @param view  the view for the GUI.
    */
   public GUIStocksController(Calculations model, GUIView view) {
+    this(model, view, new StockDataStore());
+  }
+
+  /**
+   * Constructs a new GUIStocksController that reads its stock data from the given store.
+   *
+   * @param model     the model for calculations.
+   * @param view      the view for the GUI.
+   * @param stockData the store the stock data is read from.
+   */
+  public GUIStocksController(Calculations model, GUIView view, StockDataStore stockData) {
     this.view = view;
+    this.stockData = stockData;
+    this.updatedSymbols = new HashSet<>();
   }
 
   /**
@@ -153,7 +174,7 @@ public class GUIStocksController implements Controller, ActionListener {
     while (true) {
       view.displayManagingPortfolio(currentPortfolioName);
       String choice = promptInput("Enter your choice:\n1. Buy Stock\n2. Sell Stock\n3."
-              + " Check Composition\n4. Check Value\n5. Back to Menu");
+              + " Check Composition\n4. Check Value\n5. Check Correlation\n6. Back to Menu");
       if (choice == null) {
         return;
       }
@@ -172,6 +193,9 @@ public class GUIStocksController implements Controller, ActionListener {
           checkPortfolioTotalValue(portfolioIndex);
           break;
         case "5":
+          checkPortfolioCorrelation(portfolioIndex);
+          break;
+        case "6":
           return;
         default:
           view.displayError("Invalid choice. Please try again.");
@@ -278,6 +302,47 @@ public class GUIStocksController implements Controller, ActionListener {
     view.displayPortfolioComposition(portfolio.getName(), date, formattedComposition.toString());
   }
 
+  // Helper to check the correlation of the daily returns of the stocks in the portfolio
+  private void checkPortfolioCorrelation(int portfolioIndex) {
+    List<String> portfolios = Portfolio.getPortfolios();
+    String currentPortfolioName = portfolios.get(portfolioIndex);
+    Map<String, LocalDate> mostRecentDates = Portfolio.getMostRecentDates();
+    view.getInput("Enter the start date for the correlation.");
+    LocalDate startDate = getDateInput();
+    if (startDate == null) {
+      return;
+    }
+    view.getInput("Enter the end date for the correlation.");
+    LocalDate endDate = getDateInput();
+    if (endDate == null) {
+      return;
+    }
+
+    Portfolio portfolio = new Portfolio(currentPortfolioName);
+    try {
+      portfolio = loadPortfolio(portfolioIndex, mostRecentDates.get(currentPortfolioName));
+    } catch (Exception ignored) {
+    }
+
+    List<Stocks> holdings = new ArrayList<>();
+    for (Stocks stock : portfolio.getStocks().keySet()) {
+      List<StockInformation> stockInfo = getStockInformation(stock.getSymbol());
+      if (stockInfo.isEmpty()) {
+        return;
+      }
+      holdings.add(new Stocks(stock.getSymbol(), stockInfo));
+    }
+    holdings.sort(Comparator.comparing(Stocks::getSymbol));
+    try {
+      CovarianceMatrix matrix = new CovarianceCalculator().calculate(holdings,
+              startDate, endDate);
+      view.displayPortfolioCorrelation(currentPortfolioName, startDate, endDate,
+              matrix.formatCorrelations());
+    } catch (IllegalArgumentException e) {
+      view.displayError(e.getMessage());
+    }
+  }
+
   // Helper to check portfolio total value
   private void checkPortfolioTotalValue(int portfolioIndex) {
     List<String> portfolios = Portfolio.getPortfolios();
@@ -312,22 +377,27 @@ public class GUIStocksController implements Controller, ActionListener {
     view.displayPortfolioValue(portfolio.getName(), date, totalValue);
   }
 
-  // Helper to get stock information
+  // Helper to get stock information, the data file is only updated from the API
+  // the first time a stock is asked for and the stored price series is reused after that.
   private List<StockInformation> getStockInformation(String symbol) {
-    APIReader apiReader = new AlphaVantageAPI(API_KEY, symbol);
-    CSVReader csvReader = new CSVReader(apiReader, symbol);
-    List<StockInformation> stockInfo = new ArrayList<>();
-    try {
-      csvReader.writeFile();
-      stockInfo = csvReader.fileToStockInfo();
-    } catch (IllegalArgumentException e) {
-      stockInfo = csvReader.fileToStockInfo();
-    } catch (RuntimeException e) {
-      view.displayError("Data could not be found for " + symbol + ", please enter a valid symbol.");
-      stockInfo = csvReader.fileToStockInfo();
-    } catch (Exception e) {
-      view.displayError("An error occurred while accessing the file for " + symbol);
+    if (!updatedSymbols.contains(symbol)) {
+      APIReader apiReader = new AlphaVantageAPI(API_KEY, symbol);
+      CSVReader csvReader = new CSVReader(apiReader, symbol);
+      try {
+        csvReader.writeFile();
+        stockData.invalidate(symbol);
+        updatedSymbols.add(symbol);
+      } catch (IllegalArgumentException e) {
+        updatedSymbols.add(symbol);
+      } catch (RuntimeException e) {
+        view.displayError("Data could not be found for " + symbol
+                + ", please enter a valid symbol.");
+        stockData.invalidate(symbol);
+      } catch (Exception e) {
+        view.displayError("An error occurred while accessing the file for " + symbol);
+        return new ArrayList<>();
+      }
     }
-    return stockInfo;
+    return stockData.getStockInformation(symbol);
   }
 }
@@ -3,15 +3,25 @@ package controller;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
 
 import model.APIReader;
 import model.AlphaVantageAPI;
 import model.CSVReader;
 import model.Calculations;
+import model.CovarianceCalculator;
+import model.CovarianceMatrix;
+import model.MonteCarloResult;
+import model.MonteCarloSimulator;
 import model.Portfolio;
+import model.StockDataStore;
 import model.StockInformation;
 import model.Stocks;
 import view.View;
@@ -28,10 +38,13 @@ import static model.Portfolio.plotPerformance;
 
 public class StocksController implements Controller {
   private static final String API_KEY = "GVOWNVFAUMGZOUBF";
+  private static final long MONTE_CARLO_SEED = 20240612L;
   private final Calculations model;
   private final View view;
 
   private final Scanner scanner;
+  private final StockDataStore stockData;
+  private final Set<String> updatedSymbols;
 
   /**
    * This is a constructor or StocksController with the specified model, view, and input source.
@@ -42,9 +55,24 @@ public class StocksController implements Controller {
    */
 
   public StocksController(Calculations model, View view, Readable in) {
+    this(model, view, in, new StockDataStore());
+  }
+
+  /**
+   * This is a constructor or StocksController that reads its stock data from the given store.
+   *
+   * @param model     the model to use for calculations
+   * @param view      the view to interact with the user
+   * @param in        the input source for user input as readable.
+   * @param stockData the store the stock data is read from.
+   */
+
+  public StocksController(Calculations model, View view, Readable in, StockDataStore stockData) {
     this.model = model;
     this.view = view;
     this.scanner = new Scanner(in);
+    this.stockData = stockData;
+    this.updatedSymbols = new HashSet<>();
   }
 
   //StocksController - In this class we basically updated the controller
@@ -273,6 +301,12 @@ public class StocksController implements Controller {
           checkRebalance(portfolioIndex);
           break;
         case 7:
+          checkPortfolioCorrelation(portfolioIndex);
+          break;
+        case 8:
+          projectPortfolioValue(portfolioIndex);
+          break;
+        case 9:
           return;
         default:
           view.displayError("Invalid choice. Please try again.");
@@ -475,21 +509,21 @@ public class StocksController implements Controller {
   }
 
   //helper that receives percent inputs and makes sure the values add up to 100.
-  private List<Integer> getPercentInput(Portfolio portfolio) {
-    List<Integer> result = new ArrayList<>();
+  private Map<String, Integer> getPercentInput(Portfolio portfolio) {
+    Map<String, Integer> result = new LinkedHashMap<>();
     Map<Stocks, Double> availableStocks = portfolio.getStocks();
     for (Stocks key : availableStocks.keySet()) {
       view.getInput("Enter the desired percentage for "
               + key.getSymbol() + ": ");
       Integer percent =  Integer.parseInt(scanner.nextLine());
-      result.add(percent);
+      result.put(key.getSymbol(), percent);
     }
     Integer total = 0;
-    for (int value : result ) {
+    for (int value : result.values()) {
       total += value;
     }
     if (total > 100 || total < 100) {
-      return new ArrayList<>();
+      return new LinkedHashMap<>();
     }
     return result;
   }
@@ -517,7 +551,7 @@ public class StocksController implements Controller {
     } catch (Exception ignored) {
     }
 
-    List<Integer> percentages = getPercentInput(portfolio);
+    Map<String, Integer> percentages = getPercentInput(portfolio);
     if (percentages.isEmpty()) {
       view.displayError("Please type valid percentages.");
       return;
@@ -530,6 +564,86 @@ public class StocksController implements Controller {
     }
   }
 
+  //helper method to check the correlation of the daily returns of the stocks in your portfolio.
+  private void checkPortfolioCorrelation(int portfolioIndex) {
+    List<String> portfolios = Portfolio.getPortfolios();
+    String currentPortfolioName = portfolios.get(portfolioIndex);
+    Map<String, LocalDate> mostRecentDates = Portfolio.getMostRecentDates();
+    view.getInput("ENTER START DATE FOR CORRELATION\n");
+    LocalDate startDate = getDateInput();
+    view.getInput("ENTER END DATE FOR CORRELATION\n");
+    LocalDate endDate = getDateInput();
+    if (startDate == null || endDate == null) {
+      return;
+    }
+
+    Portfolio portfolio = new Portfolio(currentPortfolioName);
+    try {
+      portfolio = loadPortfolio(portfolioIndex, mostRecentDates.get(currentPortfolioName));
+    } catch (Exception ignored) {
+    }
+
+    List<Stocks> holdings = new ArrayList<>();
+    for (Stocks stock : portfolio.getStocks().keySet()) {
+      List<StockInformation> stockInfo = getStockInformation(stock.getSymbol());
+      if (stockInfo.isEmpty()) {
+        return;
+      }
+      holdings.add(new Stocks(stock.getSymbol(), stockInfo));
+    }
+    holdings.sort(Comparator.comparing(Stocks::getSymbol));
+    try {
+      CovarianceMatrix matrix = new CovarianceCalculator().calculate(holdings,
+              startDate, endDate);
+      view.displayPortfolioCorrelation(currentPortfolioName, startDate, endDate,
+              matrix.formatCorrelations());
+    } catch (IllegalArgumentException e) {
+      view.displayError(e.getMessage());
+    }
+  }
+
+  // helper method to project the value of the holdings of a portfolio by simulating
+  // paths of returns drawn from a range of their history.
+  private void projectPortfolioValue(int portfolioIndex) {
+    List<String> portfolios = Portfolio.getPortfolios();
+    String currentPortfolioName = portfolios.get(portfolioIndex);
+    Map<String, LocalDate> mostRecentDates = Portfolio.getMostRecentDates();
+    view.getInput("ENTER START DATE OF HISTORY TO SAMPLE\n");
+    LocalDate startDate = getDateInput();
+    view.getInput("ENTER END DATE OF HISTORY TO SAMPLE\n");
+    LocalDate endDate = getDateInput();
+    if (startDate == null || endDate == null) {
+      return;
+    }
+    view.getInput("Enter number of trading days to project:");
+    int days = Integer.parseInt(scanner.nextLine());
+    view.getInput("Enter number of paths to simulate:");
+    int paths = Integer.parseInt(scanner.nextLine());
+
+    Portfolio portfolio = new Portfolio(currentPortfolioName);
+    try {
+      portfolio = loadPortfolio(portfolioIndex, mostRecentDates.get(currentPortfolioName));
+    } catch (Exception ignored) {
+    }
+
+    Map<Stocks, Double> holdings = new HashMap<>();
+    for (Map.Entry<Stocks, Double> entry : portfolio.getStocks().entrySet()) {
+      String symbol = entry.getKey().getSymbol();
+      List<StockInformation> stockInfo = getStockInformation(symbol);
+      if (stockInfo.isEmpty()) {
+        return;
+      }
+      holdings.put(new Stocks(symbol, stockInfo), entry.getValue());
+    }
+    try {
+      MonteCarloResult result = new MonteCarloSimulator(paths, days, MONTE_CARLO_SEED)
+              .simulate(holdings, startDate, endDate);
+      view.displayMonteCarlo(currentPortfolioName, days, result.formatBands());
+    } catch (IllegalArgumentException e) {
+      view.displayError(e.getMessage());
+    }
+  }
+
   // helper method to check the bar chart of your portfolio.
   private void checkBarChart() {
     List<String> portfolios = Portfolio.getPortfolios();
@@ -566,21 +680,27 @@ public class StocksController implements Controller {
 
   //Changed this method to more gracefully handle situations where the file could not be read
   //or if there was an invalid ticker symbol
+  //The data file of a stock is only updated from the API the first time it is asked for,
+  //after that the price series kept in the data store (and its price index) is reused.
   private List<StockInformation> getStockInformation(String symbol) {
-    APIReader apiReader = new AlphaVantageAPI(API_KEY, symbol);
-    CSVReader csvReader = new CSVReader(apiReader, symbol);
-    List<StockInformation> stockInfo = new ArrayList<>();
-    try {
-      csvReader.writeFile();
-      stockInfo = csvReader.fileToStockInfo();
-    } catch (IllegalArgumentException e) {
-      stockInfo = csvReader.fileToStockInfo();
-    } catch (RuntimeException e) {
-      view.displayError("Data could not be found for " + symbol + ", please enter a valid symbol.");
-      stockInfo = csvReader.fileToStockInfo();
-    } catch (Exception e) {
-      view.displayError("An error occurred while accessing the file for " + symbol);
+    if (!updatedSymbols.contains(symbol)) {
+      APIReader apiReader = new AlphaVantageAPI(API_KEY, symbol);
+      CSVReader csvReader = new CSVReader(apiReader, symbol);
+      try {
+        csvReader.writeFile();
+        stockData.invalidate(symbol);
+        updatedSymbols.add(symbol);
+      } catch (IllegalArgumentException e) {
+        updatedSymbols.add(symbol);
+      } catch (RuntimeException e) {
+        view.displayError("Data could not be found for " + symbol
+                + ", please enter a valid symbol.");
+        stockData.invalidate(symbol);
+      } catch (Exception e) {
+        view.displayError("An error occurred while accessing the file for " + symbol);
+        return new ArrayList<>();
+      }
     }
-    return stockInfo;
+    return stockData.getStockInformation(symbol);
   }
 }
\ No newline at end of file
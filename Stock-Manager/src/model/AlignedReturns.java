@@ -0,0 +1,57 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A class that lines up the daily returns of several stocks on the trading days they share,
+ * for the calculations that look at the stocks together.
+ */
+final class AlignedReturns {
+
+  private AlignedReturns() {
+  }
+
+  /**
+   * This method finds the daily returns of every stock on the shared trading calendar,
+   * the trading days in the range that every stock has a price for. Return t of every
+   * stock covers the same two trading days.
+   *
+   * @param stocks    the stocks, at least one.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the daily returns, one row per stock, oldest first.
+   */
+  static double[][] daily(List<Stocks> stocks, LocalDate startDate, LocalDate endDate) {
+    PriceIndex[] indexes = new PriceIndex[stocks.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = PriceIndex.of(stocks.get(i).getStockInformation());
+    }
+    PriceIndex first = indexes[0];
+    int from = first.ceilingIndex(startDate);
+    int to = first.floorIndex(endDate);
+    int[][] positions = new int[indexes.length][Math.max(0, to - from + 1)];
+    int calendar = 0;
+    for (int day = from; day <= to; day++) {
+      LocalDate date = first.getDate(day);
+      boolean shared = true;
+      for (int i = 1; i < indexes.length && shared; i++) {
+        positions[i][calendar] = indexes[i].indexOf(date);
+        shared = positions[i][calendar] >= 0;
+      }
+      if (shared) {
+        positions[0][calendar] = day;
+        calendar++;
+      }
+    }
+
+    double[][] returns = new double[indexes.length][Math.max(0, calendar - 1)];
+    for (int i = 0; i < indexes.length; i++) {
+      for (int day = 1; day < calendar; day++) {
+        double previous = indexes[i].getClose(positions[i][day - 1]);
+        returns[i][day - 1] = indexes[i].getClose(positions[i][day]) / previous - 1;
+      }
+    }
+    return returns;
+  }
+}
\ No newline at end of file
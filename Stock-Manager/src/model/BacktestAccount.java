@@ -0,0 +1,156 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A class that represents the cash and shares of one stock held during a backtest.
+ * Orders are filled at the closing price of the current trading day. The state is kept in
+ * primitive fields and the trades in growing primitive arrays, so trading allocates nothing
+ * apart from the occasional growth of the trade arrays.
+ */
+public final class BacktestAccount {
+  private double cash;
+  private double shares;
+  private double price;
+  private int day;
+
+  private int tradeCount;
+  private int[] tradeDays;
+  private double[] tradeQuantities;
+  private double[] tradePrices;
+
+  /**
+   * A constructor that creates an account with the given cash and no shares.
+   *
+   * @param cash the starting cash of the account.
+   */
+  public BacktestAccount(double cash) {
+    if (cash < 0) {
+      throw new IllegalArgumentException("Starting cash cannot be less than 0.");
+    }
+    this.cash = cash;
+    this.tradeDays = new int[16];
+    this.tradeQuantities = new double[16];
+    this.tradePrices = new double[16];
+  }
+
+  //helper method to move the account to a trading day, used by the backtester.
+  void moveTo(int day, double price) {
+    this.day = day;
+    this.price = price;
+  }
+
+  /**
+   * This method buys shares at the current closing price.
+   *
+   * @param quantity the number of shares to buy.
+   */
+  public void buy(double quantity) {
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("Quantity of stock to add must be greater than 0.");
+    }
+    double cost = quantity * price;
+    //a cost above the cash by no more than rounding, as when buying with all the cash, is allowed.
+    if (cost > cash + Math.ulp(cash) * 4) {
+      throw new IllegalArgumentException("Not enough cash to buy " + quantity + " shares.");
+    }
+    cash = Math.max(0, cash - cost);
+    shares += quantity;
+    record(quantity);
+  }
+
+  /**
+   * This method sells shares at the current closing price.
+   *
+   * @param quantity the number of shares to sell.
+   */
+  public void sell(double quantity) {
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("Quantity of stock to remove must be greater than 0.");
+    }
+    if (quantity > shares) {
+      throw new IllegalArgumentException(
+              "Quantity of stock to remove must be less than or equal to current quantity.");
+    }
+    cash += quantity * price;
+    shares -= quantity;
+    record(-quantity);
+  }
+
+  /**
+   * This method buys as many whole shares as the cash allows, if any.
+   */
+  public void buyAll() {
+    double quantity = price > 0 ? Math.floor(cash / price) : 0;
+    if (quantity > 0) {
+      buy(quantity);
+    }
+  }
+
+  /**
+   * This method sells every share held, if any.
+   */
+  public void sellAll() {
+    if (shares > 0) {
+      sell(shares);
+    }
+  }
+
+  /**
+   * This method returns the cash in the account.
+   *
+   * @return the cash as a double.
+   */
+  public double getCash() {
+    return cash;
+  }
+
+  /**
+   * This method returns the number of shares held.
+   *
+   * @return the number of shares as a double.
+   */
+  public double getShares() {
+    return shares;
+  }
+
+  /**
+   * This method returns the value of the account at the current closing price.
+   *
+   * @return the cash plus the value of the shares.
+   */
+  public double getValue() {
+    return cash + shares * price;
+  }
+
+  //helper methods to read the trades, used by the backtest result.
+  int getTradeCount() {
+    return tradeCount;
+  }
+
+  int[] getTradeDays() {
+    return Arrays.copyOf(tradeDays, tradeCount);
+  }
+
+  double[] getTradeQuantities() {
+    return Arrays.copyOf(tradeQuantities, tradeCount);
+  }
+
+  double[] getTradePrices() {
+    return Arrays.copyOf(tradePrices, tradeCount);
+  }
+
+  //helper method to add a trade to the trade arrays, growing them when they are full.
+  private void record(double quantity) {
+    if (tradeCount == tradeDays.length) {
+      int length = tradeCount * 2;
+      tradeDays = Arrays.copyOf(tradeDays, length);
+      tradeQuantities = Arrays.copyOf(tradeQuantities, length);
+      tradePrices = Arrays.copyOf(tradePrices, length);
+    }
+    tradeDays[tradeCount] = day;
+    tradeQuantities[tradeCount] = quantity;
+    tradePrices[tradeCount] = price;
+    tradeCount++;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A class that stores the result of a backtest: the value of the account on every trading day
+ * of the run and the trades that were made.
+ */
+public class BacktestResult {
+  private final Stocks stock;
+  private final PriceIndex prices;
+  private final int from;
+  private final double startingCash;
+  private final double[] values;
+  private final int[] tradeDays;
+  private final double[] tradeQuantities;
+  private final double[] tradePrices;
+
+  //the result is only made by the backtester.
+  BacktestResult(Stocks stock, PriceIndex prices, int from, double startingCash,
+                 double[] values, BacktestAccount account) {
+    this.stock = stock;
+    this.prices = prices;
+    this.from = from;
+    this.startingCash = startingCash;
+    this.values = values;
+    this.tradeDays = account.getTradeDays();
+    this.tradeQuantities = account.getTradeQuantities();
+    this.tradePrices = account.getTradePrices();
+  }
+
+  /**
+   * This method will return the number of trading days in the run.
+   *
+   * @return the number of trading days.
+   */
+  public int getDays() {
+    return values.length;
+  }
+
+  /**
+   * This method will return the date of a trading day of the run.
+   *
+   * @param day the trading day, 0 for the first one of the run.
+   * @return the date of the trading day.
+   */
+  public LocalDate getDate(int day) {
+    return prices.getDate(from + day);
+  }
+
+  /**
+   * This method will return the value of the account at the close of a trading day of the run.
+   *
+   * @param day the trading day, 0 for the first one of the run.
+   * @return the cash plus the value of the shares.
+   */
+  public double getValue(int day) {
+    return values[day];
+  }
+
+  /**
+   * This method will return the value of the account at the end of the run.
+   *
+   * @return the final value of the account.
+   */
+  public double getFinalValue() {
+    return values[values.length - 1];
+  }
+
+  /**
+   * This method will return the return of the run.
+   *
+   * @return the final value as a fraction of the starting cash, minus one.
+   */
+  public double getReturn() {
+    return getFinalValue() / startingCash - 1;
+  }
+
+  /**
+   * This method will return the largest fall of the account value from a previous peak.
+   *
+   * @return the maximum drawdown as a fraction of the peak.
+   */
+  public double getMaxDrawdown() {
+    double peak = startingCash;
+    double drawdown = 0;
+    for (double value : values) {
+      if (value > peak) {
+        peak = value;
+      } else {
+        drawdown = Math.max(drawdown, (peak - value) / peak);
+      }
+    }
+    return drawdown;
+  }
+
+  /**
+   * This method will return the number of trades made in the run.
+   *
+   * @return the number of trades.
+   */
+  public int getTradeCount() {
+    return tradeDays.length;
+  }
+
+  /**
+   * This method will return the date of a trade.
+   *
+   * @param trade the number of the trade, 0 for the first one.
+   * @return the date of the trade.
+   */
+  public LocalDate getTradeDate(int trade) {
+    return prices.getDate(tradeDays[trade]);
+  }
+
+  /**
+   * This method will return the number of shares of a trade.
+   *
+   * @param trade the number of the trade, 0 for the first one.
+   * @return the shares bought, or less than 0 for shares sold.
+   */
+  public double getTradeQuantity(int trade) {
+    return tradeQuantities[trade];
+  }
+
+  /**
+   * This method will return the price a trade was filled at.
+   *
+   * @param trade the number of the trade, 0 for the first one.
+   * @return the closing price of the day of the trade.
+   */
+  public double getTradePrice(int trade) {
+    return tradePrices[trade];
+  }
+
+  /**
+   * This method will save the trades of the run as a new portfolio, writing the holdings
+   * after every day with a trade in one go. Cash is not part of a portfolio, so only the
+   * shares are saved.
+   *
+   * @param name the name of the new portfolio.
+   */
+  public void saveAsPortfolio(String name) {
+    if (tradeDays.length == 0) {
+      throw new IllegalArgumentException("The run made no trades to save.");
+    }
+    NavigableMap<LocalDate, Map<Stocks, Double>> holdings = new TreeMap<>();
+    double shares = 0;
+    for (int trade = 0; trade < tradeDays.length; trade++) {
+      shares += tradeQuantities[trade];
+      Map<Stocks, Double> holding = new HashMap<>();
+      if (shares > 0) {
+        holding.put(stock, shares);
+      }
+      holdings.put(getTradeDate(trade), holding);
+    }
+    Portfolio.saveHistory(name, holdings);
+  }
+}
\ No newline at end of file
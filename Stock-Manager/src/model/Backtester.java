@@ -0,0 +1,63 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * A class that replays a strategy over the price history of a stock, one trading day at a time.
+ * The whole run happens in memory: the account is kept in primitive state, the value of the
+ * account is written to a primitive array each day, and nothing is saved while the run is going.
+ * The result can be saved as a portfolio afterwards, in one write.
+ */
+public class Backtester {
+  private final double startingCash;
+
+  /**
+   * A constructor that creates a backtester whose runs start with the given cash.
+   *
+   * @param startingCash the cash each run starts with.
+   */
+  public Backtester(double startingCash) {
+    if (startingCash <= 0) {
+      throw new IllegalArgumentException("Starting cash must be greater than 0.");
+    }
+    this.startingCash = startingCash;
+  }
+
+  /**
+   * This method replays a strategy over the trading days of a stock between two dates.
+   *
+   * @param stock     the stock to trade.
+   * @param strategy  the strategy to replay.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the result of the run.
+   */
+  public BacktestResult run(Stocks stock, Strategy strategy,
+                            LocalDate startDate, LocalDate endDate) {
+    if (stock == null || strategy == null) {
+      throw new IllegalArgumentException("Stock and strategy must be given.");
+    }
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException("Start date and end date cannot be null.");
+    }
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("End date cannot be before start date.");
+    }
+    PriceIndex prices = PriceIndex.of(stock.getStockInformation());
+    int from = prices.ceilingIndex(startDate);
+    int to = prices.floorIndex(endDate);
+    if (from > to) {
+      throw new IllegalArgumentException("Data for this date range does not exist");
+    }
+
+    BacktestAccount account = new BacktestAccount(startingCash);
+    double[] values = new double[to - from + 1];
+    strategy.start(prices, from, to);
+    for (int day = from; day <= to; day++) {
+      account.moveTo(day, prices.getClose(day));
+      strategy.onBar(prices, day, account);
+      values[day - from] = account.getValue();
+    }
+    return new BacktestResult(stock, prices, from, startingCash, values, account);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A class that calculates the gain or loss of many stocks over many periods at once.
+ * The start and end dates of every period are put in date order once, and each stock
+ * resolves all of them in a single walk of its price index, so a stock costs one lookup
+ * pass no matter how many periods are asked for. The rows of the matrix, one per stock,
+ * are filled in parallel.
+ * A period boundary that is not a trading day uses the last trading day on or before it.
+ * When a stock has no trading day on or before a boundary, its value for the period is NaN.
+ */
+public class BatchReturnCalculator {
+
+  /**
+   * This method calculates the gain or loss of every stock over every period,
+   * the closing price at the end of the period minus the closing price at its start.
+   *
+   * @param stocks  the stocks, one row each.
+   * @param periods the periods, one column each.
+   * @return the matrix of gains and losses, stocks by periods.
+   */
+  public double[][] gainLoss(List<Stocks> stocks, List<DateRange> periods) {
+    return matrix(stocks, periods, false);
+  }
+
+  /**
+   * This method calculates the return of every stock over every period,
+   * the gain or loss as a fraction of the closing price at the start of the period.
+   *
+   * @param stocks  the stocks, one row each.
+   * @param periods the periods, one column each.
+   * @return the matrix of returns, stocks by periods, for example 0.05 for 5%.
+   */
+  public double[][] returns(List<Stocks> stocks, List<DateRange> periods) {
+    return matrix(stocks, periods, true);
+  }
+
+  //helper method to fill the matrix, resolving the boundaries of each stock in one pass.
+  private double[][] matrix(List<Stocks> stocks, List<DateRange> periods, boolean relative) {
+    if (stocks == null || periods == null) {
+      throw new IllegalArgumentException("Stocks and periods must be given.");
+    }
+    int columns = periods.size();
+    //every distinct boundary once, in date order, and where each period's dates are in it.
+    int[] boundaries = new int[columns * 2];
+    for (int i = 0; i < columns; i++) {
+      boundaries[2 * i] = epochDay(periods.get(i).getStartDate());
+      boundaries[2 * i + 1] = epochDay(periods.get(i).getEndDate());
+    }
+    int[] sorted = Arrays.stream(boundaries).distinct().sorted().toArray();
+    int[] slot = new int[boundaries.length];
+    for (int i = 0; i < boundaries.length; i++) {
+      slot[i] = Arrays.binarySearch(sorted, boundaries[i]);
+    }
+
+    double[][] matrix = new double[stocks.size()][columns];
+    IntStream.range(0, stocks.size()).parallel().forEach(row -> {
+      PriceIndex index = PriceIndex.of(stocks.get(row).getStockInformation());
+      int[] positions = index.floorIndices(sorted);
+      for (int column = 0; column < columns; column++) {
+        int start = positions[slot[2 * column]];
+        int end = positions[slot[2 * column + 1]];
+        if (start < 0 || end < 0) {
+          matrix[row][column] = Double.NaN;
+          continue;
+        }
+        double change = index.getClose(end) - index.getClose(start);
+        matrix[row][column] = relative ? change / index.getClose(start) : change;
+      }
+    });
+    return matrix;
+  }
+
+  //helper method to turn a date into a number of days since the epoch.
+  private static int epochDay(LocalDate date) {
+    return (int) date.toEpochDay();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+
+/**
+ * A class that represents the summary of a bulk rebalance: the trades made in every portfolio
+ * that was rebalanced, with its value and turnover, and the reason every other portfolio was
+ * left as it was.
+ */
+public class BulkRebalanceReport {
+  private final LocalDate date;
+  private final NavigableMap<String, List<Transaction>> trades;
+  private final NavigableMap<String, Double> values;
+  private final NavigableMap<String, Double> turnovers;
+  private final NavigableMap<String, String> skipped;
+
+  /**
+   * A constructor that creates the summary of a bulk rebalance.
+   *
+   * @param date      the date of the rebalance.
+   * @param trades    the trades of every portfolio rebalanced, by the name of the portfolio.
+   * @param values    the value of every portfolio rebalanced, by the name of the portfolio.
+   * @param turnovers the value traded in every portfolio rebalanced, by the name of the
+   *                  portfolio.
+   * @param skipped   the reason every other portfolio was skipped, by the name of the portfolio.
+   */
+  BulkRebalanceReport(LocalDate date, NavigableMap<String, List<Transaction>> trades,
+                      NavigableMap<String, Double> values,
+                      NavigableMap<String, Double> turnovers,
+                      NavigableMap<String, String> skipped) {
+    this.date = date;
+    this.trades = trades;
+    this.values = values;
+    this.turnovers = turnovers;
+    this.skipped = skipped;
+  }
+
+  /**
+   * This method returns the date of the rebalance.
+   *
+   * @return the date of the rebalance.
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * This method returns the trades of every portfolio that was rebalanced.
+   *
+   * @return the trades, by the name of the portfolio, in order of name.
+   */
+  public NavigableMap<String, List<Transaction>> getTrades() {
+    return Collections.unmodifiableNavigableMap(trades);
+  }
+
+  /**
+   * This method returns the value of a rebalanced portfolio on the date of the rebalance.
+   *
+   * @param name the name of the portfolio.
+   * @return the value of the portfolio.
+   */
+  public double getValue(String name) {
+    if (!values.containsKey(name)) {
+      throw new IllegalArgumentException("Portfolio was not rebalanced: " + name);
+    }
+    return values.get(name);
+  }
+
+  /**
+   * This method returns the value of the shares bought and sold in a rebalanced portfolio.
+   *
+   * @param name the name of the portfolio.
+   * @return the value traded.
+   */
+  public double getTurnover(String name) {
+    if (!turnovers.containsKey(name)) {
+      throw new IllegalArgumentException("Portfolio was not rebalanced: " + name);
+    }
+    return turnovers.get(name);
+  }
+
+  /**
+   * This method returns the portfolios that were not rebalanced.
+   *
+   * @return the reason each portfolio was skipped, by the name of the portfolio.
+   */
+  public NavigableMap<String, String> getSkipped() {
+    return Collections.unmodifiableNavigableMap(skipped);
+  }
+
+  /**
+   * This method formats the summary as a table, one row for every portfolio rebalanced,
+   * followed by the portfolios that were skipped.
+   *
+   * @return the formatted summary.
+   */
+  public String format() {
+    int width = 10;
+    for (String name : trades.keySet()) {
+      width = Math.max(width, name.length() + 1);
+    }
+    StringBuilder table = new StringBuilder(String.format(
+            "Rebalance on %s: %d rebalanced, %d skipped.%n", date, trades.size(),
+            skipped.size()));
+    table.append(String.format("%-" + width + "s%16s%8s%16s%n", "Portfolio", "Value", "Trades",
+            "Turnover"));
+    double totalValue = 0;
+    double totalTurnover = 0;
+    int totalTrades = 0;
+    for (String name : trades.keySet()) {
+      table.append(String.format("%-" + width + "s%16.2f%8d%16.2f%n", name, values.get(name),
+              trades.get(name).size(), turnovers.get(name)));
+      totalValue += values.get(name);
+      totalTurnover += turnovers.get(name);
+      totalTrades += trades.get(name).size();
+    }
+    table.append(String.format("%-" + width + "s%16.2f%8d%16.2f%n", "Total", totalValue,
+            totalTrades, totalTurnover));
+    for (String name : skipped.keySet()) {
+      table.append(String.format("Skipped %s: %s%n", name, skipped.get(name)));
+    }
+    return table.toString();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class that rebalances many portfolios to the same weights at once, for example every
+ * managed portfolio at the end of a month. The close of every stock held by any of the
+ * portfolios is looked up once into a shared price snapshot for the date, and the trades of
+ * each portfolio are worked out from it in parallel on a fork/join pool without changing
+ * anything. Only then are the trades made, and every rebalanced portfolio is saved once.
+ * A portfolio that cannot be rebalanced, for example because it does not hold exactly the
+ * stocks of the weights, is left as it was and reported as skipped.
+ */
+public class BulkRebalancer {
+  private final ForkJoinPool pool;
+
+  /**
+   * A constructor that creates a bulk rebalancer that runs on the common fork/join pool.
+   */
+  public BulkRebalancer() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * A constructor that creates a bulk rebalancer that runs on the given fork/join pool.
+   *
+   * @param pool the pool the trades are worked out on.
+   */
+  public BulkRebalancer(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool must be given.");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * This method rebalances every saved portfolio, as it is after its most recent change.
+   *
+   * @param percents the desired percentage of every stock, by ticker symbol.
+   * @param date     the date of the rebalance.
+   * @return the summary of the rebalance.
+   */
+  public BulkRebalanceReport rebalanceAll(Map<String, Integer> percents, LocalDate date) {
+    List<Portfolio> loadedPortfolios = new ArrayList<>();
+    NavigableMap<String, String> skipped = new TreeMap<>();
+    Map<String, Stocks> loaded = new HashMap<>();
+    for (String name : new ArrayList<>(Portfolio.getPortfolios())) {
+      try {
+        loadedPortfolios.add(Portfolio.loadLatest(name, loaded));
+      } catch (IllegalArgumentException e) {
+        skipped.put(name, e.getMessage());
+      }
+    }
+    return rebalance(loadedPortfolios, percents, date, skipped);
+  }
+
+  /**
+   * This method rebalances the given portfolios.
+   *
+   * @param portfolios the portfolios to rebalance, each with a different name.
+   * @param percents   the desired percentage of every stock, by ticker symbol.
+   * @param date       the date of the rebalance.
+   * @return the summary of the rebalance.
+   */
+  public BulkRebalanceReport rebalance(List<Portfolio> portfolios, Map<String, Integer> percents,
+                                       LocalDate date) {
+    return rebalance(portfolios, percents, date, new TreeMap<>());
+  }
+
+  //helper method to rebalance portfolios, adding to the portfolios already skipped.
+  private BulkRebalanceReport rebalance(List<Portfolio> portfolios,
+                                        Map<String, Integer> percents, LocalDate date,
+                                        NavigableMap<String, String> skipped) {
+    if (portfolios == null) {
+      throw new IllegalArgumentException("Portfolios to rebalance must be given.");
+    }
+    if (percents == null || percents.isEmpty()) {
+      throw new IllegalArgumentException("Percents cannot be null or empty.");
+    }
+    if (date == null) {
+      throw new IllegalArgumentException("Date of the rebalance must be given.");
+    }
+    Map<String, Double> closes = priceSnapshot(portfolios, date);
+    List<List<Transaction>> plans = new ArrayList<>();
+    String[] reasons = new String[portfolios.size()];
+    for (int i = 0; i < portfolios.size(); i++) {
+      plans.add(null);
+    }
+    pool.invoke(new PlanTask(portfolios, percents, date, closes, plans, reasons, 0,
+            portfolios.size()));
+
+    NavigableMap<String, List<Transaction>> trades = new TreeMap<>();
+    NavigableMap<String, Double> values = new TreeMap<>();
+    NavigableMap<String, Double> turnovers = new TreeMap<>();
+    List<Portfolio> rebalanced = new ArrayList<>();
+    for (int i = 0; i < portfolios.size(); i++) {
+      Portfolio portfolio = portfolios.get(i);
+      if (plans.get(i) == null) {
+        skipped.put(portfolio.getName(), reasons[i]);
+        continue;
+      }
+      double value = 0;
+      for (Map.Entry<Stocks, Double> holding : portfolio.getStocks().entrySet()) {
+        value += holding.getValue() * closes.get(holding.getKey().getSymbol());
+      }
+      double turnover = 0;
+      for (Transaction trade : plans.get(i)) {
+        turnover += Math.abs(trade.getQuantity()) * closes.get(trade.getSymbol());
+      }
+      portfolio.applyTrades(plans.get(i), date);
+      rebalanced.add(portfolio);
+      trades.put(portfolio.getName(), plans.get(i));
+      values.put(portfolio.getName(), value);
+      turnovers.put(portfolio.getName(), turnover);
+    }
+    for (Portfolio portfolio : rebalanced) {
+      portfolio.saveTrades(trades.get(portfolio.getName()), date);
+    }
+    return new BulkRebalanceReport(date, trades, values, turnovers, skipped);
+  }
+
+  //helper method to look up the last close on or before the date of every stock held by any
+  //of the portfolios, once for every ticker symbol.
+  private static Map<String, Double> priceSnapshot(List<Portfolio> portfolios, LocalDate date) {
+    Map<String, Double> closes = new HashMap<>();
+    for (Portfolio portfolio : portfolios) {
+      for (Stocks stock : portfolio.getStocks().keySet()) {
+        if (!closes.containsKey(stock.getSymbol())) {
+          PriceIndex index = PriceIndex.of(stock.getStockInformation());
+          int position = index.floorIndex(date);
+          closes.put(stock.getSymbol(), position < 0 ? null : index.getClose(position));
+        }
+      }
+    }
+    return closes;
+  }
+
+  //the work of planning the rebalance of a range of the portfolios, split in half until
+  //there is one portfolio left.
+  @SuppressWarnings("serial")
+  private static class PlanTask extends RecursiveAction {
+    private final List<Portfolio> portfolios;
+    private final Map<String, Integer> percents;
+    private final LocalDate date;
+    private final Map<String, Double> closes;
+    private final List<List<Transaction>> plans;
+    private final String[] reasons;
+    private final int from;
+    private final int to;
+
+    private PlanTask(List<Portfolio> portfolios, Map<String, Integer> percents, LocalDate date,
+                     Map<String, Double> closes, List<List<Transaction>> plans,
+                     String[] reasons, int from, int to) {
+      this.portfolios = portfolios;
+      this.percents = percents;
+      this.date = date;
+      this.closes = closes;
+      this.plans = plans;
+      this.reasons = reasons;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= 1) {
+        for (int i = from; i < to; i++) {
+          try {
+            plans.set(i, portfolios.get(i).planRebalance(percents, date, closes));
+          } catch (IllegalArgumentException e) {
+            reasons[i] = e.getMessage();
+          }
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new PlanTask(portfolios, percents, date, closes, plans, reasons, from, middle),
+              new PlanTask(portfolios, percents, date, closes, plans, reasons, middle, to));
+    }
+  }
+}
\ No newline at end of file
@@ -28,13 +28,27 @@ public class CSVReader implements FileCreator {
    * @param tickerSymbol is the ticker symbol of the given stock.
    */
   public CSVReader(APIReader stockData, String tickerSymbol) {
+    this(stockData, tickerSymbol, DIRECTORY_PATH);
+  }
+
+  /**
+   * A constructor that initializes the CSVReader object with the stock data, ticker symbol
+   * and the directory the data file is stored in.
+   *
+   * @param stockData     is the data the API will use to get the
+   *                      stock information.
+   * @param tickerSymbol  is the ticker symbol of the given stock.
+   * @param directoryPath is the directory the data file is stored in.
+   */
+  public CSVReader(APIReader stockData, String tickerSymbol, String directoryPath) {
     this.stockData = stockData;
     this.tickerSymbol = tickerSymbol;
-    this.csvFilePath = DIRECTORY_PATH + "/" + tickerSymbol + ".csv";
+    this.csvFilePath = directoryPath + "/" + tickerSymbol + ".csv";
   }
 
   /**
    * Reads the stock data from the file, and will return a list of stock information.
+   * The list keeps the price index of the data, so calculations on it can reuse the index.
    *
    * @return a list of stock information that has the data from the file.
    */
@@ -58,7 +72,7 @@ public class CSVReader implements FileCreator {
     } catch (IOException e) {
       e.printStackTrace();
     }
-    return stockData;
+    return new PriceSeries(stockData);
   }
 
   /**
@@ -76,8 +90,7 @@ public class CSVReader implements FileCreator {
     if (stockData.readData().equals("")) {
       throw new IllegalArgumentException("File already up to date");
     }
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(
-            DIRECTORY_PATH + "/" + tickerSymbol + ".csv"))) {
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(csvFilePath))) {
       writer.write(stockData.readData());
     } catch (IOException e) {
       throw new RuntimeException("File path does not exist");
@@ -0,0 +1,327 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A class that remembers the answers of another set of calculations.
+ * An answer is kept under the price series it was calculated from, the calculation
+ * and its arguments. The series is matched by identity, so a series that is refreshed
+ * from its data file never gets the answers of the old one, and the old answers can be
+ * dropped at once with invalidate. The cache holds a bounded number of answers and drops
+ * the least recently used one when it is full. Questions that fail are not remembered.
+ */
+public class CachingCalculations implements Calculations {
+  private static final int DEFAULT_CAPACITY = 4096;
+
+  private final Calculations calculations;
+  private final int capacity;
+  private final Map<Key, Object> answers;
+  private final AtomicLong hits;
+  private final AtomicLong misses;
+  private final AtomicLong evictions;
+
+  /**
+   * A constructor that creates a cache of the default size around the given calculations.
+   *
+   * @param calculations the calculations whose answers are remembered.
+   */
+  public CachingCalculations(Calculations calculations) {
+    this(calculations, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * A constructor that creates a cache of the given size around the given calculations.
+   *
+   * @param calculations the calculations whose answers are remembered.
+   * @param capacity     the largest number of answers the cache holds.
+   */
+  public CachingCalculations(Calculations calculations, int capacity) {
+    if (calculations == null) {
+      throw new IllegalArgumentException("Calculations must be given.");
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be greater than 0.");
+    }
+    this.calculations = calculations;
+    this.capacity = capacity;
+    this.hits = new AtomicLong();
+    this.misses = new AtomicLong();
+    this.evictions = new AtomicLong();
+    this.answers = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+        if (size() > CachingCalculations.this.capacity) {
+          evictions.incrementAndGet();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * This method returns the gain or loss of a stock between two given dates,
+   * from the cache when it was asked before.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the answer of the calculation as a double.
+   */
+  @Override
+  public double gainLossCheck(List<StockInformation> price, LocalDate startDate,
+                              LocalDate endDate) throws IllegalArgumentException {
+    return (Double) answer(price, "gainLossCheck",
+            () -> calculations.gainLossCheck(price, startDate, endDate), startDate, endDate);
+  }
+
+  /**
+   * This method returns the moving average of a stock,
+   * from the cache when it was asked before.
+   *
+   * @param price the price of the stock.
+   * @param date  the date we are going to look at.
+   * @param days  the number of days we are going to look at.
+   * @return the answer of the calculation as a double.
+   */
+  @Override
+  public double movingAverage(List<StockInformation> price, LocalDate date, int days)
+          throws IllegalArgumentException {
+    return (Double) answer(price, "movingAverage",
+            () -> calculations.movingAverage(price, date, days), date, days);
+  }
+
+  /**
+   * This method returns the crossover dates of a stock,
+   * from the cache when it was asked before.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @param days      the number of days we are going to look at.
+   * @return the crossover dates of the stock as a list of LocalDate.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<LocalDate> crossoverDates(List<StockInformation> price, LocalDate startDate,
+                                        LocalDate endDate, int days)
+          throws IllegalArgumentException {
+    List<LocalDate> dates = (List<LocalDate>) answer(price, "crossoverDates",
+            () -> List.copyOf(calculations.crossoverDates(price, startDate, endDate, days)),
+            startDate, endDate, days);
+    return new ArrayList<>(dates);
+  }
+
+  /**
+   * This method returns the highest high of a stock between two given dates,
+   * from the cache when it was asked before.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the answer of the calculation as a double.
+   */
+  @Override
+  public double highestHigh(List<StockInformation> price, LocalDate startDate,
+                            LocalDate endDate) throws IllegalArgumentException {
+    return (Double) answer(price, "highestHigh",
+            () -> calculations.highestHigh(price, startDate, endDate), startDate, endDate);
+  }
+
+  /**
+   * This method returns the lowest low of a stock between two given dates,
+   * from the cache when it was asked before.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the answer of the calculation as a double.
+   */
+  @Override
+  public double lowestLow(List<StockInformation> price, LocalDate startDate,
+                          LocalDate endDate) throws IllegalArgumentException {
+    return (Double) answer(price, "lowestLow",
+            () -> calculations.lowestLow(price, startDate, endDate), startDate, endDate);
+  }
+
+  /**
+   * This method returns the 52-week high of a stock on a given date,
+   * from the cache when it was asked before.
+   *
+   * @param price the price of the stock.
+   * @param date  the date we are going to look at.
+   * @return the answer of the calculation as a double.
+   */
+  @Override
+  public double fiftyTwoWeekHigh(List<StockInformation> price, LocalDate date)
+          throws IllegalArgumentException {
+    return (Double) answer(price, "fiftyTwoWeekHigh",
+            () -> calculations.fiftyTwoWeekHigh(price, date), date);
+  }
+
+  /**
+   * This method returns the 52-week low of a stock on a given date,
+   * from the cache when it was asked before.
+   *
+   * @param price the price of the stock.
+   * @param date  the date we are going to look at.
+   * @return the answer of the calculation as a double.
+   */
+  @Override
+  public double fiftyTwoWeekLow(List<StockInformation> price, LocalDate date)
+          throws IllegalArgumentException {
+    return (Double) answer(price, "fiftyTwoWeekLow",
+            () -> calculations.fiftyTwoWeekLow(price, date), date);
+  }
+
+  /**
+   * This method returns the maximum drawdown of a stock between two given dates,
+   * from the cache when it was asked before.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the answer of the calculation as a double.
+   */
+  @Override
+  public double maxDrawdown(List<StockInformation> price, LocalDate startDate,
+                            LocalDate endDate) throws IllegalArgumentException {
+    return (Double) answer(price, "maxDrawdown",
+            () -> calculations.maxDrawdown(price, startDate, endDate), startDate, endDate);
+  }
+
+  /**
+   * This method drops every answer calculated from a price series.
+   * It is called when the series is refreshed from its data file.
+   *
+   * @param price the price series whose answers are dropped.
+   */
+  public void invalidate(List<StockInformation> price) {
+    synchronized (answers) {
+      Iterator<Key> keys = answers.keySet().iterator();
+      while (keys.hasNext()) {
+        if (keys.next().price == price) {
+          keys.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * This method drops every answer in the cache.
+   */
+  public void clear() {
+    synchronized (answers) {
+      answers.clear();
+    }
+  }
+
+  /**
+   * This method returns the number of answers in the cache.
+   *
+   * @return the number of answers.
+   */
+  public int size() {
+    synchronized (answers) {
+      return answers.size();
+    }
+  }
+
+  /**
+   * This method returns the number of questions answered from the cache.
+   *
+   * @return the number of hits.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * This method returns the number of questions that had to be calculated.
+   *
+   * @return the number of misses.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * This method returns the number of answers dropped because the cache was full.
+   *
+   * @return the number of evictions.
+   */
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  /**
+   * This method returns the counters of the cache, to help pick its size.
+   *
+   * @return the counters of the cache as a string.
+   */
+  @Override
+  public String toString() {
+    return String.format("Cache size: %d/%d, hits: %d, misses: %d, evictions: %d",
+            size(), capacity, getHits(), getMisses(), getEvictions());
+  }
+
+  //helper method to return a remembered answer, or calculate and remember it.
+  //the answer is calculated outside the lock, so slow questions do not hold up the others.
+  private Object answer(List<StockInformation> price, String method,
+                        Supplier<Object> calculation, Object... arguments) {
+    Key key = new Key(price, method, arguments);
+    synchronized (answers) {
+      Object answer = answers.get(key);
+      if (answer != null) {
+        hits.incrementAndGet();
+        return answer;
+      }
+    }
+    misses.incrementAndGet();
+    Object answer = calculation.get();
+    synchronized (answers) {
+      answers.put(key, answer);
+    }
+    return answer;
+  }
+
+  //the key of an answer: the series it was calculated from, matched by identity,
+  //the name of the calculation and its arguments.
+  private static final class Key {
+    private final List<StockInformation> price;
+    private final String method;
+    private final Object[] arguments;
+    private final int hash;
+
+    private Key(List<StockInformation> price, String method, Object[] arguments) {
+      this.price = price;
+      this.method = method;
+      this.arguments = arguments;
+      this.hash = 31 * (31 * System.identityHashCode(price) + method.hashCode())
+              + Arrays.hashCode(arguments);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return price == key.price && method.equals(key.method)
+              && Arrays.equals(arguments, key.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
\ No newline at end of file
@@ -41,4 +41,58 @@ public interface Calculations {
 
   List<LocalDate> crossoverDates(List<StockInformation> price,
                                  LocalDate startDate, LocalDate endDate, int days);
+
+  /**
+   * This method finds the highest high of a stock between two given dates.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the highest high of the stock as a double.
+   */
+
+  double highestHigh(List<StockInformation> price, LocalDate startDate, LocalDate endDate);
+
+  /**
+   * This method finds the lowest low of a stock between two given dates.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the lowest low of the stock as a double.
+   */
+
+  double lowestLow(List<StockInformation> price, LocalDate startDate, LocalDate endDate);
+
+  /**
+   * This method finds the 52-week high of a stock on a given date.
+   *
+   * @param price the price of the stock.
+   * @param date  the date we are going to look at.
+   * @return the highest high of the 52 weeks up to the date as a double.
+   */
+
+  double fiftyTwoWeekHigh(List<StockInformation> price, LocalDate date);
+
+  /**
+   * This method finds the 52-week low of a stock on a given date.
+   *
+   * @param price the price of the stock.
+   * @param date  the date we are going to look at.
+   * @return the lowest low of the 52 weeks up to the date as a double.
+   */
+
+  double fiftyTwoWeekLow(List<StockInformation> price, LocalDate date);
+
+  /**
+   * This method calculates the maximum drawdown of a stock between two given dates,
+   * the largest fall of its closing price from a previous peak.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the maximum drawdown as a fraction of the peak.
+   */
+
+  double maxDrawdown(List<StockInformation> price, LocalDate startDate, LocalDate endDate);
 }
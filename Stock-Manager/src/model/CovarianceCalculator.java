@@ -0,0 +1,154 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class that calculates the covariance and correlation matrix of the daily returns of a
+ * set of stocks. The price series are first aligned on a shared trading calendar, the days
+ * in the range that every stock traded on, so every return covers the same two days for
+ * every stock. The returns are kept in one primitive row per stock with their mean removed.
+ * The matrix is then filled in square tiles of stocks, and each tile walks the days in
+ * blocks, so the rows it works on stay in the cache while they are multiplied. The tiles
+ * above the diagonal are shared out on a fork/join pool, and the lower half is mirrored.
+ */
+public class CovarianceCalculator {
+  private static final int STOCK_BLOCK = 32;
+  private static final int DAY_BLOCK = 256;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * A constructor that creates a calculator that runs on the common fork/join pool.
+   */
+  public CovarianceCalculator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * A constructor that creates a calculator that runs on the given fork/join pool.
+   *
+   * @param pool the pool the matrix is calculated on.
+   */
+  public CovarianceCalculator(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool must be given.");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * This method calculates the covariance matrix of the daily returns of the stocks
+   * over the trading days between two dates that every stock traded on.
+   *
+   * @param stocks    the stocks, at least two.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the covariance matrix of the stocks.
+   */
+  public CovarianceMatrix calculate(List<Stocks> stocks, LocalDate startDate,
+                                    LocalDate endDate) {
+    if (stocks == null || stocks.size() < 2) {
+      throw new IllegalArgumentException("At least two stocks are needed for a correlation.");
+    }
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException("Start date and end date cannot be null.");
+    }
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("End date cannot be before start date.");
+    }
+    double[][] returns = AlignedReturns.daily(stocks, startDate, endDate);
+    int days = returns[0].length;
+    if (days < 2) {
+      throw new IllegalArgumentException(
+              "Not enough shared trading days in this date range.");
+    }
+    for (double[] row : returns) {
+      double mean = 0;
+      for (double value : row) {
+        mean += value;
+      }
+      mean /= days;
+      for (int day = 0; day < days; day++) {
+        row[day] -= mean;
+      }
+    }
+
+    int size = stocks.size();
+    double[][] covariance = new double[size][size];
+    List<int[]> tiles = new ArrayList<>();
+    for (int row = 0; row < size; row += STOCK_BLOCK) {
+      for (int column = row; column < size; column += STOCK_BLOCK) {
+        tiles.add(new int[]{row, column});
+      }
+    }
+    pool.invoke(new TileTask(returns, covariance, tiles, 0, tiles.size()));
+
+    for (int row = 0; row < size; row++) {
+      for (int column = row; column < size; column++) {
+        covariance[row][column] /= days - 1;
+        covariance[column][row] = covariance[row][column];
+      }
+    }
+    List<String> symbols = new ArrayList<>();
+    for (Stocks stock : stocks) {
+      symbols.add(stock.getSymbol());
+    }
+    return new CovarianceMatrix(symbols, covariance, days);
+  }
+
+  //a task that fills a range of tiles of the upper half of the matrix.
+  @SuppressWarnings("serial")
+  private static class TileTask extends RecursiveAction {
+    private final double[][] returns;
+    private final double[][] covariance;
+    private final List<int[]> tiles;
+    private final int from;
+    private final int to;
+
+    private TileTask(double[][] returns, double[][] covariance,
+                     List<int[]> tiles, int from, int to) {
+      this.returns = returns;
+      this.covariance = covariance;
+      this.tiles = tiles;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        int[] tile = tiles.get(from);
+        fillTile(tile[0], tile[1]);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new TileTask(returns, covariance, tiles, from, middle),
+              new TileTask(returns, covariance, tiles, middle, to));
+    }
+
+    //helper method to add up the products of the returns of one tile, a block of days at a time.
+    private void fillTile(int firstRow, int firstColumn) {
+      int lastRow = Math.min(firstRow + STOCK_BLOCK, returns.length);
+      int lastColumn = Math.min(firstColumn + STOCK_BLOCK, returns.length);
+      int days = returns[0].length;
+      for (int start = 0; start < days; start += DAY_BLOCK) {
+        int end = Math.min(start + DAY_BLOCK, days);
+        for (int row = firstRow; row < lastRow; row++) {
+          double[] rowReturns = returns[row];
+          for (int column = Math.max(firstColumn, row); column < lastColumn; column++) {
+            double[] columnReturns = returns[column];
+            double sum = 0;
+            for (int day = start; day < end; day++) {
+              sum += rowReturns[day] * columnReturns[day];
+            }
+            covariance[row][column] += sum;
+          }
+        }
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package model;
+
+import java.util.List;
+
+/**
+ * A class that stores the covariances of the daily returns of a set of stocks,
+ * and the correlations that follow from them. Row and column i belong to the
+ * i-th ticker symbol of the matrix.
+ */
+public class CovarianceMatrix {
+  private final List<String> symbols;
+  private final double[][] covariance;
+  private final int observations;
+
+  /**
+   * A constructor that creates a covariance matrix.
+   *
+   * @param symbols      the ticker symbols of the rows and columns.
+   * @param covariance   the covariances of the daily returns, a square symmetric matrix.
+   * @param observations the number of daily returns the covariances were calculated from.
+   */
+  public CovarianceMatrix(List<String> symbols, double[][] covariance, int observations) {
+    if (symbols == null || covariance == null || covariance.length != symbols.size()) {
+      throw new IllegalArgumentException("There must be one row for every symbol.");
+    }
+    this.symbols = List.copyOf(symbols);
+    this.covariance = covariance;
+    this.observations = observations;
+  }
+
+  /**
+   * This method will return the ticker symbols of the rows and columns.
+   *
+   * @return the ticker symbols as a list.
+   */
+  public List<String> getSymbols() {
+    return symbols;
+  }
+
+  /**
+   * This method will return the number of daily returns the matrix was calculated from.
+   *
+   * @return the number of daily returns.
+   */
+  public int getObservations() {
+    return observations;
+  }
+
+  /**
+   * This method will return the covariance of the daily returns of two stocks.
+   *
+   * @param row    the position of the first stock.
+   * @param column the position of the second stock.
+   * @return the covariance as a double.
+   */
+  public double getCovariance(int row, int column) {
+    return covariance[row][column];
+  }
+
+  /**
+   * This method will return the correlation of the daily returns of two stocks.
+   *
+   * @param row    the position of the first stock.
+   * @param column the position of the second stock.
+   * @return the correlation between -1 and 1, or NaN if a stock's price never moved.
+   */
+  public double getCorrelation(int row, int column) {
+    double deviations = Math.sqrt(covariance[row][row] * covariance[column][column]);
+    if (deviations == 0) {
+      return Double.NaN;
+    }
+    double correlation = covariance[row][column] / deviations;
+    return Math.max(-1, Math.min(1, correlation));
+  }
+
+  /**
+   * This method will return a copy of the whole correlation matrix.
+   *
+   * @return the correlations, one row and column per stock.
+   */
+  public double[][] getCorrelations() {
+    int size = symbols.size();
+    double[][] correlations = new double[size][size];
+    for (int row = 0; row < size; row++) {
+      for (int column = 0; column < size; column++) {
+        correlations[row][column] = getCorrelation(row, column);
+      }
+    }
+    return correlations;
+  }
+
+  /**
+   * This method will format the correlation matrix as a table,
+   * with the ticker symbols along the top and down the side.
+   *
+   * @return the correlation table as a string.
+   */
+  public String formatCorrelations() {
+    int width = 7;
+    for (String symbol : symbols) {
+      width = Math.max(width, symbol.length() + 1);
+    }
+    String cell = "%" + width + "s";
+    StringBuilder table = new StringBuilder(String.format(cell, ""));
+    for (String symbol : symbols) {
+      table.append(String.format(cell, symbol));
+    }
+    table.append("\n");
+    for (int row = 0; row < symbols.size(); row++) {
+      table.append(String.format(cell, symbols.get(row)));
+      for (int column = 0; column < symbols.size(); column++) {
+        table.append(String.format(cell, String.format("%.2f", getCorrelation(row, column))));
+      }
+      table.append("\n");
+    }
+    table.append("Based on ").append(observations).append(" daily returns.\n");
+    return table.toString();
+  }
+}
\ No newline at end of file
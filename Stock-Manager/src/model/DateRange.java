@@ -0,0 +1,86 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A class that represents a named period between two dates, such as "1M" or "YTD".
+ * The dates are calendar dates; a date that is not a trading day stands for the
+ * last trading day on or before it.
+ */
+public class DateRange {
+  private final String label;
+  private final LocalDate startDate;
+  private final LocalDate endDate;
+
+  /**
+   * A constructor that creates a period between two dates.
+   *
+   * @param label     the name of the period.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   */
+  public DateRange(String label, LocalDate startDate, LocalDate endDate) {
+    if (label == null || startDate == null || endDate == null) {
+      throw new IllegalArgumentException("Label, start date and end date cannot be null.");
+    }
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("End date cannot be before start date.");
+    }
+    this.label = label;
+    this.startDate = startDate;
+    this.endDate = endDate;
+  }
+
+  /**
+   * This method will return the usual reporting periods ending on a date:
+   * one day, one week, one month, year to date, one year and five years.
+   *
+   * @param date the date the periods end on.
+   * @return the periods as a list, shortest first.
+   */
+  public static List<DateRange> standardPeriods(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Dates cannot be null");
+    }
+    return List.of(
+            new DateRange("1D", date.minusDays(1), date),
+            new DateRange("1W", date.minusWeeks(1), date),
+            new DateRange("1M", date.minusMonths(1), date),
+            new DateRange("YTD", date.withDayOfYear(1).minusDays(1), date),
+            new DateRange("1Y", date.minusYears(1), date),
+            new DateRange("5Y", date.minusYears(5), date));
+  }
+
+  /**
+   * This method will return the name of the period.
+   *
+   * @return the name of the period as a string.
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * This method will return the start date of the period.
+   *
+   * @return the start date.
+   */
+  public LocalDate getStartDate() {
+    return startDate;
+  }
+
+  /**
+   * This method will return the end date of the period.
+   *
+   * @return the end date.
+   */
+  public LocalDate getEndDate() {
+    return endDate;
+  }
+
+  @Override
+  public String toString() {
+    return label + " (" + startDate + " to " + endDate + ")";
+  }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A class that simulates a dollar cost averaging plan, investing a fixed amount on a schedule
+ * and splitting it across stocks by percent. Every installment is bought at the close of the
+ * first trading day on or after its scheduled date. All the purchases are worked out in one
+ * pass over the price index of each stock, without touching the saved portfolios, so the
+ * resulting history can be written in one go afterwards.
+ */
+public class DollarCostAveraging {
+  private final double amount;
+  private final Period frequency;
+  private final List<Stocks> stocks;
+  private final double[] weights;
+
+  /**
+   * A constructor that creates a plan.
+   *
+   * @param amount    the amount of money invested every installment.
+   * @param frequency the time between installments, for example a week or a month.
+   * @param percents  the percent of every installment that goes to each stock.
+   */
+  public DollarCostAveraging(double amount, Period frequency, Map<Stocks, Integer> percents) {
+    if (amount <= 0) {
+      throw new IllegalArgumentException("Amount to invest must be greater than 0.");
+    }
+    if (frequency == null || frequency.isZero() || frequency.isNegative()) {
+      throw new IllegalArgumentException("Time between investments must be greater than 0.");
+    }
+    if (percents == null || percents.isEmpty()) {
+      throw new IllegalArgumentException("Percents cannot be null or empty.");
+    }
+    int sum = 0;
+    for (int percent : percents.values()) {
+      if (percent < 0) {
+        throw new IllegalArgumentException("Percent cannot be less than 0.");
+      }
+      sum += percent;
+    }
+    if (sum != 100) {
+      throw new IllegalArgumentException("Percents must add up to 100.");
+    }
+    this.amount = amount;
+    this.frequency = frequency;
+    this.stocks = new ArrayList<>(percents.keySet());
+    this.stocks.sort(Comparator.comparing(Stocks::getSymbol));
+    this.weights = new double[stocks.size()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = percents.get(stocks.get(i)) / 100.0;
+    }
+  }
+
+  /**
+   * This method simulates the plan from the start date to the end date. The first
+   * installment is on the start date and the last one on or before the end date. A stock
+   * that has no trading day between an installment and the end date skips that installment.
+   *
+   * @param startDate the date of the first installment.
+   * @param endDate   the last date of the plan.
+   * @return the purchases and holdings of the plan.
+   */
+  public DollarCostAveragingResult simulate(LocalDate startDate, LocalDate endDate) {
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException("Invalid date range.");
+    }
+    List<Integer> schedule = new ArrayList<>();
+    for (LocalDate date = startDate; !date.isAfter(endDate);
+         date = startDate.plus(frequency.multipliedBy(schedule.size()))) {
+      schedule.add((int) date.toEpochDay());
+    }
+    int[] scheduled = schedule.stream().mapToInt(Integer::intValue).toArray();
+    int last = (int) endDate.toEpochDay();
+
+    TreeMap<Integer, double[]> bought = new TreeMap<>();
+    double[] closes = new double[stocks.size()];
+    double invested = 0;
+    int purchases = 0;
+    for (int i = 0; i < stocks.size(); i++) {
+      PriceIndex index = PriceIndex.of(stocks.get(i).getStockInformation());
+      int[] positions = index.ceilingIndices(scheduled);
+      for (int position : positions) {
+        if (position >= index.size() || index.getEpochDay(position) > last) {
+          break;
+        }
+        double spend = amount * weights[i];
+        if (spend > 0) {
+          bought.computeIfAbsent(index.getEpochDay(position),
+                  day -> new double[stocks.size()])[i] += spend / index.getClose(position);
+          invested += spend;
+          purchases++;
+        }
+      }
+      int close = index.floorIndex(endDate);
+      closes[i] = close < 0 ? 0 : index.getClose(close);
+    }
+
+    TreeMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+    double[] shares = new double[stocks.size()];
+    for (Map.Entry<Integer, double[]> day : bought.entrySet()) {
+      Map<Stocks, Double> holdings = new LinkedHashMap<>();
+      for (int i = 0; i < shares.length; i++) {
+        shares[i] += day.getValue()[i];
+        if (shares[i] > 0) {
+          holdings.put(stocks.get(i), shares[i]);
+        }
+      }
+      history.put(LocalDate.ofEpochDay(day.getKey()), holdings);
+    }
+    double value = 0;
+    for (int i = 0; i < shares.length; i++) {
+      value += shares[i] * closes[i];
+    }
+    return new DollarCostAveragingResult(history, scheduled.length, purchases, invested, value);
+  }
+}
\ No newline at end of file
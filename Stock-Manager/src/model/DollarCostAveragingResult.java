@@ -0,0 +1,117 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * A class that represents the result of a dollar cost averaging plan, the holdings after every
+ * day with a purchase and the money put in.
+ */
+public class DollarCostAveragingResult {
+  private final NavigableMap<LocalDate, Map<Stocks, Double>> history;
+  private final int installments;
+  private final int purchases;
+  private final double invested;
+  private final double value;
+
+  /**
+   * A constructor that creates the result of a plan.
+   *
+   * @param history      the holdings after every day with a purchase, by date.
+   * @param installments the number of scheduled installments.
+   * @param purchases    the number of purchases made.
+   * @param invested     the money put in.
+   * @param value        the value of the holdings at the end of the plan.
+   */
+  DollarCostAveragingResult(NavigableMap<LocalDate, Map<Stocks, Double>> history,
+                            int installments, int purchases, double invested, double value) {
+    this.history = history;
+    this.installments = installments;
+    this.purchases = purchases;
+    this.invested = invested;
+    this.value = value;
+  }
+
+  /**
+   * This method returns the holdings after every day with a purchase.
+   *
+   * @return the holdings, by date.
+   */
+  public NavigableMap<LocalDate, Map<Stocks, Double>> getHistory() {
+    return Collections.unmodifiableNavigableMap(history);
+  }
+
+  /**
+   * This method returns the holdings at the end of the plan.
+   *
+   * @return the number of shares of each stock.
+   */
+  public Map<Stocks, Double> getHoldings() {
+    if (history.isEmpty()) {
+      return Map.of();
+    }
+    return Collections.unmodifiableMap(history.lastEntry().getValue());
+  }
+
+  /**
+   * This method returns the number of scheduled installments.
+   *
+   * @return the number of installments.
+   */
+  public int getInstallments() {
+    return installments;
+  }
+
+  /**
+   * This method returns the number of purchases made, one for every stock in every
+   * installment that could be bought.
+   *
+   * @return the number of purchases.
+   */
+  public int getPurchases() {
+    return purchases;
+  }
+
+  /**
+   * This method returns the money put in over the plan.
+   *
+   * @return the money invested.
+   */
+  public double getInvested() {
+    return invested;
+  }
+
+  /**
+   * This method returns the value of the holdings at the last close on or before the end
+   * of the plan.
+   *
+   * @return the final value.
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * This method returns the gain of the plan as a fraction of the money put in.
+   *
+   * @return the return of the plan.
+   */
+  public double getReturn() {
+    return invested == 0 ? 0 : value / invested - 1;
+  }
+
+  /**
+   * This method will save the plan as a new portfolio, writing the holdings after every day
+   * with a purchase in one go instead of saving after every purchase.
+   *
+   * @param name the name of the new portfolio.
+   */
+  public void saveAsPortfolio(String name) {
+    if (history.isEmpty()) {
+      throw new IllegalArgumentException("The plan made no purchases to save.");
+    }
+    Portfolio.saveHistory(name, history);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,378 @@
+package model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A class that maps the stocks of a portfolio to the number of shares held without boxing.
+ * The holdings are kept in three packed arrays, the symbol numbers from the SymbolRegistry,
+ * the stocks and the shares, and an open addressing table of symbol numbers finds the place
+ * of a stock in them with linear probing. Removing a holding moves the last one into its
+ * place, so the arrays stay packed and can be walked by position. It is also a Map, so
+ * callers that only know maps keep working; the shares they read or write through it are
+ * boxed as usual.
+ */
+public class HoldingsMap extends AbstractMap<Stocks, Double> {
+  private int[] ids;
+  private Stocks[] stocks;
+  private double[] shares;
+  private int size;
+  private int[] table;
+  private int shift;
+
+  /**
+   * A constructor that creates an empty map of holdings.
+   */
+  public HoldingsMap() {
+    this.ids = new int[8];
+    this.stocks = new Stocks[8];
+    this.shares = new double[8];
+    this.table = new int[16];
+    this.shift = 32 - 4;
+  }
+
+  /**
+   * A constructor that creates a map of holdings with the holdings of another map.
+   *
+   * @param holdings the number of shares held of every stock.
+   */
+  public HoldingsMap(Map<Stocks, Double> holdings) {
+    this();
+    if (holdings == null) {
+      throw new IllegalArgumentException("Holdings must be given.");
+    }
+    for (Map.Entry<Stocks, Double> holding : holdings.entrySet()) {
+      set(holding.getKey(), holding.getValue());
+    }
+  }
+
+  /**
+   * This method returns the number of shares held of a stock.
+   *
+   * @param stock the stock.
+   * @return the number of shares, 0 if the stock is not held.
+   */
+  public double quantity(Stocks stock) {
+    int position = find(stock.getId());
+    return position < 0 ? 0 : shares[position];
+  }
+
+  /**
+   * This method checks if a stock is held.
+   *
+   * @param stock the stock.
+   * @return true if the stock is in the map, false otherwise.
+   */
+  public boolean holds(Stocks stock) {
+    return find(stock.getId()) >= 0;
+  }
+
+  /**
+   * This method sets the number of shares held of a stock.
+   *
+   * @param stock    the stock.
+   * @param quantity the number of shares.
+   */
+  public void set(Stocks stock, double quantity) {
+    if (stock == null) {
+      throw new IllegalArgumentException("Stock must be given.");
+    }
+    int position = find(stock.getId());
+    if (position >= 0) {
+      stocks[position] = stock;
+      shares[position] = quantity;
+    } else {
+      append(stock, quantity);
+    }
+  }
+
+  /**
+   * This method adds a number of shares to the holding of a stock, holding it if it was not.
+   *
+   * @param stock    the stock.
+   * @param quantity the number of shares to add, negative to take shares away.
+   * @return the number of shares held after the change.
+   */
+  public double add(Stocks stock, double quantity) {
+    if (stock == null) {
+      throw new IllegalArgumentException("Stock must be given.");
+    }
+    int position = find(stock.getId());
+    if (position < 0) {
+      append(stock, quantity);
+      return quantity;
+    }
+    shares[position] += quantity;
+    return shares[position];
+  }
+
+  /**
+   * This method stops holding a stock.
+   *
+   * @param stock the stock.
+   * @return true if the stock was held, false otherwise.
+   */
+  public boolean delete(Stocks stock) {
+    int position = find(stock.getId());
+    if (position < 0) {
+      return false;
+    }
+    removeAt(position);
+    return true;
+  }
+
+  /**
+   * This method returns the stock at a position of the packed arrays, from 0 to size - 1.
+   * Positions change when a holding is removed.
+   *
+   * @param position the position.
+   * @return the stock at the position.
+   */
+  public Stocks stockAt(int position) {
+    checkPosition(position);
+    return stocks[position];
+  }
+
+  /**
+   * This method returns the number of shares at a position of the packed arrays.
+   *
+   * @param position the position.
+   * @return the number of shares at the position.
+   */
+  public double quantityAt(int position) {
+    checkPosition(position);
+    return shares[position];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof Stocks && holds((Stocks) key);
+  }
+
+  @Override
+  public Double get(Object key) {
+    if (!(key instanceof Stocks)) {
+      return null;
+    }
+    int position = find(((Stocks) key).getId());
+    return position < 0 ? null : shares[position];
+  }
+
+  @Override
+  public Double put(Stocks key, Double value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Number of shares must be given.");
+    }
+    Double previous = get(key);
+    set(key, value);
+    return previous;
+  }
+
+  @Override
+  public Double remove(Object key) {
+    if (!(key instanceof Stocks)) {
+      return null;
+    }
+    int position = find(((Stocks) key).getId());
+    if (position < 0) {
+      return null;
+    }
+    double previous = shares[position];
+    removeAt(position);
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(stocks, 0, size, null);
+    Arrays.fill(table, 0);
+    size = 0;
+  }
+
+  @Override
+  public Set<Map.Entry<Stocks, Double>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Map.Entry<Stocks, Double>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  //helper method to find the position of a symbol number in the packed arrays, or -1.
+  private int find(int id) {
+    int mask = table.length - 1;
+    for (int slot = (id * 0x9E3779B9) >>> shift; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (ids[entry - 1] == id) {
+        return entry - 1;
+      }
+    }
+  }
+
+  //helper method to hold a stock that is not held yet, at the end of the packed arrays.
+  private void append(Stocks stock, double quantity) {
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, size * 2);
+      stocks = Arrays.copyOf(stocks, size * 2);
+      shares = Arrays.copyOf(shares, size * 2);
+    }
+    ids[size] = stock.getId();
+    stocks[size] = stock;
+    shares[size] = quantity;
+    size++;
+    if (size * 2 > table.length) {
+      table = new int[table.length * 2];
+      shift--;
+      for (int position = 0; position < size; position++) {
+        insert(position);
+      }
+    } else {
+      insert(size - 1);
+    }
+  }
+
+  //helper method to put a position of the packed arrays in the first free slot of the table.
+  private void insert(int position) {
+    int mask = table.length - 1;
+    int slot = (ids[position] * 0x9E3779B9) >>> shift;
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = position + 1;
+  }
+
+  //helper method to remove the holding at a position. Its slot is emptied and the slots after
+  //it are moved back where they can be, so no lookup has to step over removed slots; then the
+  //last holding is moved into the position and its slot is pointed at it.
+  private void removeAt(int position) {
+    int mask = table.length - 1;
+    int slot = slotOf(position);
+    int next = (slot + 1) & mask;
+    while (table[next] != 0) {
+      int home = (ids[table[next] - 1] * 0x9E3779B9) >>> shift;
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        table[slot] = table[next];
+        slot = next;
+      }
+      next = (next + 1) & mask;
+    }
+    table[slot] = 0;
+
+    int last = size - 1;
+    if (position != last) {
+      table[slotOf(last)] = position + 1;
+      ids[position] = ids[last];
+      stocks[position] = stocks[last];
+      shares[position] = shares[last];
+    }
+    stocks[last] = null;
+    size--;
+  }
+
+  //helper method to find the slot of the table that points at a position.
+  private int slotOf(int position) {
+    int mask = table.length - 1;
+    int slot = (ids[position] * 0x9E3779B9) >>> shift;
+    while (table[slot] != position + 1) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  //helper method to check a position of the packed arrays.
+  private void checkPosition(int position) {
+    if (position < 0 || position >= size) {
+      throw new IndexOutOfBoundsException("Position " + position + " is not held.");
+    }
+  }
+
+  //walks the packed arrays; removing the current holding moves the last one into its place,
+  //so the same position is looked at again.
+  private class EntryIterator implements Iterator<Map.Entry<Stocks, Double>> {
+    private int next;
+    private int current = -1;
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public Map.Entry<Stocks, Double> next() {
+      if (next >= size) {
+        throw new NoSuchElementException();
+      }
+      current = next++;
+      return new Holding(current);
+    }
+
+    @Override
+    public void remove() {
+      if (current < 0) {
+        throw new IllegalStateException();
+      }
+      removeAt(current);
+      next = current;
+      current = -1;
+    }
+  }
+
+  //one holding seen through the map, read from and written to the packed arrays.
+  private class Holding implements Map.Entry<Stocks, Double> {
+    private final Stocks stock;
+    private final int position;
+
+    private Holding(int position) {
+      this.stock = stocks[position];
+      this.position = position;
+    }
+
+    @Override
+    public Stocks getKey() {
+      return stock;
+    }
+
+    @Override
+    public Double getValue() {
+      return position < size && stocks[position] == stock ? shares[position] : quantity(stock);
+    }
+
+    @Override
+    public Double setValue(Double value) {
+      return put(stock, value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+      return stock.equals(entry.getKey()) && getValue().equals(entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return stock.hashCode() ^ getValue().hashCode();
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A class that represents the value of a group of portfolios on every day of a date range,
+ * both combined and for each portfolio, and the shares the group held together.
+ */
+public class HouseholdValuation {
+  private final LocalDate startDate;
+  private final double[] total;
+  private final Map<String, double[]> breakdown;
+  private final Map<String, TransactionLog> logs;
+
+  /**
+   * A constructor that creates the valuation of a group of portfolios.
+   *
+   * @param startDate the first day of the range.
+   * @param total     the combined value of every day of the range.
+   * @param breakdown the value of every day of the range, by the name of the portfolio.
+   * @param logs      the transaction log, by the name of the portfolio.
+   */
+  HouseholdValuation(LocalDate startDate, double[] total, Map<String, double[]> breakdown,
+                     Map<String, TransactionLog> logs) {
+    this.startDate = startDate;
+    this.total = total;
+    this.breakdown = breakdown;
+    this.logs = logs;
+  }
+
+  /**
+   * This method returns the first day of the range.
+   *
+   * @return the first day of the range.
+   */
+  public LocalDate getStartDate() {
+    return startDate;
+  }
+
+  /**
+   * This method returns the last day of the range.
+   *
+   * @return the last day of the range.
+   */
+  public LocalDate getEndDate() {
+    return startDate.plusDays(total.length - 1);
+  }
+
+  /**
+   * This method returns the names of the portfolios, in the order they were given.
+   *
+   * @return the names of the portfolios.
+   */
+  public List<String> getPortfolios() {
+    return new ArrayList<>(breakdown.keySet());
+  }
+
+  /**
+   * This method returns the combined value of the portfolios on every day of the range.
+   *
+   * @return the values, the start date first.
+   */
+  public double[] getDailyValues() {
+    return total.clone();
+  }
+
+  /**
+   * This method returns the value of one portfolio on every day of the range.
+   *
+   * @param name the name of the portfolio.
+   * @return the values, the start date first.
+   */
+  public double[] getDailyValues(String name) {
+    double[] values = breakdown.get(name);
+    if (values == null) {
+      throw new IllegalArgumentException("Portfolio is not part of the valuation: " + name);
+    }
+    return values.clone();
+  }
+
+  /**
+   * This method returns the combined value of the portfolios on a day of the range.
+   *
+   * @param date the day.
+   * @return the combined value.
+   */
+  public double getValue(LocalDate date) {
+    return total[dayOf(date)];
+  }
+
+  /**
+   * This method returns the value of every portfolio on a day of the range.
+   *
+   * @param date the day.
+   * @return the values, by the name of the portfolio.
+   */
+  public Map<String, Double> getBreakdown(LocalDate date) {
+    int day = dayOf(date);
+    Map<String, Double> values = new LinkedHashMap<>();
+    for (Map.Entry<String, double[]> portfolio : breakdown.entrySet()) {
+      values.put(portfolio.getKey(), portfolio.getValue()[day]);
+    }
+    return values;
+  }
+
+  /**
+   * This method returns the shares the portfolios held together at the end of a day.
+   *
+   * @param date the day, which does not have to be in the range.
+   * @return the combined number of shares, by ticker symbol, in order of symbol.
+   */
+  public Map<String, Double> getCombinedComposition(LocalDate date) {
+    Map<String, Double> composition = new TreeMap<>();
+    for (TransactionLog log : logs.values()) {
+      for (Map.Entry<String, Double> position : log.compositionOn(date).entrySet()) {
+        composition.merge(position.getKey(), position.getValue(), Double::sum);
+      }
+    }
+    return composition;
+  }
+
+  //helper method to find the position of a day in the range.
+  private int dayOf(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date must be given.");
+    }
+    long day = date.toEpochDay() - startDate.toEpochDay();
+    if (day < 0 || day >= total.length) {
+      throw new IllegalArgumentException("Date is not in the range of the valuation.");
+    }
+    return (int) day;
+  }
+}
\ No newline at end of file
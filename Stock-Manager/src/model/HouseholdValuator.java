@@ -0,0 +1,109 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A class that values a group of portfolios together, for example every portfolio of one
+ * client. The holdings of the portfolios are joined by ticker symbol, and the price index of
+ * every distinct stock is made once and shared by every portfolio that held it. Each
+ * position is valued by the same merge pass the ValuationEngine uses for one portfolio,
+ * which gives the value of every portfolio on every day, and their sum is added up from
+ * them.
+ */
+public class HouseholdValuator {
+  private final List<Portfolio> portfolios;
+
+  /**
+   * A constructor that creates a valuator for a group of portfolios.
+   *
+   * @param portfolios the portfolios, each with a different name and its transaction log.
+   */
+  public HouseholdValuator(List<Portfolio> portfolios) {
+    if (portfolios == null || portfolios.isEmpty()) {
+      throw new IllegalArgumentException("Portfolios to value must be given.");
+    }
+    Map<String, Portfolio> byName = new LinkedHashMap<>();
+    for (Portfolio portfolio : portfolios) {
+      if (byName.put(portfolio.getName(), portfolio) != null) {
+        throw new IllegalArgumentException("Portfolios must have different names.");
+      }
+    }
+    this.portfolios = new ArrayList<>(byName.values());
+  }
+
+  /**
+   * This method creates a valuator for saved portfolios, importing the whole history of each.
+   * The price data of a stock held by more than one of them is only read once.
+   *
+   * @param names the names of the portfolios.
+   * @return the valuator of the portfolios.
+   */
+  public static HouseholdValuator ofSaved(List<String> names) {
+    if (names == null) {
+      throw new IllegalArgumentException("Names of the portfolios must be given.");
+    }
+    Map<String, Stocks> loaded = new HashMap<>();
+    List<Portfolio> imported = new ArrayList<>();
+    for (String name : names) {
+      imported.add(Portfolio.importHistory(name, loaded));
+    }
+    return new HouseholdValuator(imported);
+  }
+
+  /**
+   * This method values the portfolios on every day of a date range.
+   *
+   * @param startDate the first day of the range.
+   * @param endDate   the last day of the range.
+   * @return the combined and the separate daily values of the portfolios.
+   */
+  public HouseholdValuation value(LocalDate startDate, LocalDate endDate) {
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException("Invalid date range.");
+    }
+    int from = (int) startDate.toEpochDay();
+    int to = (int) endDate.toEpochDay();
+    int days = to - from + 1;
+
+    Map<String, Stocks> union = new TreeMap<>();
+    for (Portfolio portfolio : portfolios) {
+      for (Stocks stock : portfolio.knownStocks().values()) {
+        union.putIfAbsent(stock.getSymbol(), stock);
+      }
+    }
+
+    Map<String, double[]> breakdown = new LinkedHashMap<>();
+    for (Portfolio portfolio : portfolios) {
+      breakdown.put(portfolio.getName(), new double[days]);
+    }
+    for (Stocks stock : union.values()) {
+      PriceIndex index = PriceIndex.of(stock.getStockInformation());
+      for (Portfolio portfolio : portfolios) {
+        TransactionLog log = portfolio.getTransactionLog();
+        int[] changes = log.changeDays(stock.getSymbol());
+        if (changes.length > 0) {
+          ValuationEngine.addPosition(breakdown.get(portfolio.getName()), from, to, changes,
+                  log.cumulativePositions(stock.getSymbol()), index);
+        }
+      }
+    }
+    double[] total = new double[days];
+    for (double[] values : breakdown.values()) {
+      for (int day = 0; day < days; day++) {
+        total[day] += values[day];
+      }
+    }
+
+    Map<String, TransactionLog> logs = new LinkedHashMap<>();
+    for (Portfolio portfolio : portfolios) {
+      logs.put(portfolio.getName(), portfolio.getTransactionLog());
+    }
+    return new HouseholdValuation(startDate, total, breakdown, logs);
+  }
+}
\ No newline at end of file
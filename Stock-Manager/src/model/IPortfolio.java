@@ -90,4 +90,12 @@ public interface IPortfolio {
    * @param date     the date of the rebalance.
    */
   void rebalancePortfolio(List<Integer> percents, LocalDate date);
+
+  /**
+   * This method will rebalance the portfolio to the desired weights of the distributed value.
+   *
+   * @param percents the desired percentage of every stock in the portfolio, by ticker symbol.
+   * @param date     the date of the rebalance.
+   */
+  void rebalancePortfolio(Map<String, Integer> percents, LocalDate date);
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package model;
+
+/**
+ * A class that holds the numeric kernels the indicators are computed with.
+ * Every kernel works on primitive arrays over a range of positions, so a whole range of
+ * trading days is handled in one call instead of one day at a time.
+ * The window sums have two paths. The scalar path is the reference: it adds up every window
+ * by itself, one position at a time. The lane path adds up the windows of four positions at
+ * once, each in its own accumulator, so the additions of the four positions do not wait on
+ * each other. Every position still adds its values newest to oldest, so both paths give the
+ * same bits, and both take window additions per position; longer windows are left to the
+ * prefix sums of the price index. The lane path is used unless the system property asks for
+ * the scalar one, or unless it does not give the bits of the scalar path on a sample series
+ * when the class is loaded, in which case the scalar path is used instead.
+ */
+public final class IndicatorKernels {
+
+  /**
+   * The system property that picks the path of the window sums, either "scalar" or "lanes".
+   */
+  public static final String KERNELS_PROPERTY = "stockmanager.kernels";
+
+  private static final int LANES = 4;
+  private static final boolean USE_LANES =
+          !"scalar".equalsIgnoreCase(System.getProperty(KERNELS_PROPERTY)) && lanesMatch();
+
+  private IndicatorKernels() {
+  }
+
+  /**
+   * This method tells whether the window sums use the lane path.
+   *
+   * @return true if the lane path is used, false if the scalar path is.
+   */
+  public static boolean usesLanes() {
+    return USE_LANES;
+  }
+
+  /**
+   * This method adds up, for every position in a range, the values of the window
+   * of positions ending there. The values are added newest to oldest, and a window
+   * that would start before the first position starts at the first position instead.
+   *
+   * @param values the values to add up.
+   * @param from   the first position to find the sum for.
+   * @param to     the last position to find the sum for.
+   * @param window the number of positions in a window.
+   * @param sums   the array the sums are written to, the sum of position p at p - from.
+   */
+  public static void windowSums(double[] values, int from, int to, int window, double[] sums) {
+    checkWindow(values, from, to, window, sums);
+    if (USE_LANES) {
+      laneWindowSums(values, from, to, window, sums);
+    } else {
+      scalarSums(values, from, to, window, sums);
+    }
+  }
+
+  /**
+   * This method adds up the windows the way {@link #windowSums} does, always with the scalar
+   * path, so the path in use can be checked against it.
+   *
+   * @param values the values to add up.
+   * @param from   the first position to find the sum for.
+   * @param to     the last position to find the sum for.
+   * @param window the number of positions in a window.
+   * @param sums   the array the sums are written to, the sum of position p at p - from.
+   */
+  public static void scalarWindowSums(double[] values, int from, int to, int window,
+                                      double[] sums) {
+    checkWindow(values, from, to, window, sums);
+    scalarSums(values, from, to, window, sums);
+  }
+
+  //helper method to add up every window by itself.
+  private static void scalarSums(double[] values, int from, int to, int window, double[] sums) {
+    for (int position = from; position <= to; position++) {
+      sums[position - from] = windowSum(values, position, Math.max(0, position - window + 1));
+    }
+  }
+
+  //helper method to add up the windows of four positions at a time.
+  private static void laneWindowSums(double[] values, int from, int to, int window,
+                                     double[] sums) {
+    int position = from;
+    //positions whose window would start before the first position are summed one by one.
+    for (; position <= to && position < window - 1; position++) {
+      sums[position - from] = windowSum(values, position, 0);
+    }
+    for (; position + LANES - 1 <= to; position += LANES) {
+      double sum0 = 0;
+      double sum1 = 0;
+      double sum2 = 0;
+      double sum3 = 0;
+      for (int i = position; i > position - window; i--) {
+        sum0 += values[i];
+        sum1 += values[i + 1];
+        sum2 += values[i + 2];
+        sum3 += values[i + 3];
+      }
+      sums[position - from] = sum0;
+      sums[position - from + 1] = sum1;
+      sums[position - from + 2] = sum2;
+      sums[position - from + 3] = sum3;
+    }
+    for (; position <= to; position++) {
+      sums[position - from] = windowSum(values, position, position - window + 1);
+    }
+  }
+
+  /**
+   * This method finds, for every position in a range, the simple return from the value
+   * at the position before it, value[p] / value[p - 1] - 1.
+   *
+   * @param values  the values to find the returns of.
+   * @param from    the first position to find the return for, at least 1.
+   * @param to      the last position to find the return for.
+   * @param returns the array the returns are written to, the return of position p at p - from.
+   */
+  public static void returns(double[] values, int from, int to, double[] returns) {
+    if (values == null || returns == null) {
+      throw new IllegalArgumentException("Arrays must be given.");
+    }
+    if (from < 1) {
+      throw new IllegalArgumentException("A return needs the value before it.");
+    }
+    checkRange(values.length, from, to, returns.length);
+    for (int position = from; position <= to; position++) {
+      returns[position - from] = values[position] / values[position - 1] - 1;
+    }
+  }
+
+  /**
+   * This method compares, for every position in a range, a value with a threshold.
+   *
+   * @param values     the values to compare.
+   * @param from       the position of the first value to compare.
+   * @param thresholds the thresholds, the threshold of position p at p - from.
+   * @param length     the number of positions to compare.
+   * @param above      the array the results are written to, true where the value is greater.
+   * @return the number of positions where the value is greater than its threshold.
+   */
+  public static int above(double[] values, int from, double[] thresholds, int length,
+                          boolean[] above) {
+    if (values == null || thresholds == null || above == null) {
+      throw new IllegalArgumentException("Arrays must be given.");
+    }
+    if (length < 0 || from < 0 || from + length > values.length
+            || length > thresholds.length || length > above.length) {
+      throw new IllegalArgumentException("Invalid range of positions.");
+    }
+    int count = 0;
+    for (int i = 0; i < length; i++) {
+      if (values[from + i] > thresholds[i]) {
+        above[i] = true;
+        count++;
+      } else {
+        above[i] = false;
+      }
+    }
+    return count;
+  }
+
+  //helper method to check that the lane path gives the bits of the scalar path on a sample
+  //series, with windows that are shorter and longer than the lanes.
+  private static boolean lanesMatch() {
+    double[] values = new double[64];
+    double value = 100;
+    for (int i = 0; i < values.length; i++) {
+      value *= i % 3 == 0 ? 1.013 : 0.994;
+      values[i] = value;
+    }
+    double[] lanes = new double[values.length];
+    double[] scalar = new double[values.length];
+    for (int window : new int[]{1, 3, 10, 16}) {
+      laneWindowSums(values, 0, values.length - 1, window, lanes);
+      scalarSums(values, 0, values.length - 1, window, scalar);
+      for (int i = 0; i < values.length; i++) {
+        if (Double.doubleToRawLongBits(lanes[i]) != Double.doubleToRawLongBits(scalar[i])) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  //helper method to check the arguments of the window sums.
+  private static void checkWindow(double[] values, int from, int to, int window,
+                                  double[] sums) {
+    if (values == null || sums == null) {
+      throw new IllegalArgumentException("Arrays must be given.");
+    }
+    if (window <= 0) {
+      throw new IllegalArgumentException("Number of days must be greater than 0.");
+    }
+    checkRange(values.length, from, to, sums.length);
+  }
+
+  //helper method to add up the values of one window, newest to oldest.
+  private static double windowSum(double[] values, int position, int first) {
+    double sum = 0;
+    for (int i = position; i >= first; i--) {
+      sum += values[i];
+    }
+    return sum;
+  }
+
+  //helper method to check a range of positions and the room for its results.
+  private static void checkRange(int size, int from, int to, int room) {
+    if (from < 0 || to >= size || from > to + 1 || to - from + 1 > room) {
+      throw new IllegalArgumentException("Invalid range of positions.");
+    }
+  }
+}
\ No newline at end of file
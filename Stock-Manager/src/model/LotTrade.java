@@ -0,0 +1,153 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * A class that represents one change of the tax lots of a portfolio as it is kept in its
+ * journal: a purchase that opens a lot, or a sale out of the lots by a policy. Replaying the
+ * changes in the order they were made opens the same lots with the same numbers and sells the
+ * same shares out of them, at the same prices.
+ */
+public class LotTrade {
+  private final LocalDate date;
+  private final String symbol;
+  private final double quantity;
+  private final double price;
+  private final TaxLots.Policy policy;
+  private final long[] lotIds;
+
+  private LotTrade(LocalDate date, String symbol, double quantity, double price,
+                   TaxLots.Policy policy, long[] lotIds) {
+    if (date == null || symbol == null || symbol.isEmpty()) {
+      throw new IllegalArgumentException("Date and ticker symbol of the trade must be given.");
+    }
+    if (!(quantity > 0) || Double.isInfinite(quantity)) {
+      throw new IllegalArgumentException("Quantity of the trade must be greater than 0.");
+    }
+    if (!(price >= 0) || Double.isInfinite(price)) {
+      throw new IllegalArgumentException("Price of a share cannot be negative.");
+    }
+    this.date = date;
+    this.symbol = symbol;
+    this.quantity = quantity;
+    this.price = price;
+    this.policy = policy;
+    this.lotIds = lotIds == null ? new long[0] : lotIds.clone();
+  }
+
+  /**
+   * This method creates the purchase of a lot.
+   *
+   * @param date     the date of the purchase.
+   * @param symbol   the ticker symbol of the stock.
+   * @param quantity the number of shares bought.
+   * @param price    the price paid for each share.
+   * @return the purchase.
+   */
+  public static LotTrade purchase(LocalDate date, String symbol, double quantity,
+                                  double price) {
+    return new LotTrade(date, symbol, quantity, price, null, null);
+  }
+
+  /**
+   * This method creates a sale out of the lots of a stock.
+   *
+   * @param date     the date of the sale.
+   * @param symbol   the ticker symbol of the stock.
+   * @param quantity the number of shares sold out of the lots.
+   * @param price    the price received for each share.
+   * @param policy   the order in which the lots were sold.
+   * @param lotIds   the numbers of the lots asked for, only for the SPECIFIC policy.
+   * @return the sale.
+   */
+  public static LotTrade sale(LocalDate date, String symbol, double quantity, double price,
+                              TaxLots.Policy policy, long... lotIds) {
+    if (policy == null) {
+      throw new IllegalArgumentException("Policy of the sale must be given.");
+    }
+    return new LotTrade(date, symbol, quantity, price, policy, lotIds);
+  }
+
+  /**
+   * This method makes the trade on some lots again.
+   *
+   * @param lots the lots to make the trade on.
+   */
+  public void applyTo(TaxLots lots) {
+    if (isPurchase()) {
+      lots.buy(symbol, date, quantity, price);
+    } else {
+      lots.sell(symbol, date, quantity, price, policy, lotIds);
+    }
+  }
+
+  /**
+   * This method checks if the trade is a purchase.
+   *
+   * @return true for a purchase, false for a sale.
+   */
+  public boolean isPurchase() {
+    return policy == null;
+  }
+
+  /**
+   * This method returns the date of the trade.
+   *
+   * @return the date of the trade.
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * This method returns the ticker symbol of the stock traded.
+   *
+   * @return the ticker symbol.
+   */
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * This method returns the number of shares bought or sold.
+   *
+   * @return the number of shares, always greater than 0.
+   */
+  public double getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * This method returns the price of each share.
+   *
+   * @return the price of a share.
+   */
+  public double getPrice() {
+    return price;
+  }
+
+  /**
+   * This method returns the order in which the lots were sold.
+   *
+   * @return the policy of the sale, or null for a purchase.
+   */
+  public TaxLots.Policy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * This method returns the numbers of the lots a SPECIFIC sale was asked to sell from.
+   *
+   * @return the numbers of the lots, empty for other trades.
+   */
+  public long[] getLotIds() {
+    return lotIds.clone();
+  }
+
+  @Override
+  public String toString() {
+    return (isPurchase() ? "BUY" : policy) + " " + date + " " + symbol + " " + quantity
+            + " @ " + price + (lotIds.length == 0 ? "" : " " + Arrays.toString(lotIds));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A class that represents the result of a Monte Carlo projection, the percentile bands of the
+ * simulated value of the holdings at a few checkpoints over the horizon.
+ */
+public class MonteCarloResult {
+  private static final int BAR_WIDTH = 40;
+
+  private final double startValue;
+  private final int paths;
+  private final int[] steps;
+  private final double[] percentiles;
+  private final double[][] bands;
+  private final double lossProbability;
+
+  /**
+   * A constructor that creates the result of a projection.
+   *
+   * @param startValue      the value of the holdings when the projection starts.
+   * @param paths           the number of paths that were simulated.
+   * @param steps           the trading days of the checkpoints, ascending.
+   * @param percentiles     the percentiles of the bands, ascending.
+   * @param bands           the value at each percentile, one row per checkpoint.
+   * @param lossProbability the share of paths that ended below the start value.
+   */
+  MonteCarloResult(double startValue, int paths, int[] steps, double[] percentiles,
+                   double[][] bands, double lossProbability) {
+    this.startValue = startValue;
+    this.paths = paths;
+    this.steps = steps;
+    this.percentiles = percentiles;
+    this.bands = bands;
+    this.lossProbability = lossProbability;
+  }
+
+  /**
+   * This method returns the value of the holdings when the projection starts.
+   *
+   * @return the start value.
+   */
+  public double getStartValue() {
+    return startValue;
+  }
+
+  /**
+   * This method returns the number of paths that were simulated.
+   *
+   * @return the number of paths.
+   */
+  public int getPaths() {
+    return paths;
+  }
+
+  /**
+   * This method returns the number of checkpoints the bands are given for.
+   *
+   * @return the number of checkpoints.
+   */
+  public int getCheckpoints() {
+    return steps.length;
+  }
+
+  /**
+   * This method returns the trading day of a checkpoint, counted from the start.
+   *
+   * @param checkpoint the position of the checkpoint.
+   * @return the trading day of the checkpoint.
+   */
+  public int getStep(int checkpoint) {
+    return steps[checkpoint];
+  }
+
+  /**
+   * This method returns the percentiles the bands are given for.
+   *
+   * @return the percentiles, ascending.
+   */
+  public double[] getPercentiles() {
+    return percentiles.clone();
+  }
+
+  /**
+   * This method returns the simulated value at a percentile on a checkpoint.
+   *
+   * @param checkpoint the position of the checkpoint.
+   * @param percentile the position of the percentile.
+   * @return the value at the percentile.
+   */
+  public double getValue(int checkpoint, int percentile) {
+    return bands[checkpoint][percentile];
+  }
+
+  /**
+   * This method returns the share of paths that ended below the start value.
+   *
+   * @return the probability of a loss over the horizon.
+   */
+  public double getLossProbability() {
+    return lossProbability;
+  }
+
+  /**
+   * This method formats the bands as a table, with a bar for every checkpoint that shows the
+   * outer band as dashes, the inner band as equal signs and the median as a bar.
+   *
+   * @return the formatted bands.
+   */
+  public String formatBands() {
+    double low = startValue;
+    double high = startValue;
+    for (double[] band : bands) {
+      low = Math.min(low, band[0]);
+      high = Math.max(high, band[band.length - 1]);
+    }
+    StringBuilder table = new StringBuilder(String.format("%6s", "Day"));
+    for (double percentile : percentiles) {
+      table.append(String.format("%12s", String.format("%.0f%%", percentile)));
+    }
+    table.append("\n");
+    for (int checkpoint = 0; checkpoint < steps.length; checkpoint++) {
+      double[] band = bands[checkpoint];
+      table.append(String.format("%6d", steps[checkpoint]));
+      for (double value : band) {
+        table.append(String.format("%12.2f", value));
+      }
+      table.append("  ").append(bar(band, low, high)).append("\n");
+    }
+    table.append(String.format("Start value %.2f, %d paths, %.1f%% chance of a loss.\n",
+            startValue, paths, lossProbability * 100));
+    return table.toString();
+  }
+
+  //helper method to draw the bands of one checkpoint on a scale from low to high.
+  private String bar(double[] band, double low, double high) {
+    char[] bar = new char[BAR_WIDTH];
+    Arrays.fill(bar, ' ');
+    int last = band.length - 1;
+    fill(bar, column(band[0], low, high), column(band[last], low, high), '-');
+    fill(bar, column(band[1], low, high), column(band[last - 1], low, high), '=');
+    bar[column(band[last / 2], low, high)] = '|';
+    return new String(bar).stripTrailing();
+  }
+
+  //helper method to find the column of a value on the scale.
+  private static int column(double value, double low, double high) {
+    if (high <= low) {
+      return 0;
+    }
+    return (int) Math.round((value - low) / (high - low) * (BAR_WIDTH - 1));
+  }
+
+  //helper method to fill the columns from one column to another.
+  private static void fill(char[] bar, int from, int to, char mark) {
+    for (int i = from; i <= to; i++) {
+      bar[i] = mark;
+    }
+  }
+}
\ No newline at end of file
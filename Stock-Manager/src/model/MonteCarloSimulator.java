@@ -0,0 +1,205 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * A class that projects the value of a set of holdings by bootstrapping their historical daily
+ * returns. Every simulated day draws one past trading day at random and moves every holding by
+ * its return on that day, so the holdings keep moving together the way they did in the past.
+ * The paths are simulated in parallel in fixed size batches, each with its own random generator
+ * split from the seed in order, so the same seed always gives the same result no matter how the
+ * batches are scheduled. No path is kept: every batch only counts the values it reaches at each
+ * checkpoint in a histogram of log values, and the histograms are added up into percentile bands.
+ */
+public class MonteCarloSimulator {
+  private static final int PATHS_PER_TASK = 1024;
+  private static final int MAX_CHECKPOINTS = 10;
+  private static final int BINS = 4096;
+  private static final double LOG_RANGE = 4.0;
+  private static final double[] PERCENTILES = {5, 25, 50, 75, 95};
+
+  private final int paths;
+  private final int horizon;
+  private final long seed;
+
+  /**
+   * A constructor that creates a simulator.
+   *
+   * @param paths   the number of paths to simulate.
+   * @param horizon the number of trading days every path is simulated for.
+   * @param seed    the seed of the random generators.
+   */
+  public MonteCarloSimulator(int paths, int horizon, long seed) {
+    if (paths <= 0) {
+      throw new IllegalArgumentException("Number of paths must be greater than 0.");
+    }
+    if (horizon <= 0) {
+      throw new IllegalArgumentException("Number of days must be greater than 0.");
+    }
+    this.paths = paths;
+    this.horizon = horizon;
+    this.seed = seed;
+  }
+
+  /**
+   * This method simulates the value of the holdings over the horizon. The holdings are valued
+   * at their last close on or before the end date, and the returns are drawn from the trading
+   * days in the date range that every holding has a price for.
+   *
+   * @param holdings  the stocks held and the number of shares of each.
+   * @param startDate the start of the history the returns are drawn from.
+   * @param endDate   the end of the history the returns are drawn from.
+   * @return the percentile bands of the simulated values.
+   */
+  public MonteCarloResult simulate(Map<Stocks, Double> holdings, LocalDate startDate,
+                                   LocalDate endDate) {
+    if (holdings == null || holdings.isEmpty()) {
+      throw new IllegalArgumentException("Portfolio has no holdings to simulate.");
+    }
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException("Invalid date range.");
+    }
+    List<Map.Entry<Stocks, Double>> entries = new ArrayList<>(holdings.entrySet());
+    entries.sort(Comparator.comparing(entry -> entry.getKey().getSymbol()));
+    List<Stocks> stocks = new ArrayList<>();
+    double[] startValues = new double[entries.size()];
+    double startValue = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      Stocks stock = entries.get(i).getKey();
+      PriceIndex index = PriceIndex.of(stock.getStockInformation());
+      int last = index.floorIndex(endDate);
+      if (last < 0) {
+        throw new IllegalArgumentException("No price data for " + stock.getSymbol()
+                + " on or before " + endDate + ".");
+      }
+      stocks.add(stock);
+      startValues[i] = entries.get(i).getValue() * index.getClose(last);
+      startValue += startValues[i];
+    }
+    if (startValue <= 0) {
+      throw new IllegalArgumentException("Portfolio has no value to simulate.");
+    }
+
+    double[][] returns = AlignedReturns.daily(stocks, startDate, endDate);
+    int days = returns[0].length;
+    if (days < 1) {
+      throw new IllegalArgumentException("Not enough shared trading days in this date range.");
+    }
+    double[][] byDay = new double[days][stocks.size()];
+    for (int i = 0; i < stocks.size(); i++) {
+      for (int day = 0; day < days; day++) {
+        byDay[day][i] = returns[i][day];
+      }
+    }
+
+    int[] steps = checkpoints(horizon);
+    int tasks = (paths + PATHS_PER_TASK - 1) / PATHS_PER_TASK;
+    SplittableRandom root = new SplittableRandom(seed);
+    SplittableRandom[] randoms = new SplittableRandom[tasks];
+    for (int task = 0; task < tasks; task++) {
+      randoms[task] = root.split();
+    }
+    double origin = Math.log(startValue);
+    Histogram total = IntStream.range(0, tasks).parallel()
+            .mapToObj(task -> simulateBatch(byDay, startValues, steps, origin, randoms[task],
+                    Math.min(PATHS_PER_TASK, paths - task * PATHS_PER_TASK)))
+            .reduce(Histogram::add)
+            .orElseThrow();
+
+    double[][] bands = new double[steps.length][PERCENTILES.length];
+    for (int checkpoint = 0; checkpoint < steps.length; checkpoint++) {
+      for (int p = 0; p < PERCENTILES.length; p++) {
+        bands[checkpoint][p] = total.percentile(checkpoint, PERCENTILES[p] / 100, paths, origin);
+      }
+    }
+    return new MonteCarloResult(startValue, paths, steps, PERCENTILES.clone(), bands,
+            (double) total.losses / paths);
+  }
+
+  //helper method to pick the simulated days the values are counted on, evenly spread
+  //over the horizon and always ending on its last day.
+  private static int[] checkpoints(int horizon) {
+    int count = Math.min(horizon, MAX_CHECKPOINTS);
+    int[] steps = new int[count];
+    for (int i = 0; i < count; i++) {
+      steps[i] = (int) ((long) horizon * (i + 1) / count);
+    }
+    return steps;
+  }
+
+  //helper method to simulate one batch of paths into a histogram of its own.
+  private Histogram simulateBatch(double[][] byDay, double[] startValues, int[] steps,
+                                  double origin, SplittableRandom random, int count) {
+    Histogram histogram = new Histogram(steps.length);
+    double[] values = new double[startValues.length];
+    double startValue = Math.exp(origin);
+    for (int path = 0; path < count; path++) {
+      System.arraycopy(startValues, 0, values, 0, values.length);
+      int checkpoint = 0;
+      double value = startValue;
+      for (int step = 1; step <= horizon; step++) {
+        double[] drawn = byDay[random.nextInt(byDay.length)];
+        value = 0;
+        for (int i = 0; i < values.length; i++) {
+          values[i] *= 1 + drawn[i];
+          value += values[i];
+        }
+        if (step == steps[checkpoint]) {
+          histogram.count(checkpoint++, value, origin);
+        }
+      }
+      if (value < startValue) {
+        histogram.losses++;
+      }
+    }
+    return histogram;
+  }
+
+  //the counts of the values one batch reached at each checkpoint, binned by log value
+  //around the start value.
+  private static class Histogram {
+    private final long[][] counts;
+    private long losses;
+
+    private Histogram(int checkpoints) {
+      counts = new long[checkpoints][BINS];
+    }
+
+    private void count(int checkpoint, double value, double origin) {
+      double position = (Math.log(value) - origin + LOG_RANGE) / (2 * LOG_RANGE) * BINS;
+      int bin = position < 0 ? 0 : (int) Math.min(BINS - 1, position);
+      counts[checkpoint][bin]++;
+    }
+
+    private Histogram add(Histogram other) {
+      for (int checkpoint = 0; checkpoint < counts.length; checkpoint++) {
+        for (int bin = 0; bin < BINS; bin++) {
+          counts[checkpoint][bin] += other.counts[checkpoint][bin];
+        }
+      }
+      losses += other.losses;
+      return this;
+    }
+
+    //helper method to find a percentile, spreading the values of a bin evenly across it.
+    private double percentile(int checkpoint, double fraction, int total, double origin) {
+      double target = fraction * total;
+      long seen = 0;
+      for (int bin = 0; bin < BINS; bin++) {
+        long inBin = counts[checkpoint][bin];
+        if (inBin > 0 && seen + inBin >= target) {
+          double position = bin + Math.max(0, target - seen) / inBin;
+          return Math.exp(origin + position / BINS * 2 * LOG_RANGE - LOG_RANGE);
+        }
+        seen += inBin;
+      }
+      return Math.exp(origin + LOG_RANGE);
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * A class that represents the rule "buy when the close crosses above the x-day moving
+ * average, sell when it crosses below". It buys as many whole shares as the cash allows and
+ * sells every share. No trades are made until there are x trading days of history.
+ */
+public class MovingAverageCrossStrategy implements Strategy {
+  private final int days;
+  private double[] movingAverages;
+  private int from;
+
+  /**
+   * A constructor that creates the rule for a moving average of the given number of days.
+   *
+   * @param days the number of trading days in the moving average.
+   */
+  public MovingAverageCrossStrategy(int days) {
+    if (days <= 0) {
+      throw new IllegalArgumentException("Number of days must be greater than 0.");
+    }
+    this.days = days;
+  }
+
+  @Override
+  public void start(PriceIndex prices, int from, int to) {
+    this.from = from;
+    this.movingAverages = prices.movingAverages(from, to, days);
+  }
+
+  @Override
+  public void onBar(PriceIndex prices, int day, BacktestAccount account) {
+    if (day < days - 1) {
+      return;
+    }
+    double close = prices.getClose(day);
+    double movingAverage = movingAverages[day - from];
+    if (close > movingAverage && account.getShares() == 0) {
+      account.buyAll();
+    } else if (close < movingAverage && account.getShares() > 0) {
+      account.sellAll();
+    }
+  }
+}
\ No newline at end of file
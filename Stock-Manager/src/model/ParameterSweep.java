@@ -0,0 +1,183 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * A class that backtests a strategy for every combination of stock and parameter,
+ * for example a moving average cross for every number of days from 5 to 250.
+ * The price series are put in read-only price series once at the start, so every run on
+ * a stock shares the same price index. The runs are split across a fork/join pool, and
+ * the summary of each run is streamed to a listener as soon as it finishes.
+ * A sweep can be cancelled from any thread; runs that have not started are skipped. A sweep
+ * is run once, so its progress and cancellation always belong to that one run. A stock
+ * without prices in the date range is left out, and any other error of a run stops the sweep.
+ */
+public class ParameterSweep {
+  private static final int RUNS_PER_TASK = 4;
+
+  private final List<Stocks> stocks;
+  private final int[] parameters;
+  private final IntFunction<Strategy> strategies;
+  private final LocalDate startDate;
+  private final LocalDate endDate;
+  private final boolean[] hasData;
+  private final AtomicInteger completed;
+  private final AtomicBoolean started;
+  private volatile boolean cancelled;
+
+  /**
+   * A constructor that creates a sweep over the given stocks and parameters.
+   *
+   * @param stocks     the stocks to backtest.
+   * @param parameters the parameters to make the strategy with.
+   * @param strategies makes a new strategy for a parameter, once for every run.
+   * @param startDate  the start date of every run.
+   * @param endDate    the end date of every run.
+   */
+  public ParameterSweep(List<Stocks> stocks, int[] parameters, IntFunction<Strategy> strategies,
+                        LocalDate startDate, LocalDate endDate) {
+    if (stocks == null || parameters == null || strategies == null) {
+      throw new IllegalArgumentException("Stocks, parameters and strategies must be given.");
+    }
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException("Start date and end date cannot be null.");
+    }
+    this.stocks = new ArrayList<>();
+    for (Stocks stock : stocks) {
+      List<StockInformation> price = stock.getStockInformation();
+      this.stocks.add(price instanceof PriceSeries ? stock
+              : new Stocks(stock.getSymbol(), new PriceSeries(price)));
+    }
+    this.parameters = parameters.clone();
+    this.strategies = strategies;
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.hasData = new boolean[this.stocks.size()];
+    for (int i = 0; i < hasData.length; i++) {
+      PriceIndex index = PriceIndex.of(this.stocks.get(i).getStockInformation());
+      hasData[i] = !endDate.isBefore(startDate)
+              && index.ceilingIndex(startDate) <= index.floorIndex(endDate);
+    }
+    this.completed = new AtomicInteger();
+    this.started = new AtomicBoolean();
+  }
+
+  /**
+   * This method runs the sweep on the common fork/join pool and waits for it to finish. A
+   * sweep can only be run once.
+   *
+   * @param backtester the backtester every run is made with.
+   * @param listener   the listener the results and progress are streamed to.
+   * @return the number of runs that finished, fewer than the total if the sweep was cancelled.
+   */
+  public int run(Backtester backtester, SweepListener listener) {
+    return run(backtester, listener, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * This method runs the sweep on the given fork/join pool and waits for it to finish. A
+   * sweep can only be run once.
+   *
+   * @param backtester the backtester every run is made with.
+   * @param listener   the listener the results and progress are streamed to.
+   * @param pool       the pool the runs are made on.
+   * @return the number of runs that finished, fewer than the total if the sweep was cancelled.
+   */
+  public int run(Backtester backtester, SweepListener listener, ForkJoinPool pool) {
+    if (backtester == null || listener == null || pool == null) {
+      throw new IllegalArgumentException("Backtester, listener and pool must be given.");
+    }
+    if (!started.compareAndSet(false, true)) {
+      throw new IllegalStateException("A sweep can only be run once.");
+    }
+    pool.invoke(new SweepTask(backtester, listener, 0, getTotal()));
+    return completed.get();
+  }
+
+  /**
+   * This method cancels the sweep. Runs that are going on finish, the rest are skipped.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * This method will tell if the sweep was cancelled.
+   *
+   * @return true if the sweep was cancelled.
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * This method will return the number of runs finished so far.
+   *
+   * @return the number of runs finished.
+   */
+  public int getCompleted() {
+    return completed.get();
+  }
+
+  /**
+   * This method will return the number of runs in the sweep.
+   *
+   * @return the number of stocks times the number of parameters.
+   */
+  public int getTotal() {
+    return stocks.size() * parameters.length;
+  }
+
+  //a task that makes a range of the runs, numbered stock by stock.
+  @SuppressWarnings("serial")
+  private class SweepTask extends RecursiveAction {
+    private final Backtester backtester;
+    private final SweepListener listener;
+    private final int from;
+    private final int to;
+
+    private SweepTask(Backtester backtester, SweepListener listener, int from, int to) {
+      this.backtester = backtester;
+      this.listener = listener;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (cancelled) {
+        return;
+      }
+      if (to - from <= RUNS_PER_TASK) {
+        for (int run = from; run < to && !cancelled; run++) {
+          backtest(run);
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new SweepTask(backtester, listener, from, middle),
+              new SweepTask(backtester, listener, middle, to));
+    }
+
+    //helper method to make one run and stream its summary, leaving out runs without data.
+    private void backtest(int run) {
+      int position = run / parameters.length;
+      Stocks stock = stocks.get(position);
+      int parameter = parameters[run % parameters.length];
+      if (hasData[position]) {
+        BacktestResult result = backtester.run(stock, strategies.apply(parameter),
+                startDate, endDate);
+        listener.onResult(new SweepResult(stock.getSymbol(), parameter, result.getReturn(),
+                result.getMaxDrawdown(), result.getTradeCount()));
+      }
+      listener.onProgress(completed.incrementAndGet(), getTotal());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,281 @@
+package model;
+
+import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * A class that maps the stocks of a portfolio to the number of shares held, kept in a hash
+ * array mapped trie that is never changed once made. Setting or removing the shares of a
+ * stock makes a new map that shares every node with the old one except the nodes on the path
+ * to the stock, at most seven of them, so keeping many versions of a portfolio costs memory
+ * for the changes between them only. The stocks are found by their symbol numbers from the
+ * SymbolRegistry, five bits of the number for every level of the trie, and since the numbers
+ * are different for every symbol two stocks never end up in the same place.
+ */
+public final class PersistentHoldings {
+  private static final PersistentHoldings EMPTY = new PersistentHoldings(Node.EMPTY, 0);
+
+  private final Node root;
+  private final int size;
+
+  private PersistentHoldings(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * This method returns the holdings without any stocks.
+   *
+   * @return the empty holdings.
+   */
+  public static PersistentHoldings empty() {
+    return EMPTY;
+  }
+
+  /**
+   * This method makes holdings with the same stocks and shares as a map.
+   *
+   * @param holdings the shares held of every stock.
+   * @return the holdings.
+   */
+  public static PersistentHoldings of(Map<Stocks, Double> holdings) {
+    if (holdings == null) {
+      throw new IllegalArgumentException("Holdings must be given.");
+    }
+    PersistentHoldings result = EMPTY;
+    for (Map.Entry<Stocks, Double> entry : holdings.entrySet()) {
+      result = result.with(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * This method finds the number of shares held of a stock.
+   *
+   * @param stock the stock.
+   * @return the number of shares held, or 0 if the stock is not held.
+   */
+  public double quantity(Stocks stock) {
+    double quantity = lookup(stock);
+    return Double.isNaN(quantity) ? 0 : quantity;
+  }
+
+  /**
+   * This method checks if a stock is held.
+   *
+   * @param stock the stock.
+   * @return true if the stock is held, false otherwise.
+   */
+  public boolean holds(Stocks stock) {
+    return !Double.isNaN(lookup(stock));
+  }
+
+  /**
+   * This method makes new holdings with the shares of a stock set. These holdings do not
+   * change.
+   *
+   * @param stock    the stock.
+   * @param quantity the number of shares held of the stock.
+   * @return the new holdings, which share everything else with these ones.
+   */
+  public PersistentHoldings with(Stocks stock, double quantity) {
+    if (stock == null) {
+      throw new IllegalArgumentException("Stock must be given.");
+    }
+    if (Double.isNaN(quantity)) {
+      throw new IllegalArgumentException("Quantity must be a number.");
+    }
+    double current = lookup(stock);
+    if (current == quantity) {
+      return this;
+    }
+    return new PersistentHoldings(put(root, stock, stock.getId(), quantity, 0),
+            Double.isNaN(current) ? size + 1 : size);
+  }
+
+  /**
+   * This method makes new holdings without a stock. These holdings do not change.
+   *
+   * @param stock the stock.
+   * @return the new holdings, which share everything else with these ones, or these holdings
+   *         if the stock is not held.
+   */
+  public PersistentHoldings without(Stocks stock) {
+    if (!holds(stock)) {
+      return this;
+    }
+    return new PersistentHoldings(remove(root, stock.getId(), 0), size - 1);
+  }
+
+  /**
+   * This method returns the number of stocks held.
+   *
+   * @return the number of stocks.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * This method checks if no stocks are held.
+   *
+   * @return true if no stocks are held, false otherwise.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * This method gives every stock held and its shares to an action.
+   *
+   * @param action the action to give the stocks and shares to.
+   */
+  public void forEach(ObjDoubleConsumer<Stocks> action) {
+    forEach(root, action);
+  }
+
+  /**
+   * This method copies the holdings into a map that can be changed.
+   *
+   * @return the shares held of every stock.
+   */
+  public HoldingsMap toMap() {
+    HoldingsMap map = new HoldingsMap();
+    forEach(map::set);
+    return map;
+  }
+
+  //helper method to find the shares held of a stock, or NaN if the stock is not held.
+  private double lookup(Stocks stock) {
+    if (stock == null) {
+      return Double.NaN;
+    }
+    int id = stock.getId();
+    Node node = root;
+    for (int shift = 0; ; shift += 5) {
+      int bit = 1 << ((id >>> shift) & 31);
+      if ((node.bitmap & bit) == 0) {
+        return Double.NaN;
+      }
+      int position = Integer.bitCount(node.bitmap & (bit - 1));
+      Object slot = node.slots[position];
+      if (slot instanceof Node) {
+        node = (Node) slot;
+      } else {
+        return ((Stocks) slot).getId() == id ? node.quantities[position] : Double.NaN;
+      }
+    }
+  }
+
+  //helper method to copy the path to a stock with its shares set.
+  private static Node put(Node node, Stocks stock, int id, double quantity, int shift) {
+    int bit = 1 << ((id >>> shift) & 31);
+    int position = Integer.bitCount(node.bitmap & (bit - 1));
+    if ((node.bitmap & bit) == 0) {
+      return node.insert(bit, position, stock, quantity);
+    }
+    Object slot = node.slots[position];
+    if (slot instanceof Node) {
+      return node.replace(position, put((Node) slot, stock, id, quantity, shift + 5), 0);
+    }
+    Stocks other = (Stocks) slot;
+    if (other.getId() == id) {
+      return node.replace(position, stock, quantity);
+    }
+    return node.replace(position,
+            pair(other, node.quantities[position], stock, quantity, shift + 5), 0);
+  }
+
+  //helper method to make the nodes that keep two stocks that were in the same place of a
+  //level apart, going down as many levels as their symbol numbers have the same bits.
+  private static Node pair(Stocks first, double firstQuantity, Stocks second,
+                           double secondQuantity, int shift) {
+    int firstIndex = (first.getId() >>> shift) & 31;
+    int secondIndex = (second.getId() >>> shift) & 31;
+    if (firstIndex == secondIndex) {
+      return new Node(1 << firstIndex, new Object[]{pair(first, firstQuantity, second,
+              secondQuantity, shift + 5)}, new double[1]);
+    }
+    if (firstIndex < secondIndex) {
+      return new Node((1 << firstIndex) | (1 << secondIndex), new Object[]{first, second},
+              new double[]{firstQuantity, secondQuantity});
+    }
+    return new Node((1 << firstIndex) | (1 << secondIndex), new Object[]{second, first},
+            new double[]{secondQuantity, firstQuantity});
+  }
+
+  //helper method to copy the path to a stock without it. A node left with one stock is
+  //replaced by the stock, so the trie is never deeper than the stocks need.
+  private static Node remove(Node node, int id, int shift) {
+    int bit = 1 << ((id >>> shift) & 31);
+    int position = Integer.bitCount(node.bitmap & (bit - 1));
+    Object slot = node.slots[position];
+    if (!(slot instanceof Node)) {
+      return node.delete(bit, position);
+    }
+    Node child = remove((Node) slot, id, shift + 5);
+    if (child.slots.length == 1 && !(child.slots[0] instanceof Node)) {
+      return node.replace(position, child.slots[0], child.quantities[0]);
+    }
+    return node.replace(position, child, 0);
+  }
+
+  //helper method to give the stocks of a node and the nodes below it to an action.
+  private static void forEach(Node node, ObjDoubleConsumer<Stocks> action) {
+    for (int i = 0; i < node.slots.length; i++) {
+      if (node.slots[i] instanceof Node) {
+        forEach((Node) node.slots[i], action);
+      } else {
+        action.accept((Stocks) node.slots[i], node.quantities[i]);
+      }
+    }
+  }
+
+  //one level of the trie. A bit of the bitmap is set for every place that is used, and the
+  //used places are packed in order, each a stock with its shares or a node of the next level.
+  private static final class Node {
+    private static final Node EMPTY = new Node(0, new Object[0], new double[0]);
+
+    private final int bitmap;
+    private final Object[] slots;
+    private final double[] quantities;
+
+    private Node(int bitmap, Object[] slots, double[] quantities) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+      this.quantities = quantities;
+    }
+
+    private Node insert(int bit, int position, Object slot, double quantity) {
+      Object[] newSlots = new Object[slots.length + 1];
+      double[] newQuantities = new double[slots.length + 1];
+      System.arraycopy(slots, 0, newSlots, 0, position);
+      System.arraycopy(quantities, 0, newQuantities, 0, position);
+      newSlots[position] = slot;
+      newQuantities[position] = quantity;
+      System.arraycopy(slots, position, newSlots, position + 1, slots.length - position);
+      System.arraycopy(quantities, position, newQuantities, position + 1,
+              slots.length - position);
+      return new Node(bitmap | bit, newSlots, newQuantities);
+    }
+
+    private Node replace(int position, Object slot, double quantity) {
+      Object[] newSlots = slots.clone();
+      double[] newQuantities = quantities.clone();
+      newSlots[position] = slot;
+      newQuantities[position] = quantity;
+      return new Node(bitmap, newSlots, newQuantities);
+    }
+
+    private Node delete(int bit, int position) {
+      Object[] newSlots = new Object[slots.length - 1];
+      double[] newQuantities = new double[slots.length - 1];
+      System.arraycopy(slots, 0, newSlots, 0, position);
+      System.arraycopy(quantities, 0, newQuantities, 0, position);
+      System.arraycopy(slots, position + 1, newSlots, position, slots.length - position - 1);
+      System.arraycopy(quantities, position + 1, newQuantities, position,
+              slots.length - position - 1);
+      return new Node(bitmap & ~bit, newSlots, newQuantities);
+    }
+  }
+}
\ No newline at end of file
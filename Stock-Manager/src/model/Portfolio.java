@@ -1,10 +1,5 @@
 package model;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -13,22 +8,21 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * The Portfolio class represents a collection of stocks owned by an investor.
@@ -43,11 +37,20 @@ import javax.xml.transform.stream.StreamResult;
 public class Portfolio implements IPortfolio {
   private final String name;
 
-  private final Map<Stocks, Double> stocks;
-  private static final List<String> portfolios = new ArrayList<>();
+  private final HoldingsMap stocks;
+  private final TransactionLog log;
+  private final Map<String, Stocks> known;
+  private final TaxLots lots;
+  private final List<LotTrade> unsavedLots = new ArrayList<>();
+  private TaxLots.Policy lotPolicy = TaxLots.Policy.FIFO;
+  private static final PortfolioRegistry registry = new PortfolioRegistry();
+  private static final Map<String, PortfolioVersions> versions = new ConcurrentHashMap<>();
+  private static final Map<String, PortfolioJournal> journals = new ConcurrentHashMap<>();
+  private static final PortfolioManifest manifest =
+          new PortfolioManifest(Paths.get("res/portfolios/manifest.txt"));
+  private static volatile boolean manifestRead;
   private LocalDate firstPurchaseDate;
-
-  private static final Map<String, LocalDate> portfoliosMostRecent = new HashMap<>();
+  private LocalDate latestChange;
 
   /**
    * A constructor that will initialize the name of the portfolio.
@@ -60,13 +63,92 @@ public class Portfolio implements IPortfolio {
     }
 
     this.name = name;
-    this.stocks = new HashMap<>();
+    this.stocks = new HoldingsMap();
+    this.log = new TransactionLog();
+    this.known = new HashMap<>();
+    this.lots = new TaxLots();
   }
 
-  private Portfolio(String name, Map<Stocks, Double> stocks, LocalDate firstPurchaseDate) {
+  private Portfolio(String name, Map<Stocks, Double> stocks, LocalDate firstPurchaseDate,
+                    TransactionLog log, Map<String, Stocks> known, List<LotTrade> lotTrades) {
     this.name = name;
-    this.stocks = stocks;
+    this.stocks = new HoldingsMap(stocks);
     this.firstPurchaseDate = firstPurchaseDate;
+    this.log = log;
+    this.known = known;
+    this.lots = lotsFrom(log, known, lotTrades);
+  }
+
+  //helper method to open and sell the lots of a loaded portfolio. The trades of the lots saved
+  //in its journal are made again as they were, with their policies and prices, if they add up
+  //to every change in the log. Otherwise, for example for a history saved at once by a
+  //simulation, the lots are opened and sold from the transactions in the log, each at the
+  //close of its date, selling the oldest lots first. A stock without a price is at 0.
+  private static TaxLots lotsFrom(TransactionLog log, Map<String, Stocks> known,
+                                  List<LotTrade> lotTrades) {
+    if (tradesMatch(log, lotTrades)) {
+      TaxLots lots = new TaxLots();
+      try {
+        for (LotTrade trade : lotTrades) {
+          trade.applyTo(lots);
+        }
+        return lots;
+      } catch (IllegalArgumentException ignored) {
+        //a journal changed by hand can name lots that are not there; the log is used instead.
+      }
+    }
+    TaxLots lots = new TaxLots();
+    for (Transaction transaction : log.getTransactions()) {
+      Stocks stock = known.get(transaction.getSymbol());
+      double price = stock == null ? 0 : Math.max(0, closeOn(stock, transaction.getDate()));
+      if (transaction.getQuantity() > 0) {
+        lots.buy(transaction.getSymbol(), transaction.getDate(), transaction.getQuantity(),
+                price);
+      } else {
+        lots.sell(transaction.getSymbol(), transaction.getDate(), -transaction.getQuantity(),
+                price, TaxLots.Policy.FIFO);
+      }
+    }
+    return lots;
+  }
+
+  //helper method to check that trades of lots change the shares of every stock on every date
+  //by what the transactions in a log do, allowing for the rounding a sale of every share
+  //picks up.
+  private static boolean tradesMatch(TransactionLog log, List<LotTrade> lotTrades) {
+    Map<LocalDate, Map<String, Double>> logged = new HashMap<>();
+    for (Transaction transaction : log.getTransactions()) {
+      logged.computeIfAbsent(transaction.getDate(), date -> new HashMap<>())
+              .merge(transaction.getSymbol(), transaction.getQuantity(), Double::sum);
+    }
+    Map<LocalDate, Map<String, Double>> traded = new HashMap<>();
+    for (LotTrade trade : lotTrades) {
+      traded.computeIfAbsent(trade.getDate(), date -> new HashMap<>()).merge(trade.getSymbol(),
+              trade.isPurchase() ? trade.getQuantity() : -trade.getQuantity(), Double::sum);
+    }
+    Set<LocalDate> dates = new HashSet<>(logged.keySet());
+    dates.addAll(traded.keySet());
+    for (LocalDate date : dates) {
+      Map<String, Double> expected = logged.getOrDefault(date, Map.of());
+      Map<String, Double> actual = traded.getOrDefault(date, Map.of());
+      Set<String> symbols = new HashSet<>(expected.keySet());
+      symbols.addAll(actual.keySet());
+      for (String symbol : symbols) {
+        double change = expected.getOrDefault(symbol, 0.0);
+        double difference = Math.abs(actual.getOrDefault(symbol, 0.0) - change);
+        if (difference > TaxLots.TOLERANCE * Math.max(1, Math.abs(change))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  //helper method to find the last close of a stock on or before a date, or -1 if there is none.
+  static double closeOn(Stocks stock, LocalDate date) {
+    PriceIndex index = PriceIndex.of(stock.getStockInformation());
+    int position = index.floorIndex(date);
+    return position < 0 ? -1 : index.getClose(position);
   }
 
   /**
@@ -94,7 +176,12 @@ public class Portfolio implements IPortfolio {
   @Override
   public void addStock(Stocks stock, double quantity,
                        LocalDate date) throws IllegalArgumentException {
-    LocalDate mostRecentDate = portfoliosMostRecent.get(name);
+    addStock(stock, quantity, date, Transaction.Type.BUY);
+  }
+
+  //helper method to add a stock and log it as the given type of transaction.
+  private void addStock(Stocks stock, double quantity, LocalDate date, Transaction.Type type) {
+    LocalDate mostRecentDate = mostRecentDate();
     if (stock == null) {
       throw new IllegalArgumentException("Stock to add must be given.");
     }
@@ -116,18 +203,16 @@ public class Portfolio implements IPortfolio {
       }
 
 
+      buyLot(stock.getSymbol(), date, quantity, closeOn(stock, date));
       if (firstPurchaseDate == null) {
         firstPurchaseDate = date;
       }
 
-      if (stocks.containsKey(stock)) {
-        Double currentQuantity = stocks.get(stock);
-        stocks.put(stock, currentQuantity + quantity);
-      } else {
-        stocks.put(stock, quantity);
-      }
-      portfoliosMostRecent.put(name, date);
-      savePortfolio(this, date);
+      stocks.add(stock, quantity);
+      known.put(stock.getSymbol(), stock);
+      log.record(new Transaction(type, date, stock.getSymbol(), quantity));
+      recordChange(date);
+      saveChange(date, List.of(stock.getSymbol()));
     } catch (NumberFormatException e) {
       throw new IllegalArgumentException("Invalid quantity of stock to add.");
     }
@@ -158,6 +243,26 @@ public class Portfolio implements IPortfolio {
    */
   @Override
   public void removeStock(Stocks stock, double quantity, LocalDate date) {
+    removeStock(stock, quantity, date, Transaction.Type.SELL, lotPolicy);
+  }
+
+  /**
+   * This method will remove shares of a stock from the portfolio out of the tax lots asked
+   * for, in the order they are given.
+   *
+   * @param stock    is the stock we will remove from the portfolio.
+   * @param quantity is the number of shares of stock we will remove from the portfolio.
+   * @param date     is the date we will remove the stock from the portfolio.
+   * @param lotIds   the numbers of the lots to sell the shares from.
+   */
+  public void removeLots(Stocks stock, double quantity, LocalDate date, long... lotIds) {
+    removeStock(stock, quantity, date, Transaction.Type.SELL, TaxLots.Policy.SPECIFIC, lotIds);
+  }
+
+  //helper method to remove a stock, sell its lots by a policy, and log it as the given type
+  //of transaction.
+  private void removeStock(Stocks stock, double quantity, LocalDate date,
+                           Transaction.Type type, TaxLots.Policy policy, long... lotIds) {
     if (stock == null) {
       throw new IllegalArgumentException("Stock to remove must be given.");
     }
@@ -173,23 +278,30 @@ public class Portfolio implements IPortfolio {
                 "Stock cannot be removed before the first purchase date.");
       }
 
-      if (stocks.containsKey(stock)) {
-        double currentQuantity = stocks.get(stock);
+      if (stocks.holds(stock)) {
+        double currentQuantity = stocks.quantity(stock);
         if (currentQuantity < quantity) {
           throw new IllegalArgumentException(
                   "Quantity of stock to remove must be less than or equal to current quantity.");
         }
+        double close = closeOn(stock, date);
+        if (close < 0) {
+          throw new IllegalArgumentException("Stock does not exist on the given date.");
+        }
+        sellLots(stock.getSymbol(), date, lotShares(stock, currentQuantity, quantity, date),
+                close, policy, lotIds);
 
         if (currentQuantity == quantity) {
-          stocks.remove(stock);
+          stocks.delete(stock);
         } else {
-          stocks.put(stock, currentQuantity - quantity);
+          stocks.set(stock, currentQuantity - quantity);
         }
+        log.record(new Transaction(type, date, stock.getSymbol(), -quantity));
       } else {
         throw new IllegalArgumentException(
                 "Stock to remove must be in the portfolio.");
       }
-      savePortfolio(this, date);
+      saveChange(date, List.of(stock.getSymbol()));
     } catch (NumberFormatException e) {
       throw new IllegalArgumentException("Invalid quantity of stock to remove.");
     }
@@ -212,13 +324,13 @@ public class Portfolio implements IPortfolio {
               "Date to calculate composition of portfolio must be given.");
     }
 
-    Map<Stocks, Double> composition = new HashMap<>();
-    for (Map.Entry<Stocks, Double> entry : stocks.entrySet()) {
-      if (firstPurchaseDate != null && date.isBefore(firstPurchaseDate)) {
-        throw new IllegalArgumentException(
-                "Composition cannot be calculated before the first purchase date.");
-      }
+    if (!stocks.isEmpty() && firstPurchaseDate != null && date.isBefore(firstPurchaseDate)) {
+      throw new IllegalArgumentException(
+              "Composition cannot be calculated before the first purchase date.");
+    }
 
+    Map<Stocks, Double> composition = new HashMap<>();
+    for (Map.Entry<Stocks, Double> entry : holdingsOn(date).entrySet()) {
       Stocks stock = entry.getKey();
       double quantity = entry.getValue();
 
@@ -251,8 +363,7 @@ public class Portfolio implements IPortfolio {
     }
 
     Map<Stocks, Double> distribution = new HashMap<>();
-    double totalValue = calculateTotalValue(date);
-    for (Map.Entry<Stocks, Double> entry : stocks.entrySet()) {
+    for (Map.Entry<Stocks, Double> entry : holdingsOn(date).entrySet()) {
       Stocks stock = entry.getKey();
       Double quantity = entry.getValue();
 
@@ -285,7 +396,7 @@ public class Portfolio implements IPortfolio {
 
 
     double totalValue = 0.0;
-    for (Map.Entry<Stocks, Double> entry : stocks.entrySet()) {
+    for (Map.Entry<Stocks, Double> entry : holdingsOn(date).entrySet()) {
       Stocks stock = entry.getKey();
       Double quantity = entry.getValue();
 
@@ -300,6 +411,109 @@ public class Portfolio implements IPortfolio {
     return totalValue;
   }
 
+  //helper method to find the holdings at the end of a date with a binary search over the
+  //transaction log of every stock.
+  private Map<Stocks, Double> holdingsOn(LocalDate date) {
+    Map<Stocks, Double> holdings = new HashMap<>();
+    for (Map.Entry<String, Double> position : log.compositionOn(date).entrySet()) {
+      holdings.put(known.get(position.getKey()), position.getValue());
+    }
+    return holdings;
+  }
+
+  /**
+   * This method will find the value of the portfolio at the end of every day in a date range
+   * in one pass over the transaction log and the prices of its stocks. Days without trading
+   * are valued at the last close before them.
+   *
+   * @param startDate the first day of the range.
+   * @param endDate   the last day of the range.
+   * @return the value of every day of the range, the start date first.
+   */
+  public double[] dailyValues(LocalDate startDate, LocalDate endDate) {
+    return new ValuationEngine(log, known.values()).dailyValues(startDate, endDate);
+  }
+
+  /**
+   * This method will return the tax lots of the portfolio, every purchase at the close of its
+   * date and the shares sold out of it.
+   *
+   * @return the tax lots of the portfolio.
+   */
+  public TaxLots getTaxLots() {
+    return lots;
+  }
+
+  /**
+   * This method will return the order in which the tax lots of a stock are sold.
+   *
+   * @return the policy used when stocks are removed.
+   */
+  public TaxLots.Policy getLotPolicy() {
+    return lotPolicy;
+  }
+
+  /**
+   * This method will set the order in which the tax lots of a stock are sold when stocks are
+   * removed or rebalanced. Specific lots are sold with removeLots instead.
+   *
+   * @param lotPolicy FIFO or LIFO.
+   */
+  public void setLotPolicy(TaxLots.Policy lotPolicy) {
+    if (lotPolicy == null || lotPolicy == TaxLots.Policy.SPECIFIC) {
+      throw new IllegalArgumentException("Policy must be FIFO or LIFO.");
+    }
+    this.lotPolicy = lotPolicy;
+  }
+
+  /**
+   * This method will return the profit of every sale of the portfolio up to the end of a date.
+   *
+   * @param date the date.
+   * @return the realized profit, negative for a loss.
+   */
+  public double realizedProfitAndLoss(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date must be given.");
+    }
+    return lots.realizedOn(date);
+  }
+
+  /**
+   * This method will return the profit of the shares held at the end of a date, valued at the
+   * last close on or before it, over the price paid for them.
+   *
+   * @param date the date.
+   * @return the unrealized profit, negative for a loss.
+   */
+  public double unrealizedProfitAndLoss(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date must be given.");
+    }
+    Map<String, Double> closes = new HashMap<>();
+    for (Stocks stock : known.values()) {
+      double close = closeOn(stock, date);
+      if (close >= 0) {
+        closes.put(stock.getSymbol(), close);
+      }
+    }
+    return lots.unrealizedOn(date, closes);
+  }
+
+  //helper method to return every stock the portfolio ever held, by ticker symbol.
+  Map<String, Stocks> knownStocks() {
+    return known;
+  }
+
+  /**
+   * This method will return the transactions of the portfolio in date order.
+   *
+   * @return the log of the transactions of the portfolio.
+   */
+  public TransactionLog getTransactionLog() {
+    return log;
+  }
+
   /**
    * This method will add a new portfolio to a list of portfolios.
    *
@@ -309,7 +523,7 @@ public class Portfolio implements IPortfolio {
     if (portfolio == null) {
       throw new IllegalArgumentException("Portfolio to add must be given.");
     }
-    portfolios.add(portfolio.getName());
+    registry.create(portfolio.getName());
   }
 
 
@@ -319,7 +533,81 @@ public class Portfolio implements IPortfolio {
    * @return a map of the most recent dates of the portfolios.
    */
   public static Map<String, LocalDate> getMostRecentDates() {
-    return portfoliosMostRecent;
+    return registry.latestDates();
+  }
+
+  /**
+   * This method will give a portfolio a new name, in the list of portfolios and in every
+   * state, journal and manifest entry saved for it. Portfolios already loaded keep the old
+   * name, so the portfolio is loaded again under the new name to change it after this.
+   *
+   * @param name    the name of the portfolio.
+   * @param newName the new name of the portfolio.
+   */
+  public static void renamePortfolio(String name, String newName) {
+    if (newName == null || newName.isEmpty()) {
+      throw new IllegalArgumentException("Name for a portfolio must be given.");
+    }
+    if (!registry.rename(name, newName)) {
+      throw new IllegalArgumentException(registry.contains(name)
+              ? "A portfolio with this name already exists." : "Portfolio not found: " + name);
+    }
+    try {
+      for (File portfolioFile : savedStates(name)) {
+        PortfolioXml.read(portfolioFile.toPath()).withName(newName)
+                .writeTo(new File(portfolioFile.getParentFile(), newName + ".xml").toPath());
+        Files.delete(portfolioFile.toPath());
+      }
+      journalToRemove(name).moveTo(journalFile(newName));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error renaming portfolio: " + e.getMessage(), e);
+    }
+    PortfolioVersions resident = versions.remove(name);
+    if (resident != null) {
+      versions.put(newName, resident);
+    }
+    manifest().rename(name, newName);
+  }
+
+  /**
+   * This method will delete a portfolio, from the list of portfolios and with every state,
+   * journal and manifest entry saved for it.
+   *
+   * @param name the name of the portfolio.
+   * @return true if the portfolio was in the list of portfolios, false otherwise.
+   */
+  public static boolean deletePortfolio(String name) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Name for a portfolio must be given.");
+    }
+    boolean deleted = registry.delete(name);
+    try {
+      for (File portfolioFile : savedStates(name)) {
+        Files.delete(portfolioFile.toPath());
+      }
+      journalToRemove(name).delete();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error deleting portfolio: " + e.getMessage(), e);
+    }
+    versions.remove(name);
+    manifest().remove(name);
+    return deleted;
+  }
+
+  //helper method to find the saved state files of a portfolio, one in every date folder it
+  //was saved in.
+  private static List<File> savedStates(String name) {
+    List<File> states = new ArrayList<>();
+    File[] dateFolders = new File("res/portfolios").listFiles(File::isDirectory);
+    if (dateFolders != null) {
+      for (File dateFolder : dateFolders) {
+        File portfolioFile = new File(dateFolder, name + ".xml");
+        if (portfolioFile.isFile()) {
+          states.add(portfolioFile);
+        }
+      }
+    }
+    return states;
   }
 
   /**
@@ -359,106 +647,153 @@ public class Portfolio implements IPortfolio {
       }
     }
 
-    if (!portfolioFile.exists()) {
-      try {
-        portfolioFile.createNewFile();
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-    }
-    DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-    DocumentBuilder docBuilder = null;
     try {
-      docBuilder = docFactory.newDocumentBuilder();
-    } catch (ParserConfigurationException e) {
+      PortfolioXml.write(portfolioFile.toPath(), portfolio.getName(),
+              portfolio.getFirstPurchaseDate(), portfolio.getStocks());
+    } catch (IOException e) {
       throw new RuntimeException(e);
     }
 
-    Document doc = docBuilder.newDocument();
-    Element rootElement = doc.createElement("portfolio");
-    doc.appendChild(rootElement);
-
-    rootElement.setAttribute("name", portfolio.getName());
-
-    for (Map.Entry<Stocks, Double> entry : portfolio.getStocks().entrySet()) {
-      Stocks stock = entry.getKey();
-      Double quantity = entry.getValue();
-
-      Element stockElement = doc.createElement("stock");
-      rootElement.appendChild(stockElement);
-
-      Element symbolElement = doc.createElement("symbol");
-      symbolElement.appendChild(doc.createTextNode(stock.getSymbol()));
-      stockElement.appendChild(symbolElement);
-
-      Element quantityElement = doc.createElement("quantity");
-      quantityElement.appendChild(doc.createTextNode(String.valueOf(quantity)));
-      stockElement.appendChild(quantityElement);
+    manifest().record(portfolio.getName(), dateOfChange);
+    PortfolioVersions resident = versions.get(portfolio.getName());
+    if (resident != null) {
+      resident.record(dateOfChange, portfolio.getStocks());
     }
-    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    LocalDate firstPurchaseDate = portfolio.getFirstPurchaseDate();
-    String firstDate = firstPurchaseDate.format(dateFormatter);
+  }
 
-    rootElement.setAttribute("firstPurchaseDate", firstDate);
+  /**
+   * This method will return every version of a portfolio, kept in memory so that the holdings
+   * of the portfolio on any date are found without reading its saved states. The saved states
+   * are read once, the first time the versions of the portfolio are asked for, and every save
+   * after that adds its version.
+   *
+   * @param name the name of the portfolio.
+   * @return the versions of the portfolio.
+   */
+  public static PortfolioVersions getVersions(String name) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Name for a portfolio must be given.");
+    }
+    return versions.computeIfAbsent(name, key -> PortfolioVersions.of(loadHistory(key)));
+  }
 
-    TransformerFactory transformerFactory = TransformerFactory.newInstance();
-    Transformer transformer = null;
-    try {
-      transformer = transformerFactory.newTransformer();
-    } catch (TransformerConfigurationException e) {
-      throw new RuntimeException(e);
+  /**
+   * This method will save the whole history of a new portfolio at once, a journal record for
+   * every holding that changed on every date. It is used when the history was built in memory,
+   * for example by a simulation, so the journal is written in one go at the end instead of
+   * once per trade.
+   *
+   * @param name     the name of the new portfolio.
+   * @param holdings the holdings of the portfolio after each change, by the date of the change.
+   */
+  public static void saveHistory(String name,
+                                 NavigableMap<LocalDate, Map<Stocks, Double>> holdings) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Name for a portfolio must be given.");
+    }
+    if (holdings == null || holdings.isEmpty()) {
+      throw new IllegalArgumentException("History of the portfolio must be given.");
+    }
+    if (!registry.create(name)) {
+      throw new IllegalArgumentException("A portfolio with this name already exists.");
+    }
+    NavigableMap<LocalDate, Map<String, Double>> changes = new TreeMap<>();
+    Map<String, Stocks> known = new HashMap<>();
+    Map<Stocks, Double> previous = Map.of();
+    for (Map.Entry<LocalDate, Map<Stocks, Double>> change : holdings.entrySet()) {
+      Map<String, Double> quantities = new LinkedHashMap<>();
+      for (Stocks stock : previous.keySet()) {
+        if (!change.getValue().containsKey(stock)) {
+          quantities.put(stock.getSymbol(), 0.0);
+        }
+      }
+      for (Map.Entry<Stocks, Double> holding : change.getValue().entrySet()) {
+        known.put(holding.getKey().getSymbol(), holding.getKey());
+        if (!holding.getValue().equals(previous.get(holding.getKey()))) {
+          quantities.put(holding.getKey().getSymbol(), holding.getValue());
+        }
+      }
+      changes.put(change.getKey(), quantities);
+      previous = change.getValue();
     }
-    DOMSource source = new DOMSource(doc);
-    StreamResult result = new StreamResult(portfolioFile);
     try {
-      transformer.transform(source, result);
-    } catch (TransformerException e) {
-      throw new RuntimeException(e);
+      saveChanges(name, changes, known, List.of());
+    } catch (RuntimeException e) {
+      registry.delete(name);
+      throw e;
     }
+    registry.recordChange(name, holdings.lastKey());
   }
 
   /**
    * This method will refresh the portfolio to make it so,
-   * it has the updated data it needs.
+   * it has the updated data it needs. The names and latest dates of the portfolios are read
+   * from the manifest, which is only rebuilt from the saved files if it cannot be read.
    */
   public static void portfolioRefresh() {
-    String directoryPath = "res/portfolios";
-    List<String> files = new ArrayList<>();
-    try {
-      Files.walk(Paths.get(directoryPath))
-              .forEach(path -> {
-                if (Files.isRegularFile(path)) {
-                  String fileName = path.getFileName().toString();
-                  if (fileName.toLowerCase().endsWith(".xml")) {
-                    String portfolioName = fileName.substring(0,
-                            fileName.length() - 4); // remove ".xml"
-                    files.add(portfolioName);
-
-                    Path parentDir = path.getParent();
-                    if (parentDir != null) {
-                      String directoryName = parentDir.getFileName().toString();
-                      LocalDate date = LocalDate.parse(directoryName,
-                              DateTimeFormatter.ISO_LOCAL_DATE);
-                      if (!portfoliosMostRecent.containsKey(portfolioName)
-                              || date.isAfter(portfoliosMostRecent.get(portfolioName))) {
-                        portfoliosMostRecent.put(portfolioName, date);
-                      }
-                    }
-                  }
-                }
-              });
-    } catch (IOException e) {
-      e.printStackTrace();
+    PortfolioManifest index = manifest();
+    for (String portfolioName : index.names()) {
+      registry.create(portfolioName);
+      registry.recordChange(portfolioName, index.latestDate(portfolioName));
     }
+  }
+
+  /**
+   * This method will return the manifest of the saved portfolios, the name and save dates of
+   * every portfolio.
+   *
+   * @return the manifest of the saved portfolios.
+   */
+  public static PortfolioManifest getManifest() {
+    return manifest();
+  }
 
-    if (files != null) {
-      for (String file : files) {
-        String portfolioName = file.replace(".xml", "");
-        if (!portfolios.contains(portfolioName)) {
-          portfolios.add(portfolioName);
+  //helper method to read the manifest the first time it is needed, rebuilding it from the
+  //saved files if it cannot be read, so a save never writes a manifest without the portfolios
+  //saved before it.
+  private static PortfolioManifest manifest() {
+    if (!manifestRead) {
+      synchronized (manifest) {
+        if (!manifestRead) {
+          if (!manifest.load()) {
+            manifest.rebuild(savedFiles());
+          }
+          manifestRead = true;
         }
       }
     }
+    return manifest;
+  }
+
+  //helper method to find the dates every portfolio was saved on by walking through the saved
+  //files: the folder of every date a state was saved in, and the journals.
+  private static Map<String, Set<LocalDate>> savedFiles() {
+    Map<String, Set<LocalDate>> saved = new LinkedHashMap<>();
+    try (Stream<Path> paths = Files.walk(Paths.get("res/portfolios"))) {
+      paths.filter(Files::isRegularFile).forEach(path -> {
+        String fileName = path.getFileName().toString();
+        if (fileName.toLowerCase().endsWith(".xml") && path.getParent() != null) {
+          String portfolioName = fileName.substring(0,
+                  fileName.length() - 4); // remove ".xml"
+          try {
+            LocalDate date = LocalDate.parse(path.getParent().getFileName().toString(),
+                    DateTimeFormatter.ISO_LOCAL_DATE);
+            saved.computeIfAbsent(portfolioName, key -> new TreeSet<>()).add(date);
+          } catch (DateTimeParseException ignored) {
+          }
+        } else if (fileName.endsWith(".journal")) {
+          String portfolioName = fileName.substring(0,
+                  fileName.length() - 8); // remove ".journal"
+          Set<LocalDate> dates = journalOf(portfolioName).replay().keySet();
+          if (!dates.isEmpty()) {
+            saved.computeIfAbsent(portfolioName, key -> new TreeSet<>()).addAll(dates);
+          }
+        }
+      });
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    return saved;
   }
 
   /**
@@ -469,13 +804,37 @@ public class Portfolio implements IPortfolio {
    * @return the portfolio that was loaded from the file.
    */
   public static Portfolio loadPortfolio(int portfolioIndex, LocalDate dateOfChange) {
+    return loadPortfolio(getPortfolios().get(portfolioIndex), dateOfChange);
+  }
+
+  /**
+   * This method will load the portfolio as it was after a change, with every change up to it
+   * as its transactions. The states are taken from the versions of the portfolio kept in
+   * memory, and only read from the files if the change is not one of them.
+   *
+   * @param name         is the name of the portfolio.
+   * @param dateOfChange is the date of the change in the portfolio.
+   * @return the portfolio that was loaded from the file.
+   */
+  public static Portfolio loadPortfolio(String name, LocalDate dateOfChange) {
+    PortfolioVersions resident = getVersions(name);
+    if (resident.changedOn(dateOfChange)) {
+      NavigableMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+      for (LocalDate date : resident.dates()) {
+        if (!date.isAfter(dateOfChange)) {
+          history.put(date, resident.on(date).toMap());
+        }
+      }
+      return fromHistory(name, history);
+    }
+
     DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     String formattedDate = dateOfChange.format(format);
 
     String directoryPath = "res/portfolios";
     String directoryDatePath = directoryPath + "/" + formattedDate;
 
-    String filePath = directoryDatePath + "/" + portfolios.get(portfolioIndex) + ".xml";
+    String filePath = directoryDatePath + "/" + name + ".xml";
     File portfolioFile = new File(filePath);
 
     try {
@@ -486,35 +845,165 @@ public class Portfolio implements IPortfolio {
       if (!portfolioFile.exists()) {
         throw new FileNotFoundException("Portfolio file not found: " + filePath);
       }
-
-      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-      DocumentBuilder builder = factory.newDocumentBuilder();
-      Document document = builder.parse(portfolioFile);
-
-      Element rootElement = document.getDocumentElement();
-      String portfolioName = rootElement.getAttribute("name");
-
-      NodeList stockList = rootElement.getElementsByTagName("stock");
-      Map<Stocks, Double> loadStocks = new HashMap<>();
-      for (int i = 0; i < stockList.getLength(); i++) {
-        Element stockElement = (Element) stockList.item(i);
-        String symbol = stockElement.getElementsByTagName("symbol").item(0).getTextContent();
-        double quantity = Double.parseDouble(
-                stockElement.getElementsByTagName(
-                        "quantity").item(0).getTextContent());
-
-        APIReader apiRead = new AlphaVantageAPI("GVOWNVFAUMGZOUBF", symbol);
-        FileCreator csvRead = new CSVReader(apiRead, symbol);
-        List<StockInformation> stockInfoList = csvRead.fileToStockInfo();
-        Stocks currentStock = new Stocks(symbol, stockInfoList);
-        loadStocks.put(currentStock, quantity);
-      }
-      String firstDate = rootElement.getAttribute("firstPurchaseDate");
-      LocalDate firstPurchaseDate = LocalDate.parse(firstDate);
-      return new Portfolio(portfolioName, loadStocks, firstPurchaseDate);
-    } catch (ParserConfigurationException | SAXException | IOException e) {
+    } catch (IOException e) {
       throw new IllegalArgumentException("Error loading portfolio: " + e.getMessage(), e);
     }
+    return fromHistory(name, loadHistory(name).headMap(dateOfChange, true));
+  }
+
+  /**
+   * This method will load a portfolio as it is after its most recent change, with every
+   * saved change as its transactions, reusing the stocks already read for other portfolios.
+   *
+   * @param name   the name of the portfolio.
+   * @param loaded the stocks already read, by ticker symbol; stocks read now are added.
+   * @return the portfolio as it is after its most recent change.
+   */
+  static Portfolio loadLatest(String name, Map<String, Stocks> loaded) {
+    LocalDate mostRecentDate = registry.latestDate(name);
+    if (mostRecentDate == null) {
+      throw new IllegalArgumentException("Portfolio has not been saved: " + name);
+    }
+    NavigableMap<LocalDate, Map<Stocks, Double>> history = loadHistory(name, loaded);
+    if (history.isEmpty()) {
+      throw new IllegalArgumentException("Portfolio file not found: res/portfolios/"
+              + mostRecentDate + "/" + name + ".xml");
+    }
+    return fromHistory(name, history);
+  }
+
+  //helper method to read the holdings of one saved portfolio file. The stocks already read
+  //are reused, so the price data of a stock is only read once when many files are read
+  //together.
+  private static Map<Stocks, Double> readHoldings(File portfolioFile, Map<String, Stocks> loaded)
+          throws IOException {
+    PortfolioXml saved = PortfolioXml.read(portfolioFile.toPath());
+    Map<Stocks, Double> loadStocks = new HashMap<>();
+    for (Map.Entry<String, Double> holding : saved.getQuantities().entrySet()) {
+      loadStocks.put(stockFor(holding.getKey(), loaded), holding.getValue());
+    }
+    return loadStocks;
+  }
+
+  //helper method to find the stock of a ticker symbol among the stocks already read, reading
+  //its price data the first time.
+  private static Stocks stockFor(String symbol, Map<String, Stocks> loaded) {
+    Stocks stock = loaded.get(symbol);
+    if (stock == null) {
+      APIReader apiRead = new AlphaVantageAPI("GVOWNVFAUMGZOUBF", symbol);
+      FileCreator csvRead = new CSVReader(apiRead, symbol);
+      List<StockInformation> stockInfoList = csvRead.fileToStockInfo();
+      stock = new Stocks(symbol, stockInfoList);
+      loaded.put(symbol, stock);
+    }
+    return stock;
+  }
+
+  /**
+   * This method will load every saved state of a portfolio, so its holdings can be looked up
+   * on any date. The price data of each stock is only read once for the whole history.
+   *
+   * @param name the name of the portfolio.
+   * @return the holdings of the portfolio after each change, by the date of the change.
+   */
+  public static NavigableMap<LocalDate, Map<Stocks, Double>> loadHistory(String name) {
+    return loadHistory(name, new HashMap<>());
+  }
+
+  //helper method to load every saved state of a portfolio, reusing the stocks already read,
+  //so the price data of a stock is read once for many portfolios.
+  static NavigableMap<LocalDate, Map<Stocks, Double>> loadHistory(String name,
+                                                                  Map<String, Stocks> loaded) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Name for a portfolio must be given.");
+    }
+    NavigableMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+    File[] dateFolders = new File("res/portfolios").listFiles(File::isDirectory);
+    if (dateFolders == null) {
+      dateFolders = new File[0];
+    }
+    for (File dateFolder : dateFolders) {
+      File portfolioFile = new File(dateFolder, name + ".xml");
+      if (!portfolioFile.isFile()) {
+        continue;
+      }
+      try {
+        LocalDate date = LocalDate.parse(dateFolder.getName(), DateTimeFormatter.ISO_LOCAL_DATE);
+        history.put(date, readHoldings(portfolioFile, loaded));
+      } catch (DateTimeParseException ignored) {
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Error loading portfolio: " + e.getMessage(), e);
+      }
+    }
+    return withJournal(history, journalOf(name).replay(), loaded);
+  }
+
+  //helper method to add the changes saved in the journal of a portfolio to the states saved
+  //in files. Every change is made on the holdings of the date before it, or on the state saved
+  //on its own date, so the holdings are found again on every date either of them has.
+  private static NavigableMap<LocalDate, Map<Stocks, Double>> withJournal(
+          NavigableMap<LocalDate, Map<Stocks, Double>> saved,
+          NavigableMap<LocalDate, Map<String, Double>> journaled, Map<String, Stocks> loaded) {
+    if (journaled.isEmpty()) {
+      return saved;
+    }
+    Set<LocalDate> dates = new TreeSet<>(saved.keySet());
+    dates.addAll(journaled.keySet());
+    NavigableMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+    Map<Stocks, Double> holdings = new HashMap<>();
+    for (LocalDate date : dates) {
+      holdings = new HashMap<>(saved.getOrDefault(date, holdings));
+      for (Map.Entry<String, Double> change
+              : journaled.getOrDefault(date, Map.of()).entrySet()) {
+        Stocks stock = stockFor(change.getKey(), loaded);
+        if (change.getValue() == 0) {
+          holdings.remove(stock);
+        } else {
+          holdings.put(stock, change.getValue());
+        }
+      }
+      history.put(date, holdings);
+    }
+    return history;
+  }
+
+  /**
+   * This method will import every saved state of a portfolio into one portfolio with a
+   * transaction log, so its composition and value on any date are found in memory instead
+   * of by looking for the saved state of that date.
+   *
+   * @param name the name of the portfolio.
+   * @return the portfolio with its whole history, as it is after the last change.
+   */
+  public static Portfolio importHistory(String name) {
+    return importHistory(name, new HashMap<>());
+  }
+
+  //helper method to import every saved state of a portfolio, reusing the stocks already read.
+  static Portfolio importHistory(String name, Map<String, Stocks> loaded) {
+    return fromHistory(name, loadHistory(name, loaded));
+  }
+
+  //helper method to make a portfolio from its saved states, as it is after the last of them,
+  //with the changes between them as its transactions, and its lots made by the trades of lots
+  //saved in its journal up to then, so they are numbered and sold the same every time it is
+  //loaded.
+  private static Portfolio fromHistory(String name,
+                                       NavigableMap<LocalDate, Map<Stocks, Double>> history) {
+    TransactionLog log = TransactionLog.fromSnapshots(history);
+    Map<String, Stocks> known = new HashMap<>();
+    for (Map<Stocks, Double> holdings : history.values()) {
+      for (Stocks stock : holdings.keySet()) {
+        known.putIfAbsent(stock.getSymbol(), stock);
+      }
+    }
+    if (history.isEmpty()) {
+      return new Portfolio(name);
+    }
+    List<LotTrade> lotTrades = journalOf(name).replayLots();
+    lotTrades.removeIf(trade -> trade.getDate().isAfter(history.lastKey()));
+    return new Portfolio(name, history.lastEntry().getValue(),
+            history.firstKey(), log, known, lotTrades);
   }
 
   /**
@@ -523,11 +1012,12 @@ public class Portfolio implements IPortfolio {
    * @return a list of all portfolios.
    */
   public static List<String> getPortfolios() {
-    return portfolios;
+    return registry.names();
   }
 
   /**
-   * This method will return the stocks in the portfolio.
+   * This method will return the stocks in the portfolio. The map is the holdings of the
+   * portfolio themselves, kept without boxing in a HoldingsMap.
    *
    * @return a map of stocks in the portfolio.
    */
@@ -544,19 +1034,85 @@ public class Portfolio implements IPortfolio {
 
   /**
    * This method will rebalance the portfolio to the desired weights of the distributed value.
+   * The percentages are matched to the stocks in the order of getStocks.
    *
    * @param percents the desired percentages of the stocks in the portfolio.
    * @param date     the date of the rebalance.
    */
   public void rebalancePortfolio(List<Integer> percents, LocalDate date) {
+    rebalancePortfolio(weightsInOrder(stocks, percents), date);
+  }
 
-    double totalValue = calculateTotalValue(date);
-    List<Double> percentsAsDecimal = new ArrayList<>();
-    for (int percent : percents) {
-      double decimal = (double) percent / 100;
-      percentsAsDecimal.add(decimal);
+  /**
+   * This method will match percentages given in the order of some holdings to the ticker
+   * symbols of the stocks held.
+   *
+   * @param holdings the number of shares held of every stock.
+   * @param percents the desired percentages, one for every stock in the order of the holdings.
+   * @return the desired percentage of every stock held, by ticker symbol.
+   */
+  static Map<String, Integer> weightsInOrder(Map<Stocks, Double> holdings,
+                                             List<Integer> percents) {
+    if (percents == null || percents.isEmpty()) {
+      throw new IllegalArgumentException("Percents cannot be null or empty.");
+    }
+    if (percents.size() != holdings.size()) {
+      throw new IllegalArgumentException(
+              "Percent must be given for every stock in the portfolio.");
     }
-    LocalDate mostRecentDate = portfoliosMostRecent.get(name);
+    Map<String, Integer> weights = new LinkedHashMap<>();
+    int index = 0;
+    for (Stocks stock : holdings.keySet()) {
+      weights.put(stock.getSymbol(), percents.get(index++));
+    }
+    return weights;
+  }
+
+  /**
+   * This method will rebalance the portfolio to the desired weights of the distributed value.
+   * Every stock is valued once at its last close on or before the date, the trades that reach
+   * the weights are all worked out before any of them is made, and the trades are saved
+   * together after all of them are made, so a rebalance that fails changes nothing.
+   *
+   * @param percents the desired percentage of every stock in the portfolio, by ticker symbol.
+   * @param date     the date of the rebalance.
+   */
+  public void rebalancePortfolio(Map<String, Integer> percents, LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date of the rebalance must be given.");
+    }
+    List<Transaction> trades = planRebalance(percents, date, closesOn(date));
+    applyTrades(trades, date);
+    saveTrades(trades, date);
+  }
+
+  //helper method to find the last close on or before a date of every stock held.
+  private Map<String, Double> closesOn(LocalDate date) {
+    Map<String, Double> closes = new HashMap<>();
+    for (Stocks stock : stocks.keySet()) {
+      PriceIndex index = PriceIndex.of(stock.getStockInformation());
+      int position = index.floorIndex(date);
+      if (position >= 0) {
+        closes.put(stock.getSymbol(), index.getClose(position));
+      }
+    }
+    return closes;
+  }
+
+  /**
+   * This method will work out the trades that rebalance the portfolio without changing it.
+   *
+   * @param percents the desired percentage of every stock in the portfolio, by ticker symbol.
+   * @param date     the date of the rebalance.
+   * @param closes   the close of every stock on the date, by ticker symbol.
+   * @return the trades of the rebalance, in order of ticker symbol.
+   */
+  List<Transaction> planRebalance(Map<String, Integer> percents, LocalDate date,
+                                  Map<String, Double> closes) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date of the rebalance must be given.");
+    }
+    LocalDate mostRecentDate = mostRecentDate();
     if (firstPurchaseDate != null && date.isBefore(firstPurchaseDate)) {
       throw new IllegalArgumentException(
               "Stock cannot be rebalanced before the first purchase date.");
@@ -565,11 +1121,28 @@ public class Portfolio implements IPortfolio {
       throw new IllegalArgumentException(
               "Date cannot be before most recent date of a change.");
     }
-    if (percents.isEmpty()) {
+    List<Transaction> trades = planTrades(stocks, percents, date, closes);
+    checkLots(trades);
+    return trades;
+  }
+
+  /**
+   * This method will work out the trades that rebalance some holdings to the desired weights.
+   *
+   * @param holdings the number of shares held of every stock.
+   * @param percents the desired percentage of every stock held, by ticker symbol.
+   * @param date     the date of the rebalance.
+   * @param closes   the close of every stock on the date, by ticker symbol.
+   * @return the trades of the rebalance, in order of ticker symbol.
+   */
+  static List<Transaction> planTrades(Map<Stocks, Double> holdings,
+                                      Map<String, Integer> percents, LocalDate date,
+                                      Map<String, Double> closes) {
+    if (percents == null || percents.isEmpty()) {
       throw new IllegalArgumentException("Percents cannot be null or empty.");
     }
     int sum = 0;
-    for (int percent : percents) {
+    for (int percent : percents.values()) {
       if (percent < 0) {
         throw new IllegalArgumentException("Percent cannot be less than 0.");
       }
@@ -579,70 +1152,246 @@ public class Portfolio implements IPortfolio {
       throw new IllegalArgumentException("Percents must add up to 100.");
     }
 
-    Set<Stocks> stockSet = stocks.keySet();
-    Collection<Double> quantity = stocks.values();
+    List<Stocks> held = new ArrayList<>();
+    for (Stocks stock : holdings.keySet()) {
+      if (!percents.containsKey(stock.getSymbol())) {
+        throw new IllegalArgumentException(
+                "Percent must be given for every stock in the portfolio.");
+      }
+      held.add(stock);
+    }
+    if (held.size() != percents.size()) {
+      throw new IllegalArgumentException("Stock to rebalance must be in the portfolio.");
+    }
+    held.sort((first, second) -> first.getSymbol().compareTo(second.getSymbol()));
 
-    Map<Stocks, Double> valuesOfStocks = distributionOfPortfolio(date);
+    double[] prices = new double[held.size()];
+    double totalValue = 0;
+    for (int i = 0; i < held.size(); i++) {
+      Double close = closes.get(held.get(i).getSymbol());
+      if (close == null) {
+        throw new IllegalArgumentException("Stock does not exist on the given date.");
+      }
+      prices[i] = close;
+      totalValue += prices[i] * holdings.get(held.get(i));
+    }
+    if (totalValue <= 0) {
+      throw new IllegalArgumentException("Portfolio has no value on the given date.");
+    }
 
-    List<Stocks> stockList = new ArrayList<>(stockSet);
-    List<Double> quantityList = new ArrayList<>(quantity);
-    int index = 0;
+    List<Transaction> trades = new ArrayList<>();
+    for (int i = 0; i < held.size(); i++) {
+      Stocks stock = held.get(i);
+      double desiredQuantity = percents.get(stock.getSymbol()) / 100.0 * totalValue / prices[i];
+      double change = desiredQuantity - holdings.get(stock);
+      if (change != 0) {
+        trades.add(new Transaction(Transaction.Type.REBALANCE, date, stock.getSymbol(), change));
+      }
+    }
+    return trades;
+  }
 
-    for (double desiredPercent : percentsAsDecimal) {
-      Stocks currentStock = stockList.get(index);
-      double valueOnDate = 0.0;
-      for (StockInformation stockInfo : currentStock.getStockInformation()) {
-        if (stockInfo.getDate().equals(date)) {
-          valueOnDate = stockInfo.getClose();
-          break;
-        }
+  /**
+   * This method will make the trades of a rebalance in memory, without saving the portfolio.
+   *
+   * @param trades the trades worked out by planRebalance.
+   * @param date   the date of the rebalance.
+   */
+  void applyTrades(List<Transaction> trades, LocalDate date) {
+    checkLots(trades);
+    for (Transaction trade : trades) {
+      applyTrade(trade, known.get(trade.getSymbol()));
+    }
+    recordChange(date);
+  }
+
+  /**
+   * This method will save the holdings of the stocks traded by trades already made, one
+   * journal record for every stock.
+   *
+   * @param trades the trades that were made.
+   * @param date   the date of the trades.
+   */
+  void saveTrades(List<Transaction> trades, LocalDate date) {
+    Set<String> symbols = new LinkedHashSet<>();
+    for (Transaction trade : trades) {
+      symbols.add(trade.getSymbol());
+    }
+    saveChange(date, symbols);
+  }
+
+  //helper method to save the holdings of some stocks after a change on a date.
+  private void saveChange(LocalDate date, Collection<String> symbols) {
+    Map<String, Double> quantities = new LinkedHashMap<>();
+    for (String symbol : symbols) {
+      quantities.put(symbol, stocks.quantity(known.get(symbol)));
+    }
+    NavigableMap<LocalDate, Map<String, Double>> changes = new TreeMap<>();
+    changes.put(date, quantities);
+    saveChanges(name, changes, known, takeUnsavedLots());
+  }
+
+  //helper method to save changes of the holdings of a portfolio and the trades of its lots
+  //that made them in its journal, and add them to its versions in memory, if they are kept.
+  private static void saveChanges(String name,
+                                  NavigableMap<LocalDate, Map<String, Double>> changes,
+                                  Map<String, Stocks> known, List<LotTrade> lotTrades) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    journalOf(name).append(changes, lotTrades);
+    manifest().record(name, changes.keySet());
+    PortfolioVersions resident = versions.get(name);
+    if (resident != null) {
+      for (Map.Entry<LocalDate, Map<String, Double>> change : changes.entrySet()) {
+        Map<Stocks, Double> quantities = new HashMap<>();
+        change.getValue().forEach((symbol, quantity) -> quantities.put(known.get(symbol),
+                quantity));
+        resident.change(change.getKey(), quantities);
+      }
+    }
+  }
+
+  //helper method to find the journal of a portfolio.
+  private static PortfolioJournal journalOf(String name) {
+    return journals.computeIfAbsent(name, key -> new PortfolioJournal(journalFile(key)));
+  }
+
+  //helper method to find the file of the journal of a portfolio.
+  private static Path journalFile(String name) {
+    return Paths.get("res/portfolios/journals", name + ".journal");
+  }
+
+  //helper method to take the journal of a portfolio out of the open journals, so the next
+  //save of the name opens its file again.
+  private static PortfolioJournal journalToRemove(String name) {
+    PortfolioJournal journal = journals.remove(name);
+    return journal == null ? new PortfolioJournal(journalFile(name)) : journal;
+  }
+
+  /**
+   * This method will make trades worked out somewhere else, for example in a scenario, in date
+   * order, and save them together once all are made. The trades are all checked against the
+   * holdings first, so trades that no longer fit change nothing.
+   *
+   * @param trades the trades, in date order.
+   * @param traded the stocks traded, by ticker symbol.
+   */
+  void commitTrades(List<Transaction> trades, Map<String, Stocks> traded) {
+    LocalDate mostRecentDate = mostRecentDate();
+    Map<String, Double> positions = new HashMap<>();
+    NavigableMap<LocalDate, Map<String, Double>> changes = new TreeMap<>();
+    LocalDate previous = null;
+    for (Transaction trade : trades) {
+      if ((mostRecentDate != null && trade.getDate().isBefore(mostRecentDate))
+              || (previous != null && trade.getDate().isBefore(previous))) {
+        throw new IllegalArgumentException("Date cannot be before most recent date of a change.");
       }
-      double desiredValue = desiredPercent * totalValue;
-      double totalStockValueOnDate = valuesOfStocks.get(currentStock);
-      if (totalStockValueOnDate > desiredValue) {
-        double difference = totalStockValueOnDate - desiredValue;
-        double desiredQuantity = difference / valueOnDate;
-        removeStock(currentStock, desiredQuantity, date);
+      previous = trade.getDate();
+      Stocks stock = traded.get(trade.getSymbol());
+      double held = positions.getOrDefault(trade.getSymbol(), stocks.quantity(stock));
+      if (held + trade.getQuantity() < 0) {
+        throw new IllegalArgumentException(
+                "Quantity of stock to remove must be less than or equal to current quantity.");
       }
-      if (totalStockValueOnDate < desiredValue) {
-        double difference = desiredValue - totalStockValueOnDate;
-        double desiredQuantity = difference / valueOnDate;
-        addStock(currentStock, desiredQuantity, date);
+      positions.put(trade.getSymbol(), held + trade.getQuantity());
+      changes.computeIfAbsent(trade.getDate(), date -> new LinkedHashMap<>())
+              .put(trade.getSymbol(), held + trade.getQuantity());
+    }
+    checkLots(trades);
+    for (int i = 0; i < trades.size(); i++) {
+      Transaction trade = trades.get(i);
+      if (firstPurchaseDate == null) {
+        firstPurchaseDate = trade.getDate();
       }
-      index += 1;
+      applyTrade(trade, traded.get(trade.getSymbol()));
+      recordChange(trade.getDate());
     }
-    portfoliosMostRecent.put(this.getName(), date);
-    savePortfolio(this, date);
+    saveChanges(name, changes, known, takeUnsavedLots());
   }
 
-  //here we have a helper method that will help us load the portfolio.
-  private static Portfolio portfolioLoaderHelper(LocalDate date, int portfolioIndex) {
-    Portfolio testPortfolio = new Portfolio(portfolios.get(portfolioIndex));
-    List<String> portfolios = Portfolio.getPortfolios();
-    String currentPortfolioName = portfolios.get(portfolioIndex);
-    try {
-      Portfolio.loadPortfolio(portfolioIndex, portfoliosMostRecent.get(currentPortfolioName));
-      testPortfolio = loadPortfolio(portfolioIndex, portfoliosMostRecent.get(currentPortfolioName));
-    } catch (Exception ignored) {
-    }
-
-    Portfolio portfolio = new Portfolio(portfolios.get(portfolioIndex));
-    if (!testPortfolio.getStocks().isEmpty()) {
-      LocalDate firstDate = testPortfolio.getFirstPurchaseDate();
-      LocalDate dateCheck = date;
-      while (dateCheck.isAfter(firstDate) || dateCheck.equals(firstDate)) {
-        try {
-          Portfolio.loadPortfolio(portfolioIndex, dateCheck);
-          portfolio = Portfolio.loadPortfolio(portfolioIndex, dateCheck);
-          break;
-        } catch (Exception e) {
-          dateCheck = dateCheck.minusDays(1);
-        }
-      }
+  /**
+   * This method returns the date of the most recent change of the portfolio, made through
+   * this portfolio or recorded in the registry for its name, whichever is later.
+   *
+   * @return the date of the most recent change, or null if there was none.
+   */
+  LocalDate mostRecentDate() {
+    LocalDate registered = registry.latestDate(name);
+    return registered == null || (latestChange != null && latestChange.isAfter(registered))
+            ? latestChange : registered;
+  }
+
+  //helper method to record a change of the portfolio, in the portfolio itself, so its dates
+  //are checked even if it was never registered, and in the registry.
+  private void recordChange(LocalDate date) {
+    if (latestChange == null || date.isAfter(latestChange)) {
+      latestChange = date;
     }
-    return portfolio;
+    registry.recordChange(name, date);
   }
 
+  //helper method to make one trade in memory: its lot, its holding and its log entry.
+  private void applyTrade(Transaction trade, Stocks stock) {
+    double close = closeOn(stock, trade.getDate());
+    if (trade.getQuantity() > 0) {
+      buyLot(trade.getSymbol(), trade.getDate(), trade.getQuantity(), close);
+    } else {
+      sellLots(trade.getSymbol(), trade.getDate(),
+              lotShares(stock, stocks.quantity(stock), -trade.getQuantity(), trade.getDate()),
+              close, lotPolicy);
+    }
+    if (stocks.add(stock, trade.getQuantity()) <= 0) {
+      stocks.delete(stock);
+    }
+    known.put(stock.getSymbol(), stock);
+    log.record(trade);
+  }
+
+  //helper method to open a lot and keep the purchase to save it in the journal.
+  private void buyLot(String symbol, LocalDate date, double quantity, double price) {
+    lots.buy(symbol, date, quantity, price);
+    unsavedLots.add(LotTrade.purchase(date, symbol, quantity, price));
+  }
+
+  //helper method to sell out of the lots and keep the sale to save it in the journal.
+  private void sellLots(String symbol, LocalDate date, double quantity, double price,
+                        TaxLots.Policy policy, long... lotIds) {
+    lots.sell(symbol, date, quantity, price, policy, lotIds);
+    unsavedLots.add(LotTrade.sale(date, symbol, quantity, price, policy, lotIds));
+  }
+
+  //helper method to take the trades of the lots made since the last save, to save them.
+  private List<LotTrade> takeUnsavedLots() {
+    List<LotTrade> taken = new ArrayList<>(unsavedLots);
+    unsavedLots.clear();
+    return taken;
+  }
+
+  //helper method to find the shares to sell out of the lots for a sale of the holdings. A sale
+  //of every share held also sells what rounding left in the lots, so none are left open.
+  private double lotShares(Stocks stock, double held, double quantity, LocalDate date) {
+    if (quantity < held) {
+      return quantity;
+    }
+    return Math.max(quantity, lots.available(stock.getSymbol(), date));
+  }
+
+  //helper method to check that the lots hold the shares of every sale of some trades, in date
+  //order, so trades that would fail part way through are turned down before any is made.
+  private void checkLots(List<Transaction> trades) {
+    Map<String, Double> available = new HashMap<>();
+    for (Transaction trade : trades) {
+      String symbol = trade.getSymbol();
+      double shares = available.containsKey(symbol) ? available.get(symbol)
+              : lots.available(symbol, trade.getDate());
+      if (trade.getQuantity() < 0 && !TaxLots.covers(shares, -trade.getQuantity())) {
+        throw new IllegalArgumentException(
+                "Quantity of stock to remove must be less than or equal to current quantity.");
+      }
+      available.put(symbol, Math.max(0, shares + trade.getQuantity()));
+    }
+  }
 
   //4. Performance Check: A method was added to check the performance
   // of a portfolio. This allows users to track the returns of their
@@ -651,6 +1400,8 @@ public class Portfolio implements IPortfolio {
 
   /**
    * Plots the performance of the portfolio over time using a text-based bar chart.
+   * The saved states of the portfolio are imported into a transaction log once,
+   * and the value of every day in the range is found from it in one pass.
    *
    * @param startDate the start date of the performance plot.
    * @param endDate   the end date of the performance plot.
@@ -661,18 +1412,17 @@ public class Portfolio implements IPortfolio {
     invalidDates(startDate, endDate);
 
     long interval = calculateInterval(startDate, endDate);
-    double maxValue = calculateMaxValue(startDate, endDate, interval, portfolioIndex);
+    double[] values = importHistory(getPortfolios().get(portfolioIndex))
+            .dailyValues(startDate, endDate);
+    double maxValue = calculateMaxValue(values, interval);
     long scaleFactor = calculateScaleFactor(maxValue);
 
     List<String> performanceData = new ArrayList<>();
     LocalDate currentDate = startDate;
-    Portfolio checkFirstPurchaseDate = portfolioLoaderHelper(endDate, portfolioIndex);
     while (!currentDate.isAfter(endDate)) {
-      Portfolio currentPortfolio = portfolioLoaderHelper(currentDate, portfolioIndex);
-      double totalValue = currentPortfolio.calculateTotalValue(currentDate);
+      double totalValue = values[(int) (currentDate.toEpochDay() - startDate.toEpochDay())];
 
-      double barLength = calculateBarLength(scaleFactor, totalValue,
-              currentDate, currentPortfolio, startDate, checkFirstPurchaseDate);
+      double barLength = calculateBarLength(scaleFactor, totalValue);
       String bar = createBar(barLength);
 
       performanceData.add(currentDate + ": " + bar);
@@ -713,15 +1463,10 @@ public class Portfolio implements IPortfolio {
   }
 
   //helper method to help calculate the max value for the bar chart.
-  private static double calculateMaxValue(LocalDate startDate,
-                                          LocalDate endDate, long interval, int portfolioIndex) {
+  private static double calculateMaxValue(double[] values, long interval) {
     double maxValue = 0;
-    LocalDate currentDate = startDate;
-    while (!currentDate.isAfter(endDate)) {
-      Portfolio currentPortfolio = portfolioLoaderHelper(currentDate, portfolioIndex);
-      double totalValue = currentPortfolio.calculateTotalValue(currentDate);
-      maxValue += totalValue;
-      currentDate = currentDate.plusDays(interval);
+    for (int day = 0; day < values.length; day += interval) {
+      maxValue += values[day];
     }
     return maxValue;
   }
@@ -738,18 +1483,9 @@ public class Portfolio implements IPortfolio {
   }
 
   // helper method to calculate the bar length according to the scale factor as well.
-  private static double calculateBarLength(long scaleFactor, double totalValue,
-                                           LocalDate currentDate, Portfolio currentPortfolio,
-                                           LocalDate startDate, Portfolio checkFirstPurchaseDate) {
+  // days without trading already carry the last value, so no earlier date is looked for.
+  private static double calculateBarLength(long scaleFactor, double totalValue) {
     double barLength = (totalValue / scaleFactor);
-    if (scaleFactor != 1 && totalValue == 0 && currentDate != startDate
-            && currentDate.isAfter(checkFirstPurchaseDate.getFirstPurchaseDate())) {
-      LocalDate findingWorkingDate = currentDate;
-      while (totalValue == 0) {
-        findingWorkingDate = findingWorkingDate.minusDays(1);
-        totalValue = currentPortfolio.calculateTotalValue(findingWorkingDate);
-      }
-    }
     if (barLength < 1 && barLength != 0) {
       barLength = 1;
     } else {
@@ -0,0 +1,351 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A class that keeps the changes of a portfolio in a file that is only ever added to, one
+ * line for every holding that changed: the date of the change, the ticker symbol and the
+ * number of shares held after it. Saving a trade writes a line for the stocks it traded only,
+ * however many stocks the portfolio holds, and reading the file from the start gives the
+ * holdings on every date again. The purchases and sales of the tax lots are kept in the same
+ * file, one line each with the date, the ticker symbol, the shares, the price of a share and
+ * BUY or the policy the lots were sold by, then the numbers of the lots asked for if there are
+ * any, so the lots are opened and sold again in the order they were. A save returns once
+ * its lines are forced to the disk. Saves made from many threads at the same time are forced
+ * together: while one thread forces the file the others add their lines to the next group,
+ * and the first of them to get its turn writes and forces the whole group at once.
+ */
+public class PortfolioJournal {
+  private final Path file;
+  private final Object flushLock;
+  private StringBuilder pending;
+  private long appended;
+  private long durable;
+  private long failed;
+  private FileChannel channel;
+
+  /**
+   * A constructor that creates the journal kept in a file. The file is made the first time
+   * a change is saved.
+   *
+   * @param file the file of the journal.
+   */
+  public PortfolioJournal(Path file) {
+    if (file == null) {
+      throw new IllegalArgumentException("File of the journal must be given.");
+    }
+    this.file = file;
+    this.flushLock = new Object();
+    this.pending = new StringBuilder();
+  }
+
+  /**
+   * This method returns the file of the journal.
+   *
+   * @return the file of the journal.
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * This method checks if any change was saved in the journal.
+   *
+   * @return true if the file of the journal exists, false otherwise.
+   */
+  public boolean exists() {
+    return Files.isRegularFile(file);
+  }
+
+  /**
+   * This method will save the holdings that changed on a date, returning once they are on
+   * the disk.
+   *
+   * @param date       the date of the change.
+   * @param quantities the number of shares held after the change, by ticker symbol; 0 for a
+   *                   stock that was sold out.
+   */
+  public void append(LocalDate date, Map<String, Double> quantities) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date of the change must be given.");
+    }
+    NavigableMap<LocalDate, Map<String, Double>> changes = new TreeMap<>();
+    changes.put(date, quantities);
+    append(changes);
+  }
+
+  /**
+   * This method will save the holdings that changed on many dates, returning once they are
+   * all on the disk.
+   *
+   * @param changes the number of shares held after each change by ticker symbol, by the date
+   *                of the change.
+   */
+  public void append(Map<LocalDate, Map<String, Double>> changes) {
+    append(changes, List.of());
+  }
+
+  /**
+   * This method will save the holdings that changed on many dates and the trades of the tax
+   * lots that changed them, returning once they are all on the disk.
+   *
+   * @param changes   the number of shares held after each change by ticker symbol, by the
+   *                  date of the change.
+   * @param lotTrades the purchases and sales of the lots, in the order they were made.
+   */
+  public void append(Map<LocalDate, Map<String, Double>> changes, List<LotTrade> lotTrades) {
+    if (changes == null || lotTrades == null) {
+      throw new IllegalArgumentException("Changes to save must be given.");
+    }
+    StringBuilder lines = new StringBuilder();
+    for (Map.Entry<LocalDate, Map<String, Double>> change : changes.entrySet()) {
+      if (change.getKey() == null || change.getValue() == null) {
+        throw new IllegalArgumentException("Date and holdings of the change must be given.");
+      }
+      for (Map.Entry<String, Double> quantity : change.getValue().entrySet()) {
+        checkSymbol(quantity.getKey());
+        lines.append(change.getKey()).append(',').append(quantity.getKey()).append(',')
+                .append(quantity.getValue()).append('\n');
+      }
+    }
+    for (LotTrade trade : lotTrades) {
+      checkSymbol(trade.getSymbol());
+      lines.append(trade.getDate()).append(',').append(trade.getSymbol()).append(',')
+              .append(trade.getQuantity()).append(',').append(trade.getPrice()).append(',')
+              .append(trade.isPurchase() ? "BUY" : trade.getPolicy().name());
+      String separator = ",";
+      for (long lotId : trade.getLotIds()) {
+        lines.append(separator).append(lotId);
+        separator = " ";
+      }
+      lines.append('\n');
+    }
+    if (lines.length() == 0) {
+      return;
+    }
+
+    long ticket;
+    synchronized (this) {
+      pending.append(lines);
+      ticket = ++appended;
+    }
+    synchronized (flushLock) {
+      if (ticket <= failed) {
+        throw new RuntimeException("Changes could not be saved in the journal: " + file);
+      }
+      if (ticket <= durable) {
+        return;
+      }
+      String group;
+      long last;
+      synchronized (this) {
+        group = pending.toString();
+        pending = new StringBuilder();
+        last = appended;
+      }
+      try {
+        write(group);
+      } catch (IOException e) {
+        failed = last;
+        throw new RuntimeException(e);
+      }
+      durable = last;
+    }
+  }
+
+  /**
+   * This method will read the journal from the start. A last line that was only partly
+   * written, because the program stopped while writing it, is left out.
+   *
+   * @return the number of shares held after each change by ticker symbol, by the date of the
+   *         change; empty if nothing was saved.
+   */
+  public NavigableMap<LocalDate, Map<String, Double>> replay() {
+    NavigableMap<LocalDate, Map<String, Double>> changes = new TreeMap<>();
+    if (!exists()) {
+      return changes;
+    }
+    String text;
+    try {
+      text = Files.readString(file, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error reading journal: " + e.getMessage(), e);
+    }
+    int start = 0;
+    int end = text.indexOf('\n');
+    while (end >= 0) {
+      String[] parts = text.substring(start, end).split(",");
+      if (parts.length == 3) {
+        try {
+          LocalDate date = LocalDate.parse(parts[0]);
+          double quantity = Double.parseDouble(parts[2]);
+          changes.computeIfAbsent(date, key -> new LinkedHashMap<>()).put(parts[1], quantity);
+        } catch (DateTimeParseException | NumberFormatException ignored) {
+        }
+      }
+      start = end + 1;
+      end = text.indexOf('\n', start);
+    }
+    return changes;
+  }
+
+  /**
+   * This method will read the trades of the tax lots saved in the journal from the start. A
+   * last line that was only partly written is left out, as by replay.
+   *
+   * @return the purchases and sales of the lots in the order they were made; empty if none
+   *         were saved.
+   */
+  public List<LotTrade> replayLots() {
+    List<LotTrade> trades = new ArrayList<>();
+    if (!exists()) {
+      return trades;
+    }
+    String text;
+    try {
+      text = Files.readString(file, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error reading journal: " + e.getMessage(), e);
+    }
+    int start = 0;
+    int end = text.indexOf('\n');
+    while (end >= 0) {
+      String[] parts = text.substring(start, end).split(",");
+      if (parts.length == 5 || parts.length == 6) {
+        try {
+          LocalDate date = LocalDate.parse(parts[0]);
+          double quantity = Double.parseDouble(parts[2]);
+          double price = Double.parseDouble(parts[3]);
+          if (parts[4].equals("BUY")) {
+            trades.add(LotTrade.purchase(date, parts[1], quantity, price));
+          } else {
+            long[] lotIds = parts.length == 5 ? new long[0]
+                    : Arrays.stream(parts[5].split(" ")).mapToLong(Long::parseLong).toArray();
+            trades.add(LotTrade.sale(date, parts[1], quantity, price,
+                    TaxLots.Policy.valueOf(parts[4]), lotIds));
+          }
+        } catch (IllegalArgumentException | DateTimeParseException ignored) {
+        }
+      }
+      start = end + 1;
+      end = text.indexOf('\n', start);
+    }
+    return trades;
+  }
+
+  /**
+   * This method returns the date of the most recent change saved in the journal.
+   *
+   * @return the date of the most recent change, or null if nothing was saved.
+   */
+  public LocalDate getLatestDate() {
+    NavigableMap<LocalDate, Map<String, Double>> changes = replay();
+    return changes.isEmpty() ? null : changes.lastKey();
+  }
+
+  /**
+   * This method will move the file of the journal, for example when the portfolio is renamed.
+   * The journal is closed, so changes are saved through a journal of the new file after it.
+   *
+   * @param target the new file of the journal, which must not exist.
+   * @throws IOException if the file cannot be moved.
+   */
+  public void moveTo(Path target) throws IOException {
+    synchronized (flushLock) {
+      close();
+      if (exists()) {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Files.move(file, target);
+      }
+    }
+  }
+
+  /**
+   * This method will delete the file of the journal, for example when the portfolio is
+   * deleted.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  public void delete() throws IOException {
+    synchronized (flushLock) {
+      close();
+      Files.deleteIfExists(file);
+    }
+  }
+
+  //helper method to check a ticker symbol, which has to fit in one field of a line.
+  private static void checkSymbol(String symbol) {
+    if (symbol == null || symbol.isEmpty() || symbol.indexOf(',') >= 0
+            || symbol.indexOf('\n') >= 0) {
+      throw new IllegalArgumentException("Invalid ticker symbol: " + symbol);
+    }
+  }
+
+  //helper method to close the file, which is opened again by the next save.
+  private void close() throws IOException {
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+
+  //helper method to add a group of lines to the end of the file and force them to the disk.
+  //The file is opened the first time, and again if it was deleted; if the last line in it was
+  //only partly written, it is cut off first, since replaying never reads it.
+  private void write(String group) throws IOException {
+    if (channel != null && !Files.exists(file)) {
+      channel.close();
+      channel = null;
+    }
+    if (channel == null) {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE,
+              StandardOpenOption.READ, StandardOpenOption.WRITE);
+      opened.truncate(endOfLastLine(opened));
+      opened.position(opened.size());
+      channel = opened;
+    }
+    ByteBuffer buffer = StandardCharsets.UTF_8.encode(group);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    channel.force(false);
+  }
+
+  //helper method to find where the last whole line of a file ends, reading it from the end.
+  private static long endOfLastLine(FileChannel channel) throws IOException {
+    ByteBuffer block = ByteBuffer.allocate(4096);
+    long end = channel.size();
+    while (end > 0) {
+      long start = Math.max(0, end - block.capacity());
+      block.clear().limit((int) (end - start));
+      while (block.hasRemaining()) {
+        if (channel.read(block, start + block.position()) < 0) {
+          break;
+        }
+      }
+      for (int i = block.position() - 1; i >= 0; i--) {
+        if (block.get(i) == '\n') {
+          return start + i + 1;
+        }
+      }
+      end = start;
+    }
+    return 0;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,314 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * A class that keeps an index of the saved portfolios in one small file: for every portfolio,
+ * in the order they were first saved, the dates it was saved on. It is updated whenever a
+ * portfolio is saved on a date it was not saved on before, so reading it at startup tells the
+ * name and latest date of every portfolio without looking through the folders of every date.
+ * Each line of the file is some dates of a portfolio, separated by commas, then a tab and the
+ * name of the portfolio; the dates of a portfolio are all the dates of its lines. A save on a
+ * new date adds one line to the end of the file and forces it to the disk, so the lines
+ * written before are never written again. Removing or renaming a portfolio, or reading a file
+ * with more lines than portfolios, replaces the file with one line per portfolio, by writing
+ * and forcing a new file and moving it over the old one, so it is never left half written.
+ */
+public class PortfolioManifest {
+  private final Path file;
+  private final Map<String, NavigableSet<LocalDate>> dates;
+
+  /**
+   * A constructor that creates an empty manifest kept in a file.
+   *
+   * @param file the file of the manifest.
+   */
+  public PortfolioManifest(Path file) {
+    if (file == null) {
+      throw new IllegalArgumentException("File of the manifest must be given.");
+    }
+    this.file = file;
+    this.dates = new LinkedHashMap<>();
+  }
+
+  /**
+   * This method returns the file of the manifest.
+   *
+   * @return the file of the manifest.
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * This method will read the manifest from its file, replacing what is in memory.
+   *
+   * @return true if the file was read, false if it is missing, empty or cannot be read, in
+   *         which case the manifest in memory is left as it was. An empty file is not taken as
+   *         a manifest without portfolios, since it is also what is left when the first write
+   *         of the file did not reach the disk, and a file whose last line has no line break
+   *         is not read either, since that line was only partly added and could have a name
+   *         cut short.
+   */
+  public synchronized boolean load() {
+    String text;
+    try {
+      text = Files.readString(file, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      return false;
+    }
+    if (text.isEmpty() || text.charAt(text.length() - 1) != '\n') {
+      return false;
+    }
+    String[] lines = text.substring(0, text.length() - 1).split("\n", -1);
+    Map<String, NavigableSet<LocalDate>> read = new LinkedHashMap<>();
+    for (String line : lines) {
+      int tab = line.indexOf('\t');
+      if (tab <= 0 || tab == line.length() - 1) {
+        return false;
+      }
+      NavigableSet<LocalDate> saved = new TreeSet<>();
+      try {
+        for (String date : line.substring(0, tab).split(",")) {
+          saved.add(LocalDate.parse(date));
+        }
+      } catch (DateTimeParseException e) {
+        return false;
+      }
+      read.computeIfAbsent(line.substring(tab + 1), key -> new TreeSet<>()).addAll(saved);
+    }
+    dates.clear();
+    dates.putAll(read);
+    if (lines.length > dates.size()) {
+      try {
+        write();
+      } catch (IOException ignored) {
+        //the longer file is still read the same way, so it is kept until the next time.
+      }
+    }
+    return true;
+  }
+
+  /**
+   * This method will record that a portfolio was saved on a date, adding a line to the
+   * manifest if the portfolio was not saved on the date before.
+   *
+   * @param name the name of the portfolio.
+   * @param date the date it was saved on.
+   */
+  public void record(String name, LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date of the save must be given.");
+    }
+    record(name, List.of(date));
+  }
+
+  /**
+   * This method will record that a portfolio was saved on some dates, adding one line with
+   * the new ones to the manifest if there are any.
+   *
+   * @param name      the name of the portfolio.
+   * @param saveDates the dates it was saved on.
+   */
+  public synchronized void record(String name, Collection<LocalDate> saveDates) {
+    checkName(name);
+    if (saveDates == null || saveDates.stream().anyMatch(date -> date == null)) {
+      throw new IllegalArgumentException("Dates of the save must be given.");
+    }
+    if (saveDates.isEmpty()) {
+      return;
+    }
+    NavigableSet<LocalDate> saved = dates.computeIfAbsent(name, key -> new TreeSet<>());
+    List<LocalDate> added = new ArrayList<>();
+    for (LocalDate date : new TreeSet<>(saveDates)) {
+      if (saved.add(date)) {
+        added.add(date);
+      }
+    }
+    if (!added.isEmpty()) {
+      StringBuilder line = new StringBuilder();
+      append(line, name, added);
+      try (FileChannel channel = FileChannel.open(createFolder(), StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+        writeAll(channel, line);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * This method will remove a portfolio from the manifest and write it.
+   *
+   * @param name the name of the portfolio.
+   * @return true if the portfolio was in the manifest, false otherwise.
+   */
+  public synchronized boolean remove(String name) {
+    if (dates.remove(name) == null) {
+      return false;
+    }
+    replace();
+    return true;
+  }
+
+  /**
+   * This method will give a portfolio in the manifest a new name, keeping its place and its
+   * dates, and write it.
+   *
+   * @param name    the name of the portfolio.
+   * @param newName the new name of the portfolio.
+   * @return true if the portfolio was in the manifest, false otherwise.
+   */
+  public synchronized boolean rename(String name, String newName) {
+    checkName(newName);
+    if (!dates.containsKey(name) || dates.containsKey(newName)) {
+      return false;
+    }
+    Map<String, NavigableSet<LocalDate>> renamed = new LinkedHashMap<>();
+    for (Map.Entry<String, NavigableSet<LocalDate>> entry : dates.entrySet()) {
+      renamed.put(entry.getKey().equals(name) ? newName : entry.getKey(), entry.getValue());
+    }
+    dates.clear();
+    dates.putAll(renamed);
+    replace();
+    return true;
+  }
+
+  /**
+   * This method will replace the whole manifest and write it, for example after it was
+   * rebuilt by looking through the saved files.
+   *
+   * @param saved the dates every portfolio was saved on, by the name of the portfolio, in the
+   *              order the portfolios should be listed in.
+   */
+  public synchronized void rebuild(Map<String, ? extends Collection<LocalDate>> saved) {
+    if (saved == null) {
+      throw new IllegalArgumentException("Saved portfolios must be given.");
+    }
+    Map<String, NavigableSet<LocalDate>> rebuilt = new LinkedHashMap<>();
+    for (Map.Entry<String, ? extends Collection<LocalDate>> entry : saved.entrySet()) {
+      checkName(entry.getKey());
+      if (!entry.getValue().isEmpty()) {
+        rebuilt.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+      }
+    }
+    dates.clear();
+    dates.putAll(rebuilt);
+    replace();
+  }
+
+  /**
+   * This method returns the names of the portfolios in the manifest.
+   *
+   * @return the names in the order the portfolios were first saved.
+   */
+  public synchronized List<String> names() {
+    return new ArrayList<>(dates.keySet());
+  }
+
+  /**
+   * This method returns the dates a portfolio was saved on.
+   *
+   * @param name the name of the portfolio.
+   * @return the dates in order, which are empty if the portfolio is not in the manifest.
+   */
+  public synchronized NavigableSet<LocalDate> dates(String name) {
+    NavigableSet<LocalDate> saved = dates.get(name);
+    return saved == null ? Collections.emptyNavigableSet()
+            : Collections.unmodifiableNavigableSet(new TreeSet<>(saved));
+  }
+
+  /**
+   * This method returns the date a portfolio was last saved on.
+   *
+   * @param name the name of the portfolio.
+   * @return the latest date, or null if the portfolio is not in the manifest.
+   */
+  public synchronized LocalDate latestDate(String name) {
+    NavigableSet<LocalDate> saved = dates.get(name);
+    return saved == null || saved.isEmpty() ? null : saved.last();
+  }
+
+  //helper method to write the manifest, failing with an unchecked exception.
+  private void replace() {
+    try {
+      write();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  //helper method to write the manifest to a new file, one line per portfolio, force it to the
+  //disk and move it over the old one.
+  private void write() throws IOException {
+    StringBuilder text = new StringBuilder();
+    for (Map.Entry<String, NavigableSet<LocalDate>> entry : dates.entrySet()) {
+      append(text, entry.getKey(), entry.getValue());
+    }
+    Path folder = createFolder().toAbsolutePath().getParent();
+    Path next = Files.createTempFile(folder, "manifest", ".tmp");
+    try (FileChannel channel = FileChannel.open(next, StandardOpenOption.WRITE)) {
+      writeAll(channel, text);
+    }
+    try {
+      Files.move(next, file, StandardCopyOption.ATOMIC_MOVE,
+              StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(next, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  //helper method to make the folder of the file if it is missing.
+  private Path createFolder() throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    return file;
+  }
+
+  //helper method to add the line of some dates of a portfolio to a text.
+  private static void append(StringBuilder text, String name, Collection<LocalDate> saved) {
+    String separator = "";
+    for (LocalDate date : saved) {
+      text.append(separator).append(date);
+      separator = ",";
+    }
+    text.append('\t').append(name).append('\n');
+  }
+
+  //helper method to write a text to a file and force it to the disk.
+  private static void writeAll(FileChannel channel, CharSequence text) throws IOException {
+    ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(text));
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    channel.force(false);
+  }
+
+  //helper method to check the name of a portfolio, which has to fit on one line of the file.
+  private static void checkName(String name) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Name for a portfolio must be given.");
+    }
+    if (name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+      throw new IllegalArgumentException("Name for a portfolio cannot have a line break.");
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A class that keeps the names of the portfolios, in the order they were created, and the
+ * date of the most recent change of every portfolio. It can be used from many threads at once:
+ * the names and dates are kept in concurrent collections, so looking them up never waits,
+ * and creating, renaming and deleting a portfolio and recording its changes are done under a
+ * lock, so two of them never get in each other's way, for example two sessions creating a
+ * portfolio with the same name, or a change recorded for a portfolio while it is deleted.
+ */
+public class PortfolioRegistry {
+  private final Set<String> members;
+  private final List<String> names;
+  private final Map<String, LocalDate> latestDates;
+
+  /**
+   * A constructor that creates an empty registry.
+   */
+  public PortfolioRegistry() {
+    this.members = ConcurrentHashMap.newKeySet();
+    this.names = new CopyOnWriteArrayList<>();
+    this.latestDates = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * This method will register a new portfolio.
+   *
+   * @param name the name of the portfolio.
+   * @return true if the portfolio was registered, false if a portfolio with the name exists.
+   */
+  public synchronized boolean create(String name) {
+    checkName(name);
+    if (!members.add(name)) {
+      return false;
+    }
+    names.add(name);
+    return true;
+  }
+
+  /**
+   * This method will give a portfolio a new name, keeping its place and its most recent date.
+   *
+   * @param name    the name of the portfolio.
+   * @param newName the new name of the portfolio.
+   * @return true if the portfolio was renamed, false if there is no portfolio with the name or
+   *         there already is one with the new name.
+   */
+  public synchronized boolean rename(String name, String newName) {
+    checkName(newName);
+    if (!members.contains(name) || members.contains(newName)) {
+      return false;
+    }
+    members.add(newName);
+    names.set(names.indexOf(name), newName);
+    LocalDate latestDate = latestDates.remove(name);
+    if (latestDate != null) {
+      latestDates.put(newName, latestDate);
+    }
+    members.remove(name);
+    return true;
+  }
+
+  /**
+   * This method will remove a portfolio and its most recent date from the registry.
+   *
+   * @param name the name of the portfolio.
+   * @return true if the portfolio was removed, false if there is no portfolio with the name.
+   */
+  public synchronized boolean delete(String name) {
+    if (!members.remove(name)) {
+      return false;
+    }
+    names.remove(name);
+    latestDates.remove(name);
+    return true;
+  }
+
+  /**
+   * This method checks if a portfolio is registered.
+   *
+   * @param name the name of the portfolio.
+   * @return true if the portfolio is registered, false otherwise.
+   */
+  public boolean contains(String name) {
+    return name != null && members.contains(name);
+  }
+
+  /**
+   * This method will record a change of a portfolio on a date. The most recent date of the
+   * portfolio only moves forward, so changes recorded out of order keep the latest one.
+   *
+   * @param name the name of the portfolio.
+   * @param date the date of the change.
+   * @return true if the change was recorded, false if there is no portfolio with the name.
+   */
+  public synchronized boolean recordChange(String name, LocalDate date) {
+    checkName(name);
+    if (date == null) {
+      throw new IllegalArgumentException("Date of the change must be given.");
+    }
+    if (!members.contains(name)) {
+      return false;
+    }
+    latestDates.merge(name, date, (current, next) -> next.isAfter(current) ? next : current);
+    return true;
+  }
+
+  /**
+   * This method returns the date of the most recent change of a portfolio.
+   *
+   * @param name the name of the portfolio.
+   * @return the date of the most recent change, or null if no change was recorded.
+   */
+  public LocalDate latestDate(String name) {
+    return name == null ? null : latestDates.get(name);
+  }
+
+  /**
+   * This method returns the names of the portfolios in the order they were created.
+   *
+   * @return a copy of the names, which does not change when the registry does.
+   */
+  public List<String> names() {
+    return List.copyOf(names);
+  }
+
+  /**
+   * This method returns the date of the most recent change of every portfolio.
+   *
+   * @return the dates by the name of the portfolio, which cannot be changed.
+   */
+  public Map<String, LocalDate> latestDates() {
+    return Collections.unmodifiableMap(latestDates);
+  }
+
+  //helper method to check the name of a portfolio.
+  private static void checkName(String name) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Name for a portfolio must be given.");
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class that keeps every version of the holdings of a portfolio in memory, one for every
+ * date the holdings changed on, so the holdings on any date are found without reading the
+ * saved state of that date. Each version is a PersistentHoldings made from the version before
+ * it, so the versions share every holding that did not change between them and the memory
+ * they take grows with the number of changes, not with the number of versions times the
+ * number of holdings. The holdings on a date are the version of the last change on or
+ * before it.
+ */
+public class PortfolioVersions {
+  private int[] days;
+  private PersistentHoldings[] versions;
+  private int size;
+
+  /**
+   * A constructor that creates a portfolio without any versions.
+   */
+  public PortfolioVersions() {
+    this.days = new int[8];
+    this.versions = new PersistentHoldings[8];
+  }
+
+  /**
+   * This method makes the versions of a portfolio from its saved history.
+   *
+   * @param history the holdings of the portfolio after each change, by the date of the change.
+   * @return the versions of the portfolio.
+   */
+  public static PortfolioVersions of(Map<LocalDate, Map<Stocks, Double>> history) {
+    if (history == null) {
+      throw new IllegalArgumentException("History of the portfolio must be given.");
+    }
+    PortfolioVersions result = new PortfolioVersions();
+    for (Map.Entry<LocalDate, Map<Stocks, Double>> change : history.entrySet()) {
+      result.record(change.getKey(), change.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * This method will record the holdings of the portfolio after a change. Only the holdings
+   * that are different from the version on the date are stored again; a version already
+   * recorded on the date is replaced.
+   *
+   * @param date     the date of the change.
+   * @param holdings the holdings of the portfolio after the change.
+   * @return the version that was recorded.
+   */
+  public synchronized PersistentHoldings record(LocalDate date, Map<Stocks, Double> holdings) {
+    if (date == null || holdings == null) {
+      throw new IllegalArgumentException("Date and holdings of the change must be given.");
+    }
+    int day = (int) date.toEpochDay();
+    int position = floor(day);
+    return store(day, position, changed(position < 0 ? PersistentHoldings.empty()
+            : versions[position], holdings));
+  }
+
+  /**
+   * This method will record a change of some of the holdings of the portfolio, the others
+   * staying as they are in the version on the date. It only takes as long as the number of
+   * holdings that changed, so it is used when a trade is saved.
+   *
+   * @param date       the date of the change.
+   * @param quantities the number of shares held after the change of every stock that changed;
+   *                   0 for a stock that is no longer held.
+   * @return the version that was recorded.
+   */
+  public synchronized PersistentHoldings change(LocalDate date,
+                                                Map<Stocks, Double> quantities) {
+    if (date == null || quantities == null) {
+      throw new IllegalArgumentException("Date and holdings of the change must be given.");
+    }
+    int day = (int) date.toEpochDay();
+    int position = floor(day);
+    PersistentHoldings version = position < 0 ? PersistentHoldings.empty() : versions[position];
+    for (Map.Entry<Stocks, Double> entry : quantities.entrySet()) {
+      version = entry.getValue() == 0 ? version.without(entry.getKey())
+              : version.with(entry.getKey(), entry.getValue());
+    }
+    return store(day, position, version);
+  }
+
+  //helper method to put a version in its place by date, replacing the version of the same
+  //day if there is one. The position is the one of the last version on or before the day.
+  private PersistentHoldings store(int day, int position, PersistentHoldings version) {
+    if (position >= 0 && days[position] == day) {
+      versions[position] = version;
+      return version;
+    }
+    if (size == days.length) {
+      days = Arrays.copyOf(days, size * 2);
+      versions = Arrays.copyOf(versions, size * 2);
+    }
+    System.arraycopy(days, position + 1, days, position + 2, size - position - 1);
+    System.arraycopy(versions, position + 1, versions, position + 2, size - position - 1);
+    days[position + 1] = day;
+    versions[position + 1] = version;
+    size++;
+    return version;
+  }
+
+  /**
+   * This method finds the holdings of the portfolio at the end of a day.
+   *
+   * @param date the day.
+   * @return the holdings of the last change on or before the day, which are empty if the
+   *         portfolio did not change before it.
+   */
+  public synchronized PersistentHoldings on(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date must be given.");
+    }
+    int position = floor((int) date.toEpochDay());
+    return position < 0 ? PersistentHoldings.empty() : versions[position];
+  }
+
+  /**
+   * This method checks if the portfolio changed on a day.
+   *
+   * @param date the day.
+   * @return true if a version was recorded on the day, false otherwise.
+   */
+  public synchronized boolean changedOn(LocalDate date) {
+    if (date == null) {
+      return false;
+    }
+    int day = (int) date.toEpochDay();
+    int position = floor(day);
+    return position >= 0 && days[position] == day;
+  }
+
+  /**
+   * This method returns the holdings after the most recent change.
+   *
+   * @return the latest holdings, which are empty if nothing was recorded.
+   */
+  public synchronized PersistentHoldings latest() {
+    return size == 0 ? PersistentHoldings.empty() : versions[size - 1];
+  }
+
+  /**
+   * This method returns the date of the first change.
+   *
+   * @return the date of the first change, or null if nothing was recorded.
+   */
+  public synchronized LocalDate getFirstDate() {
+    return size == 0 ? null : LocalDate.ofEpochDay(days[0]);
+  }
+
+  /**
+   * This method returns the date of the most recent change.
+   *
+   * @return the date of the most recent change, or null if nothing was recorded.
+   */
+  public synchronized LocalDate getLatestDate() {
+    return size == 0 ? null : LocalDate.ofEpochDay(days[size - 1]);
+  }
+
+  /**
+   * This method returns the dates the portfolio changed on.
+   *
+   * @return the dates in order, the first change first.
+   */
+  public synchronized List<LocalDate> dates() {
+    List<LocalDate> dates = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      dates.add(LocalDate.ofEpochDay(days[i]));
+    }
+    return dates;
+  }
+
+  /**
+   * This method returns the number of versions.
+   *
+   * @return the number of dates the portfolio changed on.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  //helper method to make a version from the one before it, changing only the holdings that
+  //are different, so everything else stays shared with it.
+  private static PersistentHoldings changed(PersistentHoldings before,
+                                            Map<Stocks, Double> holdings) {
+    List<Stocks> sold = new ArrayList<>();
+    before.forEach((stock, quantity) -> {
+      if (!holdings.containsKey(stock)) {
+        sold.add(stock);
+      }
+    });
+    PersistentHoldings version = before;
+    for (Stocks stock : sold) {
+      version = version.without(stock);
+    }
+    for (Map.Entry<Stocks, Double> entry : holdings.entrySet()) {
+      version = version.with(entry.getKey(), entry.getValue());
+    }
+    return version;
+  }
+
+  //helper method to find the position of the last version on or before a day, or -1 if
+  //there is none. Changes nearly always come in date order, so the last one is tried first.
+  private int floor(int day) {
+    if (size > 0 && days[size - 1] <= day) {
+      return size - 1;
+    }
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (days[middle] <= day) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low - 1;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,244 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * A class that writes and reads the saved state of a portfolio as XML in one streaming pass,
+ * without building a tree of the whole document. The files are the same as the ones saved
+ * before: a portfolio element with the name and first purchase date of the portfolio, and a
+ * stock element with a symbol and a quantity for every holding. The factories that make the
+ * readers and writers are made once and shared, since making them means looking up the XML
+ * implementation every time.
+ */
+public final class PortfolioXml {
+  private static final String DECLARATION =
+          "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+  private static final XMLInputFactory inputFactory = newInputFactory();
+  private static final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+  private final String name;
+  private final LocalDate firstPurchaseDate;
+  private final Map<String, Double> quantities;
+
+  private PortfolioXml(String name, LocalDate firstPurchaseDate,
+                       Map<String, Double> quantities) {
+    this.name = name;
+    this.firstPurchaseDate = firstPurchaseDate;
+    this.quantities = quantities;
+  }
+
+  /**
+   * This method returns the name of the portfolio that was read.
+   *
+   * @return the name of the portfolio.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * This method returns the first purchase date of the portfolio that was read.
+   *
+   * @return the first purchase date.
+   */
+  public LocalDate getFirstPurchaseDate() {
+    return firstPurchaseDate;
+  }
+
+  /**
+   * This method returns the holdings of the portfolio that was read.
+   *
+   * @return the number of shares held by ticker symbol, in the order of the file.
+   */
+  public Map<String, Double> getQuantities() {
+    return quantities;
+  }
+
+  /**
+   * This method returns the same state under another name, for example to save it again when
+   * the portfolio is renamed.
+   *
+   * @param newName the new name of the portfolio.
+   * @return the state with the new name.
+   */
+  public PortfolioXml withName(String newName) {
+    if (newName == null || newName.isEmpty()) {
+      throw new IllegalArgumentException("Name for a portfolio must be given.");
+    }
+    return new PortfolioXml(newName, firstPurchaseDate, quantities);
+  }
+
+  /**
+   * This method will write this state to a file.
+   *
+   * @param file the file to write, which is replaced if it exists.
+   * @throws IOException if the file cannot be written.
+   */
+  public void writeTo(Path file) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      writeQuantities(out, name, firstPurchaseDate, quantities);
+    }
+  }
+
+  /**
+   * This method will write the state of a portfolio to a file.
+   *
+   * @param file              the file to write, which is replaced if it exists.
+   * @param name              the name of the portfolio.
+   * @param firstPurchaseDate the first purchase date of the portfolio.
+   * @param holdings          the shares held of every stock.
+   * @throws IOException if the file cannot be written.
+   */
+  public static void write(Path file, String name, LocalDate firstPurchaseDate,
+                           Map<Stocks, Double> holdings) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      write(out, name, firstPurchaseDate, holdings);
+    }
+  }
+
+  /**
+   * This method will write the state of a portfolio to a stream, which is left open.
+   *
+   * @param out               the stream to write to.
+   * @param name              the name of the portfolio.
+   * @param firstPurchaseDate the first purchase date of the portfolio.
+   * @param holdings          the shares held of every stock.
+   * @throws IOException if the stream cannot be written.
+   */
+  public static void write(OutputStream out, String name, LocalDate firstPurchaseDate,
+                           Map<Stocks, Double> holdings) throws IOException {
+    if (name == null || firstPurchaseDate == null || holdings == null) {
+      throw new IllegalArgumentException(
+              "Name, first purchase date and holdings of the portfolio must be given.");
+    }
+    Map<String, Double> quantities = new LinkedHashMap<>();
+    for (Map.Entry<Stocks, Double> holding : holdings.entrySet()) {
+      quantities.put(holding.getKey().getSymbol(), holding.getValue());
+    }
+    writeQuantities(out, name, firstPurchaseDate, quantities);
+  }
+
+  //helper method to write a state by the ticker symbols of its stocks.
+  private static void writeQuantities(OutputStream out, String name,
+                                      LocalDate firstPurchaseDate,
+                                      Map<String, Double> quantities) throws IOException {
+    Writer text = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    text.write(DECLARATION);
+    try {
+      XMLStreamWriter writer = outputFactory.createXMLStreamWriter(text);
+      writer.writeStartElement("portfolio");
+      writer.writeAttribute("firstPurchaseDate", firstPurchaseDate.toString());
+      writer.writeAttribute("name", name);
+      for (Map.Entry<String, Double> holding : quantities.entrySet()) {
+        writer.writeStartElement("stock");
+        writer.writeStartElement("symbol");
+        writer.writeCharacters(holding.getKey());
+        writer.writeEndElement();
+        writer.writeStartElement("quantity");
+        writer.writeCharacters(String.valueOf(holding.getValue()));
+        writer.writeEndElement();
+        writer.writeEndElement();
+      }
+      writer.writeEndElement();
+      writer.close();
+      text.flush();
+    } catch (XMLStreamException e) {
+      throw new IOException("Error writing portfolio: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * This method will read the state of a portfolio from a file.
+   *
+   * @param file the file to read.
+   * @return the state that was read.
+   * @throws IOException if the file cannot be read or is not a saved portfolio.
+   */
+  public static PortfolioXml read(Path file) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+      return read(in);
+    }
+  }
+
+  /**
+   * This method will read the state of a portfolio from a stream, which is left open.
+   *
+   * @param in the stream to read from.
+   * @return the state that was read.
+   * @throws IOException if the stream cannot be read or is not a saved portfolio.
+   */
+  public static PortfolioXml read(InputStream in) throws IOException {
+    String name = null;
+    String firstDate = null;
+    Map<String, Double> quantities = new LinkedHashMap<>();
+    String symbol = null;
+    String quantity = null;
+    try {
+      XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (reader.getLocalName()) {
+            case "portfolio":
+              name = reader.getAttributeValue(null, "name");
+              firstDate = reader.getAttributeValue(null, "firstPurchaseDate");
+              break;
+            case "symbol":
+              symbol = reader.getElementText();
+              break;
+            case "quantity":
+              quantity = reader.getElementText();
+              break;
+            default:
+              break;
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT
+                && reader.getLocalName().equals("stock")) {
+          if (symbol == null || quantity == null) {
+            throw new IOException("Stock without a symbol or quantity.");
+          }
+          quantities.put(symbol, Double.parseDouble(quantity));
+          symbol = null;
+          quantity = null;
+        }
+      }
+      reader.close();
+      if (name == null || firstDate == null) {
+        throw new IOException("Not a saved portfolio.");
+      }
+      return new PortfolioXml(name, LocalDate.parse(firstDate), quantities);
+    } catch (XMLStreamException | NumberFormatException | DateTimeParseException e) {
+      throw new IOException("Error reading portfolio: " + e.getMessage(), e);
+    }
+  }
+
+  //helper method to make the input factory, which never reads a document type or anything
+  //outside the file.
+  private static XMLInputFactory newInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+}
\ No newline at end of file
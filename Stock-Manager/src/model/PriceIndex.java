@@ -0,0 +1,572 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A class that indexes a price series by date so range questions can be answered without
+ * walking the series. The series is stored oldest first in primitive columns, together with
+ * prefix sums of the closing prices, the volumes, the traded value (close times volume)
+ * and the daily log returns. After a date is found with a binary search, the average close,
+ * average volume, volume weighted average price and compound return of any range of
+ * trading days take constant time.
+ * The sums of prices are kept with a compensation term, so an average over a long range
+ * is as accurate as adding the prices of the range one by one.
+ * The highest high and lowest low of a range are answered in constant time by sparse tables
+ * over the high and low columns, which are built the first time they are needed.
+ */
+public final class PriceIndex {
+  //windows this short are summed directly, which is as fast as the prefix sums,
+  //and adds the prices in the same order as a walk over the series would.
+  private static final int DIRECT_SUM_LENGTH = 16;
+
+  private final int[] days;
+  private final double[] open;
+  private final double[] high;
+  private final double[] low;
+  private final double[] close;
+  private final long[] volume;
+
+  private final double[] closeSum;
+  private final double[] closeSumError;
+  private final long[] volumeSum;
+  private final double[] turnoverSum;
+  private final double[] turnoverSumError;
+  private final double[] logReturnSum;
+
+  private volatile SparseTable highs;
+  private volatile SparseTable lows;
+
+  /**
+   * A constructor that builds the index of a price series. The series can be in any order.
+   *
+   * @param price the price series to index.
+   */
+  public PriceIndex(List<StockInformation> price) {
+    if (price == null) {
+      throw new IllegalArgumentException("Price list cannot be null.");
+    }
+    List<StockInformation> sorted = oldestFirst(price);
+    int size = sorted.size();
+    days = new int[size];
+    open = new double[size];
+    high = new double[size];
+    low = new double[size];
+    close = new double[size];
+    volume = new long[size];
+    closeSum = new double[size + 1];
+    closeSumError = new double[size + 1];
+    volumeSum = new long[size + 1];
+    turnoverSum = new double[size + 1];
+    turnoverSumError = new double[size + 1];
+    logReturnSum = new double[size + 1];
+
+    for (int i = 0; i < size; i++) {
+      StockInformation stock = sorted.get(i);
+      days[i] = (int) stock.getDate().toEpochDay();
+      open[i] = stock.getOpen();
+      high[i] = stock.getHigh();
+      low[i] = stock.getLow();
+      close[i] = stock.getClose();
+      volume[i] = stock.getVolume();
+
+      addCompensated(closeSum, closeSumError, i, close[i]);
+      addCompensated(turnoverSum, turnoverSumError, i, close[i] * volume[i]);
+      volumeSum[i + 1] = volumeSum[i] + volume[i];
+      double logReturn = i == 0 ? 0 : Math.log(close[i] / close[i - 1]);
+      logReturnSum[i + 1] = logReturnSum[i] + logReturn;
+    }
+  }
+
+  /**
+   * This method returns the index of a price series. A series read from a data file
+   * keeps its index, so it is only built once; any other list is indexed on the spot.
+   *
+   * @param price the price series.
+   * @return the index of the price series.
+   */
+  public static PriceIndex of(List<StockInformation> price) {
+    if (price instanceof PriceSeries) {
+      return ((PriceSeries) price).getIndex();
+    }
+    return new PriceIndex(price);
+  }
+
+  //helper method to put a series oldest first without sorting it when it is already in order.
+  private static List<StockInformation> oldestFirst(List<StockInformation> price) {
+    List<StockInformation> sorted = new ArrayList<>(price);
+    if (isOrdered(sorted, 1)) {
+      return sorted;
+    }
+    if (isOrdered(sorted, -1)) {
+      Collections.reverse(sorted);
+      return sorted;
+    }
+    sorted.sort(Comparator.comparing(StockInformation::getDate));
+    return sorted;
+  }
+
+  //helper method to check if a series is in date order, oldest first (1) or newest first (-1).
+  private static boolean isOrdered(List<StockInformation> price, int direction) {
+    for (int i = 1; i < price.size(); i++) {
+      int order = price.get(i).getDate().compareTo(price.get(i - 1).getDate());
+      if (order * direction < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  //helper method to extend a compensated prefix sum by one value.
+  private static void addCompensated(double[] sum, double[] error, int i, double value) {
+    double total = sum[i] + value;
+    double lost = Math.abs(sum[i]) >= Math.abs(value)
+            ? (sum[i] - total) + value : (value - total) + sum[i];
+    sum[i + 1] = total;
+    error[i + 1] = error[i] + lost;
+  }
+
+  /**
+   * This method returns the number of trading days in the index.
+   *
+   * @return the number of trading days.
+   */
+  public int size() {
+    return days.length;
+  }
+
+  /**
+   * This method finds the position of a date in the index.
+   *
+   * @param date the date to find.
+   * @return the position of the date, or -1 if there is no price data on that date.
+   */
+  public int indexOf(LocalDate date) {
+    int position = Arrays.binarySearch(days, (int) date.toEpochDay());
+    return position < 0 ? -1 : position;
+  }
+
+  /**
+   * This method finds the last trading day on or before a date.
+   *
+   * @param date the date to look from.
+   * @return the position of the trading day, or -1 if there is none.
+   */
+  public int floorIndex(LocalDate date) {
+    int position = Arrays.binarySearch(days, (int) date.toEpochDay());
+    return position >= 0 ? position : -position - 2;
+  }
+
+  /**
+   * This method finds the last trading day on or before each of many dates in one pass.
+   * Because the dates are in order, each search starts where the last one ended.
+   *
+   * @param epochDays the dates as numbers of days since the epoch, in increasing order.
+   * @return the position of the trading day for each date, or -1 where there is none.
+   */
+  public int[] floorIndices(int[] epochDays) {
+    int[] positions = new int[epochDays.length];
+    int low = 0;
+    for (int i = 0; i < epochDays.length; i++) {
+      if (i > 0 && epochDays[i] < epochDays[i - 1]) {
+        throw new IllegalArgumentException("Dates must be in increasing order.");
+      }
+      int position = Arrays.binarySearch(days, low, days.length, epochDays[i]);
+      positions[i] = position >= 0 ? position : -position - 2;
+      low = Math.max(low, positions[i]);
+    }
+    return positions;
+  }
+
+  /**
+   * This method finds the first trading day on or after each of many dates in one pass.
+   * Because the dates are in order, each search starts where the last one ended.
+   *
+   * @param epochDays the dates as numbers of days since the epoch, in increasing order.
+   * @return the position of the trading day for each date, or the size of the index
+   *         where there is none.
+   */
+  public int[] ceilingIndices(int[] epochDays) {
+    int[] positions = new int[epochDays.length];
+    int low = 0;
+    for (int i = 0; i < epochDays.length; i++) {
+      if (i > 0 && epochDays[i] < epochDays[i - 1]) {
+        throw new IllegalArgumentException("Dates must be in increasing order.");
+      }
+      int position = Arrays.binarySearch(days, low, days.length, epochDays[i]);
+      positions[i] = position >= 0 ? position : -position - 1;
+      low = positions[i];
+    }
+    return positions;
+  }
+
+  /**
+   * This method finds the first trading day on or after a date.
+   *
+   * @param date the date to look from.
+   * @return the position of the trading day, or the size of the index if there is none.
+   */
+  public int ceilingIndex(LocalDate date) {
+    int position = Arrays.binarySearch(days, (int) date.toEpochDay());
+    return position >= 0 ? position : -position - 1;
+  }
+
+  /**
+   * This method returns the date of a trading day.
+   *
+   * @param position the position of the trading day.
+   * @return the date of the trading day.
+   */
+  public LocalDate getDate(int position) {
+    return LocalDate.ofEpochDay(days[position]);
+  }
+
+  /**
+   * This method returns the date of a trading day as a number of days since the epoch.
+   *
+   * @param position the position of the trading day.
+   * @return the epoch day of the trading day.
+   */
+  public int getEpochDay(int position) {
+    return days[position];
+  }
+
+  /**
+   * This method returns the open value of a trading day.
+   *
+   * @param position the position of the trading day.
+   * @return the open value as a double.
+   */
+  public double getOpen(int position) {
+    return open[position];
+  }
+
+  /**
+   * This method returns the high value of a trading day.
+   *
+   * @param position the position of the trading day.
+   * @return the high value as a double.
+   */
+  public double getHigh(int position) {
+    return high[position];
+  }
+
+  /**
+   * This method returns the low value of a trading day.
+   *
+   * @param position the position of the trading day.
+   * @return the low value as a double.
+   */
+  public double getLow(int position) {
+    return low[position];
+  }
+
+  /**
+   * This method returns the closing value of a trading day.
+   *
+   * @param position the position of the trading day.
+   * @return the closing value as a double.
+   */
+  public double getClose(int position) {
+    return close[position];
+  }
+
+  /**
+   * This method returns the volume of a trading day.
+   *
+   * @param position the position of the trading day.
+   * @return the volume as a long.
+   */
+  public long getVolume(int position) {
+    return volume[position];
+  }
+
+  /**
+   * This method adds up the closing values of a range of trading days.
+   *
+   * @param from the position of the first trading day.
+   * @param to   the position of the last trading day.
+   * @return the sum of the closing values.
+   */
+  public double sumClose(int from, int to) {
+    checkRange(from, to);
+    if (to - from < DIRECT_SUM_LENGTH) {
+      double sum = 0;
+      for (int i = to; i >= from; i--) {
+        sum += close[i];
+      }
+      return sum;
+    }
+    return (closeSum[to + 1] - closeSum[from]) + (closeSumError[to + 1] - closeSumError[from]);
+  }
+
+  /**
+   * This method returns, for every trading day in a range, the average closing value of the
+   * window of trading days ending on it. A window that would start before the first
+   * trading day in the index starts at the first trading day instead.
+   *
+   * @param from   the position of the first trading day.
+   * @param to     the position of the last trading day.
+   * @param window the number of trading days in a window.
+   * @return the moving averages, the average of position p at p - from.
+   */
+  public double[] movingAverages(int from, int to, int window) {
+    checkRange(from, to);
+    if (window <= 0) {
+      throw new IllegalArgumentException("Number of days must be greater than 0.");
+    }
+    double[] averages = new double[to - from + 1];
+    //windows of up to DIRECT_SUM_LENGTH days are summed directly, the rest from the prefix sums.
+    int direct = window <= DIRECT_SUM_LENGTH ? to : Math.min(to, DIRECT_SUM_LENGTH - 1);
+    if (from <= direct) {
+      IndicatorKernels.windowSums(close, from, direct, window, averages);
+    }
+    for (int position = from; position <= to; position++) {
+      int first = Math.max(0, position - window + 1);
+      if (position > direct) {
+        averages[position - from] = sumClose(first, position);
+      }
+      averages[position - from] /= position - first + 1;
+    }
+    return averages;
+  }
+
+  /**
+   * This method returns the simple daily returns of a range of trading days,
+   * from the close of the trading day before each one to its close.
+   *
+   * @param from the position of the first trading day, at least 1.
+   * @param to   the position of the last trading day.
+   * @return the daily returns, the return of position p at p - from.
+   */
+  public double[] dailyReturns(int from, int to) {
+    checkRange(from, to);
+    if (from < 1) {
+      throw new IllegalArgumentException("A return needs the trading day before it.");
+    }
+    double[] returns = new double[to - from + 1];
+    IndicatorKernels.returns(close, from, to, returns);
+    return returns;
+  }
+
+  /**
+   * This method compares the closing value of every trading day in a range with a threshold.
+   *
+   * @param from       the position of the first trading day.
+   * @param thresholds the thresholds, the threshold of position p at p - from.
+   * @param above      the array the results are written to, true where the close is greater.
+   * @return the number of trading days that closed above their threshold.
+   */
+  public int closesAbove(int from, double[] thresholds, boolean[] above) {
+    return IndicatorKernels.above(close, from, thresholds, thresholds.length, above);
+  }
+
+  /**
+   * This method returns the average closing value of a range of trading days.
+   *
+   * @param from the position of the first trading day.
+   * @param to   the position of the last trading day.
+   * @return the average closing value.
+   */
+  public double averageClose(int from, int to) {
+    return sumClose(from, to) / (to - from + 1);
+  }
+
+  /**
+   * This method returns the average volume of a range of trading days.
+   *
+   * @param from the position of the first trading day.
+   * @param to   the position of the last trading day.
+   * @return the average volume.
+   */
+  public double averageVolume(int from, int to) {
+    checkRange(from, to);
+    return (double) (volumeSum[to + 1] - volumeSum[from]) / (to - from + 1);
+  }
+
+  /**
+   * This method returns the volume weighted average closing value of a range of trading days.
+   *
+   * @param from the position of the first trading day.
+   * @param to   the position of the last trading day.
+   * @return the volume weighted average, or NaN if nothing was traded in the range.
+   */
+  public double volumeWeightedAverage(int from, int to) {
+    checkRange(from, to);
+    long tradedVolume = volumeSum[to + 1] - volumeSum[from];
+    if (tradedVolume == 0) {
+      return Double.NaN;
+    }
+    double turnover = (turnoverSum[to + 1] - turnoverSum[from])
+            + (turnoverSumError[to + 1] - turnoverSumError[from]);
+    return turnover / tradedVolume;
+  }
+
+  /**
+   * This method returns the compound return from the close of one trading day
+   * to the close of a later one, from the sum of the daily log returns in between.
+   *
+   * @param from the position of the first trading day.
+   * @param to   the position of the last trading day.
+   * @return the compound return as a fraction, for example 0.05 for 5%.
+   */
+  public double compoundReturn(int from, int to) {
+    checkRange(from, to);
+    return Math.expm1(logReturnSum[to + 1] - logReturnSum[from + 1]);
+  }
+
+  /**
+   * This method returns the average closing value of the trading days between two dates.
+   *
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the average closing value.
+   */
+  public double averageClose(LocalDate startDate, LocalDate endDate) {
+    int[] range = tradingDays(startDate, endDate);
+    return averageClose(range[0], range[1]);
+  }
+
+  /**
+   * This method returns the average volume of the trading days between two dates.
+   *
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the average volume.
+   */
+  public double averageVolume(LocalDate startDate, LocalDate endDate) {
+    int[] range = tradingDays(startDate, endDate);
+    return averageVolume(range[0], range[1]);
+  }
+
+  /**
+   * This method returns the volume weighted average closing value of the trading days
+   * between two dates.
+   *
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the volume weighted average, or NaN if nothing was traded.
+   */
+  public double volumeWeightedAverage(LocalDate startDate, LocalDate endDate) {
+    int[] range = tradingDays(startDate, endDate);
+    return volumeWeightedAverage(range[0], range[1]);
+  }
+
+  /**
+   * This method returns the compound return between the first and last trading days
+   * between two dates.
+   *
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the compound return as a fraction.
+   */
+  public double compoundReturn(LocalDate startDate, LocalDate endDate) {
+    int[] range = tradingDays(startDate, endDate);
+    return compoundReturn(range[0], range[1]);
+  }
+
+  /**
+   * This method finds the trading day with the highest high in a range of trading days.
+   *
+   * @param from the position of the first trading day.
+   * @param to   the position of the last trading day.
+   * @return the position of the trading day with the highest high.
+   */
+  public int highestHighPosition(int from, int to) {
+    SparseTable table = highs;
+    if (table == null) {
+      table = new SparseTable(high, true);
+      highs = table;
+    }
+    return table.positionOf(from, to);
+  }
+
+  /**
+   * This method finds the trading day with the lowest low in a range of trading days.
+   *
+   * @param from the position of the first trading day.
+   * @param to   the position of the last trading day.
+   * @return the position of the trading day with the lowest low.
+   */
+  public int lowestLowPosition(int from, int to) {
+    SparseTable table = lows;
+    if (table == null) {
+      table = new SparseTable(low, false);
+      lows = table;
+    }
+    return table.positionOf(from, to);
+  }
+
+  /**
+   * This method returns the highest high of the trading days between two dates.
+   *
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the highest high as a double.
+   */
+  public double highestHigh(LocalDate startDate, LocalDate endDate) {
+    int[] range = tradingDays(startDate, endDate);
+    return high[highestHighPosition(range[0], range[1])];
+  }
+
+  /**
+   * This method returns the lowest low of the trading days between two dates.
+   *
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the lowest low as a double.
+   */
+  public double lowestLow(LocalDate startDate, LocalDate endDate) {
+    int[] range = tradingDays(startDate, endDate);
+    return low[lowestLowPosition(range[0], range[1])];
+  }
+
+  /**
+   * This method returns the largest fall of the closing value from a previous peak,
+   * over the trading days between two dates.
+   *
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the maximum drawdown as a fraction of the peak, for example 0.25 for 25%.
+   */
+  public double maxDrawdown(LocalDate startDate, LocalDate endDate) {
+    int[] range = tradingDays(startDate, endDate);
+    double peak = close[range[0]];
+    double drawdown = 0;
+    for (int i = range[0] + 1; i <= range[1]; i++) {
+      if (close[i] > peak) {
+        peak = close[i];
+      } else if (peak > 0) {
+        drawdown = Math.max(drawdown, (peak - close[i]) / peak);
+      }
+    }
+    return drawdown;
+  }
+
+  //helper method to find the first and last trading days between two dates.
+  private int[] tradingDays(LocalDate startDate, LocalDate endDate) {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException("Start date and end date cannot be null.");
+    }
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("End date cannot be before start date.");
+    }
+    int from = ceilingIndex(startDate);
+    int to = floorIndex(endDate);
+    if (from > to) {
+      throw new IllegalArgumentException("Data for this date range does not exist");
+    }
+    return new int[]{from, to};
+  }
+
+  //helper method to check a range of positions.
+  private void checkRange(int from, int to) {
+    if (from < 0 || to >= days.length || from > to) {
+      throw new IllegalArgumentException("Invalid range of trading days.");
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A class that represents the price series of a stock as read from its data file.
+ * It is an unmodifiable list of stock information that also keeps the price index of the
+ * series, so the index is built the first time it is needed and then reused for
+ * every calculation on the same series.
+ */
+public class PriceSeries extends AbstractList<StockInformation> implements RandomAccess {
+  private final StockInformation[] stockInformation;
+  private volatile PriceIndex index;
+
+  /**
+   * A constructor that creates a price series with the given stock information.
+   *
+   * @param stockInformation the stock information in the series.
+   */
+  public PriceSeries(List<StockInformation> stockInformation) {
+    if (stockInformation == null) {
+      throw new IllegalArgumentException("Price list cannot be null.");
+    }
+    this.stockInformation = stockInformation.toArray(new StockInformation[0]);
+  }
+
+  /**
+   * This method returns the stock information at a position in the series.
+   *
+   * @param position the position in the series.
+   * @return the stock information at the position.
+   */
+  @Override
+  public StockInformation get(int position) {
+    return stockInformation[position];
+  }
+
+  /**
+   * This method returns the number of trading days in the series.
+   *
+   * @return the size of the series.
+   */
+  @Override
+  public int size() {
+    return stockInformation.length;
+  }
+
+  /**
+   * This method returns the price index of the series, building it the first time.
+   *
+   * @return the price index of the series.
+   */
+  public PriceIndex getIndex() {
+    PriceIndex current = index;
+    if (current == null) {
+      current = new PriceIndex(this);
+      index = current;
+    }
+    return current;
+  }
+}
\ No newline at end of file
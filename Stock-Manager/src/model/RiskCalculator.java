@@ -0,0 +1,368 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class that finds the historical value at risk and expected shortfall of portfolios.
+ * The daily profit and loss of a portfolio is rebuilt from its saved history, so every day is
+ * valued with the holdings the portfolio had at the close of the day before. The value at risk
+ * is picked out of the profits and losses with a quickselect instead of a full sort, and the
+ * expected shortfall is the average of the days the selection left on the losing side.
+ * The reports of many portfolios are worked out in parallel on a fork/join pool.
+ */
+public class RiskCalculator {
+  private final double[] confidences;
+  private final ForkJoinPool pool;
+
+  /**
+   * A constructor that creates a risk calculator that runs on the common fork/join pool.
+   *
+   * @param confidences the confidence levels, as fractions between 0 and 1.
+   */
+  public RiskCalculator(double... confidences) {
+    this(ForkJoinPool.commonPool(), confidences);
+  }
+
+  /**
+   * A constructor that creates a risk calculator that runs on the given fork/join pool.
+   *
+   * @param pool        the pool the reports are worked out on.
+   * @param confidences the confidence levels, as fractions between 0 and 1.
+   */
+  public RiskCalculator(ForkJoinPool pool, double... confidences) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool must be given.");
+    }
+    if (confidences == null || confidences.length == 0) {
+      throw new IllegalArgumentException("At least one confidence level must be given.");
+    }
+    for (double confidence : confidences) {
+      if (!(confidence > 0 && confidence < 1)) {
+        throw new IllegalArgumentException("Confidence levels must be between 0 and 1.");
+      }
+    }
+    this.pool = pool;
+    this.confidences = confidences.clone();
+  }
+
+  /**
+   * This method rebuilds the daily profit and loss of a portfolio over a date range. The
+   * trading days are every day in the range any stock the portfolio ever held has a price for,
+   * and a stock without a price on a day is valued at its last close before it.
+   *
+   * @param history   the holdings of the portfolio after each change, by the date of the change.
+   * @param startDate the start date of the range.
+   * @param endDate   the end date of the range.
+   * @return the profit or loss of every trading day after the first one in the range.
+   */
+  public double[] dailyProfitAndLoss(NavigableMap<LocalDate, Map<Stocks, Double>> history,
+                                     LocalDate startDate, LocalDate endDate) {
+    if (history == null) {
+      throw new IllegalArgumentException("History of the portfolio must be given.");
+    }
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException("Invalid date range.");
+    }
+    Map<String, Integer> ids = new HashMap<>();
+    List<PriceIndex> indexes = new ArrayList<>();
+    for (Map<Stocks, Double> holdings : history.values()) {
+      for (Stocks stock : holdings.keySet()) {
+        if (!ids.containsKey(stock.getSymbol())) {
+          ids.put(stock.getSymbol(), indexes.size());
+          indexes.add(PriceIndex.of(stock.getStockInformation()));
+        }
+      }
+    }
+    int[] calendar = calendar(indexes, startDate, endDate);
+    if (calendar.length < 2) {
+      return new double[0];
+    }
+
+    double[][] closes = new double[indexes.size()][];
+    for (int i = 0; i < closes.length; i++) {
+      int[] positions = indexes.get(i).floorIndices(calendar);
+      closes[i] = new double[calendar.length];
+      for (int day = 0; day < calendar.length; day++) {
+        closes[i][day] = positions[day] < 0 ? Double.NaN
+                : indexes.get(i).getClose(positions[day]);
+      }
+    }
+
+    double[] profitAndLoss = new double[calendar.length - 1];
+    int[] held = new int[0];
+    double[] quantities = new double[0];
+    Map.Entry<LocalDate, Map<Stocks, Double>> current = null;
+    for (int day = 1; day < calendar.length; day++) {
+      Map.Entry<LocalDate, Map<Stocks, Double>> holdings =
+              history.floorEntry(LocalDate.ofEpochDay(calendar[day - 1]));
+      if (holdings != current) {
+        current = holdings;
+        Map<Stocks, Double> positions = holdings == null ? Map.of() : holdings.getValue();
+        held = new int[positions.size()];
+        quantities = new double[positions.size()];
+        int next = 0;
+        for (Map.Entry<Stocks, Double> position : positions.entrySet()) {
+          held[next] = ids.get(position.getKey().getSymbol());
+          quantities[next++] = position.getValue();
+        }
+      }
+      double change = 0;
+      for (int i = 0; i < held.length; i++) {
+        double move = closes[held[i]][day] - closes[held[i]][day - 1];
+        if (!Double.isNaN(move)) {
+          change += quantities[i] * move;
+        }
+      }
+      profitAndLoss[day - 1] = change;
+    }
+    return profitAndLoss;
+  }
+
+  /**
+   * This method works out the risk report of one portfolio from its history.
+   *
+   * @param name      the name of the portfolio.
+   * @param history   the holdings of the portfolio after each change, by the date of the change.
+   * @param startDate the start date of the lookback window.
+   * @param endDate   the end date of the lookback window.
+   * @return the risk report of the portfolio.
+   */
+  public RiskReport calculate(String name, NavigableMap<LocalDate, Map<Stocks, Double>> history,
+                              LocalDate startDate, LocalDate endDate) {
+    double[] profitAndLoss = dailyProfitAndLoss(history, startDate, endDate);
+    if (profitAndLoss.length == 0) {
+      throw new IllegalArgumentException("Not enough trading days in this date range.");
+    }
+    return report(name, profitAndLoss);
+  }
+
+  /**
+   * This method works out the risk report of every portfolio in parallel. Portfolios that do
+   * not have enough trading days in the lookback window are left out.
+   *
+   * @param histories the history of every portfolio, by the name of the portfolio.
+   * @param startDate the start date of the lookback window.
+   * @param endDate   the end date of the lookback window.
+   * @return the risk reports, by the name of the portfolio, in order of name.
+   */
+  public NavigableMap<String, RiskReport> calculateAll(
+          Map<String, NavigableMap<LocalDate, Map<Stocks, Double>>> histories,
+          LocalDate startDate, LocalDate endDate) {
+    if (histories == null) {
+      throw new IllegalArgumentException("Histories of the portfolios must be given.");
+    }
+    List<String> names = new ArrayList<>(histories.keySet());
+    RiskReport[] reports = new RiskReport[names.size()];
+    pool.invoke(new ReportTask(names, histories, startDate, endDate, reports, 0,
+            names.size()));
+
+    NavigableMap<String, RiskReport> results = new TreeMap<>();
+    for (RiskReport report : reports) {
+      if (report != null) {
+        results.put(report.getName(), report);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * This method works out the risk report of every saved portfolio in parallel, for example
+   * for a nightly risk report. The price data of a stock held by more than one of them is
+   * only read once.
+   *
+   * @param startDate the start date of the lookback window.
+   * @param endDate   the end date of the lookback window.
+   * @return the risk reports, by the name of the portfolio, in order of name.
+   */
+  public NavigableMap<String, RiskReport> calculateAll(LocalDate startDate, LocalDate endDate) {
+    Map<String, NavigableMap<LocalDate, Map<Stocks, Double>>> histories = new HashMap<>();
+    Map<String, Stocks> loaded = new HashMap<>();
+    for (String name : Portfolio.getPortfolios()) {
+      histories.put(name, Portfolio.loadHistory(name, loaded));
+    }
+    return calculateAll(histories, startDate, endDate);
+  }
+
+  /**
+   * This method formats risk reports as a table, one row for every portfolio.
+   *
+   * @param reports the risk reports.
+   * @return the formatted table.
+   */
+  public static String formatReports(Map<String, RiskReport> reports) {
+    int width = 10;
+    for (String name : reports.keySet()) {
+      width = Math.max(width, name.length() + 1);
+    }
+    StringBuilder table = new StringBuilder(String.format("%-" + width + "s%6s", "Portfolio",
+            "Days"));
+    double[] levels = reports.isEmpty() ? new double[0]
+            : reports.values().iterator().next().getConfidences();
+    for (double level : levels) {
+      String percent = String.format("%.1f%%", level * 100).replace(".0%", "%");
+      table.append(String.format("%14s%14s", "VaR " + percent, "CVaR " + percent));
+    }
+    table.append("\n");
+    for (RiskReport report : reports.values()) {
+      table.append(String.format("%-" + width + "s%6d", report.getName(),
+              report.getObservations()));
+      for (int level = 0; level < levels.length; level++) {
+        table.append(String.format("%14.2f%14.2f", report.getValueAtRisk(level),
+                report.getExpectedShortfall(level)));
+      }
+      table.append("\n");
+    }
+    return table.toString();
+  }
+
+  //helper method to pick the value at risk and expected shortfall out of the profits and
+  //losses. For each level the k worst days are moved in front of the array by a quickselect,
+  //where k is the number of days the confidence level leaves in the tail.
+  private RiskReport report(String name, double[] profitAndLoss) {
+    double[] values = profitAndLoss.clone();
+    double[] valueAtRisk = new double[confidences.length];
+    double[] expectedShortfall = new double[confidences.length];
+    for (int level = 0; level < confidences.length; level++) {
+      int tail = (int) Math.floor((1 - confidences[level]) * values.length);
+      int position = Math.min(values.length - 1, tail);
+      select(values, position);
+      valueAtRisk[level] = -values[position];
+      double sum = 0;
+      for (int i = 0; i <= position; i++) {
+        sum += values[i];
+      }
+      expectedShortfall[level] = -sum / (position + 1);
+    }
+    return new RiskReport(name, profitAndLoss.length, confidences.clone(), valueAtRisk,
+            expectedShortfall);
+  }
+
+  /**
+   * This method moves the value that would be at a position if the values were sorted to
+   * that position, with only smaller or equal values before it and larger or equal values
+   * after it. It runs in linear time on average.
+   *
+   * @param values   the values, which are reordered.
+   * @param position the position to select.
+   */
+  static void select(double[] values, int position) {
+    if (position < 0 || position >= values.length) {
+      throw new IllegalArgumentException("Position is outside of the values.");
+    }
+    int low = 0;
+    int high = values.length - 1;
+    while (high > low) {
+      if (high - low < 16) {
+        Arrays.sort(values, low, high + 1);
+        return;
+      }
+      int middle = (low + high) >>> 1;
+      double pivot = median(values[low], values[middle], values[high]);
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (values[i] < pivot) {
+          i++;
+        }
+        while (values[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          double swap = values[i];
+          values[i++] = values[j];
+          values[j--] = swap;
+        }
+      }
+      if (position <= j) {
+        high = j;
+      } else if (position >= i) {
+        low = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  //a task that works out the reports of a range of portfolios, splitting the range in half
+  //until every task has one portfolio.
+  @SuppressWarnings("serial")
+  private class ReportTask extends RecursiveAction {
+    private final List<String> names;
+    private final Map<String, NavigableMap<LocalDate, Map<Stocks, Double>>> histories;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final RiskReport[] reports;
+    private final int from;
+    private final int to;
+
+    private ReportTask(List<String> names,
+                       Map<String, NavigableMap<LocalDate, Map<Stocks, Double>>> histories,
+                       LocalDate startDate, LocalDate endDate, RiskReport[] reports,
+                       int from, int to) {
+      this.names = names;
+      this.histories = histories;
+      this.startDate = startDate;
+      this.endDate = endDate;
+      this.reports = reports;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= 1) {
+        for (int i = from; i < to; i++) {
+          try {
+            reports[i] = calculate(names.get(i), histories.get(names.get(i)),
+                    startDate, endDate);
+          } catch (IllegalArgumentException ignored) {
+          }
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new ReportTask(names, histories, startDate, endDate, reports, from, middle),
+              new ReportTask(names, histories, startDate, endDate, reports, middle, to));
+    }
+  }
+
+  //helper method to find the middle of three values.
+  private static double median(double a, double b, double c) {
+    return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+  }
+
+  //helper method to find every day in the range that any of the stocks has a price for.
+  private static int[] calendar(List<PriceIndex> indexes, LocalDate startDate,
+                                LocalDate endDate) {
+    int from = (int) startDate.toEpochDay();
+    int to = (int) endDate.toEpochDay();
+    boolean[] traded = new boolean[to - from + 1];
+    int count = 0;
+    for (PriceIndex index : indexes) {
+      for (int position = index.ceilingIndex(startDate);
+           position < index.size() && index.getEpochDay(position) <= to; position++) {
+        if (!traded[index.getEpochDay(position) - from]) {
+          traded[index.getEpochDay(position) - from] = true;
+          count++;
+        }
+      }
+    }
+    int[] calendar = new int[count];
+    int next = 0;
+    for (int day = 0; day < traded.length; day++) {
+      if (traded[day]) {
+        calendar[next++] = from + day;
+      }
+    }
+    return calendar;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package model;
+
+/**
+ * A class that represents the historical risk of a portfolio, its value at risk and expected
+ * shortfall at a few confidence levels. Both are given as positive amounts of money lost in a
+ * day, so a larger number means more risk.
+ */
+public class RiskReport {
+  private final String name;
+  private final int observations;
+  private final double[] confidences;
+  private final double[] valueAtRisk;
+  private final double[] expectedShortfall;
+
+  /**
+   * A constructor that creates the risk report of a portfolio.
+   *
+   * @param name              the name of the portfolio.
+   * @param observations      the number of daily profits and losses the report is based on.
+   * @param confidences       the confidence levels, as fractions.
+   * @param valueAtRisk       the value at risk at each confidence level.
+   * @param expectedShortfall the expected shortfall at each confidence level.
+   */
+  RiskReport(String name, int observations, double[] confidences, double[] valueAtRisk,
+             double[] expectedShortfall) {
+    this.name = name;
+    this.observations = observations;
+    this.confidences = confidences;
+    this.valueAtRisk = valueAtRisk;
+    this.expectedShortfall = expectedShortfall;
+  }
+
+  /**
+   * This method returns the name of the portfolio.
+   *
+   * @return the name of the portfolio.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * This method returns the number of daily profits and losses the report is based on.
+   *
+   * @return the number of observations.
+   */
+  public int getObservations() {
+    return observations;
+  }
+
+  /**
+   * This method returns the confidence levels of the report.
+   *
+   * @return the confidence levels, as fractions.
+   */
+  public double[] getConfidences() {
+    return confidences.clone();
+  }
+
+  /**
+   * This method returns the value at risk at a confidence level, the daily loss that was
+   * only exceeded on the worst days of the history.
+   *
+   * @param level the position of the confidence level.
+   * @return the value at risk.
+   */
+  public double getValueAtRisk(int level) {
+    return valueAtRisk[level];
+  }
+
+  /**
+   * This method returns the expected shortfall at a confidence level, the average loss on
+   * the days the loss reached the value at risk.
+   *
+   * @param level the position of the confidence level.
+   * @return the expected shortfall.
+   */
+  public double getExpectedShortfall(int level) {
+    return expectedShortfall[level];
+  }
+}
\ No newline at end of file
@@ -0,0 +1,289 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class that previews changes to a portfolio without making them. The scenario reads the
+ * holdings of its portfolio and keeps only what it changes in an overlay, the new number of
+ * shares of every stock it traded and the trades themselves, so making one costs nothing and
+ * hundreds can be made of the same portfolio. The stocks and their price data are shared with
+ * the portfolio, and nothing is written to disk until the scenario is committed, which makes
+ * its trades in the portfolio; a scenario that is discarded leaves the portfolio as it was.
+ * Stocks the scenario did not trade are always read from the portfolio as it is now; the
+ * composition and value on a date are the ones of the portfolio on the date with only the
+ * trades of the scenario made on or before it on top.
+ */
+public class Scenario implements IPortfolio {
+  private final Portfolio portfolio;
+  private final HoldingsMap overlay;
+  private final List<Transaction> trades;
+  private final Map<String, Stocks> traded;
+
+  /**
+   * A constructor that creates a scenario of a portfolio without changes.
+   *
+   * @param portfolio the portfolio the scenario changes.
+   */
+  public Scenario(Portfolio portfolio) {
+    if (portfolio == null) {
+      throw new IllegalArgumentException("Portfolio of the scenario must be given.");
+    }
+    this.portfolio = portfolio;
+    this.overlay = new HoldingsMap();
+    this.trades = new ArrayList<>();
+    this.traded = new HashMap<>();
+  }
+
+  /**
+   * This method returns the portfolio the scenario changes.
+   *
+   * @return the portfolio.
+   */
+  public Portfolio getPortfolio() {
+    return portfolio;
+  }
+
+  /**
+   * This method returns the trades of the scenario, in the order they were made.
+   *
+   * @return the trades, which cannot be changed.
+   */
+  public List<Transaction> getTrades() {
+    return Collections.unmodifiableList(trades);
+  }
+
+  /**
+   * This method returns the number of shares of a stock held in the scenario.
+   *
+   * @param stock the stock.
+   * @return the number of shares, 0 if the stock is not held.
+   */
+  public double quantity(Stocks stock) {
+    if (overlay.holds(stock)) {
+      return overlay.quantity(stock);
+    }
+    Double shares = portfolio.getStocks().get(stock);
+    return shares == null ? 0 : shares;
+  }
+
+  @Override
+  public void addStock(Stocks stock, double quantity, LocalDate date) {
+    if (stock == null) {
+      throw new IllegalArgumentException("Stock to add must be given.");
+    }
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("Quantity of stock to add must be greater than 0.");
+    }
+    checkDate(date);
+    if (Portfolio.closeOn(stock, date) < 0) {
+      throw new IllegalArgumentException("Stock does not exist on the given date.");
+    }
+    trade(stock, new Transaction(Transaction.Type.BUY, date, stock.getSymbol(), quantity));
+  }
+
+  @Override
+  public void removeStock(Stocks stock, double quantity, LocalDate date) {
+    if (stock == null) {
+      throw new IllegalArgumentException("Stock to remove must be given.");
+    }
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("Quantity of stock to remove must be greater than 0.");
+    }
+    checkDate(date);
+    double held = quantity(stock);
+    if (held == 0) {
+      throw new IllegalArgumentException("Stock to remove must be in the portfolio.");
+    }
+    if (held < quantity) {
+      throw new IllegalArgumentException(
+              "Quantity of stock to remove must be less than or equal to current quantity.");
+    }
+    if (Portfolio.closeOn(stock, date) < 0) {
+      throw new IllegalArgumentException("Stock does not exist on the given date.");
+    }
+    trade(stock, new Transaction(Transaction.Type.SELL, date, stock.getSymbol(), -quantity));
+  }
+
+  @Override
+  public void rebalancePortfolio(List<Integer> percents, LocalDate date) {
+    rebalancePortfolio(Portfolio.weightsInOrder(getStocks(), percents), date);
+  }
+
+  @Override
+  public void rebalancePortfolio(Map<String, Integer> percents, LocalDate date) {
+    checkDate(date);
+    Map<Stocks, Double> holdings = getStocks();
+    Map<String, Double> closes = new HashMap<>();
+    Map<String, Stocks> bySymbol = new HashMap<>();
+    for (Stocks stock : holdings.keySet()) {
+      double close = Portfolio.closeOn(stock, date);
+      if (close >= 0) {
+        closes.put(stock.getSymbol(), close);
+      }
+      bySymbol.put(stock.getSymbol(), stock);
+    }
+    for (Transaction trade : Portfolio.planTrades(holdings, percents, date, closes)) {
+      trade(bySymbol.get(trade.getSymbol()), trade);
+    }
+  }
+
+  /**
+   * This method returns the holdings of the scenario, the holdings of the portfolio with the
+   * changes of the scenario on top.
+   *
+   * @return a new map of the stocks held and their number of shares.
+   */
+  @Override
+  public Map<Stocks, Double> getStocks() {
+    Map<Stocks, Double> holdings = new LinkedHashMap<>();
+    for (Map.Entry<Stocks, Double> holding : portfolio.getStocks().entrySet()) {
+      if (!overlay.holds(holding.getKey())) {
+        holdings.put(holding.getKey(), holding.getValue());
+      }
+    }
+    for (int position = 0; position < overlay.size(); position++) {
+      if (overlay.quantityAt(position) > 0) {
+        holdings.put(overlay.stockAt(position), overlay.quantityAt(position));
+      }
+    }
+    return holdings;
+  }
+
+  /**
+   * This method returns the holdings of the scenario at the end of a date that have a price on
+   * or before it.
+   *
+   * @param date the date.
+   * @return the stocks held and their number of shares.
+   */
+  @Override
+  public Map<Stocks, Double> compOfPortfolio(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date to check composition of portfolio must be given.");
+    }
+    Map<Stocks, Double> composition = new LinkedHashMap<>();
+    for (Map.Entry<Stocks, Double> holding : holdingsOn(date).entrySet()) {
+      if (Portfolio.closeOn(holding.getKey(), date) >= 0) {
+        composition.put(holding.getKey(), holding.getValue());
+      }
+    }
+    return composition;
+  }
+
+  /**
+   * This method returns the value of every holding of the scenario at the end of a date, at
+   * the last close on or before it.
+   *
+   * @param date the date.
+   * @return the stocks held and their values.
+   */
+  @Override
+  public Map<Stocks, Double> distributionOfPortfolio(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException(
+              "Date to calculate distribution of portfolio must be given.");
+    }
+    Map<Stocks, Double> distribution = new LinkedHashMap<>();
+    for (Map.Entry<Stocks, Double> holding : holdingsOn(date).entrySet()) {
+      double close = Portfolio.closeOn(holding.getKey(), date);
+      if (close >= 0) {
+        distribution.put(holding.getKey(), close * holding.getValue());
+      }
+    }
+    return distribution;
+  }
+
+  /**
+   * This method returns the value of the holdings of the scenario at the end of a date, at
+   * the last close on or before it.
+   *
+   * @param date the date.
+   * @return the total value.
+   */
+  @Override
+  public double calculateTotalValue(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date to calculate total value must be given.");
+    }
+    double totalValue = 0;
+    for (double value : distributionOfPortfolio(date).values()) {
+      totalValue += value;
+    }
+    return totalValue;
+  }
+
+  @Override
+  public LocalDate getFirstPurchaseDate() {
+    LocalDate first = portfolio.getFirstPurchaseDate();
+    return first != null || trades.isEmpty() ? first : trades.get(0).getDate();
+  }
+
+  /**
+   * This method makes the trades of the scenario in its portfolio and saves them together,
+   * then empties the scenario. If the portfolio changed so that the
+   * trades no longer fit, nothing is changed.
+   */
+  public void commit() {
+    portfolio.commitTrades(trades, traded);
+    discard();
+  }
+
+  /**
+   * This method forgets the changes of the scenario, so it reads the portfolio as it is again.
+   */
+  public void discard() {
+    overlay.clear();
+    trades.clear();
+    traded.clear();
+  }
+
+  //helper method to find the holdings at the end of a date: the ones of the portfolio on the
+  //date, none before its first purchase, with the trades of the scenario made on or before
+  //the date on top.
+  private Map<Stocks, Double> holdingsOn(LocalDate date) {
+    LocalDate firstPurchaseDate = portfolio.getFirstPurchaseDate();
+    Map<Stocks, Double> holdings = new LinkedHashMap<>();
+    if (firstPurchaseDate != null && !date.isBefore(firstPurchaseDate)) {
+      holdings.putAll(portfolio.compOfPortfolio(date));
+    }
+    for (Transaction trade : trades) {
+      if (trade.getDate().isAfter(date)) {
+        break;
+      }
+      Stocks stock = traded.get(trade.getSymbol());
+      if (holdings.merge(stock, trade.getQuantity(), Double::sum) <= 0) {
+        holdings.remove(stock);
+      }
+    }
+    return holdings;
+  }
+
+  //helper method to record a trade in the overlay.
+  private void trade(Stocks stock, Transaction trade) {
+    overlay.set(stock, quantity(stock) + trade.getQuantity());
+    trades.add(trade);
+    traded.put(stock.getSymbol(), stock);
+  }
+
+  //helper method to check the date of a change against the portfolio and the scenario.
+  private void checkDate(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date of the change must be given.");
+    }
+    LocalDate mostRecentDate = portfolio.mostRecentDate();
+    if ((mostRecentDate != null && date.isBefore(mostRecentDate))
+            || (!trades.isEmpty() && date.isBefore(trades.get(trades.size() - 1).getDate()))) {
+      throw new IllegalArgumentException("Date cannot be before most recent date of a change.");
+    }
+    LocalDate firstPurchaseDate = portfolio.getFirstPurchaseDate();
+    if (firstPurchaseDate != null && date.isBefore(firstPurchaseDate)) {
+      throw new IllegalArgumentException("Date cannot be before the first purchase date.");
+    }
+  }
+}
\ No newline at end of file
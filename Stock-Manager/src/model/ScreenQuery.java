@@ -0,0 +1,100 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This interface represents a question the stock screener asks about one stock.
+ * A query turns the price series of a stock into the metric the stocks are ranked by,
+ * or into NaN when the stock does not pass the query.
+ */
+public interface ScreenQuery {
+
+  /**
+   * This method evaluates the query for a single stock.
+   *
+   * @param calculations the calculations used to answer the query.
+   * @param price        the price series of the stock.
+   * @return the metric the stock is ranked by, or NaN if the stock does not pass the query.
+   */
+  double evaluate(Calculations calculations, List<StockInformation> price);
+
+  /**
+   * This method creates a query that ranks stocks by their gain or loss between two dates.
+   *
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the gain or loss query.
+   */
+  static ScreenQuery gainLoss(LocalDate startDate, LocalDate endDate) {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException("Start date and end date cannot be null.");
+    }
+    return (calculations, price) -> calculations.gainLossCheck(price, startDate, endDate);
+  }
+
+  /**
+   * This method creates a query that keeps the stocks whose closing price on a date is
+   * above their x-day moving average, ranked by how far above the average they closed
+   * as a fraction of the average.
+   *
+   * @param date the date we are going to look at.
+   * @param days the number of days in the moving average.
+   * @return the moving average query.
+   */
+  static ScreenQuery aboveMovingAverage(LocalDate date, int days) {
+    if (date == null) {
+      throw new IllegalArgumentException("Dates cannot be null");
+    }
+    if (days <= 0) {
+      throw new IllegalArgumentException("Number of days cannot be less than or equal to 0.");
+    }
+    return (calculations, price) -> {
+      PriceIndex index = PriceIndex.of(price);
+      int position = index.indexOf(date);
+      if (position < 0) {
+        return Double.NaN;
+      }
+      double close = index.getClose(position);
+      double movingAverage = calculations.movingAverage(price, date, days);
+      if (close <= movingAverage) {
+        return Double.NaN;
+      }
+      return (close - movingAverage) / movingAverage;
+    };
+  }
+
+  /**
+   * This method creates a query that keeps the stocks that had at least one x-day crossover
+   * in the last given number of calendar days, ranked by how many crossovers they had.
+   * The period is narrowed to the first and last trading days inside it.
+   *
+   * @param endDate      the last date of the period.
+   * @param lookBackDays the number of calendar days in the period.
+   * @param days         the number of days in the moving average.
+   * @return the crossover query.
+   */
+  static ScreenQuery recentCrossovers(LocalDate endDate, int lookBackDays, int days) {
+    if (endDate == null) {
+      throw new IllegalArgumentException("Dates cannot be null");
+    }
+    if (lookBackDays < 0) {
+      throw new IllegalArgumentException("Number of days to look back cannot be negative.");
+    }
+    LocalDate startDate = endDate.minusDays(lookBackDays);
+    return (calculations, price) -> {
+      PriceIndex index = PriceIndex.of(price);
+      int first = index.ceilingIndex(startDate);
+      int last = index.floorIndex(endDate);
+      if (first > last) {
+        return Double.NaN;
+      }
+      int crossovers = calculations.crossoverDates(price, index.getDate(first),
+              index.getDate(last), days).size();
+      if (crossovers == 0) {
+        return Double.NaN;
+      }
+      return crossovers;
+    };
+  }
+}
\ No newline at end of file
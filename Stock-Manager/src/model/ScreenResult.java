@@ -0,0 +1,52 @@
+package model;
+
+/**
+ * A class that stores the result of screening a single stock,
+ * its ticker symbol and the metric it was ranked by.
+ */
+public class ScreenResult {
+  private final String symbol;
+  private final double value;
+
+  /**
+   * A constructor that creates a screen result for a stock.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @param value  the metric the stock was ranked by.
+   */
+  public ScreenResult(String symbol, double value) {
+    if (symbol == null || symbol.isEmpty()) {
+      throw new IllegalArgumentException("You must have a ticker symbol.");
+    }
+    this.symbol = symbol;
+    this.value = value;
+  }
+
+  /**
+   * This method will return the ticker symbol of the stock.
+   *
+   * @return the ticker symbol of the stock as a string.
+   */
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * This method will return the metric the stock was ranked by.
+   *
+   * @return the metric as a double.
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * This method will return the screen result as a string.
+   *
+   * @return the ticker symbol and metric of the result.
+   */
+  @Override
+  public String toString() {
+    return symbol + ": " + String.format("%.4f", value);
+  }
+}
\ No newline at end of file
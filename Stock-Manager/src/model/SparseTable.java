@@ -0,0 +1,80 @@
+package model;
+
+/**
+ * A class that answers range minimum or range maximum questions over a fixed array of values.
+ * For every position it stores the best position of the ranges that start there and whose
+ * length is a power of two, so the best value of any range is found by comparing two
+ * overlapping stored ranges. Building takes O(n log n) time and memory, and every question
+ * after that takes constant time.
+ */
+public final class SparseTable {
+  private final double[] values;
+  private final boolean maximum;
+  private final int[][] best;
+
+  /**
+   * A constructor that builds the table over the given values.
+   *
+   * @param values  the values to answer questions about.
+   * @param maximum true to answer range maximum questions, false for range minimum.
+   */
+  public SparseTable(double[] values, boolean maximum) {
+    if (values == null) {
+      throw new IllegalArgumentException("Values must be given.");
+    }
+    this.values = values;
+    this.maximum = maximum;
+    int levels = values.length <= 1 ? 1 : 32 - Integer.numberOfLeadingZeros(values.length);
+    best = new int[levels][];
+    best[0] = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      best[0][i] = i;
+    }
+    for (int level = 1; level < levels; level++) {
+      int half = 1 << (level - 1);
+      int count = values.length - (1 << level) + 1;
+      int[] previous = best[level - 1];
+      int[] current = new int[count];
+      for (int i = 0; i < count; i++) {
+        current[i] = better(previous[i], previous[i + half]);
+      }
+      best[level] = current;
+    }
+  }
+
+  /**
+   * This method finds the position of the best value in a range.
+   * When the best value appears more than once, the earliest position is returned.
+   *
+   * @param from the first position of the range.
+   * @param to   the last position of the range.
+   * @return the position of the highest (or lowest) value in the range.
+   */
+  public int positionOf(int from, int to) {
+    if (from < 0 || to >= values.length || from > to) {
+      throw new IllegalArgumentException("Invalid range of positions.");
+    }
+    int level = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+    return better(best[level][from], best[level][to - (1 << level) + 1]);
+  }
+
+  /**
+   * This method finds the best value in a range.
+   *
+   * @param from the first position of the range.
+   * @param to   the last position of the range.
+   * @return the highest (or lowest) value in the range.
+   */
+  public double valueOf(int from, int to) {
+    return values[positionOf(from, to)];
+  }
+
+  //helper method to pick the position with the better value, the earlier one on a tie.
+  private int better(int first, int second) {
+    double difference = values[second] - values[first];
+    if (difference == 0) {
+      return Math.min(first, second);
+    }
+    return (difference > 0) == maximum ? second : first;
+  }
+}
\ No newline at end of file
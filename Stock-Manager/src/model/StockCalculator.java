@@ -6,6 +6,10 @@ import java.util.List;
 
 /**
  * A class that will calculate the gain/loss, moving average, and crossover dates for a given stock.
+ * The calculations look dates up in the price index of the series instead of walking it,
+ * so each answer costs a binary search plus a constant amount of work per day asked about.
+ * The crossovers of a range are found with the indicator kernels, which handle every
+ * trading day of the range in one pass.
  */
 public class StockCalculator implements Calculations {
 
@@ -30,21 +34,22 @@ public class StockCalculator implements Calculations {
       throw new IllegalArgumentException("End date cannot be before start date.");
     }
 
+    PriceIndex index = PriceIndex.of(price);
+    int start = index.indexOf(startDate);
+    int end = index.indexOf(endDate);
     double beginningPrice = 0;
     double endingPrice = 0;
-    for (StockInformation stock : price) {
-      if (stock.getDate().equals(startDate)) {
-        if (startDate.isEqual(endDate)) {
-          beginningPrice = stock.getOpen();
-          endingPrice = stock.getClose();
-        } else {
-          beginningPrice = stock.getClose();
-
-        }
-        break;
+    if (startDate.isEqual(endDate)) {
+      if (start >= 0) {
+        beginningPrice = index.getOpen(start);
+        endingPrice = index.getClose(start);
+      }
+    } else {
+      if (start >= 0) {
+        beginningPrice = index.getClose(start);
       }
-      if (stock.getDate().equals(endDate)) {
-        endingPrice = stock.getClose();
+      if (end >= 0) {
+        endingPrice = index.getClose(end);
       }
     }
     return endingPrice - beginningPrice;
@@ -70,30 +75,12 @@ public class StockCalculator implements Calculations {
     if (price == null || price.isEmpty()) {
       throw new IllegalArgumentException("No prices were given.");
     }
-    double sum = 0;
-    int daysToSubtract = 1;
-    LocalDate suppliedDate = date;
-    boolean inRange = false;
-    for (StockInformation stock : price) {
-      if (daysToSubtract > days) {
-        break;
-      }
-      if (inRange && !stock.getDate().equals(suppliedDate)) {
-        while (!stock.getDate().equals(suppliedDate)) {
-          suppliedDate = suppliedDate.minusDays(1);
-        }
-      }
-      if (stock.getDate().equals(suppliedDate)) {
-        inRange = true;
-        sum += stock.getClose();
-        suppliedDate = suppliedDate.minusDays(1);
-        daysToSubtract += 1;
-      }
-    }
-    if (sum == 0) {
+    PriceIndex index = PriceIndex.of(price);
+    int position = index.indexOf(date);
+    if (position < 0) {
       throw new IllegalArgumentException("Data for this date does not exist");
     }
-    return sum / (daysToSubtract - 1);
+    return averageEndingAt(index, position, days);
   }
 
   /**
@@ -123,39 +110,131 @@ public class StockCalculator implements Calculations {
       throw new IllegalArgumentException("Number of days must be greater than 0.");
     }
 
-    boolean finishedRange = false;
-    boolean inRange = false;
-    double currentMovingAverage = 0;
-    List<LocalDate> crossoverDateList = new ArrayList<>();
-    for (StockInformation stock : price) {
-      if (startDate.equals(endDate)) {
-        finishedRange = true;
-      }
-      if (stock.getDate().equals(endDate)) {
-        currentMovingAverage = movingAverage(price, stock.getDate(), days);
-        inRange = true;
-        if (stock.getClose() > currentMovingAverage) {
-          crossoverDateList.add(stock.getDate());
-        }
-        continue;
-      }
-      if (inRange) {
-        if (finishedRange) {
-          break;
-        }
-        currentMovingAverage = movingAverage(price, stock.getDate(), days);
-        if (stock.getClose() > currentMovingAverage) {
-          crossoverDateList.add(stock.getDate());
-        }
-        if (stock.getDate().equals(startDate)) {
-          finishedRange = true;
-          break;
-        }
-      }
+    PriceIndex index = PriceIndex.of(price);
+    int end = index.indexOf(endDate);
+    if (end < 0 && startDate.equals(endDate)) {
+      return new ArrayList<>();
     }
-    if (!finishedRange) {
+    int start = startDate.equals(endDate) ? end : index.indexOf(startDate);
+    if (end < 0 || start < 0) {
       throw new IllegalArgumentException("Data for this date range does not exist");
     }
+
+    double[] movingAverages = index.movingAverages(start, end, days);
+    for (double movingAverage : movingAverages) {
+      if (movingAverage == 0) {
+        throw new IllegalArgumentException("Data for this date does not exist");
+      }
+    }
+    boolean[] above = new boolean[movingAverages.length];
+    int crossovers = index.closesAbove(start, movingAverages, above);
+    List<LocalDate> crossoverDateList = new ArrayList<>(crossovers);
+    for (int position = end; position >= start; position--) {
+      if (above[position - start]) {
+        crossoverDateList.add(index.getDate(position));
+      }
+    }
     return crossoverDateList;
   }
+
+  /**
+   * This method finds the highest high of a stock between two given dates.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the highest high of the stock as a double.
+   */
+  @Override
+  public double highestHigh(List<StockInformation> price, LocalDate startDate,
+                            LocalDate endDate) throws IllegalArgumentException {
+    checkRange(price, startDate, endDate);
+    return PriceIndex.of(price).highestHigh(startDate, endDate);
+  }
+
+  /**
+   * This method finds the lowest low of a stock between two given dates.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the lowest low of the stock as a double.
+   */
+  @Override
+  public double lowestLow(List<StockInformation> price, LocalDate startDate,
+                          LocalDate endDate) throws IllegalArgumentException {
+    checkRange(price, startDate, endDate);
+    return PriceIndex.of(price).lowestLow(startDate, endDate);
+  }
+
+  /**
+   * This method finds the 52-week high of a stock on a given date.
+   *
+   * @param price the price of the stock.
+   * @param date  the date we are going to look at.
+   * @return the highest high of the 52 weeks up to the date as a double.
+   */
+  @Override
+  public double fiftyTwoWeekHigh(List<StockInformation> price, LocalDate date)
+          throws IllegalArgumentException {
+    if (date == null) {
+      throw new IllegalArgumentException("Dates cannot be null");
+    }
+    return highestHigh(price, date.minusWeeks(52), date);
+  }
+
+  /**
+   * This method finds the 52-week low of a stock on a given date.
+   *
+   * @param price the price of the stock.
+   * @param date  the date we are going to look at.
+   * @return the lowest low of the 52 weeks up to the date as a double.
+   */
+  @Override
+  public double fiftyTwoWeekLow(List<StockInformation> price, LocalDate date)
+          throws IllegalArgumentException {
+    if (date == null) {
+      throw new IllegalArgumentException("Dates cannot be null");
+    }
+    return lowestLow(price, date.minusWeeks(52), date);
+  }
+
+  /**
+   * This method calculates the maximum drawdown of a stock between two given dates.
+   *
+   * @param price     the price of the stock.
+   * @param startDate the start date.
+   * @param endDate   the end date.
+   * @return the maximum drawdown as a fraction of the peak.
+   */
+  @Override
+  public double maxDrawdown(List<StockInformation> price, LocalDate startDate,
+                            LocalDate endDate) throws IllegalArgumentException {
+    checkRange(price, startDate, endDate);
+    return PriceIndex.of(price).maxDrawdown(startDate, endDate);
+  }
+
+  //helper method to check the price list and date range given to a calculation.
+  private void checkRange(List<StockInformation> price, LocalDate startDate, LocalDate endDate) {
+    if (price == null || price.isEmpty()) {
+      throw new IllegalArgumentException("Price list cannot be null or empty.");
+    }
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException("Start date and end date cannot be null.");
+    }
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("End date cannot be before start date.");
+    }
+  }
+
+  //helper method to find the moving average of the x trading days ending at a position,
+  //or of all the trading days before it when there are fewer than x of them.
+  private double averageEndingAt(PriceIndex index, int position, int days) {
+    int first = Math.max(0, position - days + 1);
+    double sum = index.sumClose(first, position);
+    if (sum == 0) {
+      throw new IllegalArgumentException("Data for this date does not exist");
+    }
+    return sum / (position - first + 1);
+  }
 }
\ No newline at end of file
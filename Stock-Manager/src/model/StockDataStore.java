@@ -0,0 +1,137 @@
+package model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * A class that represents the local store of stock data files.
+ * It knows which ticker symbols have a data file in res/stockDataFiles,
+ * and keeps the price series it has read so each file is only parsed once.
+ */
+public class StockDataStore {
+  private static final String DIRECTORY_PATH = "res/stockDataFiles";
+  private static final String API_KEY = "GVOWNVFAUMGZOUBF";
+
+  private final String directoryPath;
+  private final Map<String, List<StockInformation>> series;
+  private final List<Consumer<List<StockInformation>>> refreshListeners;
+
+  /**
+   * A constructor that creates a store over the default stock data directory.
+   */
+  public StockDataStore() {
+    this(DIRECTORY_PATH);
+  }
+
+  /**
+   * A constructor that creates a store over the given stock data directory.
+   *
+   * @param directoryPath the directory the stock data files are stored in.
+   */
+  public StockDataStore(String directoryPath) {
+    if (directoryPath == null || directoryPath.isEmpty()) {
+      throw new IllegalArgumentException("Directory path must be given.");
+    }
+    this.directoryPath = directoryPath;
+    this.series = new ConcurrentHashMap<>();
+    this.refreshListeners = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * This method will return the ticker symbols that have a data file in the store.
+   *
+   * @return a sorted list of the ticker symbols in the store.
+   */
+  public List<String> getSymbols() {
+    File[] files = new File(directoryPath).listFiles((dir, fileName) ->
+            fileName.toLowerCase().endsWith(".csv"));
+    if (files == null) {
+      return Collections.emptyList();
+    }
+    List<String> symbols = new ArrayList<>();
+    for (File file : files) {
+      String fileName = file.getName();
+      symbols.add(fileName.substring(0, fileName.length() - 4)); // remove ".csv"
+    }
+    Collections.sort(symbols);
+    return symbols;
+  }
+
+  /**
+   * This method will return the price series of a stock, reading its data file
+   * the first time the stock is asked for.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @return the stock information of the stock as a list.
+   */
+  public List<StockInformation> getStockInformation(String symbol) {
+    if (symbol == null || symbol.isEmpty()) {
+      throw new IllegalArgumentException("You must have a ticker symbol.");
+    }
+    return series.computeIfAbsent(symbol, this::readSeries);
+  }
+
+  /**
+   * This method will return a stock with its price series.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @return the stock with the given symbol.
+   */
+  public Stocks getStock(String symbol) {
+    return new Stocks(symbol, getStockInformation(symbol));
+  }
+
+  /**
+   * This method will load every stock in the store. The data files are read in parallel.
+   *
+   * @return a list of every stock in the store that has price data.
+   */
+  public List<Stocks> loadAll() {
+    return getSymbols().parallelStream()
+            .map(this::getStock)
+            .filter(stock -> !stock.getStockInformation().isEmpty())
+            .collect(Collectors.toList());
+  }
+
+  /**
+   * This method will forget the price series read for a stock,
+   * so it is read again from its data file the next time it is asked for.
+   *
+   * @param symbol the ticker symbol of the stock.
+   */
+  public void invalidate(String symbol) {
+    List<StockInformation> old = series.remove(symbol);
+    if (old != null) {
+      for (Consumer<List<StockInformation>> listener : refreshListeners) {
+        listener.accept(old);
+      }
+    }
+  }
+
+  /**
+   * This method will add a listener that is told about every price series that is forgotten,
+   * so anything calculated from the old series can be dropped.
+   *
+   * @param listener the listener that is given the forgotten price series.
+   */
+  public void addRefreshListener(Consumer<List<StockInformation>> listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener must be given.");
+    }
+    refreshListeners.add(listener);
+  }
+
+  //helper method to read a price series from its data file.
+  private List<StockInformation> readSeries(String symbol) {
+    APIReader apiRead = new AlphaVantageAPI(API_KEY, symbol);
+    FileCreator csvRead = new CSVReader(apiRead, symbol, directoryPath);
+    return csvRead.fileToStockInfo();
+  }
+}
\ No newline at end of file
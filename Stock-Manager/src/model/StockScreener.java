@@ -0,0 +1,154 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A class that runs a screen query over a universe of stocks and ranks the stocks that pass it.
+ * The universe is split into slices that are screened in parallel on a fork/join pool.
+ * Every slice keeps only its best results in a bounded heap, so memory and merge cost
+ * depend on the number of results asked for and not on the size of the universe.
+ */
+public class StockScreener {
+  private static final int SLICE_SIZE = 64;
+
+  private final Calculations calculations;
+  private final ForkJoinPool pool;
+
+  /**
+   * A constructor that creates a screener that runs on the common fork/join pool.
+   *
+   * @param calculations the calculations used to answer the queries.
+   */
+  public StockScreener(Calculations calculations) {
+    this(calculations, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * A constructor that creates a screener that runs on the given fork/join pool.
+   *
+   * @param calculations the calculations used to answer the queries.
+   * @param pool         the pool the screen is run on.
+   */
+  public StockScreener(Calculations calculations, ForkJoinPool pool) {
+    if (calculations == null || pool == null) {
+      throw new IllegalArgumentException("Calculations and pool must be given.");
+    }
+    this.calculations = calculations;
+    this.pool = pool;
+  }
+
+  /**
+   * This method screens every stock in the universe and returns the stocks that rank
+   * highest on the query's metric, best first.
+   *
+   * @param universe the stocks to screen.
+   * @param query    the query each stock is screened with.
+   * @param limit    the maximum number of results to return.
+   * @return the ranked results of the screen.
+   */
+  public List<ScreenResult> screen(Collection<Stocks> universe, ScreenQuery query, int limit) {
+    return screen(universe, query, limit, true);
+  }
+
+  /**
+   * This method screens every stock in the universe and returns the best ranked stocks.
+   * Stocks the query cannot be answered for, for example because they have no data
+   * for the dates asked about, are left out of the results.
+   *
+   * @param universe     the stocks to screen.
+   * @param query        the query each stock is screened with.
+   * @param limit        the maximum number of results to return.
+   * @param highestFirst true to rank the highest metric first, false to rank the lowest first.
+   * @return the ranked results of the screen.
+   */
+  public List<ScreenResult> screen(Collection<Stocks> universe, ScreenQuery query,
+                                   int limit, boolean highestFirst) {
+    if (universe == null || query == null) {
+      throw new IllegalArgumentException("Universe and query must be given.");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Number of results must be greater than 0.");
+    }
+    Comparator<ScreenResult> ranking = Comparator.comparingDouble(ScreenResult::getValue);
+    if (!highestFirst) {
+      ranking = ranking.reversed();
+    }
+    Stocks[] stocks = universe.toArray(new Stocks[0]);
+    PriorityQueue<ScreenResult> best = pool.invoke(
+            new ScreenTask(stocks, 0, stocks.length, query, limit, ranking));
+
+    List<ScreenResult> results = new ArrayList<>(best);
+    results.sort(ranking.reversed());
+    return results;
+  }
+
+  //a task that screens a slice of the universe into a heap of its best results.
+  //the heap keeps the worst of the best results at its head, so it can be bounded.
+  @SuppressWarnings("serial")
+  private class ScreenTask extends RecursiveTask<PriorityQueue<ScreenResult>> {
+    private final Stocks[] stocks;
+    private final int from;
+    private final int to;
+    private final ScreenQuery query;
+    private final int limit;
+    private final Comparator<ScreenResult> ranking;
+
+    private ScreenTask(Stocks[] stocks, int from, int to, ScreenQuery query,
+                       int limit, Comparator<ScreenResult> ranking) {
+      this.stocks = stocks;
+      this.from = from;
+      this.to = to;
+      this.query = query;
+      this.limit = limit;
+      this.ranking = ranking;
+    }
+
+    @Override
+    protected PriorityQueue<ScreenResult> compute() {
+      if (to - from <= SLICE_SIZE) {
+        PriorityQueue<ScreenResult> best = new PriorityQueue<>(limit + 1, ranking);
+        for (int i = from; i < to; i++) {
+          double value = evaluate(stocks[i]);
+          if (!Double.isNaN(value)) {
+            offer(best, new ScreenResult(stocks[i].getSymbol(), value));
+          }
+        }
+        return best;
+      }
+      int middle = (from + to) >>> 1;
+      ScreenTask left = new ScreenTask(stocks, from, middle, query, limit, ranking);
+      ScreenTask right = new ScreenTask(stocks, middle, to, query, limit, ranking);
+      left.fork();
+      PriorityQueue<ScreenResult> best = right.compute();
+      for (ScreenResult result : left.join()) {
+        offer(best, result);
+      }
+      return best;
+    }
+
+    //helper method to answer the query for one stock, leaving it out if it has no answer.
+    private double evaluate(Stocks stock) {
+      try {
+        return query.evaluate(calculations, stock.getStockInformation());
+      } catch (IllegalArgumentException e) {
+        return Double.NaN;
+      }
+    }
+
+    //helper method to add a result to the heap, dropping the worst result when it is full.
+    private void offer(PriorityQueue<ScreenResult> best, ScreenResult result) {
+      if (best.size() < limit) {
+        best.add(result);
+      } else if (ranking.compare(result, best.peek()) > 0) {
+        best.poll();
+        best.add(result);
+      }
+    }
+  }
+}
\ No newline at end of file
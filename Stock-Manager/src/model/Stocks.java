@@ -1,7 +1,6 @@
 package model;
 
 import java.util.List;
-import java.util.Objects;
 
 /**
  * This class is used to store the stock information with its ticker symbol.
@@ -9,6 +8,7 @@ import java.util.Objects;
 public class Stocks {
   private final String symbol;
   private final List<StockInformation> stockInformation;
+  private final int id;
 
   /**
    * A constructor that creates a new stock object with the given symbol and stock information.
@@ -23,6 +23,7 @@ public class Stocks {
 
     this.symbol = symbol;
     this.stockInformation = stockInformation;
+    this.id = SymbolRegistry.idOf(symbol);
   }
 
   /**
@@ -43,6 +44,15 @@ public class Stocks {
     return stockInformation;
   }
 
+  /**
+   * This method will return the number the SymbolRegistry gave the ticker symbol.
+   *
+   * @return the number of the ticker symbol.
+   */
+  int getId() {
+    return id;
+  }
+
   //We decided to add a simple method in this class
   // "equals" which will compare stocks to help remove stocks in a portfolio.
   //Before, we were using the "contains" method in the portfolio class to remove stocks.
@@ -68,7 +78,7 @@ public class Stocks {
     }
 
     Stocks stocks = (Stocks) o;
-    return Objects.equals(symbol, stocks.symbol);
+    return id == stocks.id;
   }
 
   /**
@@ -78,6 +88,6 @@ public class Stocks {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(symbol);
+    return symbol.hashCode();
   }
 }
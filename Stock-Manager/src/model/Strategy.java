@@ -0,0 +1,31 @@
+package model;
+
+/**
+ * An interface that represents a trading rule that is replayed over a price series by the
+ * backtester. The backtester calls onBar once for every trading day, oldest first, and the
+ * strategy trades through the account it is given. Strategies read prices straight from the
+ * price index, so a run does not create an object per trading day.
+ */
+public interface Strategy {
+
+  /**
+   * This method is called once before the first trading day of a run,
+   * so the strategy can prepare anything it needs for the whole range.
+   *
+   * @param prices the price index of the stock.
+   * @param from   the position of the first trading day of the run.
+   * @param to     the position of the last trading day of the run.
+   */
+  default void start(PriceIndex prices, int from, int to) {
+  }
+
+  /**
+   * This method is called for every trading day of a run, after the account
+   * has been moved to the closing price of that day.
+   *
+   * @param prices  the price index of the stock.
+   * @param day     the position of the trading day.
+   * @param account the account the strategy trades through.
+   */
+  void onBar(PriceIndex prices, int day, BacktestAccount account);
+}
\ No newline at end of file
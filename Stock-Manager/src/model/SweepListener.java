@@ -0,0 +1,26 @@
+package model;
+
+/**
+ * An interface that represents the sink the results of a parameter sweep are streamed to.
+ * The runs of a sweep happen on several threads at once, so the methods can be called
+ * from any of them, at the same time, and must be safe to call that way.
+ */
+public interface SweepListener {
+
+  /**
+   * This method is given the summary of every backtest as soon as it finishes.
+   *
+   * @param result the summary of the backtest.
+   */
+  void onResult(SweepResult result);
+
+  /**
+   * This method is told every time a backtest of the sweep finishes,
+   * including backtests that could not run for lack of data.
+   *
+   * @param completed the number of backtests finished so far.
+   * @param total     the number of backtests in the sweep.
+   */
+  default void onProgress(int completed, int total) {
+  }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package model;
+
+/**
+ * A class that stores the summary of one backtest of a parameter sweep:
+ * the stock and parameter it was run with, and how the run did.
+ */
+public class SweepResult {
+  private final String symbol;
+  private final int parameter;
+  private final double totalReturn;
+  private final double maxDrawdown;
+  private final int tradeCount;
+
+  /**
+   * A constructor that creates the summary of a backtest.
+   *
+   * @param symbol      the ticker symbol of the stock.
+   * @param parameter   the parameter the strategy was made with.
+   * @param totalReturn the return of the run as a fraction.
+   * @param maxDrawdown the maximum drawdown of the run as a fraction.
+   * @param tradeCount  the number of trades made in the run.
+   */
+  public SweepResult(String symbol, int parameter, double totalReturn,
+                     double maxDrawdown, int tradeCount) {
+    if (symbol == null || symbol.isEmpty()) {
+      throw new IllegalArgumentException("You must have a ticker symbol.");
+    }
+    this.symbol = symbol;
+    this.parameter = parameter;
+    this.totalReturn = totalReturn;
+    this.maxDrawdown = maxDrawdown;
+    this.tradeCount = tradeCount;
+  }
+
+  /**
+   * This method will return the ticker symbol of the stock.
+   *
+   * @return the ticker symbol of the stock as a string.
+   */
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * This method will return the parameter the strategy was made with.
+   *
+   * @return the parameter as an int.
+   */
+  public int getParameter() {
+    return parameter;
+  }
+
+  /**
+   * This method will return the return of the run.
+   *
+   * @return the return as a fraction, for example 0.05 for 5%.
+   */
+  public double getReturn() {
+    return totalReturn;
+  }
+
+  /**
+   * This method will return the maximum drawdown of the run.
+   *
+   * @return the maximum drawdown as a fraction of the peak.
+   */
+  public double getMaxDrawdown() {
+    return maxDrawdown;
+  }
+
+  /**
+   * This method will return the number of trades made in the run.
+   *
+   * @return the number of trades.
+   */
+  public int getTradeCount() {
+    return tradeCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s %d: return %.2f%%, max drawdown %.2f%%, %d trades",
+            symbol, parameter, totalReturn * 100, maxDrawdown * 100, tradeCount);
+  }
+}
\ No newline at end of file
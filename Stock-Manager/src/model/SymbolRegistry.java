@@ -0,0 +1,86 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class that gives every ticker symbol a small number of its own, handed out in the order
+ * the symbols are first seen, so the holdings of a portfolio can be kept in arrays indexed by
+ * number instead of in maps keyed by symbol. The numbers are shared by every portfolio and
+ * never change while the program runs. Symbols can be registered from many threads at once.
+ */
+public final class SymbolRegistry {
+  private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+  private static volatile String[] symbols = new String[64];
+  private static int size;
+
+  private SymbolRegistry() {
+  }
+
+  /**
+   * This method returns the number of a ticker symbol, giving it the next number if it does
+   * not have one yet.
+   *
+   * @param symbol the ticker symbol.
+   * @return the number of the symbol.
+   */
+  public static int idOf(String symbol) {
+    if (symbol == null || symbol.isEmpty()) {
+      throw new IllegalArgumentException("You must have a ticker symbol.");
+    }
+    Integer id = ids.get(symbol);
+    return id != null ? id : register(symbol);
+  }
+
+  /**
+   * This method returns the number of a ticker symbol without giving it one.
+   *
+   * @param symbol the ticker symbol.
+   * @return the number of the symbol, or -1 if it does not have one.
+   */
+  public static int find(String symbol) {
+    Integer id = symbol == null ? null : ids.get(symbol);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * This method returns the ticker symbol of a number.
+   *
+   * @param id the number of the symbol.
+   * @return the ticker symbol.
+   */
+  public static String symbolOf(int id) {
+    String[] current = symbols;
+    if (id < 0 || id >= current.length || current[id] == null) {
+      throw new IllegalArgumentException("No ticker symbol has the number " + id + ".");
+    }
+    return current[id];
+  }
+
+  /**
+   * This method returns how many ticker symbols have a number.
+   *
+   * @return the number of symbols registered.
+   */
+  public static synchronized int size() {
+    return size;
+  }
+
+  //helper method to give a symbol the next number. The symbol is stored before its number is
+  //published, so a number found in the map always has its symbol.
+  private static synchronized int register(String symbol) {
+    Integer id = ids.get(symbol);
+    if (id != null) {
+      return id;
+    }
+    String[] current = symbols;
+    if (size == current.length) {
+      current = Arrays.copyOf(current, size * 2);
+    }
+    current[size] = symbol;
+    symbols = current;
+    ids.put(symbol, size);
+    return size++;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * A class that represents one purchase of a stock, a tax lot: the shares bought, the date and
+ * the price paid for each share. Selling shares of the lot is remembered with the date, so the
+ * shares left in the lot are known for any date.
+ */
+public class TaxLot {
+  private final long id;
+  private final String symbol;
+  private final int day;
+  private final double quantity;
+  private final double price;
+  private int[] soldDays = new int[1];
+  private double[] soldTotals = new double[1];
+  private int sales;
+
+  /**
+   * A constructor that creates a tax lot.
+   *
+   * @param id       the number of the lot.
+   * @param symbol   the ticker symbol of the stock.
+   * @param date     the date the shares were bought.
+   * @param quantity the number of shares bought.
+   * @param price    the price paid for each share.
+   */
+  TaxLot(long id, String symbol, LocalDate date, double quantity, double price) {
+    this.id = id;
+    this.symbol = symbol;
+    this.day = (int) date.toEpochDay();
+    this.quantity = quantity;
+    this.price = price;
+  }
+
+  /**
+   * This method returns the number of the lot.
+   *
+   * @return the number of the lot.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * This method returns the ticker symbol of the stock.
+   *
+   * @return the ticker symbol.
+   */
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * This method returns the date the shares were bought.
+   *
+   * @return the date of the purchase.
+   */
+  public LocalDate getDate() {
+    return LocalDate.ofEpochDay(day);
+  }
+
+  /**
+   * This method returns the number of shares bought.
+   *
+   * @return the number of shares bought.
+   */
+  public double getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * This method returns the price paid for each share.
+   *
+   * @return the price of a share.
+   */
+  public double getPrice() {
+    return price;
+  }
+
+  /**
+   * This method returns the number of shares left in the lot after every sale.
+   *
+   * @return the number of shares not sold yet.
+   */
+  public double getRemaining() {
+    return quantity - (sales == 0 ? 0 : soldTotals[sales - 1]);
+  }
+
+  /**
+   * This method returns the number of shares the lot held at the end of a date.
+   *
+   * @param date the date.
+   * @return the number of shares held, 0 before the lot was bought.
+   */
+  public double remainingOn(LocalDate date) {
+    return remainingOn((int) date.toEpochDay());
+  }
+
+  //helper method to find the shares held at the end of a day, with a binary search over the
+  //sales, which are few for most lots.
+  double remainingOn(int onDay) {
+    if (onDay < day) {
+      return 0;
+    }
+    int low = 0;
+    int high = sales;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (soldDays[middle] <= onDay) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return quantity - (low == 0 ? 0 : soldTotals[low - 1]);
+  }
+
+  //helper method to return the day the lot was bought, as days since the epoch.
+  int getDay() {
+    return day;
+  }
+
+  //helper method to sell shares of the lot. Sales are kept in date order, so a sale dated
+  //before later ones moves their running totals.
+  void sell(int saleDay, double shares) {
+    int at = sales;
+    while (at > 0 && soldDays[at - 1] > saleDay) {
+      at--;
+    }
+    if (sales == soldDays.length) {
+      soldDays = Arrays.copyOf(soldDays, sales * 2);
+      soldTotals = Arrays.copyOf(soldTotals, sales * 2);
+    }
+    System.arraycopy(soldDays, at, soldDays, at + 1, sales - at);
+    System.arraycopy(soldTotals, at, soldTotals, at + 1, sales - at);
+    soldDays[at] = saleDay;
+    soldTotals[at] = at == 0 ? 0 : soldTotals[at - 1];
+    sales++;
+    for (int i = at; i < sales; i++) {
+      soldTotals[i] += shares;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Lot %d: %s %s %.2f @ %.2f (%.2f left)", id, getDate(), symbol,
+            quantity, price, getRemaining());
+  }
+}
\ No newline at end of file
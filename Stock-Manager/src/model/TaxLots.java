@@ -0,0 +1,417 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class that keeps the tax lots of a portfolio and its profit and loss. Every purchase opens
+ * a lot at the price paid, and every sale takes shares out of the open lots of the stock,
+ * oldest first, newest first, or from the lots asked for. The profit of each sale is added to a
+ * running total kept by date, and the shares and cost of the open lots of every stock are kept
+ * up to date, so the profit and loss is never found by replaying the purchases and sales: the
+ * realized profit on a date is one binary search, the unrealized profit now is one step per
+ * stock, and the unrealized profit on an earlier date is one step per lot.
+ */
+public class TaxLots {
+
+  /**
+   * The order in which the lots of a stock are sold.
+   */
+  public enum Policy {
+    /** The oldest lots are sold first. */
+    FIFO,
+    /** The newest lots are sold first. */
+    LIFO,
+    /** The lots asked for are sold, in the order they are asked for. */
+    SPECIFIC
+  }
+
+  /**
+   * How far, relative to the shares sold, a sale may be over the shares in the open lots. The
+   * shares of a stock are added up in a different order in the lots than in the holdings of a
+   * portfolio, so the two can be apart by rounding; a sale within this sells every share left.
+   */
+  public static final double TOLERANCE = 1e-9;
+
+  private final List<TaxLot> lots;
+  private final Map<Long, TaxLot> byId;
+  private final Map<String, OpenLots> open;
+  private int[] realizedDays = new int[8];
+  private double[] realizedTotals = new double[8];
+  private int realizations;
+
+  /**
+   * A constructor that creates a portfolio without lots.
+   */
+  public TaxLots() {
+    this.lots = new ArrayList<>();
+    this.byId = new HashMap<>();
+    this.open = new LinkedHashMap<>();
+  }
+
+  /**
+   * This method opens a lot for a purchase.
+   *
+   * @param symbol   the ticker symbol of the stock.
+   * @param date     the date of the purchase.
+   * @param quantity the number of shares bought.
+   * @param price    the price paid for each share.
+   * @return the lot opened.
+   */
+  public TaxLot buy(String symbol, LocalDate date, double quantity, double price) {
+    if (symbol == null || symbol.isEmpty() || date == null) {
+      throw new IllegalArgumentException("Ticker symbol and date of the purchase must be given.");
+    }
+    if (!(quantity > 0) || Double.isInfinite(quantity)) {
+      throw new IllegalArgumentException("Quantity of stock to add must be greater than 0.");
+    }
+    if (!(price >= 0) || Double.isInfinite(price)) {
+      throw new IllegalArgumentException("Price of a share cannot be negative.");
+    }
+    TaxLot lot = new TaxLot(lots.size() + 1, symbol, date, quantity, price);
+    lots.add(lot);
+    byId.put(lot.getId(), lot);
+    open.computeIfAbsent(symbol, ignored -> new OpenLots()).add(lot);
+    return lot;
+  }
+
+  /**
+   * This method sells shares of a stock out of its open lots. A sale of every share left, or
+   * of more by no more than the tolerance, closes all the lots it sells from.
+   *
+   * @param symbol   the ticker symbol of the stock.
+   * @param date     the date of the sale.
+   * @param quantity the number of shares sold.
+   * @param price    the price received for each share.
+   * @param policy   the order in which the lots are sold.
+   * @param lotIds   the numbers of the lots to sell from, only for the SPECIFIC policy.
+   * @return the profit of the sale, negative for a loss.
+   */
+  public double sell(String symbol, LocalDate date, double quantity, double price,
+                     Policy policy, long... lotIds) {
+    if (symbol == null || date == null || policy == null) {
+      throw new IllegalArgumentException("Ticker symbol, date and policy must be given.");
+    }
+    if (!(quantity > 0) || Double.isInfinite(quantity)) {
+      throw new IllegalArgumentException("Quantity of stock to remove must be greater than 0.");
+    }
+    if (!(price >= 0) || Double.isInfinite(price)) {
+      throw new IllegalArgumentException("Price of a share cannot be negative.");
+    }
+    int day = (int) date.toEpochDay();
+    OpenLots symbolLots = open.get(symbol);
+    List<TaxLot> chosen = new ArrayList<>();
+    if (policy == Policy.SPECIFIC) {
+      if (lotIds == null || lotIds.length == 0) {
+        throw new IllegalArgumentException("Lots to sell must be given.");
+      }
+      for (long lotId : lotIds) {
+        TaxLot lot = byId.get(lotId);
+        if (lot == null || !lot.getSymbol().equals(symbol)) {
+          throw new IllegalArgumentException("Lot " + lotId + " is not a lot of " + symbol + ".");
+        }
+        if (!chosen.contains(lot)) {
+          chosen.add(lot);
+        }
+      }
+    } else if (symbolLots != null) {
+      chosen = symbolLots.inOrder(day, quantity, policy == Policy.FIFO);
+    }
+
+    double available = 0;
+    for (TaxLot lot : chosen) {
+      if (lot.getDay() <= day) {
+        available += lot.getRemaining();
+      }
+    }
+    if (!covers(available, quantity)) {
+      throw new IllegalArgumentException(
+              "Quantity of stock to remove must be less than or equal to current quantity.");
+    }
+
+    boolean all = quantity >= available;
+    double left = Math.min(quantity, available);
+    double profit = 0;
+    for (TaxLot lot : chosen) {
+      if (!all && left <= 0) {
+        break;
+      }
+      double shares = all ? lot.getRemaining() : Math.min(lot.getRemaining(), left);
+      if (lot.getDay() > day || shares <= 0) {
+        continue;
+      }
+      lot.sell(day, shares);
+      symbolLots.sold(lot, shares);
+      profit += shares * (price - lot.getPrice());
+      left -= shares;
+    }
+    realize(day, profit);
+    return profit;
+  }
+
+  /**
+   * This method returns the shares of a stock in the open lots bought on or before a date.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @param date   the date.
+   * @return the shares that can be sold on the date.
+   */
+  public double available(String symbol, LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date must be given.");
+    }
+    int day = (int) date.toEpochDay();
+    OpenLots symbolLots = open.get(symbol);
+    double available = 0;
+    if (symbolLots != null) {
+      for (int i = symbolLots.head; i < symbolLots.size; i++) {
+        if (symbolLots.lots[i].getDay() <= day) {
+          available += symbolLots.lots[i].getRemaining();
+        }
+      }
+    }
+    return available;
+  }
+
+  /**
+   * This method checks if shares in lots are enough for a sale, allowing for the rounding the
+   * shares of a stock pick up when they are added up in a different order.
+   *
+   * @param available the shares in the lots.
+   * @param quantity  the shares to sell.
+   * @return true if the sale fits in the shares, false otherwise.
+   */
+  public static boolean covers(double available, double quantity) {
+    return quantity <= available || quantity - available <= TOLERANCE * Math.max(1, quantity);
+  }
+
+  /**
+   * This method returns every lot ever opened, in the order they were opened.
+   *
+   * @return the lots, which cannot be changed.
+   */
+  public List<TaxLot> getLots() {
+    return Collections.unmodifiableList(lots);
+  }
+
+  /**
+   * This method returns the lots of a stock that still have shares, oldest first.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @return the open lots.
+   */
+  public List<TaxLot> openLots(String symbol) {
+    OpenLots symbolLots = open.get(symbol);
+    List<TaxLot> result = new ArrayList<>();
+    if (symbolLots != null) {
+      for (int i = symbolLots.head; i < symbolLots.size; i++) {
+        if (symbolLots.lots[i].getRemaining() > 0) {
+          result.add(symbolLots.lots[i]);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * This method returns a lot by its number.
+   *
+   * @param id the number of the lot.
+   * @return the lot.
+   */
+  public TaxLot getLot(long id) {
+    TaxLot lot = byId.get(id);
+    if (lot == null) {
+      throw new IllegalArgumentException("No lot has the number " + id + ".");
+    }
+    return lot;
+  }
+
+  /**
+   * This method returns the profit of every sale up to the end of a date.
+   *
+   * @param date the date.
+   * @return the realized profit, negative for a loss.
+   */
+  public double realizedOn(LocalDate date) {
+    int day = (int) date.toEpochDay();
+    int low = 0;
+    int high = realizations;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (realizedDays[middle] <= day) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low == 0 ? 0 : realizedTotals[low - 1];
+  }
+
+  /**
+   * This method returns the profit of every sale so far.
+   *
+   * @return the realized profit, negative for a loss.
+   */
+  public double getRealized() {
+    return realizations == 0 ? 0 : realizedTotals[realizations - 1];
+  }
+
+  /**
+   * This method returns the unrealized profit of the open lots now, one step per stock.
+   *
+   * @param closes the price of a share of every stock, by ticker symbol; stocks without a
+   *               price are left out.
+   * @return the unrealized profit, negative for a loss.
+   */
+  public double getUnrealized(Map<String, Double> closes) {
+    double profit = 0;
+    for (Map.Entry<String, OpenLots> symbolLots : open.entrySet()) {
+      Double close = closes.get(symbolLots.getKey());
+      if (close != null) {
+        profit += symbolLots.getValue().shares * close - symbolLots.getValue().cost;
+      }
+    }
+    return profit;
+  }
+
+  /**
+   * This method returns the unrealized profit of the lots held at the end of a date, one step
+   * per lot.
+   *
+   * @param date   the date.
+   * @param closes the price of a share of every stock on the date, by ticker symbol; stocks
+   *               without a price are left out.
+   * @return the unrealized profit, negative for a loss.
+   */
+  public double unrealizedOn(LocalDate date, Map<String, Double> closes) {
+    int day = (int) date.toEpochDay();
+    double profit = 0;
+    for (TaxLot lot : lots) {
+      Double close = closes.get(lot.getSymbol());
+      if (close != null && lot.getDay() <= day) {
+        profit += lot.remainingOn(day) * (close - lot.getPrice());
+      }
+    }
+    return profit;
+  }
+
+  /**
+   * This method returns the price paid for the shares still held of a stock.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @return the cost of the open lots of the stock.
+   */
+  public double costBasis(String symbol) {
+    OpenLots symbolLots = open.get(symbol);
+    return symbolLots == null ? 0 : symbolLots.cost;
+  }
+
+  /**
+   * This method returns the number of lots ever opened.
+   *
+   * @return the number of lots.
+   */
+  public int size() {
+    return lots.size();
+  }
+
+  //helper method to add the profit of a sale to the running totals by date.
+  private void realize(int day, double profit) {
+    int at = realizations;
+    while (at > 0 && realizedDays[at - 1] > day) {
+      at--;
+    }
+    if (at > 0 && realizedDays[at - 1] == day) {
+      for (int i = at - 1; i < realizations; i++) {
+        realizedTotals[i] += profit;
+      }
+      return;
+    }
+    if (realizations == realizedDays.length) {
+      realizedDays = Arrays.copyOf(realizedDays, realizations * 2);
+      realizedTotals = Arrays.copyOf(realizedTotals, realizations * 2);
+    }
+    System.arraycopy(realizedDays, at, realizedDays, at + 1, realizations - at);
+    System.arraycopy(realizedTotals, at, realizedTotals, at + 1, realizations - at);
+    realizedDays[at] = day;
+    realizedTotals[at] = at == 0 ? 0 : realizedTotals[at - 1];
+    realizations++;
+    for (int i = at; i < realizations; i++) {
+      realizedTotals[i] += profit;
+    }
+  }
+
+  //the lots of one stock in the order they were opened, with the shares and cost of the ones
+  //still open. Sold out lots at the front or the back are dropped from the window, so selling
+  //oldest first or newest first does not walk over them again.
+  private static class OpenLots {
+    private TaxLot[] lots = new TaxLot[4];
+    private int head;
+    private int size;
+    private double shares;
+    private double cost;
+
+    private void add(TaxLot lot) {
+      if (size == lots.length) {
+        if (head > size / 2) {
+          System.arraycopy(lots, head, lots, 0, size - head);
+          Arrays.fill(lots, size - head, size, null);
+          size -= head;
+          head = 0;
+        } else {
+          lots = Arrays.copyOf(lots, size * 2);
+        }
+      }
+      int at = size;
+      while (at > head && lots[at - 1].getDay() > lot.getDay()) {
+        at--;
+      }
+      System.arraycopy(lots, at, lots, at + 1, size - at);
+      lots[at] = lot;
+      size++;
+      shares += lot.getQuantity();
+      cost += lot.getQuantity() * lot.getPrice();
+    }
+
+    private void sold(TaxLot lot, double soldShares) {
+      shares -= soldShares;
+      cost -= soldShares * lot.getPrice();
+      if (lot.getRemaining() <= 0) {
+        while (head < size && lots[head].getRemaining() <= 0) {
+          lots[head++] = null;
+        }
+        while (size > head && lots[size - 1].getRemaining() <= 0) {
+          lots[--size] = null;
+        }
+        if (head == size) {
+          head = 0;
+          size = 0;
+          shares = 0;
+          cost = 0;
+        }
+      }
+    }
+
+    //helper method to pick open lots bought on or before a day, oldest or newest first,
+    //until they hold the shares to sell.
+    private List<TaxLot> inOrder(int day, double quantity, boolean oldestFirst) {
+      List<TaxLot> chosen = new ArrayList<>();
+      double held = 0;
+      for (int step = 0; step < size - head && held < quantity; step++) {
+        TaxLot lot = lots[oldestFirst ? head + step : size - 1 - step];
+        if (lot.getDay() <= day && lot.getRemaining() > 0) {
+          chosen.add(lot);
+          held += lot.getRemaining();
+        }
+      }
+      return chosen;
+    }
+  }
+}
\ No newline at end of file
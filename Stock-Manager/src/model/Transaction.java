@@ -0,0 +1,93 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * A class that represents one change to the holdings of a portfolio, a number of shares of a
+ * stock bought or sold on a date. Shares sold are kept as a negative quantity, so the position
+ * in a stock on a date is the sum of its transactions up to that date.
+ */
+public class Transaction {
+
+  /**
+   * The kinds of transaction a portfolio records.
+   */
+  public enum Type {
+    BUY, SELL, REBALANCE
+  }
+
+  private final Type type;
+  private final LocalDate date;
+  private final String symbol;
+  private final double quantity;
+
+  /**
+   * A constructor that creates a transaction.
+   *
+   * @param type     the kind of transaction.
+   * @param date     the date of the transaction.
+   * @param symbol   the ticker symbol of the stock.
+   * @param quantity the change in the number of shares, negative for shares sold.
+   */
+  public Transaction(Type type, LocalDate date, String symbol, double quantity) {
+    if (type == null || date == null || symbol == null || symbol.isEmpty()) {
+      throw new IllegalArgumentException("Type, date and symbol of a transaction must be given.");
+    }
+    if (quantity == 0 || Double.isNaN(quantity) || Double.isInfinite(quantity)) {
+      throw new IllegalArgumentException("Quantity of a transaction must not be 0.");
+    }
+    if (type == Type.BUY && quantity < 0 || type == Type.SELL && quantity > 0) {
+      throw new IllegalArgumentException("Quantity does not match the type of transaction.");
+    }
+    this.type = type;
+    this.date = date;
+    this.symbol = symbol;
+    this.quantity = quantity;
+  }
+
+  /**
+   * This method returns the kind of transaction.
+   *
+   * @return the type of the transaction.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * This method returns the date of the transaction.
+   *
+   * @return the date of the transaction.
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * This method returns the ticker symbol of the stock.
+   *
+   * @return the ticker symbol.
+   */
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * This method returns the change in the number of shares, negative for shares sold.
+   *
+   * @return the quantity of the transaction.
+   */
+  public double getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * This method returns the transaction as a string.
+   *
+   * @return the type, date, symbol and quantity of the transaction.
+   */
+  @Override
+  public String toString() {
+    return type + " " + date + " " + symbol + " " + quantity;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+
+/**
+ * A class that keeps the transactions of a portfolio in date order. Next to the log, every
+ * symbol keeps its position after each day it changed on in two growing arrays, the days and
+ * the cumulative number of shares, so the position on any date is found with a binary search
+ * instead of replaying the log or reading a saved state. Transactions are normally recorded
+ * in date order, which only appends; a transaction dated before later ones is inserted in its
+ * place and the later positions of its symbol are moved by its quantity.
+ */
+public class TransactionLog {
+  private final List<Transaction> transactions;
+  private final Map<String, Positions> positions;
+
+  /**
+   * A constructor that creates an empty log.
+   */
+  public TransactionLog() {
+    this.transactions = new ArrayList<>();
+    this.positions = new LinkedHashMap<>();
+  }
+
+  /**
+   * This method builds a log from saved states of a portfolio, recording the difference
+   * between each state and the one before it as buys and sells on the date of the state.
+   *
+   * @param history the holdings of the portfolio after each change, by the date of the change.
+   * @return the log of the changes.
+   */
+  public static TransactionLog fromSnapshots(
+          NavigableMap<LocalDate, Map<Stocks, Double>> history) {
+    if (history == null) {
+      throw new IllegalArgumentException("History of the portfolio must be given.");
+    }
+    TransactionLog log = new TransactionLog();
+    Map<String, Double> previous = new HashMap<>();
+    for (Map.Entry<LocalDate, Map<Stocks, Double>> snapshot : history.entrySet()) {
+      Map<String, Double> current = new LinkedHashMap<>();
+      for (Map.Entry<Stocks, Double> holding : snapshot.getValue().entrySet()) {
+        current.merge(holding.getKey().getSymbol(), holding.getValue(), Double::sum);
+      }
+      Set<String> symbols = new HashSet<>(previous.keySet());
+      symbols.addAll(current.keySet());
+      List<String> ordered = new ArrayList<>(symbols);
+      Collections.sort(ordered);
+      for (String symbol : ordered) {
+        double change = current.getOrDefault(symbol, 0.0) - previous.getOrDefault(symbol, 0.0);
+        if (change != 0) {
+          log.record(new Transaction(change > 0 ? Transaction.Type.BUY : Transaction.Type.SELL,
+                  snapshot.getKey(), symbol, change));
+        }
+      }
+      previous = current;
+    }
+    return log;
+  }
+
+  /**
+   * This method records a transaction.
+   *
+   * @param transaction the transaction to record.
+   */
+  public void record(Transaction transaction) {
+    if (transaction == null) {
+      throw new IllegalArgumentException("Transaction to record must be given.");
+    }
+    int day = (int) transaction.getDate().toEpochDay();
+    int at = transactions.size();
+    while (at > 0 && transactions.get(at - 1).getDate().toEpochDay() > day) {
+      at--;
+    }
+    transactions.add(at, transaction);
+    positions.computeIfAbsent(transaction.getSymbol(), symbol -> new Positions())
+            .add(day, transaction.getQuantity());
+  }
+
+  /**
+   * This method returns the position in a stock at the end of a date.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @param date   the date to look at.
+   * @return the number of shares held, 0 if there are none.
+   */
+  public double positionOn(String symbol, LocalDate date) {
+    Positions history = positions.get(symbol);
+    return history == null ? 0 : history.on((int) date.toEpochDay());
+  }
+
+  /**
+   * This method returns every position held at the end of a date.
+   *
+   * @param date the date to look at.
+   * @return the number of shares held, by ticker symbol, for every stock with shares.
+   */
+  public Map<String, Double> compositionOn(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date must be given.");
+    }
+    int day = (int) date.toEpochDay();
+    Map<String, Double> composition = new LinkedHashMap<>();
+    for (Map.Entry<String, Positions> entry : positions.entrySet()) {
+      double position = entry.getValue().on(day);
+      if (position > 0) {
+        composition.put(entry.getKey(), position);
+      }
+    }
+    return composition;
+  }
+
+  /**
+   * This method returns the transactions in date order.
+   *
+   * @return the transactions, which cannot be changed.
+   */
+  public List<Transaction> getTransactions() {
+    return Collections.unmodifiableList(transactions);
+  }
+
+  /**
+   * This method returns the number of transactions recorded.
+   *
+   * @return the number of transactions.
+   */
+  public int size() {
+    return transactions.size();
+  }
+
+  /**
+   * This method returns the days, as numbers of days since the epoch, that the position in a
+   * stock changed on, in order.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @return the days of the changes.
+   */
+  public int[] changeDays(String symbol) {
+    Positions history = positions.get(symbol);
+    return history == null ? new int[0] : Arrays.copyOf(history.days, history.size);
+  }
+
+  /**
+   * This method returns the position in a stock after each day it changed on, matching the
+   * days returned by changeDays.
+   *
+   * @param symbol the ticker symbol of the stock.
+   * @return the cumulative number of shares after each change.
+   */
+  public double[] cumulativePositions(String symbol) {
+    Positions history = positions.get(symbol);
+    return history == null ? new double[0] : Arrays.copyOf(history.shares, history.size);
+  }
+
+  //the cumulative position of one symbol, one entry for every day it changed on.
+  private static class Positions {
+    private int[] days = new int[4];
+    private double[] shares = new double[4];
+    private int size;
+
+    private void add(int day, double quantity) {
+      int at = upperBound(day);
+      if (at > 0 && days[at - 1] == day) {
+        for (int i = at - 1; i < size; i++) {
+          shares[i] += quantity;
+        }
+        return;
+      }
+      if (size == days.length) {
+        days = Arrays.copyOf(days, size * 2);
+        shares = Arrays.copyOf(shares, size * 2);
+      }
+      System.arraycopy(days, at, days, at + 1, size - at);
+      System.arraycopy(shares, at, shares, at + 1, size - at);
+      days[at] = day;
+      shares[at] = at > 0 ? shares[at - 1] : 0;
+      size++;
+      for (int i = at; i < size; i++) {
+        shares[i] += quantity;
+      }
+    }
+
+    private double on(int day) {
+      int at = upperBound(day);
+      return at == 0 ? 0 : shares[at - 1];
+    }
+
+    //helper method to find the first entry after a day.
+    private int upperBound(int day) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (days[middle] <= day) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+}
\ No newline at end of file
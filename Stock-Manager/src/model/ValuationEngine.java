@@ -0,0 +1,119 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A class that values a portfolio on every day of a date range at once. For each stock it
+ * walks the days of the range together with the days its position changed and the days it
+ * traded, one merge pass, and adds the number of shares held times the last close to every
+ * day until the next change or trade. Days without trading, like weekends, carry the last
+ * close forward, so every day of the range has a value.
+ */
+public class ValuationEngine {
+  private final List<int[]> changeDays;
+  private final List<double[]> positions;
+  private final List<PriceIndex> indexes;
+
+  /**
+   * A constructor that creates a valuation engine for the positions in a transaction log.
+   *
+   * @param log    the transaction log of the portfolio.
+   * @param stocks the stocks of the portfolio with their prices, at least every stock in the
+   *               log; a stock in the log that is not given is valued at 0.
+   */
+  public ValuationEngine(TransactionLog log, Collection<Stocks> stocks) {
+    if (log == null || stocks == null) {
+      throw new IllegalArgumentException("Transaction log and stocks must be given.");
+    }
+    this.changeDays = new ArrayList<>();
+    this.positions = new ArrayList<>();
+    this.indexes = new ArrayList<>();
+    for (Stocks stock : stocks) {
+      int[] days = log.changeDays(stock.getSymbol());
+      if (days.length > 0) {
+        changeDays.add(days);
+        positions.add(log.cumulativePositions(stock.getSymbol()));
+        indexes.add(PriceIndex.of(stock.getStockInformation()));
+      }
+    }
+  }
+
+  /**
+   * This method finds the value of the portfolio at the end of every day in a date range.
+   *
+   * @param startDate the first day of the range.
+   * @param endDate   the last day of the range.
+   * @return the value of every day of the range, the start date first.
+   */
+  public double[] dailyValues(LocalDate startDate, LocalDate endDate) {
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException("Invalid date range.");
+    }
+    int from = (int) startDate.toEpochDay();
+    int to = (int) endDate.toEpochDay();
+    double[] values = new double[to - from + 1];
+    for (int i = 0; i < indexes.size(); i++) {
+      addPosition(values, from, to, changeDays.get(i), positions.get(i), indexes.get(i));
+    }
+    return values;
+  }
+
+  /**
+   * This method finds the value of the portfolio at the end of a day.
+   *
+   * @param date the day to value the portfolio on.
+   * @return the value of the portfolio.
+   */
+  public double valueOn(LocalDate date) {
+    return dailyValues(date, date)[0];
+  }
+
+  //helper method to add the value of one position in a stock to every day of the range,
+  //which is also used to value many portfolios together. Between two days on which the
+  //position changes or the stock trades its value stays the same, so it is worked out once
+  //and added to the whole run of days.
+  static void addPosition(double[] values, int from, int to, int[] changes, double[] shares,
+                          PriceIndex index) {
+    int change = lastOnOrBefore(changes, from);
+    int trade = index.floorIndex(LocalDate.ofEpochDay(from));
+    int day = from;
+    while (day <= to) {
+      int nextChange = change + 1 < changes.length ? changes[change + 1] : Integer.MAX_VALUE;
+      int nextTrade = trade + 1 < index.size() ? index.getEpochDay(trade + 1)
+              : Integer.MAX_VALUE;
+      int next = Math.min(Math.min(nextChange, nextTrade), to + 1);
+      double value = change < 0 || trade < 0 ? 0 : shares[change] * index.getClose(trade);
+      if (value != 0) {
+        for (int i = day - from; i < next - from; i++) {
+          values[i] += value;
+        }
+      }
+      if (next == nextChange) {
+        change++;
+      }
+      if (next == nextTrade) {
+        trade++;
+      }
+      day = next;
+    }
+  }
+
+  //helper method to find the last position in an ascending array with a value on or
+  //before a day, or -1 if there is none.
+  private static int lastOnOrBefore(int[] days, int day) {
+    int low = 0;
+    int high = days.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (days[middle] <= day) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low - 1;
+  }
+}
\ No newline at end of file
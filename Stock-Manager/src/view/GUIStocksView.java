@@ -234,6 +234,22 @@ public class GUIStocksView extends JFrame implements GUIView {
             portfolioName, date, totalValue));
   }
 
+  /**
+   * this method displays the correlation of the holdings of a portfolio over a date range.
+   *
+   * @param portfolioName the name of the portfolio.
+   * @param startDate     the start date of the range.
+   * @param endDate       the end date of the range.
+   * @param correlation   the correlation table of the holdings.
+   */
+  @Override
+  public void displayPortfolioCorrelation(String portfolioName, LocalDate startDate,
+                                          LocalDate endDate, String correlation) {
+    outputArea.append(String.format("Correlation of the holdings of"
+                    + " portfolio '%s' from %s to %s:%n%s",
+            portfolioName, startDate, endDate, correlation));
+  }
+
   /**
    * this method displays an error message whenever there is one given.
    *
@@ -107,6 +107,17 @@ public interface GUIView {
    */
   void displayPortfolioValue(String portfolioName, LocalDate date, double totalValue);
 
+  /**
+   * this method displays the correlation of the holdings of a portfolio over a date range.
+   *
+   * @param portfolioName the name of the portfolio.
+   * @param startDate     the start date of the range.
+   * @param endDate       the end date of the range.
+   * @param correlation   the correlation table of the holdings.
+   */
+  void displayPortfolioCorrelation(String portfolioName, LocalDate startDate,
+                                   LocalDate endDate, String correlation);
+
   /**
    * this method displays an error message whenever there is one given.
    *
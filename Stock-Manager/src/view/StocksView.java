@@ -142,7 +142,9 @@ public class StocksView implements View {
     System.out.println("4. Check Distribution of Portfolio");
     System.out.println("5. Check Total Value of Portfolio");
     System.out.println("6. Rebalance Portfolio");
-    System.out.println("7. Go Back to Main Menu");
+    System.out.println("7. Check Correlation of Holdings");
+    System.out.println("8. Project Value with Monte Carlo");
+    System.out.println("9. Go Back to Main Menu");
   }
 
   /**
@@ -226,6 +228,34 @@ public class StocksView implements View {
     System.out.printf("Rebalanced portfolio '%s' on %s.%n", portfolioName, date);
   }
 
+  /**
+   * this method displays the correlation of the holdings of a portfolio over a date range.
+   *
+   * @param portfolioName the name of the portfolio.
+   * @param startDate     the start date of the range.
+   * @param endDate       the end date of the range.
+   * @param correlation   the correlation table of the holdings.
+   */
+  @Override
+  public void displayPortfolioCorrelation(String portfolioName, LocalDate startDate,
+                                          LocalDate endDate, String correlation) {
+    System.out.printf("Correlation of the holdings of portfolio '%s' from %s to %s:%n%s",
+            portfolioName, startDate, endDate, correlation);
+  }
+
+  /**
+   * this method displays the projected value of a portfolio as percentile bands.
+   *
+   * @param portfolioName the name of the portfolio.
+   * @param days          the number of trading days projected.
+   * @param bands         the percentile bands of the projected value.
+   */
+  @Override
+  public void displayMonteCarlo(String portfolioName, int days, String bands) {
+    System.out.printf("Projected value of portfolio '%s' over the next %d trading days:%n%s",
+            portfolioName, days, bands);
+  }
+
   /**
    * this method displays the performance of a portfolio over a given date range.
    *
@@ -128,6 +128,24 @@ public interface View {
    */
   void displayPortfolioRebalance(String portfolioName, LocalDate date);
 
+  /**
+   * this method displays the correlation of the holdings of a portfolio over a date range.
+   * @param portfolioName the name of the portfolio.
+   * @param startDate the start date of the range.
+   * @param endDate the end date of the range.
+   * @param correlation the correlation table of the holdings.
+   */
+  void displayPortfolioCorrelation(String portfolioName, LocalDate startDate,
+                                   LocalDate endDate, String correlation);
+
+  /**
+   * this method displays the projected value of a portfolio as percentile bands.
+   * @param portfolioName the name of the portfolio.
+   * @param days the number of trading days projected.
+   * @param bands the percentile bands of the projected value.
+   */
+  void displayMonteCarlo(String portfolioName, int days, String bands);
+
   /**
    * this method displays the performance of a portfolio over a given date range.
    * @param portfolioName the name of the portfolio.
@@ -0,0 +1,47 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.BacktestResult;
+import model.Backtester;
+import model.MovingAverageCrossStrategy;
+import model.StockInformation;
+import model.Stocks;
+
+/**
+ * A class that times the backtester on a long synthetic series.
+ * It is run by hand with its main method and is not part of the tests.
+ */
+public class BacktesterBenchmark {
+  private static final int BARS = 2_000_000;
+  private static final int ROUNDS = 10;
+
+  /**
+   * This method runs the benchmark and prints the number of bars replayed per second.
+   *
+   * @param args not used.
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    LocalDate first = LocalDate.of(1000, 1, 1);
+    List<StockInformation> prices = new ArrayList<>();
+    double price = 100;
+    for (int day = 0; day < BARS; day++) {
+      price *= 1 + (random.nextDouble() - 0.5) * 0.04;
+      prices.add(new StockInformation(first.plusDays(day), price, price, price, price, 1000));
+    }
+    Stocks stock = new Stocks("SYN", prices);
+    Backtester backtester = new Backtester(10000);
+    LocalDate last = first.plusDays(BARS - 1);
+    long best = Long.MAX_VALUE;
+    BacktestResult result = null;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      result = backtester.run(stock, new MovingAverageCrossStrategy(50), first, last);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    System.out.printf("%d bars in %.2f ms, %.1f million bars per second, %d trades%n",
+            BARS, best / 1e6, BARS / (best / 1e9) / 1e6, result.getTradeCount());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import model.BacktestAccount;
+import model.BacktestResult;
+import model.Backtester;
+import model.MovingAverageCrossStrategy;
+import model.Portfolio;
+import model.PriceIndex;
+import model.Stocks;
+import model.Strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the Backtester class and its strategies.
+ */
+public class BacktesterTest {
+  private final LocalDate lastDate = LocalDate.of(2024, 6, 28);
+
+  @Test
+  public void testCallbacksTradeAtTheClose() {
+    Strategy buyThenSell = new Strategy() {
+      @Override
+      public void onBar(PriceIndex prices, int day, BacktestAccount account) {
+        if (day == 0) {
+          account.buy(10);
+        } else if (day == 2) {
+          account.sell(4);
+        }
+      }
+    };
+    BacktestResult result = new Backtester(1000).run(
+            TestFixtures.stockUntil("A", lastDate, 10, 20, 30, 15), buyThenSell,
+            lastDate.minusDays(3), lastDate);
+    assertEquals(4, result.getDays());
+    assertEquals(1000, result.getValue(0), 1e-9);
+    assertEquals(1100, result.getValue(1), 1e-9);
+    assertEquals(1200, result.getValue(2), 1e-9);
+    assertEquals(900 + 120 + 6 * 15, result.getFinalValue(), 1e-9);
+    assertEquals(2, result.getTradeCount());
+    assertEquals(-4, result.getTradeQuantity(1), 0);
+    assertEquals(30, result.getTradePrice(1), 0);
+    assertEquals(lastDate.minusDays(1), result.getTradeDate(1));
+    assertEquals((1200 - 1110) / 1200.0, result.getMaxDrawdown(), 1e-12);
+  }
+
+  @Test
+  public void testMovingAverageCross() {
+    Stocks stock = TestFixtures.stockUntil("A", lastDate, 10, 10, 10, 12, 14, 16, 12, 8, 6, 9, 12);
+    BacktestResult result = new Backtester(100).run(stock,
+            new MovingAverageCrossStrategy(3), lastDate.minusDays(10), lastDate);
+    assertEquals(3, result.getTradeCount());
+    assertEquals(lastDate.minusDays(7), result.getTradeDate(0));
+    assertEquals(8, result.getTradeQuantity(0), 0);
+    assertEquals(lastDate.minusDays(4), result.getTradeDate(1));
+    assertEquals(-8, result.getTradeQuantity(1), 0);
+    assertEquals(lastDate.minusDays(1), result.getTradeDate(2));
+    assertEquals(11, result.getTradeQuantity(2), 0);
+    assertEquals(1 + 11 * 12, result.getFinalValue(), 1e-9);
+  }
+
+  @Test
+  public void testLongSeries() {
+    double[] closes = new double[20000];
+    for (int day = 0; day < closes.length; day++) {
+      closes[day] = 100 + 2 * Math.sin(day / 15.0);
+    }
+    BacktestResult result = new Backtester(10000).run(
+            TestFixtures.stockUntil("A", lastDate, closes),
+            new MovingAverageCrossStrategy(50), lastDate.minusDays(19999), lastDate);
+    assertEquals(20000, result.getDays());
+    assertTrue(result.getTradeCount() > 100);
+  }
+
+  @Test
+  public void testSaveAsPortfolio() {
+    String name = "backtestResultTest";
+    BacktestResult result = new Backtester(100).run(
+            TestFixtures.stockUntil("GOOG", lastDate, 10, 10, 10, 12, 14, 16, 12, 8, 6, 9, 12),
+            new MovingAverageCrossStrategy(3), lastDate.minusDays(10), lastDate);
+    try {
+      result.saveAsPortfolio(name);
+      assertEquals(lastDate.minusDays(1), Portfolio.getMostRecentDates().get(name));
+      int index = Portfolio.getPortfolios().indexOf(name);
+      Map<Stocks, Double> holdings = Portfolio.loadPortfolio(index, lastDate.minusDays(1))
+              .getStocks();
+      assertEquals(1, holdings.size());
+      assertEquals(11.0, holdings.values().iterator().next(), 0);
+      assertTrue(Portfolio.loadPortfolio(index, lastDate.minusDays(4)).getStocks().isEmpty());
+    } finally {
+      Portfolio.deletePortfolio(name);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCannotBuyWithoutCash() {
+    new Backtester(10).run(TestFixtures.stockUntil("A", lastDate, 10, 20), new Strategy() {
+      @Override
+      public void onBar(PriceIndex prices, int day, BacktestAccount account) {
+        account.buy(2);
+      }
+    }, lastDate.minusDays(1), lastDate);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoData() {
+    new Backtester(10).run(TestFixtures.stockUntil("A", lastDate, 10, 20),
+            new MovingAverageCrossStrategy(2), lastDate.plusDays(1), lastDate.plusDays(5));
+  }
+}
\ No newline at end of file
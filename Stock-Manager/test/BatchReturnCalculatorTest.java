@@ -0,0 +1,100 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.BatchReturnCalculator;
+import model.DateRange;
+import model.StockCalculator;
+import model.StockInformation;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the BatchReturnCalculator and DateRange classes.
+ */
+public class BatchReturnCalculatorTest {
+  private final LocalDate lastDate = LocalDate.of(2024, 6, 28); // a Friday
+  private final BatchReturnCalculator calculator = new BatchReturnCalculator();
+
+  //helper that makes weekday prices for two years, newest first, rising by step every day.
+  private Stocks syntheticStock(String symbol, double step) {
+    List<StockInformation> prices = new ArrayList<>();
+    LocalDate date = lastDate;
+    for (int day = 0; day < 730; day++, date = date.minusDays(1)) {
+      if (date.getDayOfWeek().getValue() <= 5) {
+        double close = 1000 + step * (730 - day);
+        prices.add(new StockInformation(date, close, close, close, close, 10));
+      }
+    }
+    return new Stocks(symbol, prices);
+  }
+
+  @Test
+  public void testMatchesGainLossCheckOnTradingDays() {
+    List<Stocks> stocks = List.of(syntheticStock("A", 1), syntheticStock("B", -0.5),
+            syntheticStock("C", 0.25));
+    List<DateRange> periods = List.of(
+            new DateRange("2W", lastDate.minusWeeks(2), lastDate),
+            new DateRange("old", LocalDate.of(2023, 3, 1), LocalDate.of(2023, 9, 1)));
+    double[][] matrix = calculator.gainLoss(stocks, periods);
+    StockCalculator single = new StockCalculator();
+    for (int row = 0; row < stocks.size(); row++) {
+      for (int column = 0; column < periods.size(); column++) {
+        DateRange period = periods.get(column);
+        assertEquals(single.gainLossCheck(stocks.get(row).getStockInformation(),
+                period.getStartDate(), period.getEndDate()), matrix[row][column], 1e-9);
+      }
+    }
+  }
+
+  @Test
+  public void testWeekendBoundariesUseLastTradingDay() {
+    Stocks stock = syntheticStock("A", 1);
+    LocalDate sunday = lastDate.plusDays(2);
+    double[][] matrix = calculator.gainLoss(List.of(stock),
+            List.of(new DateRange("1D", sunday.minusDays(1), sunday)));
+    assertEquals(0, matrix[0][0], 0);
+    matrix = calculator.gainLoss(List.of(stock), DateRange.standardPeriods(lastDate));
+    assertEquals(1, matrix[0][0], 1e-9);
+    assertEquals(7, matrix[0][1], 1e-9);
+  }
+
+  @Test
+  public void testReturnsAreRelative() {
+    Stocks stock = syntheticStock("A", 1);
+    double[][] gains = calculator.gainLoss(List.of(stock), DateRange.standardPeriods(lastDate));
+    double[][] returns = calculator.returns(List.of(stock), DateRange.standardPeriods(lastDate));
+    double close = 1000 + 730;
+    assertEquals(gains[0][2] / (close - gains[0][2]), returns[0][2], 1e-12);
+  }
+
+  @Test
+  public void testMissingHistoryIsNaN() {
+    double[][] matrix = calculator.gainLoss(List.of(syntheticStock("A", 1)),
+            DateRange.standardPeriods(lastDate));
+    assertEquals(6, matrix[0].length);
+    assertTrue(Double.isNaN(matrix[0][5]));
+    assertTrue(!Double.isNaN(matrix[0][4]));
+  }
+
+  @Test
+  public void testManyStocksInParallel() {
+    List<Stocks> stocks = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      stocks.add(syntheticStock("T" + i, i));
+    }
+    double[][] matrix = calculator.gainLoss(stocks, DateRange.standardPeriods(lastDate));
+    for (int i = 0; i < 200; i++) {
+      assertEquals(i * 7, matrix[i][1], 1e-6);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRange() {
+    new DateRange("bad", lastDate, lastDate.minusDays(1));
+  }
+}
\ No newline at end of file
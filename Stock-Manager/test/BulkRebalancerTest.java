@@ -0,0 +1,91 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import model.BulkRebalanceReport;
+import model.BulkRebalancer;
+import model.Portfolio;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the BulkRebalancer and BulkRebalanceReport classes.
+ */
+public class BulkRebalancerTest {
+  private final LocalDate buyDate = LocalDate.of(2023, 6, 1);
+  private final LocalDate rebalanceDate = LocalDate.of(2023, 6, 30);
+  private final TestPortfolios portfolios = new TestPortfolios();
+  private final Stocks a = TestFixtures.stockFrom("A", buyDate, 10, 20);
+  private final Stocks b = TestFixtures.stockFrom("B", buyDate, 50, 25);
+  private final Stocks c = TestFixtures.stockFrom("C", buyDate, 5, 5);
+
+  //helper that makes a portfolio that buys two stocks.
+  private Portfolio portfolio(String name, Stocks first, double firstShares, Stocks second,
+                              double secondShares) {
+    Portfolio portfolio = portfolios.create(name);
+    portfolio.addStock(first, firstShares, buyDate);
+    portfolio.addStock(second, secondShares, buyDate);
+    return portfolio;
+  }
+
+  @After
+  public void tearDown() {
+    portfolios.deleteAll();
+  }
+
+  @Test
+  public void testEveryPortfolioIsRebalancedToTheSameWeights() {
+    Portfolio first = portfolio("bulkFirst", a, 10, b, 4);
+    Portfolio second = portfolio("bulkSecond", b, 20, a, 1);
+    Portfolio other = portfolio("bulkOther", a, 10, c, 4);
+
+    BulkRebalanceReport report = new BulkRebalancer().rebalance(List.of(first, second, other),
+            Map.of("A", 50, "B", 50), rebalanceDate);
+
+    assertEquals(150, first.getStocks().get(a) * 20, 1e-9);
+    assertEquals(150, first.getStocks().get(b) * 25, 1e-9);
+    assertEquals(260, second.getStocks().get(a) * 20, 1e-9);
+    assertEquals(260, second.getStocks().get(b) * 25, 1e-9);
+    assertEquals(10, other.getStocks().get(a), 0);
+
+    assertEquals(List.of("bulkFirst", "bulkSecond"), new ArrayList<>(report.getTrades()
+            .keySet()));
+    assertEquals(300, report.getValue("bulkFirst"), 1e-9);
+    assertEquals(50 + 50, report.getTurnover("bulkFirst"), 1e-9);
+    assertEquals(Map.of("bulkOther", "Percent must be given for every stock in the portfolio."),
+            report.getSkipped());
+    assertTrue(TestFixtures.savedInJournal("bulkFirst", rebalanceDate));
+    assertTrue(TestFixtures.savedInJournal("bulkSecond", rebalanceDate));
+    assertFalse(TestFixtures.savedInJournal("bulkOther", rebalanceDate));
+    assertTrue(report.format().contains("2 rebalanced, 1 skipped"));
+  }
+
+  @Test
+  public void testManyPortfoliosInParallel() {
+    List<Portfolio> portfolios = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      portfolios.add(portfolio("bulkMany" + i, a, 1 + i, b, 40 - i));
+    }
+    BulkRebalanceReport report = new BulkRebalancer().rebalance(portfolios,
+            Map.of("A", 20, "B", 80), rebalanceDate);
+
+    assertEquals(40, report.getTrades().size());
+    for (Portfolio portfolio : portfolios) {
+      double value = report.getValue(portfolio.getName());
+      assertEquals(value * 0.2, portfolio.getStocks().get(a) * 20, 1e-9);
+      assertEquals(value * 0.8, portfolio.getStocks().get(b) * 25, 1e-9);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPercentsMustBeGiven() {
+    new BulkRebalancer().rebalance(List.of(), Map.of(), rebalanceDate);
+  }
+}
\ No newline at end of file
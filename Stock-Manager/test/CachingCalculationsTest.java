@@ -0,0 +1,129 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CachingCalculations;
+import model.StockCalculator;
+import model.StockInformation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the CachingCalculations class.
+ */
+public class CachingCalculationsTest {
+  private final LocalDate lastDate = LocalDate.of(2024, 6, 28);
+  private StringBuilder log;
+  private CachingCalculations cache;
+  private List<StockInformation> prices;
+
+  @Before
+  public void setUp() {
+    log = new StringBuilder();
+    cache = new CachingCalculations(new MockStockCalculator(log), 3);
+    prices = syntheticPrices();
+  }
+
+  //helper that makes 30 days of prices, newest first.
+  private List<StockInformation> syntheticPrices() {
+    List<StockInformation> list = new ArrayList<>();
+    for (int day = 0; day < 30; day++) {
+      double close = 100 + day;
+      list.add(new StockInformation(lastDate.minusDays(day), close, close, close, close, 10));
+    }
+    return list;
+  }
+
+  //helper that counts the gain/loss calls the mock calculator logged.
+  private int gainLossCalls() {
+    return log.toString().split("gainLossCheck\\(", -1).length - 1;
+  }
+
+  @Test
+  public void testRepeatedQuestionIsAnsweredOnce() {
+    double first = cache.gainLossCheck(prices, lastDate.minusDays(5), lastDate);
+    double second = cache.gainLossCheck(prices, lastDate.minusDays(5), lastDate);
+    assertEquals(first, second, 0);
+    assertEquals(1, gainLossCalls());
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void testDifferentArgumentsAreDifferentAnswers() {
+    cache.movingAverage(prices, lastDate, 5);
+    cache.movingAverage(prices, lastDate, 6);
+    cache.gainLossCheck(prices, lastDate, lastDate);
+    assertEquals(3, cache.getMisses());
+    assertEquals(0, cache.getHits());
+  }
+
+  @Test
+  public void testSeriesAreMatchedByIdentity() {
+    cache.gainLossCheck(prices, lastDate.minusDays(5), lastDate);
+    cache.gainLossCheck(syntheticPrices(), lastDate.minusDays(5), lastDate);
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    cache.movingAverage(prices, lastDate, 1);
+    cache.movingAverage(prices, lastDate, 2);
+    cache.movingAverage(prices, lastDate, 3);
+    cache.movingAverage(prices, lastDate, 1);
+    cache.movingAverage(prices, lastDate, 4);
+    assertEquals(3, cache.size());
+    assertEquals(1, cache.getEvictions());
+    cache.movingAverage(prices, lastDate, 1);
+    assertEquals(2, cache.getHits());
+    cache.movingAverage(prices, lastDate, 2);
+    assertEquals(5, cache.getMisses());
+  }
+
+  @Test
+  public void testInvalidateDropsAnswersOfSeries() {
+    List<StockInformation> other = syntheticPrices();
+    cache.movingAverage(prices, lastDate, 5);
+    cache.movingAverage(other, lastDate, 5);
+    cache.invalidate(prices);
+    assertEquals(1, cache.size());
+    cache.movingAverage(prices, lastDate, 5);
+    cache.movingAverage(other, lastDate, 5);
+    assertEquals(3, cache.getMisses());
+    assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  public void testCrossoverListsAreNotShared() {
+    CachingCalculations real = new CachingCalculations(new StockCalculator());
+    List<LocalDate> first = real.crossoverDates(prices, lastDate.minusDays(10), lastDate, 3);
+    first.clear();
+    List<LocalDate> second = real.crossoverDates(prices, lastDate.minusDays(10), lastDate, 3);
+    assertEquals(new StockCalculator().crossoverDates(prices, lastDate.minusDays(10),
+            lastDate, 3), second);
+    assertEquals(1, real.getHits());
+  }
+
+  @Test
+  public void testFailuresAreNotRemembered() {
+    CachingCalculations real = new CachingCalculations(new StockCalculator());
+    for (int i = 0; i < 2; i++) {
+      try {
+        real.movingAverage(prices, lastDate.plusDays(1), 5);
+      } catch (IllegalArgumentException e) {
+        assertTrue(e.getMessage().contains("does not exist"));
+      }
+    }
+    assertEquals(0, real.size());
+    assertEquals(2, real.getMisses());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new CachingCalculations(new StockCalculator(), 0);
+  }
+}
\ No newline at end of file
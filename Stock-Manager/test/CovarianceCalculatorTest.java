@@ -0,0 +1,128 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import model.CovarianceCalculator;
+import model.CovarianceMatrix;
+import model.StockInformation;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the CovarianceCalculator and CovarianceMatrix classes.
+ */
+public class CovarianceCalculatorTest {
+  private final LocalDate lastDate = LocalDate.of(2024, 6, 28);
+  private final CovarianceCalculator calculator = new CovarianceCalculator();
+
+  @Test
+  public void testMatchesNaiveCovariance() {
+    Random random = new Random(11);
+    List<Stocks> stocks = new ArrayList<>();
+    List<double[]> closes = new ArrayList<>();
+    for (int i = 0; i < 70; i++) {
+      closes.add(TestFixtures.walk(random, 600));
+      stocks.add(TestFixtures.stockUntil("T" + i, lastDate, closes.get(i)));
+    }
+    CovarianceMatrix matrix = calculator.calculate(stocks,
+            lastDate.minusDays(599), lastDate);
+    assertEquals(599, matrix.getObservations());
+
+    double[][] returns = new double[70][599];
+    double[] means = new double[70];
+    for (int i = 0; i < 70; i++) {
+      for (int day = 1; day < 600; day++) {
+        returns[i][day - 1] = closes.get(i)[day] / closes.get(i)[day - 1] - 1;
+        means[i] += returns[i][day - 1] / 599;
+      }
+    }
+    for (int i = 0; i < 70; i += 3) {
+      for (int j = 0; j < 70; j += 5) {
+        double expected = 0;
+        for (int day = 0; day < 599; day++) {
+          expected += (returns[i][day] - means[i]) * (returns[j][day] - means[j]);
+        }
+        expected /= 598;
+        assertEquals(expected, matrix.getCovariance(i, j), 1e-12);
+        assertEquals(matrix.getCovariance(i, j), matrix.getCovariance(j, i), 0);
+      }
+      assertEquals(1, matrix.getCorrelation(i, i), 1e-12);
+    }
+  }
+
+  @Test
+  public void testPerfectCorrelations() {
+    double[] up = TestFixtures.walk(new Random(3), 50);
+    double[] same = new double[50];
+    double[] opposite = new double[50];
+    for (int day = 0; day < 50; day++) {
+      same[day] = up[day] * 2;
+      opposite[day] = day == 0 ? 100 : opposite[day - 1] * (2 - up[day] / up[day - 1]);
+    }
+    CovarianceMatrix matrix = calculator.calculate(List.of(
+            TestFixtures.stockUntil("A", lastDate, up),
+            TestFixtures.stockUntil("B", lastDate, same),
+            TestFixtures.stockUntil("C", lastDate, opposite)), lastDate.minusDays(49), lastDate);
+    assertEquals(1, matrix.getCorrelation(0, 1), 1e-9);
+    assertEquals(-1, matrix.getCorrelation(0, 2), 1e-9);
+    assertTrue(matrix.formatCorrelations().contains("-1.00"));
+  }
+
+  @Test
+  public void testSeriesAreAlignedOnSharedDays() {
+    double[] closes = TestFixtures.walk(new Random(5), 40);
+    Stocks full = TestFixtures.stockUntil("A", lastDate, closes);
+    List<StockInformation> gaps = new ArrayList<>();
+    for (int i = 0; i < full.getStockInformation().size(); i += 2) {
+      gaps.add(full.getStockInformation().get(i));
+    }
+    CovarianceMatrix matrix = calculator.calculate(List.of(full, new Stocks("B", gaps)),
+            lastDate.minusDays(39), lastDate);
+    assertEquals(19, matrix.getObservations());
+    assertEquals(1, matrix.getCorrelation(0, 1), 1e-9);
+  }
+
+  @Test
+  public void testFlatStockHasNoCorrelation() {
+    double[] flat = new double[30];
+    Arrays.fill(flat, 50);
+    CovarianceMatrix matrix = calculator.calculate(List.of(
+            TestFixtures.stockUntil("A", lastDate, TestFixtures.walk(new Random(1), 30)),
+            TestFixtures.stockUntil("B", lastDate, flat)), lastDate.minusDays(29), lastDate);
+    assertTrue(Double.isNaN(matrix.getCorrelation(0, 1)));
+  }
+
+  @Test
+  public void testLargeUniverse() {
+    Random random = new Random(9);
+    List<Stocks> stocks = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      double[] closes = TestFixtures.walk(random, 1260);
+      stocks.add(TestFixtures.stockUntil("T" + i, lastDate, closes));
+    }
+    CovarianceMatrix matrix = calculator.calculate(stocks, lastDate.minusDays(1259), lastDate);
+    assertEquals(500, matrix.getSymbols().size());
+    assertEquals(1259, matrix.getObservations());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNeedsTwoStocks() {
+    calculator.calculate(List.of(
+            TestFixtures.stockUntil("A", lastDate, TestFixtures.walk(new Random(1), 10))),
+            lastDate.minusDays(9), lastDate);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNeedsSharedDays() {
+    calculator.calculate(List.of(
+            TestFixtures.stockUntil("A", lastDate, TestFixtures.walk(new Random(1), 10)),
+            TestFixtures.stockUntil("B", lastDate, TestFixtures.walk(new Random(2), 10))),
+            lastDate.plusDays(1), lastDate.plusDays(9));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.DollarCostAveraging;
+import model.DollarCostAveragingResult;
+import model.Portfolio;
+import model.StockInformation;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the DollarCostAveraging and DollarCostAveragingResult classes.
+ */
+public class DollarCostAveragingTest {
+  private final LocalDate firstDate = LocalDate.of(2024, 1, 1);
+
+  @Test
+  public void testWeeklyPlanSplitsByPercent() {
+    Stocks a = TestFixtures.flatStock("A", firstDate, 40, 10);
+    Stocks b = TestFixtures.flatStock("B", firstDate, 40, 20);
+    Map<Stocks, Integer> percents = new HashMap<>();
+    percents.put(a, 50);
+    percents.put(b, 50);
+    DollarCostAveragingResult result = new DollarCostAveraging(100, Period.ofWeeks(1), percents)
+            .simulate(firstDate, firstDate.plusDays(28));
+    assertEquals(5, result.getInstallments());
+    assertEquals(10, result.getPurchases());
+    assertEquals(500, result.getInvested(), 1e-9);
+    assertEquals(500, result.getValue(), 1e-9);
+    assertEquals(0, result.getReturn(), 1e-12);
+    assertEquals(5, result.getHistory().size());
+    assertEquals(25, result.getHoldings().get(a), 1e-9);
+    assertEquals(12.5, result.getHoldings().get(b), 1e-9);
+    assertEquals(7.5, result.getHistory().get(firstDate.plusDays(14)).get(b), 1e-9);
+  }
+
+  @Test
+  public void testMissingDaysBuyOnTheNextTradingDay() {
+    Stocks a = TestFixtures.flatStock("A", firstDate, 40, 10, 7, 8);
+    DollarCostAveragingResult result = new DollarCostAveraging(50, Period.ofWeeks(1),
+            Map.of(a, 100)).simulate(firstDate, firstDate.plusDays(14));
+    assertTrue(result.getHistory().containsKey(firstDate.plusDays(9)));
+    assertEquals(3, result.getHistory().size());
+    assertEquals(15, result.getHoldings().get(a), 1e-9);
+  }
+
+  @Test
+  public void testMonthlyPlanKeepsTheDayOfMonth() {
+    List<StockInformation> prices = new ArrayList<>();
+    LocalDate start = LocalDate.of(2024, 1, 31);
+    for (int day = 200; day >= 0; day--) {
+      prices.add(new StockInformation(start.plusDays(day), 1, 1, 1, 1, 10));
+    }
+    Stocks a = new Stocks("A", prices);
+    DollarCostAveragingResult result = new DollarCostAveraging(10, Period.ofMonths(1),
+            Map.of(a, 100)).simulate(start, LocalDate.of(2024, 5, 31));
+    assertEquals(5, result.getInstallments());
+    assertTrue(result.getHistory().containsKey(LocalDate.of(2024, 2, 29)));
+    assertTrue(result.getHistory().containsKey(LocalDate.of(2024, 5, 31)));
+  }
+
+  @Test
+  public void testLateInstallmentsWithoutDataAreSkipped() {
+    Stocks a = TestFixtures.flatStock("A", firstDate, 10, 10);
+    DollarCostAveragingResult result = new DollarCostAveraging(10, Period.ofWeeks(1),
+            Map.of(a, 100)).simulate(firstDate, firstDate.plusDays(30));
+    assertEquals(5, result.getInstallments());
+    assertEquals(2, result.getPurchases());
+    assertEquals(20, result.getInvested(), 1e-9);
+  }
+
+  @Test
+  public void testSaveAsPortfolioWritesTheHistory() {
+    String name = "dollarCostAveragingTest";
+    Stocks a = TestFixtures.flatStock("GOOG", firstDate, 40, 10);
+    DollarCostAveragingResult result = new DollarCostAveraging(100, Period.ofWeeks(1),
+            Map.of(a, 100)).simulate(firstDate, firstDate.plusDays(14));
+    try {
+      result.saveAsPortfolio(name);
+      assertEquals(firstDate.plusDays(14), Portfolio.getMostRecentDates().get(name));
+      assertEquals(3, Portfolio.loadHistory(name).size());
+    } finally {
+      Portfolio.deletePortfolio(name);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPercentsMustAddUp() {
+    Stocks a = TestFixtures.flatStock("A", firstDate, 5, 10);
+    new DollarCostAveraging(100, Period.ofWeeks(1), Map.of(a, 90));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidFrequency() {
+    Stocks a = TestFixtures.flatStock("A", firstDate, 5, 10);
+    new DollarCostAveraging(100, Period.ZERO, Map.of(a, 100));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import model.HoldingsMap;
+import model.Stocks;
+import model.SymbolRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the HoldingsMap and SymbolRegistry classes.
+ */
+public class HoldingsMapTest {
+
+  //helper that makes a stock without prices.
+  private Stocks stock(String symbol) {
+    return new Stocks(symbol, new ArrayList<>());
+  }
+
+  @Test
+  public void testSymbolsKeepTheirNumbers() {
+    int id = SymbolRegistry.idOf("HOLDINGS-A");
+    assertEquals(id, SymbolRegistry.idOf("HOLDINGS-A"));
+    assertEquals(id, SymbolRegistry.find("HOLDINGS-A"));
+    assertEquals("HOLDINGS-A", SymbolRegistry.symbolOf(id));
+    assertEquals(-1, SymbolRegistry.find("HOLDINGS-NEVER-SEEN"));
+    assertTrue(SymbolRegistry.idOf("HOLDINGS-B") != id);
+  }
+
+  @Test
+  public void testPrimitiveUpdates() {
+    HoldingsMap holdings = new HoldingsMap();
+    Stocks a = stock("A");
+    assertEquals(0, holdings.quantity(a), 0);
+    assertFalse(holdings.holds(a));
+    assertEquals(5, holdings.add(a, 5), 0);
+    assertEquals(7.5, holdings.add(a, 2.5), 0);
+    assertTrue(holdings.holds(stock("A")));
+    holdings.set(a, 1);
+    assertEquals(1.0, holdings.get(stock("A")), 0);
+    assertTrue(holdings.delete(a));
+    assertFalse(holdings.delete(a));
+    assertTrue(holdings.isEmpty());
+  }
+
+  @Test
+  public void testMatchesHashMap() {
+    Random random = new Random(42);
+    List<Stocks> stocks = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      stocks.add(stock("H" + i));
+    }
+    HoldingsMap holdings = new HoldingsMap();
+    Map<Stocks, Double> expected = new HashMap<>();
+    for (int step = 0; step < 20000; step++) {
+      Stocks stock = stocks.get(random.nextInt(stocks.size()));
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(stock), holdings.remove(stock));
+      } else {
+        double quantity = random.nextInt(100);
+        assertEquals(expected.put(stock, quantity), holdings.put(stock, quantity));
+      }
+      assertEquals(expected.size(), holdings.size());
+    }
+    assertEquals(expected, holdings);
+    assertEquals(holdings, expected);
+    for (int position = 0; position < holdings.size(); position++) {
+      assertEquals(expected.get(holdings.stockAt(position)), holdings.quantityAt(position), 0);
+    }
+  }
+
+  @Test
+  public void testRemovingWhileIterating() {
+    HoldingsMap holdings = new HoldingsMap();
+    for (int i = 0; i < 50; i++) {
+      holdings.set(stock("R" + i), i);
+    }
+    Iterator<Map.Entry<Stocks, Double>> iterator = holdings.entrySet().iterator();
+    int seen = 0;
+    while (iterator.hasNext()) {
+      Map.Entry<Stocks, Double> holding = iterator.next();
+      seen++;
+      if (holding.getValue() % 2 == 0) {
+        iterator.remove();
+      } else {
+        holding.setValue(holding.getValue() * 10);
+      }
+    }
+    assertEquals(50, seen);
+    assertEquals(25, holdings.size());
+    assertEquals(10.0, holdings.get(stock("R1")), 0);
+    assertNull(holdings.get(stock("R2")));
+  }
+
+  @Test
+  public void testCopiesAnotherMap() {
+    Map<Stocks, Double> holdings = Map.of(stock("A"), 2.0, stock("B"), 3.0);
+    assertEquals(holdings, new HoldingsMap(holdings));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import model.HouseholdValuation;
+import model.HouseholdValuator;
+import model.Portfolio;
+import model.Stocks;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for testing the HouseholdValuator and HouseholdValuation classes.
+ */
+public class HouseholdValuatorTest {
+  private final LocalDate firstDate = LocalDate.of(2023, 1, 2);
+  private final TestPortfolios portfolios = new TestPortfolios();
+  private final List<LocalDate> dates = new ArrayList<>();
+
+  //helper that makes a portfolio that buys some of the stocks on a few dates.
+  private Portfolio portfolio(String name, List<Stocks> stocks, Random random) {
+    Portfolio portfolio = portfolios.create(name);
+    for (int trade = 0; trade < 6; trade++) {
+      LocalDate date = firstDate.plusDays(trade * 10 + random.nextInt(3));
+      dates.add(date);
+      portfolio.addStock(stocks.get(random.nextInt(stocks.size())), 1 + random.nextInt(9), date);
+    }
+    return portfolio;
+  }
+
+  @After
+  public void tearDown() {
+    portfolios.deleteAll();
+  }
+
+  @Test
+  public void testCombinedValueIsTheSumOfThePortfolios() {
+    Random random = new Random(9);
+    List<Stocks> stocks = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      stocks.add(TestFixtures.weekdayWalk("HH" + i, random, firstDate, 90,
+              20 + random.nextInt(50)));
+    }
+    Portfolio first = portfolio("householdFirst", stocks, random);
+    Portfolio second = portfolio("householdSecond", stocks, random);
+    Portfolio third = portfolio("householdThird", stocks.subList(0, 2), random);
+    LocalDate start = firstDate.minusDays(3);
+    LocalDate end = firstDate.plusDays(100);
+
+    HouseholdValuation valuation = new HouseholdValuator(List.of(first, second, third))
+            .value(start, end);
+
+    double[] expected = new double[104];
+    for (Portfolio portfolio : List.of(first, second, third)) {
+      double[] values = portfolio.dailyValues(start, end);
+      assertArrayEquals(values, valuation.getDailyValues(portfolio.getName()), 1e-9);
+      for (int day = 0; day < values.length; day++) {
+        expected[day] += values[day];
+      }
+    }
+    assertArrayEquals(expected, valuation.getDailyValues(), 1e-9);
+    assertEquals(end, valuation.getEndDate());
+
+    LocalDate middle = firstDate.plusDays(40);
+    Map<String, Double> breakdown = valuation.getBreakdown(middle);
+    assertEquals(List.of("householdFirst", "householdSecond", "householdThird"),
+            new ArrayList<>(breakdown.keySet()));
+    assertEquals(valuation.getValue(middle), breakdown.values().stream()
+            .mapToDouble(Double::doubleValue).sum(), 1e-9);
+  }
+
+  @Test
+  public void testCombinedComposition() {
+    Random random = new Random(3);
+    Stocks shared = TestFixtures.weekdayWalk("HHS", random, firstDate, 90, 20 + random.nextInt(50));
+    Portfolio first = portfolios.create("householdShareA");
+    Portfolio second = portfolios.create("householdShareB");
+    dates.add(firstDate);
+    first.addStock(shared, 3, firstDate);
+    second.addStock(shared, 4, firstDate);
+
+    HouseholdValuation valuation = new HouseholdValuator(List.of(first, second))
+            .value(firstDate, firstDate.plusDays(5));
+
+    assertEquals(Map.of("HHS", 7.0), valuation.getCombinedComposition(firstDate));
+    assertEquals(7 * shared.getStockInformation().get(shared.getStockInformation().size() - 1)
+            .getClose(), valuation.getValue(firstDate), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNamesMustBeDifferent() {
+    new HouseholdValuator(List.of(new Portfolio("same"), new Portfolio("same")));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+import java.util.Random;
+
+import model.IndicatorKernels;
+
+/**
+ * A class that times the path of the window sums in use against the scalar path,
+ * on a long synthetic series.
+ * It is run by hand with its main method and is not part of the tests.
+ */
+public class IndicatorKernelsBenchmark {
+  private static final int BARS = 5_000_000;
+  private static final int WINDOW = 10;
+  private static final int ROUNDS = 10;
+
+  /**
+   * This method runs the benchmark and prints the time of each way of adding up.
+   *
+   * @param args not used.
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    double[] values = new double[BARS];
+    double price = 100;
+    for (int i = 0; i < BARS; i++) {
+      price *= 1 + (random.nextDouble() - 0.5) * 0.04;
+      values[i] = price;
+    }
+    System.out.printf("%d bars, window of %d days, best of %d rounds%n", BARS, WINDOW, ROUNDS);
+    System.out.println("path in use: " + (IndicatorKernels.usesLanes() ? "lanes" : "scalar"));
+    long scalar = time(values, false);
+    long inUse = time(values, true);
+    System.out.printf("window sums  scalar %8.2f ms   in use %8.2f ms   speedup %.2fx%n",
+            scalar / 1e6, inUse / 1e6, (double) scalar / inUse);
+  }
+
+  //helper method to find the best time of a path of the window sums over the rounds.
+  private static long time(double[] values, boolean inUse) {
+    double[] out = new double[values.length];
+    long best = Long.MAX_VALUE;
+    long sink = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      if (inUse) {
+        IndicatorKernels.windowSums(values, 0, values.length - 1, WINDOW, out);
+      } else {
+        IndicatorKernels.scalarWindowSums(values, 0, values.length - 1, WINDOW, out);
+      }
+      best = Math.min(best, System.nanoTime() - start);
+      sink += Double.doubleToRawLongBits(out[round]);
+    }
+    if (sink == 42) {
+      System.out.println();
+    }
+    return best;
+  }
+}
\ No newline at end of file
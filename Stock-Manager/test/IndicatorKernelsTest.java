@@ -0,0 +1,106 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import model.IndicatorKernels;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class that checks the indicator kernels, the window sums of both paths bit for bit
+ * against adding up every window by itself.
+ */
+public class IndicatorKernelsTest {
+
+  //helper that makes a random walk of prices.
+  private double[] prices(int size, long seed) {
+    Random random = new Random(seed);
+    double[] values = new double[size];
+    double price = 100;
+    for (int i = 0; i < size; i++) {
+      price *= 1 + (random.nextDouble() - 0.5) * 0.04;
+      values[i] = price;
+    }
+    return values;
+  }
+
+  //helper that turns doubles into their bits, so arrays are compared bit for bit.
+  private long[] bits(double[] values) {
+    long[] bits = new long[values.length];
+    for (int i = 0; i < values.length; i++) {
+      bits[i] = Double.doubleToRawLongBits(values[i]);
+    }
+    return bits;
+  }
+
+  @Test
+  public void testWindowSumsMatchBitForBit() {
+    double[] values = prices(5000, 1);
+    int[][] ranges = {{0, 4999}, {0, 3}, {3, 20}, {1500, 4999}, {10, 10}};
+    for (int window : new int[]{1, 2, 5, 16, 17, 50, 200}) {
+      for (int[] range : ranges) {
+        double[] expected = new double[range[1] - range[0] + 1];
+        for (int position = range[0]; position <= range[1]; position++) {
+          double sum = 0;
+          for (int i = position; i >= Math.max(0, position - window + 1); i--) {
+            sum += values[i];
+          }
+          expected[position - range[0]] = sum;
+        }
+        double[] actual = new double[expected.length];
+        IndicatorKernels.windowSums(values, range[0], range[1], window, actual);
+        assertArrayEquals(bits(expected), bits(actual));
+        double[] scalar = new double[expected.length];
+        IndicatorKernels.scalarWindowSums(values, range[0], range[1], window, scalar);
+        assertArrayEquals(bits(expected), bits(scalar));
+      }
+    }
+  }
+
+  @Test
+  public void testLanePathIsPickedUnlessScalarIsAsked() {
+    boolean scalar = "scalar".equalsIgnoreCase(
+            System.getProperty(IndicatorKernels.KERNELS_PROPERTY));
+    assertEquals(!scalar, IndicatorKernels.usesLanes());
+  }
+
+  @Test
+  public void testReturns() {
+    double[] values = prices(3000, 2);
+    double[] actual = new double[2999];
+    IndicatorKernels.returns(values, 1, 2999, actual);
+    for (int i = 0; i < actual.length; i++) {
+      assertEquals(values[i + 1] / values[i] - 1, actual[i], 0);
+    }
+  }
+
+  @Test
+  public void testAbove() {
+    double[] values = {1, 5, 3, 8, 2};
+    double[] thresholds = {4, 4, 4, 4};
+    boolean[] above = new boolean[4];
+    assertEquals(2, IndicatorKernels.above(values, 1, thresholds, 4, above));
+    assertTrue(above[0]);
+    assertFalse(above[1]);
+    assertTrue(above[2]);
+    assertFalse(above[3]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReturnsNeedPreviousValue() {
+    IndicatorKernels.returns(new double[]{1, 2}, 0, 1, new double[2]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWindowMustBePositive() {
+    IndicatorKernels.windowSums(new double[]{1, 2}, 0, 1, 0, new double[2]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testScalarWindowMustBePositive() {
+    IndicatorKernels.scalarWindowSums(new double[]{1, 2}, 0, 1, 0, new double[2]);
+  }
+}
\ No newline at end of file
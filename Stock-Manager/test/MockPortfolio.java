@@ -47,6 +47,11 @@ public class MockPortfolio extends Portfolio implements IPortfolio {
     log.append(String.format("rebalancePortfolio(%s, %s)\n", percentages, date));
   }
 
+  @Override
+  public void rebalancePortfolio(Map<String, Integer> percentages, LocalDate date) {
+    log.append(String.format("rebalancePortfolio(%s, %s)\n", percentages, date));
+  }
+
   @Override
   public Map<Stocks, Double> distributionOfPortfolio(LocalDate date) {
     log.append(String.format("distributionOfPortfolio(%s)\n", date));
@@ -155,6 +155,21 @@ public class MockStocksGUIView extends GUIStocksView {
             portfolioName, date, totalValue));
   }
 
+  /**
+   * Logs the displayPortfolioCorrelation method call and parameters.
+   *
+   * @param portfolioName the name of the portfolio.
+   * @param startDate     the start date of the range.
+   * @param endDate       the end date of the range.
+   * @param correlation   the correlation table of the holdings.
+   */
+  @Override
+  public void displayPortfolioCorrelation(String portfolioName, LocalDate startDate,
+                                          LocalDate endDate, String correlation) {
+    log.append(String.format("displayPortfolioCorrelation(%s, %s, %s, %s)\n",
+            portfolioName, startDate, endDate, correlation));
+  }
+
   /**
    * Logs the displayError method call and parameter.
    *
@@ -201,6 +201,32 @@ public class MockStocksView extends StocksView {
             portfolioName, date));
   }
 
+  /**
+   * this method displays the correlation of the holdings of a portfolio over a date range.
+   * @param portfolioName the name of the portfolio.
+   * @param startDate the start date of the range.
+   * @param endDate the end date of the range.
+   * @param correlation the correlation table of the holdings.
+   */
+  @Override
+  public void displayPortfolioCorrelation(String portfolioName, LocalDate startDate,
+                                          LocalDate endDate, String correlation) {
+    log.append(String.format("displayPortfolioCorrelation(%s, %s, %s, %s)\n",
+            portfolioName, startDate, endDate, correlation));
+  }
+
+  /**
+   * this method displays the projected value of a portfolio as percentile bands.
+   *
+   * @param portfolioName the name of the portfolio.
+   * @param days          the number of trading days projected.
+   * @param bands         the percentile bands of the projected value.
+   */
+  @Override
+  public void displayMonteCarlo(String portfolioName, int days, String bands) {
+    log.append(String.format("displayMonteCarlo(%s, %d, %s)\n", portfolioName, days, bands));
+  }
+
   /**
    * this method displays the performance of a portfolio over a given date range.
    *
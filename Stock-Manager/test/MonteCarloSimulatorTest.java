@@ -0,0 +1,101 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import model.MonteCarloResult;
+import model.MonteCarloSimulator;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the MonteCarloSimulator and MonteCarloResult classes.
+ */
+public class MonteCarloSimulatorTest {
+  private final LocalDate lastDate = LocalDate.of(2024, 6, 28);
+
+  //helper that makes holdings of a few random walks.
+  private Map<Stocks, Double> holdings() {
+    Random random = new Random(5);
+    Map<Stocks, Double> holdings = new HashMap<>();
+    for (int i = 0; i < 4; i++) {
+      double[] closes = TestFixtures.walk(random, 300);
+      holdings.put(TestFixtures.stockUntil("T" + i, lastDate, closes), 10.0 + i);
+    }
+    return holdings;
+  }
+
+  @Test
+  public void testSameSeedGivesSameBands() {
+    MonteCarloResult first = new MonteCarloSimulator(20000, 60, 7)
+            .simulate(holdings(), lastDate.minusDays(299), lastDate);
+    MonteCarloResult second = new MonteCarloSimulator(20000, 60, 7)
+            .simulate(holdings(), lastDate.minusDays(299), lastDate);
+    assertEquals(first.formatBands(), second.formatBands());
+    for (int checkpoint = 0; checkpoint < first.getCheckpoints(); checkpoint++) {
+      for (int p = 0; p < first.getPercentiles().length; p++) {
+        assertEquals(first.getValue(checkpoint, p), second.getValue(checkpoint, p), 0);
+      }
+    }
+    assertEquals(first.getLossProbability(), second.getLossProbability(), 0);
+  }
+
+  @Test
+  public void testBandsAreOrderedAndWiden() {
+    MonteCarloResult result = new MonteCarloSimulator(10000, 100, 3)
+            .simulate(holdings(), lastDate.minusDays(299), lastDate);
+    assertEquals(10, result.getCheckpoints());
+    assertEquals(10, result.getStep(0));
+    assertEquals(100, result.getStep(9));
+    int percentiles = result.getPercentiles().length;
+    for (int checkpoint = 0; checkpoint < result.getCheckpoints(); checkpoint++) {
+      for (int p = 1; p < percentiles; p++) {
+        assertTrue(result.getValue(checkpoint, p) >= result.getValue(checkpoint, p - 1));
+      }
+    }
+    double firstWidth = result.getValue(0, percentiles - 1) - result.getValue(0, 0);
+    double lastWidth = result.getValue(9, percentiles - 1) - result.getValue(9, 0);
+    assertTrue(lastWidth > firstWidth * 2);
+    double median = result.getValue(9, percentiles / 2);
+    assertTrue(median > result.getStartValue() * 0.8 && median < result.getStartValue() * 1.2);
+  }
+
+  @Test
+  public void testSteadyReturnsGiveOnePath() {
+    double[] closes = new double[50];
+    for (int day = 0; day < closes.length; day++) {
+      closes[day] = 100 * Math.pow(1.01, day);
+    }
+    Map<Stocks, Double> holdings = new HashMap<>();
+    holdings.put(TestFixtures.stockUntil("UP", lastDate, closes), 2.0);
+    MonteCarloResult result = new MonteCarloSimulator(3000, 20, 1)
+            .simulate(holdings, lastDate.minusDays(49), lastDate);
+    assertEquals(2 * closes[49], result.getStartValue(), 1e-9);
+    double expected = result.getStartValue() * Math.pow(1.01, 20);
+    for (int p = 0; p < result.getPercentiles().length; p++) {
+      assertEquals(expected, result.getValue(result.getCheckpoints() - 1, p), expected * 0.005);
+    }
+    assertEquals(0, result.getLossProbability(), 0);
+    assertTrue(result.formatBands().contains("3000 paths"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoHoldings() {
+    new MonteCarloSimulator(100, 10, 1).simulate(new HashMap<>(), lastDate.minusDays(10),
+            lastDate);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotEnoughHistory() {
+    new MonteCarloSimulator(100, 10, 1).simulate(holdings(), lastDate, lastDate);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPaths() {
+    new MonteCarloSimulator(0, 10, 1);
+  }
+}
\ No newline at end of file
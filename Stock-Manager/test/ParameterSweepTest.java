@@ -0,0 +1,141 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.BacktestResult;
+import model.Backtester;
+import model.MovingAverageCrossStrategy;
+import model.ParameterSweep;
+import model.StockInformation;
+import model.Stocks;
+import model.SweepListener;
+import model.SweepResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the ParameterSweep class.
+ */
+public class ParameterSweepTest {
+  private final LocalDate lastDate = LocalDate.of(2024, 6, 28);
+  private final LocalDate firstDate = lastDate.minusDays(999);
+
+  //helper that makes 1000 days of prices, newest first, moving in a wave of the given period.
+  private Stocks stock(String symbol, double period) {
+    List<StockInformation> prices = new ArrayList<>();
+    for (int day = 0; day < 1000; day++) {
+      double close = 100 + 10 * Math.sin(day / period) + day * 0.01;
+      prices.add(new StockInformation(lastDate.minusDays(day), close, close, close, close, 10));
+    }
+    return new Stocks(symbol, prices);
+  }
+
+  //helper that makes the parameters from 5 to the given number.
+  private int[] parameters(int last) {
+    int[] parameters = new int[last - 4];
+    for (int i = 0; i < parameters.length; i++) {
+      parameters[i] = i + 5;
+    }
+    return parameters;
+  }
+
+  @Test
+  public void testEveryCombinationMatchesSingleRun() {
+    List<Stocks> stocks = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      stocks.add(stock("T" + i, 5 + i * 3));
+    }
+    int[] parameters = parameters(60);
+    Map<String, SweepResult> results = new ConcurrentHashMap<>();
+    AtomicInteger lastProgress = new AtomicInteger();
+    ParameterSweep sweep = new ParameterSweep(stocks, parameters,
+            MovingAverageCrossStrategy::new, firstDate, lastDate);
+    int completed = sweep.run(new Backtester(10000), new SweepListener() {
+      @Override
+      public void onResult(SweepResult result) {
+        results.put(result.getSymbol() + "/" + result.getParameter(), result);
+      }
+
+      @Override
+      public void onProgress(int done, int total) {
+        lastProgress.accumulateAndGet(done, Math::max);
+        assertEquals(10 * 56, total);
+      }
+    });
+    assertEquals(560, completed);
+    assertEquals(560, results.size());
+    assertEquals(560, lastProgress.get());
+
+    BacktestResult single = new Backtester(10000).run(stocks.get(3),
+            new MovingAverageCrossStrategy(20), firstDate, lastDate);
+    SweepResult swept = results.get("T3/20");
+    assertEquals(single.getReturn(), swept.getReturn(), 0);
+    assertEquals(single.getMaxDrawdown(), swept.getMaxDrawdown(), 0);
+    assertEquals(single.getTradeCount(), swept.getTradeCount());
+  }
+
+  @Test
+  public void testCancelStopsTheSweep() {
+    List<Stocks> stocks = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      stocks.add(stock("T" + i, 7));
+    }
+    AtomicInteger results = new AtomicInteger();
+    ParameterSweep sweep = new ParameterSweep(stocks, parameters(250),
+            MovingAverageCrossStrategy::new, firstDate, lastDate);
+    int completed = sweep.run(new Backtester(10000), new SweepListener() {
+      @Override
+      public void onResult(SweepResult result) {
+        if (results.incrementAndGet() == 50) {
+          sweep.cancel();
+        }
+      }
+    }, new ForkJoinPool(2));
+    assertTrue(sweep.isCancelled());
+    assertTrue(completed < sweep.getTotal());
+    assertEquals(completed, results.get());
+  }
+
+  @Test
+  public void testStocksWithoutDataAreLeftOut() {
+    List<Stocks> stocks = List.of(stock("A", 5));
+    AtomicInteger results = new AtomicInteger();
+    int completed = new ParameterSweep(stocks, new int[]{5, 10},
+            MovingAverageCrossStrategy::new, lastDate.plusDays(1), lastDate.plusDays(10))
+            .run(new Backtester(100), result -> results.incrementAndGet());
+    assertEquals(2, completed);
+    assertEquals(0, results.get());
+  }
+
+  @Test
+  public void testSweepRunsOnce() {
+    ParameterSweep sweep = new ParameterSweep(List.of(stock("A", 5)), new int[]{5, 10},
+            MovingAverageCrossStrategy::new, firstDate, lastDate);
+    assertEquals(2, sweep.run(new Backtester(100), result -> { }));
+    assertThrows(IllegalStateException.class,
+            () -> sweep.run(new Backtester(100), result -> { }));
+    assertEquals(2, sweep.getCompleted());
+  }
+
+  @Test
+  public void testErrorsOfARunAreNotLeftOut() {
+    List<Stocks> stocks = List.of(stock("A", 5));
+    assertThrows(IllegalArgumentException.class, () -> new ParameterSweep(stocks,
+            new int[]{5, 10}, parameter -> {
+              throw new IllegalArgumentException("Invalid parameter.");
+            }, firstDate, lastDate).run(new Backtester(100), result -> { }));
+    assertThrows(IllegalArgumentException.class, () -> new ParameterSweep(stocks,
+            new int[]{5, 10}, MovingAverageCrossStrategy::new, firstDate, lastDate)
+            .run(new Backtester(100), result -> {
+              throw new IllegalArgumentException("Sink failed.");
+            }));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import model.LotTrade;
+import model.Portfolio;
+import model.PortfolioJournal;
+import model.Stocks;
+import model.TaxLots;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the PortfolioJournal class.
+ */
+public class PortfolioJournalTest {
+  private final LocalDate firstDate = LocalDate.of(2023, 9, 4);
+  private final List<Path> files = new ArrayList<>();
+
+  //helper that makes a journal in a new temporary file.
+  private PortfolioJournal journal() throws IOException {
+    Path file = Files.createTempFile("portfolio", ".journal");
+    Files.delete(file);
+    files.add(file);
+    return new PortfolioJournal(file);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    for (Path file : files) {
+      Files.deleteIfExists(file);
+    }
+    Portfolio.deletePortfolio("portfolioJournalTest");
+  }
+
+  @Test
+  public void testChangesAreReplayed() throws IOException {
+    PortfolioJournal journal = journal();
+    assertFalse(journal.exists());
+    assertTrue(journal.replay().isEmpty());
+
+    journal.append(firstDate, Map.of("A", 10.0));
+    journal.append(firstDate.plusDays(3), Map.of("B", 4.0));
+    journal.append(firstDate.plusDays(3), Map.of("A", 0.0));
+
+    NavigableMap<LocalDate, Map<String, Double>> changes = journal.replay();
+    assertEquals(Map.of("A", 10.0), changes.get(firstDate));
+    assertEquals(Map.of("B", 4.0, "A", 0.0), changes.get(firstDate.plusDays(3)));
+    assertEquals(firstDate.plusDays(3), journal.getLatestDate());
+    assertEquals(3, Files.readAllLines(journal.getFile()).size());
+  }
+
+  @Test
+  public void testTradesOfLotsAreReplayedInOrder() throws IOException {
+    PortfolioJournal journal = journal();
+    NavigableMap<LocalDate, Map<String, Double>> changes = new TreeMap<>();
+    changes.put(firstDate, Map.of("B", 5.0, "A", 10.0));
+    changes.put(firstDate.plusDays(1), Map.of("B", 3.0, "A", 4.0));
+    journal.append(changes, List.of(LotTrade.purchase(firstDate, "B", 5, 30),
+            LotTrade.purchase(firstDate, "A", 10, 10.5),
+            LotTrade.sale(firstDate.plusDays(1), "A", 6, 12, TaxLots.Policy.LIFO),
+            LotTrade.sale(firstDate.plusDays(1), "B", 2, 31, TaxLots.Policy.SPECIFIC, 1)));
+
+    assertEquals(changes, journal.replay());
+    List<LotTrade> trades = journal.replayLots();
+    assertEquals(4, trades.size());
+    assertEquals("B", trades.get(0).getSymbol());
+    assertTrue(trades.get(1).isPurchase());
+    assertEquals(10.5, trades.get(1).getPrice(), 0);
+    assertEquals(TaxLots.Policy.LIFO, trades.get(2).getPolicy());
+    assertEquals(6, trades.get(2).getQuantity(), 0);
+    assertEquals(TaxLots.Policy.SPECIFIC, trades.get(3).getPolicy());
+    assertArrayEquals(new long[]{1}, trades.get(3).getLotIds());
+  }
+
+  @Test
+  public void testPartlyWrittenLineIsLeftOut() throws IOException {
+    PortfolioJournal journal = journal();
+    Files.writeString(journal.getFile(), firstDate + ",A,10.0\n" + firstDate.plusDays(1)
+            + ",A,1", StandardCharsets.UTF_8);
+    assertEquals(1, journal.replay().size());
+
+    journal.append(firstDate.plusDays(2), Map.of("B", 3.0));
+    NavigableMap<LocalDate, Map<String, Double>> changes = journal.replay();
+    assertEquals(2, changes.size());
+    assertEquals(Map.of("B", 3.0), changes.get(firstDate.plusDays(2)));
+  }
+
+  @Test
+  public void testSavesFromManyThreadsAreAllKept() throws Exception {
+    PortfolioJournal journal = journal();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      String symbol = "T" + t;
+      threads.add(new Thread(() -> {
+        for (int day = 0; day < 100; day++) {
+          journal.append(firstDate.plusDays(day), Map.of(symbol, (double) day));
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    NavigableMap<LocalDate, Map<String, Double>> changes = journal.replay();
+    assertEquals(100, changes.size());
+    for (int day = 0; day < 100; day++) {
+      assertEquals(8, changes.get(firstDate.plusDays(day)).size());
+      assertEquals(day, changes.get(firstDate.plusDays(day)).get("T3"), 0);
+    }
+    assertEquals(800, Files.readAllLines(journal.getFile()).size());
+  }
+
+  @Test
+  public void testPortfolioIsLoadedFromItsJournal() {
+    Stocks a = TestFixtures.flatStock("JRA", firstDate, 10, 10);
+    Stocks b = TestFixtures.flatStock("JRB", firstDate, 10, 10);
+    Portfolio portfolio = new Portfolio("portfolioJournalTest");
+    portfolio.addStock(a, 10, firstDate);
+    portfolio.addStock(b, 4, firstDate.plusDays(2));
+    portfolio.removeStock(a, 10, firstDate.plusDays(5));
+
+    assertFalse(new File("res/portfolios/" + firstDate + "/portfolioJournalTest.xml").exists());
+    NavigableMap<LocalDate, Map<Stocks, Double>> history =
+            Portfolio.loadHistory("portfolioJournalTest");
+    assertEquals(3, history.size());
+    assertEquals(Map.of(a, 10.0), history.get(firstDate));
+    assertEquals(Map.of(a, 10.0, b, 4.0), history.get(firstDate.plusDays(2)));
+    assertEquals(Map.of(b, 4.0), history.get(firstDate.plusDays(5)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSymbolCannotHaveCommas() throws IOException {
+    journal().append(firstDate, Map.of("A,B", 1.0));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import model.PortfolioManifest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the PortfolioManifest class.
+ */
+public class PortfolioManifestTest {
+  private final LocalDate firstDate = LocalDate.of(2024, 2, 1);
+  private Path file;
+
+  //helper that makes a manifest in a new temporary file.
+  private PortfolioManifest manifest() throws IOException {
+    file = Files.createTempFile("portfolios", ".manifest");
+    Files.delete(file);
+    return new PortfolioManifest(file);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (file != null) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testSavesAreReadBack() throws IOException {
+    PortfolioManifest manifest = manifest();
+    assertFalse(manifest.load());
+    manifest.record("growth", firstDate.plusDays(3));
+    manifest.record("my income, 2024", firstDate);
+    manifest.record("growth", List.of(firstDate.plusDays(1), firstDate.plusDays(3)));
+
+    PortfolioManifest read = new PortfolioManifest(file);
+    assertTrue(read.load());
+    assertEquals(List.of("growth", "my income, 2024"), read.names());
+    assertEquals(Set.of(firstDate.plusDays(1), firstDate.plusDays(3)), read.dates("growth"));
+    assertEquals(firstDate.plusDays(3), read.latestDate("growth"));
+    assertEquals(firstDate, read.latestDate("my income, 2024"));
+    assertNull(read.latestDate("other"));
+    assertTrue(read.dates("other").isEmpty());
+    assertEquals(2, Files.readAllLines(file).size());
+  }
+
+  @Test
+  public void testOnlyNewDatesAreWritten() throws IOException {
+    PortfolioManifest manifest = manifest();
+    manifest.record("growth", firstDate);
+    Files.delete(file);
+    manifest.record("growth", firstDate);
+    assertFalse(Files.exists(file));
+    manifest.record("growth", firstDate.plusDays(1));
+    assertTrue(Files.exists(file));
+  }
+
+  @Test
+  public void testNewDatesAreAddedToTheEnd() throws IOException {
+    PortfolioManifest manifest = manifest();
+    manifest.record("growth", firstDate);
+    manifest.record("income", firstDate);
+    String written = Files.readString(file, StandardCharsets.UTF_8);
+    manifest.record("growth", List.of(firstDate.plusDays(2), firstDate.plusDays(1)));
+    String appended = Files.readString(file, StandardCharsets.UTF_8);
+    assertTrue(appended.startsWith(written));
+    assertEquals("2024-02-02,2024-02-03\tgrowth\n", appended.substring(written.length()));
+
+    PortfolioManifest read = new PortfolioManifest(file);
+    assertTrue(read.load());
+    assertEquals(List.of("growth", "income"), read.names());
+    assertEquals(Set.of(firstDate, firstDate.plusDays(1), firstDate.plusDays(2)),
+            read.dates("growth"));
+    assertEquals(2, Files.readAllLines(file).size());
+  }
+
+  @Test
+  public void testEmptyFileIsNotRead() throws IOException {
+    PortfolioManifest manifest = manifest();
+    Files.writeString(file, "", StandardCharsets.UTF_8);
+    assertFalse(manifest.load());
+  }
+
+  @Test
+  public void testPartlyAddedLastLineIsNotRead() throws IOException {
+    PortfolioManifest manifest = manifest();
+    manifest.record("growth", firstDate);
+    Files.writeString(file, "2024-02-02\tfo", StandardCharsets.UTF_8,
+            StandardOpenOption.APPEND);
+    PortfolioManifest read = new PortfolioManifest(file);
+    assertFalse(read.load());
+    assertTrue(read.names().isEmpty());
+  }
+
+  @Test
+  public void testRebuildAndRemove() throws IOException {
+    PortfolioManifest manifest = manifest();
+    manifest.record("old", firstDate);
+    Map<String, List<LocalDate>> saved = new LinkedHashMap<>();
+    saved.put("b", List.of(firstDate.plusDays(5), firstDate));
+    saved.put("a", List.of(firstDate.plusDays(2)));
+    manifest.rebuild(saved);
+    assertEquals(List.of("b", "a"), manifest.names());
+    assertEquals(firstDate.plusDays(5), manifest.latestDate("b"));
+
+    assertTrue(manifest.remove("b"));
+    assertFalse(manifest.remove("b"));
+    PortfolioManifest read = new PortfolioManifest(file);
+    assertTrue(read.load());
+    assertEquals(List.of("a"), read.names());
+  }
+
+  @Test
+  public void testDamagedFileIsNotRead() throws IOException {
+    PortfolioManifest manifest = manifest();
+    manifest.record("growth", firstDate);
+    Files.writeString(file, "2024-02-01\tgrowth\n2024-02-xx\tbroken\n",
+            StandardCharsets.UTF_8);
+    PortfolioManifest read = new PortfolioManifest(file);
+    assertFalse(read.load());
+    assertTrue(read.names().isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> manifest.record("two\nlines", firstDate));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.Portfolio;
+import model.Scenario;
+import model.Stocks;
+import model.Transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the rebalance of a Portfolio by ticker symbol.
+ */
+public class PortfolioRebalanceTest {
+  private final LocalDate buyDate = LocalDate.of(2023, 6, 1);
+  private final LocalDate rebalanceDate = LocalDate.of(2023, 6, 5);
+  private final TestPortfolios portfolios = new TestPortfolios();
+
+  @After
+  public void tearDown() {
+    portfolios.deleteAll();
+  }
+
+  @Test
+  public void testWeightsAreMatchedBySymbol() {
+    Portfolio portfolio = portfolios.create("rebalanceBySymbol");
+    Stocks a = TestFixtures.stockFrom("A", buyDate, 10, 20);
+    Stocks b = TestFixtures.stockFrom("B", buyDate, 50, 25);
+    portfolio.addStock(a, 10, buyDate);
+    portfolio.addStock(b, 4, buyDate);
+    Map<String, Integer> percents = new HashMap<>();
+    percents.put("B", 75);
+    percents.put("A", 25);
+
+    portfolio.rebalancePortfolio(percents, rebalanceDate);
+
+    assertEquals(75, portfolio.getStocks().get(a) * 20, 1e-9);
+    assertEquals(225, portfolio.getStocks().get(b) * 25, 1e-9);
+    List<Transaction> transactions = portfolio.getTransactionLog().getTransactions();
+    assertEquals(4, transactions.size());
+    assertEquals(Transaction.Type.REBALANCE, transactions.get(3).getType());
+    assertEquals(300, portfolio.calculateTotalValue(buyDate.plusDays(1)), 1e-9);
+    assertTrue(TestFixtures.savedInJournal("rebalanceBySymbol", rebalanceDate));
+  }
+
+  @Test
+  public void testFailedRebalanceChangesNothing() {
+    Portfolio portfolio = portfolios.create("rebalanceFails");
+    Stocks a = TestFixtures.stockFrom("A", buyDate, 10, 20);
+    Stocks b = TestFixtures.stockFrom("B", buyDate, 50, 25);
+    portfolio.addStock(a, 10, buyDate);
+    portfolio.addStock(b, 4, buyDate);
+    assertThrows(IllegalArgumentException.class,
+        () -> portfolio.rebalancePortfolio(Map.of("A", 50, "C", 50), rebalanceDate));
+
+    assertEquals(10, portfolio.getStocks().get(a), 0);
+    assertEquals(4, portfolio.getStocks().get(b), 0);
+    assertEquals(2, portfolio.getTransactionLog().size());
+    assertFalse(TestFixtures.savedInJournal("rebalanceFails", rebalanceDate));
+  }
+
+  @Test
+  public void testZeroPercentSellsTheStock() {
+    Portfolio portfolio = portfolios.create("rebalanceSellOut");
+    Stocks a = TestFixtures.stockFrom("A", buyDate, 10, 20);
+    Stocks b = TestFixtures.stockFrom("B", buyDate, 50, 25);
+    portfolio.addStock(a, 10, buyDate);
+    portfolio.addStock(b, 4, buyDate);
+
+    portfolio.rebalancePortfolio(Map.of("A", 100, "B", 0), rebalanceDate);
+
+    assertEquals(1, portfolio.getStocks().size());
+    assertEquals(15, portfolio.getStocks().get(a), 1e-9);
+  }
+
+  @Test
+  public void testManyHoldingsAreRebalancedTogether() {
+    Portfolio portfolio = portfolios.create("rebalanceMany");
+    Map<String, Integer> percents = new HashMap<>();
+    List<Stocks> stocks = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      Stocks stock = TestFixtures.stockFrom("S" + i, buyDate, 10 + i, 20 + i);
+      stocks.add(stock);
+      portfolio.addStock(stock, 1 + i % 7, buyDate);
+      percents.put(stock.getSymbol(), i < 100 ? 1 : 0);
+    }
+    double total = portfolio.calculateTotalValue(buyDate.plusDays(1));
+
+    portfolio.rebalancePortfolio(percents, rebalanceDate);
+
+    assertEquals(100, portfolio.getStocks().size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(total / 100, portfolio.getStocks().get(stocks.get(i)) * (20 + i), 1e-6);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPercentsMustAddUpTo100() {
+    Portfolio portfolio = portfolios.create("rebalanceSum");
+    portfolio.addStock(TestFixtures.stockFrom("A", buyDate, 10, 20), 10, buyDate);
+    portfolio.rebalancePortfolio(Map.of("A", 90), rebalanceDate);
+  }
+
+  @Test
+  public void testPercentsInOrderMustMatchTheHoldings() {
+    Portfolio portfolio = portfolios.create("rebalanceInOrder");
+    portfolio.addStock(TestFixtures.stockFrom("A", buyDate, 10, 20), 10, buyDate);
+    assertThrows(IllegalArgumentException.class,
+        () -> portfolio.rebalancePortfolio(List.of(50, 50), rebalanceDate));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Scenario(portfolio).rebalancePortfolio(List.of(50, 50), rebalanceDate));
+    assertEquals(1, portfolio.getTransactionLog().size());
+  }
+}
\ No newline at end of file
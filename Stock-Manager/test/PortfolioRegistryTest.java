@@ -0,0 +1,198 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.Portfolio;
+import model.PortfolioRegistry;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the PortfolioRegistry class.
+ */
+public class PortfolioRegistryTest {
+  private final LocalDate date = LocalDate.of(2024, 3, 1);
+
+  @Test
+  public void testCreateRenameDelete() {
+    PortfolioRegistry registry = new PortfolioRegistry();
+    assertTrue(registry.create("a"));
+    assertTrue(registry.create("b"));
+    assertFalse(registry.create("a"));
+    registry.recordChange("a", date);
+
+    assertTrue(registry.rename("a", "c"));
+    assertEquals(List.of("c", "b"), registry.names());
+    assertEquals(date, registry.latestDate("c"));
+    assertNull(registry.latestDate("a"));
+    assertFalse(registry.rename("a", "d"));
+    assertFalse(registry.rename("b", "c"));
+
+    assertTrue(registry.delete("c"));
+    assertFalse(registry.delete("c"));
+    assertFalse(registry.contains("c"));
+    assertEquals(List.of("b"), registry.names());
+    assertTrue(registry.latestDates().isEmpty());
+  }
+
+  @Test
+  public void testLatestDateOnlyMovesForward() {
+    PortfolioRegistry registry = new PortfolioRegistry();
+    registry.create("a");
+    assertTrue(registry.recordChange("a", date));
+    registry.recordChange("a", date.minusDays(3));
+    assertEquals(date, registry.latestDate("a"));
+    registry.recordChange("a", date.plusDays(1));
+    assertEquals(date.plusDays(1), registry.latestDate("a"));
+  }
+
+  @Test
+  public void testChangesOfUnknownPortfoliosAreIgnored() {
+    PortfolioRegistry registry = new PortfolioRegistry();
+    assertFalse(registry.recordChange("a", date));
+    assertNull(registry.latestDate("a"));
+    assertTrue(registry.latestDates().isEmpty());
+  }
+
+  @Test
+  public void testChangesRacingRenameAndDelete() throws Exception {
+    PortfolioRegistry registry = new PortfolioRegistry();
+    int count = 2000;
+    for (int i = 0; i < count; i++) {
+      registry.create("race" + i);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    Future<?> changes = executor.submit(() -> {
+      for (int round = 0; round < 5; round++) {
+        for (int i = 0; i < count; i++) {
+          registry.recordChange("race" + i, date.plusDays(round));
+        }
+      }
+    });
+    Future<?> removals = executor.submit(() -> {
+      for (int i = 0; i < count; i++) {
+        if (i % 2 == 0) {
+          registry.delete("race" + i);
+        } else {
+          registry.rename("race" + i, "raced" + i);
+        }
+      }
+    });
+    changes.get();
+    removals.get();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    assertTrue(registry.names().stream().allMatch(name -> name.startsWith("raced")));
+    for (String name : registry.latestDates().keySet()) {
+      assertTrue(registry.contains(name));
+    }
+    for (int i = 0; i < count; i++) {
+      assertNull(registry.latestDate("race" + i));
+    }
+  }
+
+  @Test
+  public void testRenameAndDeleteReachEverySavedState() {
+    LocalDate buyDate = LocalDate.of(2023, 6, 1);
+    Stocks stock = TestFixtures.flatStock("REG", buyDate, 5, 10);
+    Portfolio portfolio = new Portfolio("registryRename");
+    Portfolio.addPortfolio(portfolio);
+    try {
+      portfolio.addStock(stock, 3, buyDate);
+      Portfolio.renamePortfolio("registryRename", "registryRenamed");
+
+      assertTrue(Portfolio.getPortfolios().contains("registryRenamed"));
+      assertFalse(Portfolio.getPortfolios().contains("registryRename"));
+      assertEquals(buyDate, Portfolio.getMostRecentDates().get("registryRenamed"));
+      assertTrue(TestFixtures.savedInJournal("registryRenamed", buyDate));
+      assertFalse(TestFixtures.savedInJournal("registryRename", buyDate));
+      assertEquals(Set.of(buyDate), Portfolio.getManifest().dates("registryRenamed"));
+      assertTrue(Portfolio.getManifest().dates("registryRename").isEmpty());
+      assertEquals(3, Portfolio.getVersions("registryRenamed").latest().quantity(stock), 0);
+      assertThrows(IllegalArgumentException.class,
+              () -> Portfolio.renamePortfolio("registryRename", "other"));
+
+      assertTrue(Portfolio.deletePortfolio("registryRenamed"));
+      assertFalse(Portfolio.getPortfolios().contains("registryRenamed"));
+      assertNull(Portfolio.getMostRecentDates().get("registryRenamed"));
+      assertFalse(TestFixtures.savedInJournal("registryRenamed", buyDate));
+      assertTrue(Portfolio.getManifest().dates("registryRenamed").isEmpty());
+      assertTrue(Portfolio.getVersions("registryRenamed").latest().isEmpty());
+    } finally {
+      Portfolio.deletePortfolio("registryRename");
+      Portfolio.deletePortfolio("registryRenamed");
+    }
+  }
+
+  @Test
+  public void testUnregisteredPortfolioKeepsItsDateOrder() {
+    LocalDate buyDate = LocalDate.of(2023, 6, 1);
+    Stocks stock = TestFixtures.flatStock("REG", buyDate, 5, 10);
+    Portfolio portfolio = new Portfolio("registryUnregistered");
+    try {
+      portfolio.addStock(stock, 3, buyDate);
+      portfolio.addStock(stock, 2, buyDate.plusDays(2));
+      assertThrows(IllegalArgumentException.class,
+              () -> portfolio.addStock(stock, 1, buyDate.plusDays(1)));
+      assertNull(Portfolio.getMostRecentDates().get("registryUnregistered"));
+      portfolio.addStock(stock, 1, buyDate.plusDays(3));
+    } finally {
+      Portfolio.deletePortfolio("registryUnregistered");
+    }
+  }
+
+  @Test
+  public void testConcurrentSessions() throws Exception {
+    PortfolioRegistry registry = new PortfolioRegistry();
+    AtomicInteger created = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int session = 0; session < 8; session++) {
+      int id = session;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 500; i++) {
+          if (registry.create("shared" + i)) {
+            created.incrementAndGet();
+          }
+          String own = "session" + id + "-" + i;
+          registry.create(own);
+          registry.recordChange(own, date.plusDays(i % 30));
+          if (i % 3 == 0) {
+            registry.rename(own, own + "-renamed");
+          } else if (i % 3 == 1) {
+            registry.delete(own);
+          }
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    assertEquals(500, created.get());
+    List<String> names = registry.names();
+    assertEquals(names.size(), new HashSet<>(names).size());
+    assertEquals(500 + 8 * 167 + 8 * 166, names.size());
+    for (String name : registry.latestDates().keySet()) {
+      assertTrue(registry.contains(name));
+    }
+    assertEquals(date.plusDays(0), registry.latestDate("session3-0-renamed"));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import model.PersistentHoldings;
+import model.Portfolio;
+import model.PortfolioVersions;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the PersistentHoldings and PortfolioVersions classes.
+ */
+public class PortfolioVersionsTest {
+  private final LocalDate firstDate = LocalDate.of(2023, 3, 1);
+  private final String name = "portfolioVersionsTest";
+
+  //helper that copies holdings into a map.
+  private Map<Stocks, Double> asMap(PersistentHoldings holdings) {
+    Map<Stocks, Double> map = new HashMap<>();
+    holdings.forEach(map::put);
+    return map;
+  }
+
+  @After
+  public void tearDown() {
+    Portfolio.deletePortfolio(name);
+  }
+
+  @Test
+  public void testOldHoldingsNeverChange() {
+    Random random = new Random(5);
+    List<Stocks> stocks = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      stocks.add(TestFixtures.flatStock("PV" + i, firstDate, 0, 10));
+    }
+    List<PersistentHoldings> versions = new ArrayList<>();
+    List<Map<Stocks, Double>> expected = new ArrayList<>();
+    PersistentHoldings holdings = PersistentHoldings.empty();
+    Map<Stocks, Double> model = new HashMap<>();
+    for (int change = 0; change < 5000; change++) {
+      Stocks stock = stocks.get(random.nextInt(stocks.size()));
+      if (random.nextInt(4) == 0) {
+        holdings = holdings.without(stock);
+        model.remove(stock);
+      } else {
+        double quantity = 1 + random.nextInt(100);
+        holdings = holdings.with(stock, quantity);
+        model.put(stock, quantity);
+      }
+      if (change % 250 == 0) {
+        versions.add(holdings);
+        expected.add(new HashMap<>(model));
+      }
+    }
+    for (int i = 0; i < versions.size(); i++) {
+      assertEquals(expected.get(i), asMap(versions.get(i)));
+      assertEquals(expected.get(i).size(), versions.get(i).size());
+    }
+    for (Stocks stock : stocks) {
+      assertEquals(model.containsKey(stock), holdings.holds(stock));
+      assertEquals(model.getOrDefault(stock, 0.0), holdings.quantity(stock), 0);
+    }
+    assertEquals(model, holdings.toMap());
+  }
+
+  @Test
+  public void testSettingTheSameSharesKeepsTheHoldings() {
+    Stocks stock = TestFixtures.flatStock("PVA", firstDate, 0, 10);
+    PersistentHoldings holdings = PersistentHoldings.empty().with(stock, 5);
+    assertSame(holdings, holdings.with(stock, 5));
+    assertSame(holdings, holdings.without(TestFixtures.flatStock("PVB", firstDate, 0, 10)));
+    assertTrue(holdings.without(stock).isEmpty());
+  }
+
+  @Test
+  public void testHoldingsOnAnyDate() {
+    Stocks a = TestFixtures.flatStock("PVA", firstDate, 0, 10);
+    Stocks b = TestFixtures.flatStock("PVB", firstDate, 0, 10);
+    PortfolioVersions versions = new PortfolioVersions();
+    versions.record(firstDate, Map.of(a, 10.0));
+    versions.record(firstDate.plusDays(5), Map.of(a, 10.0, b, 3.0));
+    versions.record(firstDate.plusDays(9), Map.of(b, 3.0));
+
+    assertTrue(versions.on(firstDate.minusDays(1)).isEmpty());
+    assertEquals(Map.of(a, 10.0), asMap(versions.on(firstDate.plusDays(4))));
+    assertEquals(Map.of(a, 10.0, b, 3.0), asMap(versions.on(firstDate.plusDays(8))));
+    assertEquals(Map.of(b, 3.0), asMap(versions.on(firstDate.plusDays(100))));
+    assertTrue(versions.changedOn(firstDate.plusDays(5)));
+    assertFalse(versions.changedOn(firstDate.plusDays(6)));
+    assertEquals(firstDate.plusDays(9), versions.getLatestDate());
+
+    versions.record(firstDate.plusDays(2), Map.of(a, 4.0));
+    versions.record(firstDate.plusDays(9), Map.of(b, 1.0));
+    assertEquals(4, versions.size());
+    assertEquals(List.of(firstDate, firstDate.plusDays(2), firstDate.plusDays(5),
+            firstDate.plusDays(9)), versions.dates());
+    assertEquals(Map.of(a, 4.0), asMap(versions.on(firstDate.plusDays(3))));
+    assertEquals(Map.of(b, 1.0), asMap(versions.latest()));
+  }
+
+  @Test
+  public void testSavedStatesAreLoadedFromMemory() {
+    Stocks a = TestFixtures.flatStock("PVA", firstDate, 10, 10);
+    Stocks b = TestFixtures.flatStock("PVB", firstDate, 10, 10);
+    Portfolio portfolio = new Portfolio(name);
+    portfolio.addStock(a, 10, firstDate);
+    PortfolioVersions versions = Portfolio.getVersions(name);
+    portfolio.addStock(b, 4, firstDate.plusDays(3));
+    portfolio.removeStock(a, 10, firstDate.plusDays(6));
+
+    assertEquals(3, versions.size());
+    new File("res/portfolios/journals/" + name + ".journal").delete();
+    Portfolio loaded = Portfolio.loadPortfolio(name, firstDate.plusDays(3));
+    assertEquals(Map.of(a, 10.0, b, 4.0), loaded.getStocks());
+    assertEquals(firstDate, loaded.getFirstPurchaseDate());
+    assertEquals(Map.of(b, 4.0), Portfolio.loadPortfolio(name, firstDate.plusDays(6))
+            .getStocks());
+  }
+}
\ No newline at end of file
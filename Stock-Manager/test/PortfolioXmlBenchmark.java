@@ -0,0 +1,115 @@
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import model.PortfolioXml;
+import model.Stocks;
+
+/**
+ * A small benchmark for the PortfolioXml class. It writes and reads portfolios of 10, 1,000
+ * and 100,000 holdings with it, and the same portfolios the way they were saved before, with
+ * a new DOM document and factories every time and a lookup by tag name for every stock. Run
+ * it with the test classes on the class path.
+ */
+public class PortfolioXmlBenchmark {
+  private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 2);
+
+  /**
+   * This method runs the benchmark.
+   *
+   * @param args not used.
+   * @throws Exception if a portfolio cannot be written or read.
+   */
+  public static void main(String[] args) throws Exception {
+    for (int size : new int[]{10, 1000, 100000}) {
+      Map<Stocks, Double> holdings = new LinkedHashMap<>();
+      for (int i = 0; i < size; i++) {
+        holdings.put(new Stocks("B" + i, List.of()), (double) (i % 97 + 1));
+      }
+      int runs = Math.max(5, 200000 / size);
+      double checksum = 0;
+      long[] times = new long[4];
+      for (int run = -runs; run < runs; run++) {
+        long start = System.nanoTime();
+        byte[] stax = writeStax(holdings);
+        long written = System.nanoTime();
+        checksum += PortfolioXml.read(new ByteArrayInputStream(stax)).getQuantities().size();
+        long read = System.nanoTime();
+        byte[] dom = writeDom(holdings);
+        long domWritten = System.nanoTime();
+        checksum += readDom(dom).size();
+        long domRead = System.nanoTime();
+        if (run >= 0) {
+          times[0] += written - start;
+          times[1] += read - written;
+          times[2] += domWritten - read;
+          times[3] += domRead - domWritten;
+        }
+      }
+      System.out.printf("%,d holdings: StAX write %.3f ms read %.3f ms, DOM write %.3f ms "
+                      + "read %.3f ms (checksum %.0f)%n", size, times[0] / 1e6 / runs,
+              times[1] / 1e6 / runs, times[2] / 1e6 / runs, times[3] / 1e6 / runs, checksum);
+    }
+  }
+
+  //helper that writes a portfolio with PortfolioXml.
+  private static byte[] writeStax(Map<Stocks, Double> holdings) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PortfolioXml.write(out, "benchmark", FIRST_DATE, holdings);
+    return out.toByteArray();
+  }
+
+  //helper that writes a portfolio the way it was saved before.
+  private static byte[] writeDom(Map<Stocks, Double> holdings) throws Exception {
+    DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+    Document doc = builder.newDocument();
+    Element rootElement = doc.createElement("portfolio");
+    doc.appendChild(rootElement);
+    rootElement.setAttribute("name", "benchmark");
+    for (Map.Entry<Stocks, Double> entry : holdings.entrySet()) {
+      Element stockElement = doc.createElement("stock");
+      rootElement.appendChild(stockElement);
+      Element symbolElement = doc.createElement("symbol");
+      symbolElement.appendChild(doc.createTextNode(entry.getKey().getSymbol()));
+      stockElement.appendChild(symbolElement);
+      Element quantityElement = doc.createElement("quantity");
+      quantityElement.appendChild(doc.createTextNode(String.valueOf(entry.getValue())));
+      stockElement.appendChild(quantityElement);
+    }
+    rootElement.setAttribute("firstPurchaseDate", FIRST_DATE.toString());
+    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    transformer.transform(new DOMSource(doc), new StreamResult(out));
+    return out.toByteArray();
+  }
+
+  //helper that reads a portfolio the way it was read before.
+  private static Map<String, Double> readDom(byte[] xml) throws Exception {
+    DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+    Element rootElement = builder.parse(new ByteArrayInputStream(xml)).getDocumentElement();
+    NodeList stockList = rootElement.getElementsByTagName("stock");
+    Map<String, Double> quantities = new HashMap<>();
+    for (int i = 0; i < stockList.getLength(); i++) {
+      Element stockElement = (Element) stockList.item(i);
+      quantities.put(stockElement.getElementsByTagName("symbol").item(0).getTextContent(),
+              Double.parseDouble(stockElement.getElementsByTagName("quantity").item(0)
+                      .getTextContent()));
+    }
+    return quantities;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.PortfolioXml;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * A test class for testing the PortfolioXml class.
+ */
+public class PortfolioXmlTest {
+  private final LocalDate firstDate = LocalDate.of(2023, 11, 10);
+
+  //helper that writes a portfolio to a string.
+  private String write(String name, Map<Stocks, Double> holdings) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PortfolioXml.write(out, name, firstDate, holdings);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  //helper that reads a portfolio from a string.
+  private PortfolioXml read(String xml) throws IOException {
+    return PortfolioXml.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testWritesTheSameFileAsBefore() throws IOException {
+    Map<Stocks, Double> holdings = new LinkedHashMap<>();
+    holdings.put(new Stocks("AAPL", List.of()), 10.0);
+    holdings.put(new Stocks("GOOG", List.of()), 10.0);
+    assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><portfolio "
+            + "firstPurchaseDate=\"2023-11-10\" name=\"robert\"><stock><symbol>AAPL</symbol>"
+            + "<quantity>10.0</quantity></stock><stock><symbol>GOOG</symbol><quantity>10.0"
+            + "</quantity></stock></portfolio>", write("robert", holdings));
+  }
+
+  @Test
+  public void testReadsASavedFile() throws IOException {
+    PortfolioXml saved = PortfolioXml.read(Paths.get("res/portfolios/2023-11-10/robert.xml"));
+    assertEquals("robert", saved.getName());
+    assertEquals(firstDate, saved.getFirstPurchaseDate());
+    assertEquals(Map.of("AAPL", 10.0, "GOOG", 10.0), saved.getQuantities());
+  }
+
+  @Test
+  public void testWhatIsWrittenIsReadBack() throws IOException {
+    Map<Stocks, Double> holdings = new LinkedHashMap<>();
+    Map<String, Double> expected = new LinkedHashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      holdings.put(new Stocks("XML" + i, List.of()), i + 0.5);
+      expected.put("XML" + i, i + 0.5);
+    }
+    PortfolioXml saved = read(write("a <b> & \"c\"", holdings));
+    assertEquals("a <b> & \"c\"", saved.getName());
+    assertEquals(expected, saved.getQuantities());
+  }
+
+  @Test
+  public void testNotAPortfolio() {
+    assertThrows(IOException.class, () -> read("<portfolio name=\"x\"><stock>"));
+    assertThrows(IOException.class, () -> read("<other/>"));
+    assertThrows(IOException.class, () -> read("<portfolio firstPurchaseDate=\"2023-11-10\" "
+            + "name=\"x\"><stock><symbol>A</symbol><quantity>many</quantity></stock>"
+            + "</portfolio>"));
+  }
+}
\ No newline at end of file
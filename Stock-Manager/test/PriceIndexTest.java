@@ -0,0 +1,106 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import model.AlphaVantageAPI;
+import model.CSVReader;
+import model.PriceIndex;
+import model.PriceSeries;
+import model.StockInformation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the PriceIndex class.
+ */
+public class PriceIndexTest {
+  private List<StockInformation> prices;
+  private PriceIndex index;
+
+  @Before
+  public void setUp() {
+    prices = new ArrayList<>();
+    LocalDate date = LocalDate.of(2024, 1, 1);
+    for (int i = 0; i < 400; i++) {
+      double close = 100 + Math.sin(i / 7.0) * 20 + i * 0.1;
+      prices.add(new StockInformation(date.plusDays(i), close, close + 2,
+              close - 2, close, 1000 + i));
+    }
+    Collections.reverse(prices); //data files are stored newest first.
+    index = new PriceIndex(prices);
+  }
+
+  @Test
+  public void testStoredOldestFirst() {
+    assertEquals(400, index.size());
+    assertEquals(LocalDate.of(2024, 1, 1), index.getDate(0));
+    assertEquals(LocalDate.of(2024, 1, 1).plusDays(399), index.getDate(399));
+  }
+
+  @Test
+  public void testAverageCloseMatchesSum() {
+    for (int from = 0; from < 400; from += 37) {
+      for (int to = from; to < 400; to += 53) {
+        double sum = 0;
+        for (int i = from; i <= to; i++) {
+          sum += index.getClose(i);
+        }
+        assertEquals(sum / (to - from + 1), index.averageClose(from, to), 1e-12);
+      }
+    }
+  }
+
+  @Test
+  public void testVolumeAverages() {
+    double volume = 0;
+    double turnover = 0;
+    for (int i = 10; i <= 20; i++) {
+      volume += index.getVolume(i);
+      turnover += index.getVolume(i) * index.getClose(i);
+    }
+    assertEquals(volume / 11, index.averageVolume(10, 20), 1e-9);
+    assertEquals(turnover / volume, index.volumeWeightedAverage(10, 20), 1e-9);
+  }
+
+  @Test
+  public void testCompoundReturn() {
+    assertEquals(index.getClose(350) / index.getClose(5) - 1,
+            index.compoundReturn(5, 350), 1e-12);
+    assertEquals(0.0, index.compoundReturn(5, 5), 0.0);
+  }
+
+  @Test
+  public void testDateLookups() {
+    List<StockInformation> weekdays = new ArrayList<>();
+    weekdays.add(new StockInformation(LocalDate.of(2024, 6, 7), 1, 1, 1, 1, 1));
+    weekdays.add(new StockInformation(LocalDate.of(2024, 6, 10), 2, 2, 2, 2, 1));
+    PriceIndex weekdayIndex = new PriceIndex(weekdays);
+    LocalDate saturday = LocalDate.of(2024, 6, 8);
+    assertEquals(-1, weekdayIndex.indexOf(saturday));
+    assertEquals(0, weekdayIndex.floorIndex(saturday));
+    assertEquals(1, weekdayIndex.ceilingIndex(saturday));
+    assertEquals(-1, weekdayIndex.floorIndex(LocalDate.of(2024, 6, 6)));
+    assertEquals(2, weekdayIndex.ceilingIndex(LocalDate.of(2024, 6, 11)));
+    assertEquals(1.5, weekdayIndex.averageClose(LocalDate.of(2024, 6, 1),
+            LocalDate.of(2024, 6, 30)), 0.0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoTradingDaysInRange() {
+    index.averageClose(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1));
+  }
+
+  @Test
+  public void testSeriesKeepsItsIndex() {
+    CSVReader csvReader = new CSVReader(new AlphaVantageAPI("GVOWNVFAUMGZOUBF", "GOOG"), "GOOG");
+    List<StockInformation> googleStockData = csvReader.fileToStockInfo();
+    assertTrue(googleStockData instanceof PriceSeries);
+    assertSame(PriceIndex.of(googleStockData), PriceIndex.of(googleStockData));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import model.RiskCalculator;
+import model.RiskReport;
+import model.StockInformation;
+import model.Stocks;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the RiskCalculator and RiskReport classes.
+ */
+public class RiskCalculatorTest {
+  private final LocalDate firstDate = LocalDate.of(2024, 1, 1);
+  private final RiskCalculator calculator = new RiskCalculator(0.95, 0.99);
+
+  //helper that makes closing prices whose daily changes are the given changes.
+  private double[] closes(List<Double> changes) {
+    double[] closes = new double[changes.size() + 1];
+    closes[0] = 1000;
+    for (int day = 1; day < closes.length; day++) {
+      closes[day] = closes[day - 1] + changes.get(day - 1);
+    }
+    return closes;
+  }
+
+  //helper that makes a history that holds the same shares from the first date on.
+  private NavigableMap<LocalDate, Map<Stocks, Double>> holding(Stocks stock, double shares) {
+    NavigableMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+    Map<Stocks, Double> holdings = new HashMap<>();
+    holdings.put(stock, shares);
+    history.put(firstDate, holdings);
+    return history;
+  }
+
+  //helper that makes the shuffled daily changes -50 to 49.
+  private List<Double> shuffledChanges(long seed) {
+    List<Double> changes = new ArrayList<>();
+    for (int change = -50; change < 50; change++) {
+      changes.add((double) change);
+    }
+    Collections.shuffle(changes, new Random(seed));
+    return changes;
+  }
+
+  @Test
+  public void testKnownValueAtRiskAndShortfall() {
+    Stocks stock = TestFixtures.stockFrom("A", firstDate, closes(shuffledChanges(3)));
+    RiskReport report = calculator.calculate("Mine", holding(stock, 1),
+            firstDate, firstDate.plusDays(100));
+    assertEquals(100, report.getObservations());
+    assertEquals(45, report.getValueAtRisk(0), 1e-9);
+    assertEquals(47.5, report.getExpectedShortfall(0), 1e-9);
+    assertEquals(49, report.getValueAtRisk(1), 1e-9);
+    assertEquals(49.5, report.getExpectedShortfall(1), 1e-9);
+    assertArrayEquals(new double[]{0.95, 0.99}, report.getConfidences(), 0);
+  }
+
+  @Test
+  public void testSelectionMatchesSortWithRepeatedValues() {
+    Random random = new Random(17);
+    List<Double> changes = new ArrayList<>();
+    for (int day = 0; day < 1000; day++) {
+      changes.add((double) (random.nextInt(11) - 5));
+    }
+    Stocks stock = TestFixtures.stockFrom("A", firstDate, closes(changes));
+    RiskReport report = calculator.calculate("Mine", holding(stock, 1),
+            firstDate, firstDate.plusDays(1000));
+    List<Double> sorted = new ArrayList<>(changes);
+    Collections.sort(sorted);
+    assertEquals(-sorted.get(50), report.getValueAtRisk(0), 1e-9);
+    assertEquals(-sorted.get(10), report.getValueAtRisk(1), 1e-9);
+    double sum = 0;
+    for (int i = 0; i <= 50; i++) {
+      sum += sorted.get(i);
+    }
+    assertEquals(-sum / 51, report.getExpectedShortfall(0), 1e-9);
+  }
+
+  @Test
+  public void testProfitAndLossFollowsHoldings() {
+    List<Double> changes = new ArrayList<>(Collections.nCopies(30, 2.0));
+    Stocks stock = TestFixtures.stockFrom("A", firstDate, closes(changes));
+    NavigableMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+    history.put(firstDate.plusDays(10), Map.of(stock, 1.0));
+    history.put(firstDate.plusDays(20), Map.of(stock, 3.0));
+    double[] profitAndLoss = calculator.dailyProfitAndLoss(history, firstDate,
+            firstDate.plusDays(30));
+    assertEquals(30, profitAndLoss.length);
+    for (int day = 0; day < 30; day++) {
+      double expected = day < 10 ? 0 : day < 20 ? 2 : 6;
+      assertEquals(expected, profitAndLoss[day], 1e-9);
+    }
+  }
+
+  @Test
+  public void testMissingDaysCarryTheLastClose() {
+    Stocks daily = TestFixtures.stockFrom("A", firstDate, closes(Collections.nCopies(10, 1.0)));
+    List<StockInformation> everyOtherDay = new ArrayList<>();
+    for (int day = 10; day >= 0; day -= 2) {
+      everyOtherDay.add(new StockInformation(firstDate.plusDays(day), 50 + day, 50 + day,
+              50 + day, 50 + day, 10));
+    }
+    Stocks sparse = new Stocks("B", everyOtherDay);
+    NavigableMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+    history.put(firstDate, Map.of(daily, 1.0, sparse, 1.0));
+    double[] profitAndLoss = calculator.dailyProfitAndLoss(history, firstDate,
+            firstDate.plusDays(10));
+    double total = 0;
+    for (int day = 0; day < profitAndLoss.length; day++) {
+      assertEquals(day % 2 == 0 ? 1 : 3, profitAndLoss[day], 1e-9);
+      total += profitAndLoss[day];
+    }
+    assertEquals(20, total, 1e-9);
+  }
+
+  @Test
+  public void testAllPortfoliosMatchOneAtATime() {
+    Map<String, NavigableMap<LocalDate, Map<Stocks, Double>>> histories = new HashMap<>();
+    for (int i = 0; i < 40; i++) {
+      Stocks stock = TestFixtures.stockFrom("S" + i, firstDate, closes(shuffledChanges(i)));
+      histories.put("P" + i, holding(stock, i + 1));
+    }
+    histories.put("Empty", new TreeMap<>());
+    NavigableMap<String, RiskReport> reports = calculator.calculateAll(histories,
+            firstDate, firstDate.plusDays(100));
+    assertEquals(40, reports.size());
+    assertFalse(reports.containsKey("Empty"));
+    NavigableMap<String, RiskReport> single = new RiskCalculator(new ForkJoinPool(1), 0.95, 0.99)
+            .calculateAll(histories, firstDate, firstDate.plusDays(100));
+    for (int i = 0; i < 40; i++) {
+      RiskReport report = reports.get("P" + i);
+      assertEquals(45.0 * (i + 1), report.getValueAtRisk(0), 1e-9);
+      assertEquals(single.get("P" + i).getExpectedShortfall(1),
+              report.getExpectedShortfall(1), 0);
+    }
+    String table = RiskCalculator.formatReports(reports);
+    assertTrue(table.contains("VaR 95%"));
+    assertTrue(table.contains("CVaR 99%"));
+    assertEquals(41, table.split("\n").length);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotEnoughDays() {
+    Stocks stock = TestFixtures.stockFrom("A", firstDate, closes(shuffledChanges(1)));
+    calculator.calculate("Mine", holding(stock, 1), firstDate, firstDate);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidConfidence() {
+    new RiskCalculator(0.95, 1.0);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import model.Portfolio;
+import model.Scenario;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the Scenario class.
+ */
+public class ScenarioTest {
+  private final LocalDate buyDate = LocalDate.of(2023, 6, 1);
+  private final LocalDate laterDate = LocalDate.of(2023, 6, 8);
+  private final TestPortfolios portfolios = new TestPortfolios();
+  private final Stocks a = TestFixtures.stockFrom("SCA", buyDate, 10, 20);
+  private final Stocks b = TestFixtures.stockFrom("SCB", buyDate, 50, 25);
+
+  //helper that makes a listed portfolio holding 10 of A and 4 of B.
+  private Portfolio portfolio(String name) {
+    Portfolio portfolio = portfolios.register(name);
+    portfolio.addStock(a, 10, buyDate);
+    portfolio.addStock(b, 4, buyDate);
+    return portfolio;
+  }
+
+  @After
+  public void tearDown() {
+    portfolios.deleteAll();
+  }
+
+  @Test
+  public void testChangesStayInTheScenario() {
+    Portfolio portfolio = portfolio("scenarioPreview");
+    Scenario scenario = new Scenario(portfolio);
+    scenario.addStock(a, 5, laterDate);
+    scenario.removeStock(b, 4, laterDate);
+
+    assertEquals(Map.of(a, 15.0), scenario.getStocks());
+    assertEquals(300, scenario.calculateTotalValue(laterDate), 1e-9);
+    assertEquals(Map.of(a, 300.0), scenario.distributionOfPortfolio(laterDate));
+    assertEquals(10, portfolio.getStocks().get(a), 0);
+    assertEquals(4, portfolio.getStocks().get(b), 0);
+    assertFalse(TestFixtures.savedInJournal("scenarioPreview", laterDate));
+
+    scenario.discard();
+    assertEquals(portfolio.getStocks(), scenario.getStocks());
+    assertTrue(scenario.getTrades().isEmpty());
+  }
+
+  @Test
+  public void testValuesOnADateOnlyHaveTheTradesUpToIt() {
+    Portfolio portfolio = portfolio("scenarioDates");
+    Scenario scenario = new Scenario(portfolio);
+    scenario.addStock(a, 5, buyDate.plusDays(1));
+    scenario.removeStock(b, 4, laterDate);
+
+    assertEquals(Map.of(a, 10.0, b, 4.0), scenario.compOfPortfolio(buyDate));
+    assertEquals(10 * 10 + 4 * 50, scenario.calculateTotalValue(buyDate), 1e-9);
+    assertEquals(Map.of(a, 15.0, b, 4.0), scenario.compOfPortfolio(buyDate.plusDays(1)));
+    assertEquals(15 * 20 + 4 * 25, scenario.calculateTotalValue(buyDate.plusDays(1)), 1e-9);
+    assertEquals(Map.of(a, 15.0), scenario.compOfPortfolio(laterDate));
+    assertEquals(Map.of(a, 300.0), scenario.distributionOfPortfolio(laterDate));
+    assertTrue(scenario.compOfPortfolio(buyDate.minusDays(1)).isEmpty());
+  }
+
+  @Test
+  public void testCommitMakesTheTrades() {
+    Portfolio portfolio = portfolio("scenarioCommit");
+    Scenario scenario = new Scenario(portfolio);
+    scenario.rebalancePortfolio(Map.of("SCA", 50, "SCB", 50), laterDate);
+    assertEquals(150, scenario.getStocks().get(a) * 20, 1e-9);
+    assertEquals(10, portfolio.getStocks().get(a), 0);
+
+    scenario.commit();
+
+    assertEquals(150, portfolio.getStocks().get(a) * 20, 1e-9);
+    assertEquals(150, portfolio.getStocks().get(b) * 25, 1e-9);
+    assertEquals(4, portfolio.getTransactionLog().size());
+    assertEquals(laterDate, Portfolio.getMostRecentDates().get("scenarioCommit"));
+    assertTrue(TestFixtures.savedInJournal("scenarioCommit", laterDate));
+    assertTrue(scenario.getTrades().isEmpty());
+  }
+
+  @Test
+  public void testCommitFailsWhenThePortfolioChanged() {
+    Portfolio portfolio = portfolio("scenarioStale");
+    Scenario scenario = new Scenario(portfolio);
+    scenario.removeStock(b, 4, laterDate);
+    portfolio.removeStock(b, 2, buyDate.plusDays(1));
+
+    assertThrows(IllegalArgumentException.class, scenario::commit);
+    assertEquals(2, portfolio.getStocks().get(b), 0);
+    assertEquals(1, scenario.getTrades().size());
+  }
+
+  @Test
+  public void testManyScenariosShareThePortfolio() {
+    Portfolio portfolio = portfolio("scenarioMany");
+    List<Scenario> scenarios = new ArrayList<>();
+    for (int i = 1; i <= 300; i++) {
+      Scenario scenario = new Scenario(portfolio);
+      scenario.addStock(a, i, laterDate);
+      scenarios.add(scenario);
+    }
+    for (int i = 1; i <= 300; i++) {
+      assertEquals(10 + i, scenarios.get(i - 1).quantity(a), 0);
+      assertEquals(4, scenarios.get(i - 1).quantity(b), 0);
+    }
+    assertFalse(TestFixtures.savedInJournal("scenarioMany", laterDate));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCannotRemoveMoreThanHeld() {
+    new Scenario(portfolio("scenarioTooMany")).removeStock(a, 11, laterDate);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.SparseTable;
+import model.StockCalculator;
+import model.StockInformation;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for testing the SparseTable class and the range high and low calculations.
+ */
+public class SparseTableTest {
+
+  @Test
+  public void testMatchesBruteForce() {
+    Random random = new Random(7);
+    double[] values = new double[300];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(50);
+    }
+    SparseTable highest = new SparseTable(values, true);
+    SparseTable lowest = new SparseTable(values, false);
+    for (int from = 0; from < values.length; from += 7) {
+      for (int to = from; to < values.length; to += 3) {
+        int max = from;
+        int min = from;
+        for (int i = from; i <= to; i++) {
+          if (values[i] > values[max]) {
+            max = i;
+          }
+          if (values[i] < values[min]) {
+            min = i;
+          }
+        }
+        assertEquals(max, highest.positionOf(from, to));
+        assertEquals(min, lowest.positionOf(from, to));
+        assertEquals(values[max], highest.valueOf(from, to), 0);
+      }
+    }
+  }
+
+  @Test
+  public void testSingleValue() {
+    SparseTable table = new SparseTable(new double[]{4.5}, true);
+    assertEquals(4.5, table.valueOf(0, 0), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRange() {
+    new SparseTable(new double[]{1, 2, 3}, false).positionOf(2, 1);
+  }
+
+  @Test
+  public void testCalculatorHighLowAndDrawdown() {
+    LocalDate last = LocalDate.of(2024, 6, 28);
+    double[] closes = {100, 120, 90, 110, 60, 80};
+    List<StockInformation> prices = new ArrayList<>();
+    for (int day = 0; day < closes.length; day++) {
+      double close = closes[closes.length - 1 - day];
+      prices.add(new StockInformation(last.minusDays(day), close, close + 2, close - 2, close, 10));
+    }
+    StockCalculator calculator = new StockCalculator();
+    LocalDate first = last.minusDays(closes.length - 1);
+    assertEquals(122, calculator.highestHigh(prices, first, last), 0);
+    assertEquals(58, calculator.lowestLow(prices, first, last), 0);
+    assertEquals(112, calculator.highestHigh(prices, last.minusDays(2), last), 0);
+    assertEquals(122, calculator.fiftyTwoWeekHigh(prices, last), 0);
+    assertEquals(58, calculator.fiftyTwoWeekLow(prices, last), 0);
+    assertEquals(0.5, calculator.maxDrawdown(prices, first, last), 1e-12);
+    assertEquals(0, calculator.maxDrawdown(prices, last.minusDays(1), last), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCalculatorNoData() {
+    List<StockInformation> prices = new ArrayList<>();
+    prices.add(new StockInformation(LocalDate.of(2024, 6, 28), 1, 1, 1, 1, 1));
+    new StockCalculator().highestHigh(prices, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 2, 1));
+  }
+}
\ No newline at end of file
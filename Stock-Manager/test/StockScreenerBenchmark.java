@@ -0,0 +1,74 @@
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import model.ScreenQuery;
+import model.ScreenResult;
+import model.StockCalculator;
+import model.StockInformation;
+import model.StockScreener;
+import model.Stocks;
+
+/**
+ * A small benchmark for the StockScreener class. It screens a synthetic store of 10,000
+ * tickers with a year of prices each on fork/join pools of 1 up to N threads, and prints the
+ * time of every pool and its speedup over one thread. N is the first argument, or the number
+ * of processors of the machine. Run it with the test classes on the class path.
+ */
+public class StockScreenerBenchmark {
+  private static final int TICKERS = 10_000;
+  private static final int ROUNDS = 10;
+
+  /**
+   * This method runs the benchmark.
+   *
+   * @param args the largest number of threads to try, optional.
+   */
+  public static void main(String[] args) {
+    int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+            : Runtime.getRuntime().availableProcessors();
+    Random random = new Random(1);
+    LocalDate lastDate = LocalDate.of(2024, 6, 28);
+    List<Stocks> universe = new ArrayList<>();
+    for (int i = 0; i < TICKERS; i++) {
+      List<StockInformation> prices = new ArrayList<>();
+      double close = 100;
+      for (LocalDate date = lastDate; !date.isBefore(lastDate.minusYears(1));
+           date = date.minusDays(1)) {
+        if (date.getDayOfWeek() != DayOfWeek.SATURDAY
+                && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+          close *= 1 + (random.nextDouble() - 0.5) * 0.04;
+          prices.add(new StockInformation(date, close, close, close, close, 10));
+        }
+      }
+      universe.add(new Stocks("T" + i, prices));
+    }
+    ScreenQuery query = ScreenQuery.aboveMovingAverage(lastDate, 50);
+
+    System.out.printf("%d tickers, best of %d rounds, %d processors%n",
+            TICKERS, ROUNDS, Runtime.getRuntime().availableProcessors());
+    double single = 0;
+    for (int threads = 1; threads <= maxThreads; threads++) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      StockScreener screener = new StockScreener(new StockCalculator(), pool);
+      long best = Long.MAX_VALUE;
+      double checksum = 0;
+      for (int round = 0; round < ROUNDS; round++) {
+        long start = System.nanoTime();
+        List<ScreenResult> results = screener.screen(universe, query, 100);
+        best = Math.min(best, System.nanoTime() - start);
+        checksum += results.get(0).getValue();
+      }
+      pool.shutdown();
+      double millis = best / 1e6;
+      if (threads == 1) {
+        single = millis;
+      }
+      System.out.printf("%2d threads: %8.2f ms   speedup %.2fx (checksum %.4f)%n",
+              threads, millis, single / millis, checksum);
+    }
+  }
+}
\ No newline at end of file
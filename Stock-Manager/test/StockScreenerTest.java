@@ -0,0 +1,107 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import model.ScreenQuery;
+import model.ScreenResult;
+import model.StockCalculator;
+import model.StockInformation;
+import model.StockScreener;
+import model.Stocks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the StockScreener class.
+ */
+public class StockScreenerTest {
+  private StockScreener screener;
+  private List<Stocks> universe;
+  private final LocalDate lastDate = LocalDate.of(2024, 6, 28);
+
+  @Before
+  public void setUp() {
+    screener = new StockScreener(new StockCalculator());
+    universe = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      universe.add(syntheticStock("T" + i, i));
+    }
+  }
+
+  //helper that makes 60 days of prices, newest first, rising by the given step every day.
+  private Stocks syntheticStock(String symbol, int step) {
+    List<StockInformation> prices = new ArrayList<>();
+    for (int day = 0; day < 60; day++) {
+      double close = 100 + (60 - day) * step * 0.01;
+      prices.add(new StockInformation(lastDate.minusDays(day),
+              close, close + 1, close - 1, close, 1000));
+    }
+    return new Stocks(symbol, prices);
+  }
+
+  @Test
+  public void testGainLossRanksHighestFirst() {
+    List<ScreenResult> results = screener.screen(universe,
+            ScreenQuery.gainLoss(lastDate.minusDays(10), lastDate), 5);
+    assertEquals(5, results.size());
+    assertEquals("T499", results.get(0).getSymbol());
+    assertEquals("T495", results.get(4).getSymbol());
+    assertEquals(499 * 0.1, results.get(0).getValue(), 1e-9);
+  }
+
+  @Test
+  public void testGainLossRanksLowestFirst() {
+    List<ScreenResult> results = screener.screen(universe,
+            ScreenQuery.gainLoss(lastDate.minusDays(10), lastDate), 3, false);
+    assertEquals("T0", results.get(0).getSymbol());
+    assertEquals("T1", results.get(1).getSymbol());
+    assertEquals("T2", results.get(2).getSymbol());
+  }
+
+  @Test
+  public void testSameResultsOnAnyPool() {
+    ScreenQuery query = ScreenQuery.aboveMovingAverage(lastDate, 20);
+    List<ScreenResult> parallel = screener.screen(universe, query, 50);
+    List<ScreenResult> single = new StockScreener(new StockCalculator(),
+            new ForkJoinPool(1)).screen(universe, query, 50);
+    assertEquals(parallel.size(), single.size());
+    for (int i = 0; i < parallel.size(); i++) {
+      assertEquals(parallel.get(i).getSymbol(), single.get(i).getSymbol());
+    }
+  }
+
+  @Test
+  public void testAboveMovingAverageLeavesOutFlatStocks() {
+    List<ScreenResult> results = screener.screen(universe,
+            ScreenQuery.aboveMovingAverage(lastDate, 20), 1000);
+    assertEquals(499, results.size());
+    for (ScreenResult result : results) {
+      assertTrue(result.getValue() > 0);
+    }
+  }
+
+  @Test
+  public void testMissingDatesAreLeftOut() {
+    List<ScreenResult> results = screener.screen(universe,
+            ScreenQuery.aboveMovingAverage(lastDate.plusDays(1), 20), 10);
+    assertTrue(results.isEmpty());
+  }
+
+  @Test
+  public void testRecentCrossovers() {
+    List<ScreenResult> results = screener.screen(universe,
+            ScreenQuery.recentCrossovers(lastDate, 5, 10), 3);
+    assertEquals(3, results.size());
+    assertEquals(6.0, results.get(0).getValue(), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidLimit() {
+    screener.screen(universe, ScreenQuery.gainLoss(lastDate, lastDate), 0);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,244 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+
+import model.Portfolio;
+import model.Stocks;
+import model.TaxLot;
+import model.TaxLots;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * A test class for testing the TaxLot and TaxLots classes and the profit and loss of a
+ * Portfolio.
+ */
+public class TaxLotsTest {
+  private final LocalDate firstDate = LocalDate.of(2023, 6, 1);
+
+  @After
+  public void tearDown() {
+    Portfolio.deletePortfolio("taxLotsPortfolio");
+    Portfolio.deletePortfolio("taxLotsRebalance");
+    Portfolio.deletePortfolio("taxLotsLoaded");
+  }
+
+  //helper that opens three lots of A at 10, 20 and 30 on the first three days.
+  private TaxLots threeLots() {
+    TaxLots lots = new TaxLots();
+    lots.buy("A", firstDate, 10, 10);
+    lots.buy("A", firstDate.plusDays(1), 10, 20);
+    lots.buy("A", firstDate.plusDays(2), 10, 30);
+    return lots;
+  }
+
+  @Test
+  public void testOldestLotsAreSoldFirst() {
+    TaxLots lots = threeLots();
+    assertEquals(15 * 25 - 10 * 10 - 5 * 20,
+            lots.sell("A", firstDate.plusDays(5), 15, 25, TaxLots.Policy.FIFO), 1e-9);
+    assertEquals(2, lots.openLots("A").size());
+    assertEquals(5, lots.openLots("A").get(0).getRemaining(), 0);
+    assertEquals(5 * 20 + 10 * 30, lots.costBasis("A"), 1e-9);
+  }
+
+  @Test
+  public void testNewestLotsAreSoldFirst() {
+    TaxLots lots = threeLots();
+    assertEquals(15 * 25 - 10 * 30 - 5 * 20,
+            lots.sell("A", firstDate.plusDays(5), 15, 25, TaxLots.Policy.LIFO), 1e-9);
+    assertEquals(10 * 10 + 5 * 20, lots.costBasis("A"), 1e-9);
+  }
+
+  @Test
+  public void testNewestLotsBoughtBeforeTheSale() {
+    TaxLots lots = threeLots();
+    assertEquals(5 * (25 - 20),
+            lots.sell("A", firstDate.plusDays(1), 5, 25, TaxLots.Policy.LIFO), 1e-9);
+  }
+
+  @Test
+  public void testSpecificLots() {
+    TaxLots lots = threeLots();
+    long middle = lots.getLots().get(1).getId();
+    long first = lots.getLots().get(0).getId();
+    assertEquals(10 * (25 - 20) + 2 * (25 - 10),
+            lots.sell("A", firstDate.plusDays(5), 12, 25, TaxLots.Policy.SPECIFIC, middle, first),
+            1e-9);
+    assertEquals(8, lots.getLot(first).getRemaining(), 0);
+    assertEquals(0, lots.getLot(middle).getRemaining(), 0);
+    assertThrows(IllegalArgumentException.class, () -> lots.sell("A", firstDate.plusDays(6), 9,
+            25, TaxLots.Policy.SPECIFIC, first));
+  }
+
+  @Test
+  public void testProfitOnAnyDate() {
+    TaxLots lots = threeLots();
+    lots.sell("A", firstDate.plusDays(5), 10, 15, TaxLots.Policy.FIFO);
+    lots.sell("A", firstDate.plusDays(9), 10, 40, TaxLots.Policy.FIFO);
+
+    assertEquals(0, lots.realizedOn(firstDate.plusDays(4)), 0);
+    assertEquals(50, lots.realizedOn(firstDate.plusDays(5)), 1e-9);
+    assertEquals(50 + 200, lots.realizedOn(firstDate.plusDays(30)), 1e-9);
+    assertEquals(250, lots.getRealized(), 1e-9);
+
+    Map<String, Double> closes = Map.of("A", 35.0);
+    assertEquals(10 * 25 + 10 * 15 + 10 * 5, lots.unrealizedOn(firstDate.plusDays(4), closes),
+            1e-9);
+    assertEquals(10 * 15 + 10 * 5, lots.unrealizedOn(firstDate.plusDays(5), closes), 1e-9);
+    assertEquals(10 * 5, lots.unrealizedOn(firstDate.plusDays(9), closes), 1e-9);
+    assertEquals(10 * 5, lots.getUnrealized(closes), 1e-9);
+  }
+
+  @Test
+  public void testCannotSellMoreThanTheLotsHold() {
+    TaxLots lots = threeLots();
+    assertThrows(IllegalArgumentException.class, () -> lots.sell("A", firstDate.plusDays(1),
+            25, 10, TaxLots.Policy.FIFO));
+    assertEquals(30, lots.getLots().stream().mapToDouble(TaxLot::getRemaining).sum(), 0);
+  }
+
+  @Test
+  public void testSellWithinTheToleranceSellsEverything() {
+    TaxLots lots = new TaxLots();
+    lots.buy("A", firstDate, 0.1, 10);
+    lots.buy("A", firstDate, 0.2, 10);
+    lots.sell("A", firstDate.plusDays(1), 0.3 + 1e-12, 10, TaxLots.Policy.FIFO);
+    assertEquals(0, lots.available("A", firstDate.plusDays(1)), 0);
+    assertThrows(IllegalArgumentException.class, () -> lots.sell("A", firstDate.plusDays(1),
+            1e-6, 10, TaxLots.Policy.FIFO));
+  }
+
+  @Test
+  public void testManyLots() {
+    TaxLots lots = new TaxLots();
+    int count = 30000;
+    double expectedRealized = 0;
+    for (int i = 0; i < count; i++) {
+      lots.buy("A", firstDate.plusDays(i / 10), 2, 10 + i % 7);
+    }
+    for (int i = 0; i < count / 2; i++) {
+      expectedRealized += 2 * (20 - (10 + i % 7));
+      lots.sell("A", firstDate.plusDays(count / 10 + 1), 2, 20, TaxLots.Policy.FIFO);
+    }
+    assertEquals(expectedRealized, lots.getRealized(), 1e-6);
+    assertEquals(count / 2, lots.openLots("A").size());
+    double expectedUnrealized = 0;
+    for (int i = count / 2; i < count; i++) {
+      expectedUnrealized += 2 * (20 - (10 + i % 7));
+    }
+    assertEquals(expectedUnrealized, lots.getUnrealized(Map.of("A", 20.0)), 1e-6);
+    assertEquals(expectedUnrealized, lots.unrealizedOn(firstDate.plusDays(count),
+            Map.of("A", 20.0)), 1e-6);
+  }
+
+  @Test
+  public void testPortfolioKeepsLots() {
+    String name = "taxLotsPortfolio";
+    Stocks stock = TestFixtures.stockFrom("TAXLOT", firstDate, 10, 11, 12, 13, 14, 15, 16, 17,
+            18, 19);
+    Portfolio portfolio = new Portfolio(name);
+    portfolio.addStock(stock, 5, firstDate);
+    portfolio.addStock(stock, 5, firstDate.plusDays(2));
+    portfolio.setLotPolicy(TaxLots.Policy.LIFO);
+    portfolio.removeStock(stock, 4, firstDate.plusDays(4));
+
+    assertEquals(2, portfolio.getTaxLots().size());
+    assertEquals(4 * (14 - 12), portfolio.realizedProfitAndLoss(firstDate.plusDays(9)), 1e-9);
+    assertEquals(0, portfolio.realizedProfitAndLoss(firstDate.plusDays(3)), 1e-9);
+    assertEquals(5 * (19 - 10) + 1 * (19 - 12),
+            portfolio.unrealizedProfitAndLoss(firstDate.plusDays(9)), 1e-9);
+    assertEquals(5 * (13 - 10) + 5 * (13 - 12),
+            portfolio.unrealizedProfitAndLoss(firstDate.plusDays(3)), 1e-9);
+
+    long first = portfolio.getTaxLots().getLots().get(0).getId();
+    portfolio.removeLots(stock, 5, firstDate.plusDays(5), first);
+    assertEquals(4 * 2 + 5 * (15 - 10), portfolio.realizedProfitAndLoss(firstDate.plusDays(5)),
+            1e-9);
+    assertEquals(1, portfolio.getStocks().get(stock), 0);
+  }
+
+  @Test
+  public void testLoadedPortfolioKeepsTheLotsOfItsHistory() {
+    String name = "taxLotsLoaded";
+    Stocks stock = TestFixtures.stockFrom("TAXLOT", firstDate, 10, 11, 12, 13, 14, 15, 16, 17,
+            18, 19);
+    Portfolio portfolio = new Portfolio(name);
+    portfolio.addStock(stock, 5, firstDate);
+    portfolio.addStock(stock, 5, firstDate.plusDays(2));
+    portfolio.removeStock(stock, 2, firstDate.plusDays(4));
+
+    Portfolio loaded = Portfolio.loadPortfolio(name, firstDate.plusDays(4));
+    assertEquals(2, loaded.getTaxLots().size());
+    TaxLot first = loaded.getTaxLots().getLot(1);
+    TaxLot second = loaded.getTaxLots().getLot(2);
+    assertEquals(firstDate, first.getDate());
+    assertEquals(3, first.getRemaining(), 1e-9);
+    assertEquals(firstDate.plusDays(2), second.getDate());
+    assertEquals(5, second.getRemaining(), 1e-9);
+
+    Portfolio again = Portfolio.loadPortfolio(name, firstDate.plusDays(4));
+    assertEquals(firstDate.plusDays(2), again.getTaxLots().getLot(2).getDate());
+    Portfolio earlier = Portfolio.loadPortfolio(name, firstDate.plusDays(2));
+    assertEquals(2, earlier.getTaxLots().size());
+    assertEquals(10, earlier.getTaxLots().available("TAXLOT", firstDate.plusDays(2)), 1e-9);
+  }
+
+  @Test
+  public void testLoadedPortfolioKeepsNewestFirstAndSpecificSales() {
+    String name = "taxLotsLoaded";
+    Stocks x = TestFixtures.stockFrom("LOTX", firstDate, 10, 20, 25, 25);
+    Stocks y = TestFixtures.stockFrom("LOTY", firstDate, 30, 30, 30, 40);
+    Portfolio portfolio = new Portfolio(name);
+    portfolio.addStock(y, 5, firstDate);
+    portfolio.addStock(x, 10, firstDate);
+    portfolio.addStock(x, 10, firstDate.plusDays(1));
+    portfolio.setLotPolicy(TaxLots.Policy.LIFO);
+    portfolio.removeStock(x, 10, firstDate.plusDays(2));
+    portfolio.removeLots(y, 2, firstDate.plusDays(3), 1);
+    assertEquals(50 + 20, portfolio.realizedProfitAndLoss(firstDate.plusDays(3)), 1e-9);
+
+    Portfolio loaded = Portfolio.loadPortfolio(name, firstDate.plusDays(3));
+    TaxLots lots = loaded.getTaxLots();
+    assertEquals(3, lots.size());
+    assertEquals("LOTY", lots.getLot(1).getSymbol());
+    assertEquals(3, lots.getLot(1).getRemaining(), 1e-9);
+    assertEquals("LOTX", lots.getLot(2).getSymbol());
+    assertEquals(10, lots.getLot(2).getRemaining(), 1e-9);
+    assertEquals(0, lots.getLot(3).getRemaining(), 1e-9);
+    assertEquals(50, lots.realizedOn(firstDate.plusDays(2)), 1e-9);
+    assertEquals(70, loaded.realizedProfitAndLoss(firstDate.plusDays(3)), 1e-9);
+    assertEquals(10 * 10 + 3 * 30, lots.costBasis("LOTX") + lots.costBasis("LOTY"), 1e-9);
+
+    Portfolio earlier = Portfolio.loadPortfolio(name, firstDate.plusDays(2));
+    assertEquals(5, earlier.getTaxLots().getLot(1).getRemaining(), 1e-9);
+    assertEquals(50, earlier.getTaxLots().getRealized(), 1e-9);
+  }
+
+  @Test
+  public void testFractionalRebalancesKeepLotsWithTheHoldings() {
+    Random random = new Random(45);
+    for (int run = 0; run < 10; run++) {
+      LocalDate start = firstDate.plusDays(20 * run);
+      Stocks x = TestFixtures.stockFrom("LOTX", start, TestFixtures.walk(random, 12));
+      Stocks y = TestFixtures.stockFrom("LOTY", start, TestFixtures.walk(random, 12));
+      Portfolio portfolio = new Portfolio("taxLotsRebalance");
+      portfolio.addStock(x, 7, start);
+      portfolio.addStock(y, 3, start);
+      for (int day = 1; day <= 5; day++) {
+        int percent = 1 + random.nextInt(99);
+        portfolio.rebalancePortfolio(Map.of("LOTX", percent, "LOTY", 100 - percent),
+                start.plusDays(day));
+      }
+      portfolio.rebalancePortfolio(Map.of("LOTX", 100, "LOTY", 0), start.plusDays(6));
+      assertEquals(0, portfolio.getTaxLots().available("LOTY", start.plusDays(6)), 0);
+      portfolio.removeStock(x, portfolio.getStocks().get(x), start.plusDays(7));
+      assertEquals(0, portfolio.getTaxLots().available("LOTX", start.plusDays(7)), 0);
+      Portfolio.deletePortfolio("taxLotsRebalance");
+    }
+  }
+}
\ No newline at end of file
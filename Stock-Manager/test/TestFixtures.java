@@ -0,0 +1,127 @@
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.PortfolioJournal;
+import model.StockInformation;
+import model.Stocks;
+
+/**
+ * A class that makes the price series the tests share, so every test builds its stocks the
+ * same way, and looks into what the tests saved.
+ */
+public final class TestFixtures {
+
+  private TestFixtures() {
+  }
+
+  /**
+   * This method makes a stock from closing prices, one for every day up to a last date.
+   *
+   * @param symbol   the ticker symbol of the stock.
+   * @param lastDate the date of the last close.
+   * @param closes   the closing prices, oldest first.
+   * @return the stock.
+   */
+  public static Stocks stockUntil(String symbol, LocalDate lastDate, double... closes) {
+    return stockFrom(symbol, lastDate.minusDays(closes.length - 1), closes);
+  }
+
+  /**
+   * This method makes a stock from closing prices, one for every day from a first date.
+   *
+   * @param symbol    the ticker symbol of the stock.
+   * @param firstDate the date of the first close.
+   * @param closes    the closing prices, oldest first.
+   * @return the stock.
+   */
+  public static Stocks stockFrom(String symbol, LocalDate firstDate, double... closes) {
+    List<StockInformation> prices = new ArrayList<>();
+    for (int day = closes.length - 1; day >= 0; day--) {
+      double close = closes[day];
+      prices.add(new StockInformation(firstDate.plusDays(day), close, close, close, close, 10));
+    }
+    return new Stocks(symbol, prices);
+  }
+
+  /**
+   * This method makes a random walk of closing prices starting from 100.
+   *
+   * @param random the random numbers to walk with.
+   * @param days   the number of closing prices.
+   * @return the closing prices, oldest first.
+   */
+  public static double[] walk(Random random, int days) {
+    double[] closes = new double[days];
+    double price = 100;
+    for (int day = 0; day < days; day++) {
+      price *= 1 + (random.nextDouble() - 0.5) * 0.04;
+      closes[day] = price;
+    }
+    return closes;
+  }
+
+  /**
+   * This method makes a stock with the same close every day for a number of days.
+   *
+   * @param symbol    the ticker symbol of the stock.
+   * @param firstDate the date of the first close.
+   * @param days      the number of days.
+   * @param close     the close of every day.
+   * @param leftOut   the days, counted from the first date, that have no close.
+   * @return the stock.
+   */
+  public static Stocks flatStock(String symbol, LocalDate firstDate, int days, double close,
+                                 int... leftOut) {
+    List<StockInformation> prices = new ArrayList<>();
+    for (int day = days - 1; day >= 0; day--) {
+      boolean skip = false;
+      for (int out : leftOut) {
+        skip |= out == day;
+      }
+      if (!skip) {
+        prices.add(new StockInformation(firstDate.plusDays(day), close, close, close, close, 10));
+      }
+    }
+    return new Stocks(symbol, prices);
+  }
+
+  /**
+   * This method makes a random walk of closes on weekdays only.
+   *
+   * @param symbol     the ticker symbol of the stock.
+   * @param random     the random numbers to walk with.
+   * @param firstDate  the first day of the walk.
+   * @param days       the number of days of the walk, weekends included.
+   * @param firstClose the close the walk starts from.
+   * @return the stock.
+   */
+  public static Stocks weekdayWalk(String symbol, Random random, LocalDate firstDate, int days,
+                                   double firstClose) {
+    List<StockInformation> prices = new ArrayList<>();
+    double close = firstClose;
+    for (int day = 0; day < days; day++) {
+      LocalDate date = firstDate.plusDays(day);
+      if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        close *= 1 + (random.nextDouble() - 0.5) * 0.04;
+        prices.add(0, new StockInformation(date, close, close, close, close, 10));
+      }
+    }
+    return new Stocks(symbol, prices);
+  }
+
+  /**
+   * This method checks if a change of a portfolio on a date was saved in its journal.
+   *
+   * @param name the name of the portfolio.
+   * @param date the date of the change.
+   * @return true if the journal has a change on the date, false otherwise.
+   */
+  public static boolean savedInJournal(String name, LocalDate date) {
+    return new PortfolioJournal(Paths.get("res/portfolios/journals", name + ".journal"))
+            .replay().containsKey(date);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+import java.util.ArrayList;
+import java.util.List;
+
+import model.Portfolio;
+
+/**
+ * A class that makes the portfolios of a test and remembers their names, so everything the
+ * test saved for them can be deleted after it. A test keeps one in a field and calls
+ * {@link #deleteAll()} from its method that runs after every test.
+ */
+public final class TestPortfolios {
+  private final List<String> names = new ArrayList<>();
+
+  /**
+   * This method makes an empty portfolio whose name no other test uses.
+   *
+   * @param name the name of the portfolio.
+   * @return the portfolio.
+   */
+  public Portfolio create(String name) {
+    names.add(name);
+    return new Portfolio(name);
+  }
+
+  /**
+   * This method makes an empty portfolio whose name no other test uses and adds it to the
+   * list of portfolios.
+   *
+   * @param name the name of the portfolio.
+   * @return the portfolio.
+   */
+  public Portfolio register(String name) {
+    Portfolio portfolio = create(name);
+    Portfolio.addPortfolio(portfolio);
+    return portfolio;
+  }
+
+  /**
+   * This method deletes everything saved for the portfolios made so far: their files in the
+   * folder of every date, their journals, their lines of the manifest and their places in
+   * the list of portfolios.
+   */
+  public void deleteAll() {
+    names.forEach(Portfolio::deletePortfolio);
+    names.clear();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import model.Portfolio;
+import model.Stocks;
+import model.Transaction;
+import model.TransactionLog;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for testing the Transaction and TransactionLog classes.
+ */
+public class TransactionLogTest {
+  private final LocalDate firstDate = LocalDate.of(2024, 1, 1);
+
+  @Test
+  public void testPositionsFollowTheLog() {
+    TransactionLog log = new TransactionLog();
+    log.record(new Transaction(Transaction.Type.BUY, firstDate, "A", 10));
+    log.record(new Transaction(Transaction.Type.BUY, firstDate.plusDays(5), "B", 4));
+    log.record(new Transaction(Transaction.Type.SELL, firstDate.plusDays(10), "A", -3));
+    log.record(new Transaction(Transaction.Type.REBALANCE, firstDate.plusDays(10), "B", 2));
+
+    assertEquals(0, log.positionOn("A", firstDate.minusDays(1)), 0);
+    assertEquals(10, log.positionOn("A", firstDate.plusDays(9)), 0);
+    assertEquals(7, log.positionOn("A", firstDate.plusDays(10)), 0);
+    assertEquals(6, log.positionOn("B", firstDate.plusDays(100)), 0);
+    assertEquals(0, log.positionOn("C", firstDate.plusDays(100)), 0);
+    assertEquals(Map.of("A", 10.0), log.compositionOn(firstDate.plusDays(4)));
+    assertEquals(Map.of("A", 7.0, "B", 6.0), log.compositionOn(firstDate.plusDays(10)));
+    assertEquals(4, log.size());
+  }
+
+  @Test
+  public void testEarlierTransactionsAreInsertedInPlace() {
+    TransactionLog log = new TransactionLog();
+    log.record(new Transaction(Transaction.Type.BUY, firstDate.plusDays(10), "A", 5));
+    log.record(new Transaction(Transaction.Type.BUY, firstDate.plusDays(20), "A", 5));
+    log.record(new Transaction(Transaction.Type.BUY, firstDate.plusDays(15), "A", 1));
+    log.record(new Transaction(Transaction.Type.BUY, firstDate, "A", 2));
+
+    assertArrayEquals(new int[]{(int) firstDate.toEpochDay(),
+        (int) firstDate.plusDays(10).toEpochDay(), (int) firstDate.plusDays(15).toEpochDay(),
+        (int) firstDate.plusDays(20).toEpochDay()}, log.changeDays("A"));
+    assertArrayEquals(new double[]{2, 7, 8, 13}, log.cumulativePositions("A"), 0);
+    assertEquals(firstDate, log.getTransactions().get(0).getDate());
+    assertEquals(firstDate.plusDays(20), log.getTransactions().get(3).getDate());
+  }
+
+  @Test
+  public void testSoldOutStocksLeaveTheComposition() {
+    TransactionLog log = new TransactionLog();
+    log.record(new Transaction(Transaction.Type.BUY, firstDate, "A", 3));
+    log.record(new Transaction(Transaction.Type.SELL, firstDate.plusDays(1), "A", -3));
+    assertEquals(Map.of("A", 3.0), log.compositionOn(firstDate));
+    assertTrue(log.compositionOn(firstDate.plusDays(1)).isEmpty());
+  }
+
+  @Test
+  public void testFromSnapshots() {
+    Stocks a = TestFixtures.flatStock("A", firstDate, 30, 10);
+    Stocks b = TestFixtures.flatStock("B", firstDate, 30, 20);
+    NavigableMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+    history.put(firstDate, Map.of(a, 10.0));
+    history.put(firstDate.plusDays(5), Map.of(a, 4.0, b, 2.0));
+    history.put(firstDate.plusDays(9), Map.of(b, 2.0));
+    TransactionLog log = TransactionLog.fromSnapshots(history);
+
+    assertEquals(4, log.size());
+    assertEquals(Transaction.Type.SELL, log.getTransactions().get(1).getType());
+    assertEquals(-6, log.getTransactions().get(1).getQuantity(), 0);
+    for (Map.Entry<LocalDate, Map<Stocks, Double>> snapshot : history.entrySet()) {
+      Map<String, Double> expected = new HashMap<>();
+      snapshot.getValue().forEach((stock, shares) -> expected.put(stock.getSymbol(), shares));
+      assertEquals(expected, log.compositionOn(snapshot.getKey()));
+      assertEquals(expected, log.compositionOn(snapshot.getKey().plusDays(1)));
+    }
+  }
+
+  @Test
+  public void testImportedPortfolioAnswersAnyDate() {
+    String name = "transactionLogTest";
+    Stocks goog = TestFixtures.flatStock("GOOG", firstDate, 30, 10);
+    NavigableMap<LocalDate, Map<Stocks, Double>> history = new TreeMap<>();
+    history.put(firstDate.plusDays(2), Map.of(goog, 5.0));
+    history.put(firstDate.plusDays(8), Map.of(goog, 8.0));
+    try {
+      Portfolio.saveHistory(name, history);
+      Portfolio portfolio = Portfolio.importHistory(name);
+      assertEquals(2, portfolio.getTransactionLog().size());
+      assertEquals(firstDate.plusDays(2), portfolio.getFirstPurchaseDate());
+      assertEquals(8.0, portfolio.getStocks().values().iterator().next(), 0);
+      assertEquals(5.0, portfolio.compOfPortfolio(firstDate.plusDays(7)).values().iterator()
+              .next(), 0);
+      assertEquals(1, portfolio.compOfPortfolio(firstDate.plusDays(2)).size());
+    } finally {
+      Portfolio.deletePortfolio(name);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSellMustBeNegative() {
+    new Transaction(Transaction.Type.SELL, firstDate, "A", 3);
+  }
+}
\ No newline at end of file
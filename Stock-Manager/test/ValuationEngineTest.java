@@ -0,0 +1,98 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import model.PriceIndex;
+import model.Stocks;
+import model.Transaction;
+import model.TransactionLog;
+import model.ValuationEngine;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for testing the ValuationEngine class.
+ */
+public class ValuationEngineTest {
+  private final LocalDate firstDate = LocalDate.of(2020, 1, 1);
+
+  //helper that finds the value of one day the slow way, from the composition on the day
+  //and the last close on or before it.
+  private double naiveValue(TransactionLog log, List<Stocks> stocks, LocalDate date) {
+    double value = 0;
+    Map<String, Double> composition = log.compositionOn(date);
+    for (Stocks stock : stocks) {
+      Double shares = composition.get(stock.getSymbol());
+      PriceIndex index = PriceIndex.of(stock.getStockInformation());
+      int position = index.floorIndex(date);
+      if (shares != null && position >= 0) {
+        value += shares * index.getClose(position);
+      }
+    }
+    return value;
+  }
+
+  @Test
+  public void testMatchesDayByDayValuation() {
+    Random random = new Random(21);
+    List<Stocks> stocks = new ArrayList<>();
+    TransactionLog log = new TransactionLog();
+    for (int i = 0; i < 12; i++) {
+      stocks.add(TestFixtures.weekdayWalk("S" + i, random, firstDate, 400,
+              50 + random.nextInt(100)));
+    }
+    for (int trade = 0; trade < 80; trade++) {
+      String symbol = "S" + random.nextInt(12);
+      LocalDate date = firstDate.plusDays(random.nextInt(400));
+      double shares = log.positionOn(symbol, date);
+      if (shares > 2 && random.nextBoolean()) {
+        log.record(new Transaction(Transaction.Type.SELL, date, symbol, -1));
+      } else {
+        log.record(new Transaction(Transaction.Type.BUY, date, symbol, 1 + random.nextInt(5)));
+      }
+    }
+    ValuationEngine engine = new ValuationEngine(log, stocks);
+    LocalDate start = firstDate.minusDays(10);
+    double[] values = engine.dailyValues(start, firstDate.plusDays(420));
+    assertEquals(431, values.length);
+    for (int day = 0; day < values.length; day++) {
+      assertEquals(naiveValue(log, stocks, start.plusDays(day)), values[day], 1e-6);
+    }
+    LocalDate middle = firstDate.plusDays(123);
+    assertEquals(values[133], engine.valueOn(middle), 1e-9);
+  }
+
+  @Test
+  public void testWeekendsCarryFridaysClose() {
+    Stocks stock = TestFixtures.weekdayWalk("A", new Random(2), firstDate, 30, 100);
+    TransactionLog log = new TransactionLog();
+    log.record(new Transaction(Transaction.Type.BUY, firstDate, "A", 10));
+    double[] values = new ValuationEngine(log, List.of(stock)).dailyValues(
+            LocalDate.of(2020, 1, 3), LocalDate.of(2020, 1, 6));
+    assertEquals(values[0], values[1], 0);
+    assertEquals(values[0], values[2], 0);
+    assertEquals(naiveValue(log, List.of(stock), LocalDate.of(2020, 1, 6)), values[3], 1e-9);
+  }
+
+  @Test
+  public void testNothingHeldIsWorthNothing() {
+    Stocks stock = TestFixtures.weekdayWalk("A", new Random(2), firstDate, 30, 100);
+    TransactionLog log = new TransactionLog();
+    log.record(new Transaction(Transaction.Type.BUY, firstDate.plusDays(10), "A", 10));
+    double[] values = new ValuationEngine(log, List.of(stock)).dailyValues(
+            firstDate.minusDays(5), firstDate.plusDays(9));
+    for (double value : values) {
+      assertEquals(0, value, 0);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRange() {
+    new ValuationEngine(new TransactionLog(), List.of()).dailyValues(firstDate,
+            firstDate.minusDays(1));
+  }
+}
\ No newline at end of file